@@ -0,0 +1,134 @@
+package com.kos0514.work_report_generator.service.file;
+
+import com.kos0514.work_report_generator.model.CompressionPolicy;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import net.lingala.zip4j.ZipFile;
+import net.lingala.zip4j.model.ZipParameters;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * zip4jのAES暗号化と圧縮方式の組み合わせごとのスループットを計測するベンチマーク
+ *
+ * <p>システムプロパティ {@code benchmark.reportFile} に報告書ファイルを指定した場合はそのファイルを、
+ * 指定しない場合は1か月分の行を持つ .xls 報告書を生成して圧縮します。作成したZIPファイルのサイズは
+ * 計測終了時に標準出力へ表示します。
+ *
+ * <pre>
+ * ./gradlew jmh
+ * ./gradlew jmh -Pjmh.reportFile=./local-data/output/田中太郎_202506_作業報告書.xls
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ZipAesBenchmark {
+  private static final char[] PASSWORD = "Abcd1234".toCharArray();
+  private static final int DAYS_IN_MONTH = 31;
+  private static final int FIRST_DAY_ROW = 6;
+
+  @Param({"128", "256"})
+  private int aesKeyStrength;
+
+  @Param({"STORE", "FASTEST", "NORMAL", "MAXIMUM", "ADAPTIVE"})
+  private CompressionPolicy policy;
+
+  private Path workDir;
+  private File sourceFile;
+  private Path zipPath;
+  private ZipParameters zipParameters;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    workDir = Files.createTempDirectory("zip-aes-benchmark");
+    String reportFile = System.getProperty("benchmark.reportFile");
+    sourceFile =
+        reportFile != null && !reportFile.isEmpty()
+            ? Paths.get(reportFile).toFile()
+            : createSampleReport(workDir.resolve("sample_202506_作業報告書.xls")).toFile();
+    zipPath = workDir.resolve("benchmark.zip");
+
+    CompressionPolicy resolved =
+        policy.resolve(CompressibilityEstimator.estimate(sourceFile.toPath()));
+    zipParameters =
+        ZipService.createZipParameters(resolved, ZipService.toAesKeyStrength(aesKeyStrength));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    createZip();
+    System.out.printf(
+        "%n[zip] AES-%d %s: %,d bytes -> %,d bytes%n",
+        aesKeyStrength, policy, sourceFile.length(), Files.size(zipPath));
+    try (var paths = Files.walk(workDir)) {
+      paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    }
+  }
+
+  @Benchmark
+  public long createZip() throws IOException {
+    Files.deleteIfExists(zipPath);
+    try (ZipFile zipFile = new ZipFile(zipPath.toFile(), PASSWORD)) {
+      zipFile.setCharset(StandardCharsets.UTF_8);
+      zipFile.addFile(sourceFile, zipParameters);
+    }
+    return Files.size(zipPath);
+  }
+
+  /** テンプレートに近い構成（書式付きの日次行）の .xls 報告書を作成します */
+  private static Path createSampleReport(Path path) throws IOException {
+    try (Workbook workbook = new HSSFWorkbook()) {
+      Sheet sheet = workbook.createSheet("作業報告書");
+      CellStyle timeStyle = workbook.createCellStyle();
+      timeStyle.setDataFormat(workbook.createDataFormat().getFormat("h:mm"));
+
+      sheet.createRow(3).createCell(2).setCellValue("株式会社サンプル");
+      sheet.getRow(3).createCell(11).setCellValue("田中太郎");
+      for (int day = 1; day <= DAYS_IN_MONTH; day++) {
+        Row row = sheet.createRow(FIRST_DAY_ROW + day - 1);
+        row.createCell(1).setCellValue(day);
+        for (int column = 5; column <= 7; column++) {
+          row.createCell(column).setCellStyle(timeStyle);
+        }
+        row.getCell(5).setCellValue(9.0 / 24);
+        row.getCell(6).setCellValue(18.0 / 24);
+        row.getCell(7).setCellValue(1.0 / 24);
+        int excelRow = row.getRowNum() + 1;
+        row.createCell(8).setCellFormula("G" + excelRow + "-F" + excelRow + "-H" + excelRow);
+        row.createCell(9).setCellValue("システム設計書作成・レビュー対応 " + day);
+      }
+
+      try (OutputStream outputStream = Files.newOutputStream(path)) {
+        workbook.write(outputStream);
+      }
+    }
+    return path;
+  }
+}
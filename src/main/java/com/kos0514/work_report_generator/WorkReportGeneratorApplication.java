@@ -1,5 +1,6 @@
 package com.kos0514.work_report_generator;
 
+import com.kos0514.work_report_generator.command.OneShotCommandRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
@@ -7,6 +8,10 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 public class WorkReportGeneratorApplication {
 
   public static void main(String[] args) {
+    // コマンドが指定された場合は対話シェルを起動せずに1回だけ実行して終了する
+    if (OneShotCommandRunner.isOneShot(args)) {
+      System.exit(OneShotCommandRunner.run(args));
+    }
     SpringApplication.run(WorkReportGeneratorApplication.class, args);
   }
 }
@@ -0,0 +1,36 @@
+package com.kos0514.work_report_generator.command;
+
+import org.springframework.boot.autoconfigure.AutoConfigurationImportFilter;
+import org.springframework.boot.autoconfigure.AutoConfigurationMetadata;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+
+/**
+ * コマンドを1回だけ実行するモードで、Spring Shellの自動構成を除外するフィルター
+ *
+ * <p>対話シェル・JLineの端末・コマンドカタログなどを構成しないことで、起動時間を短縮します。
+ * 通常の起動では何も除外しません。
+ */
+public class OneShotAutoConfigurationFilter
+    implements AutoConfigurationImportFilter, EnvironmentAware {
+  private static final String SPRING_SHELL_PACKAGE = "org.springframework.shell.";
+
+  private boolean oneShot;
+
+  @Override
+  public void setEnvironment(Environment environment) {
+    this.oneShot =
+        environment.getProperty(OneShotCommandRunner.ONE_SHOT_PROPERTY, Boolean.class, false);
+  }
+
+  @Override
+  public boolean[] match(
+      String[] autoConfigurationClasses, AutoConfigurationMetadata autoConfigurationMetadata) {
+    boolean[] matches = new boolean[autoConfigurationClasses.length];
+    for (int i = 0; i < autoConfigurationClasses.length; i++) {
+      String className = autoConfigurationClasses[i];
+      matches[i] = !oneShot || className == null || !className.startsWith(SPRING_SHELL_PACKAGE);
+    }
+    return matches;
+  }
+}
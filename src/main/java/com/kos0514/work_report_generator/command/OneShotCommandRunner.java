@@ -0,0 +1,222 @@
+package com.kos0514.work_report_generator.command;
+
+import com.kos0514.work_report_generator.WorkReportGeneratorApplication;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.aot.AotDetector;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.SpringProperties;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+import org.springframework.util.ClassUtils;
+
+/**
+ * {@link WorkReportCommands} のコマンドを1回だけ実行して終了するランナー
+ *
+ * <p>{@code java -jar app.jar save} のようにコマンドを引数で指定して起動した場合に使用します。
+ * Spring Shell（JLineの端末の初期化を含む）を起動せずにコマンドを実行し、結果に応じた終了コードを返します。
+ * 監視スレッドなどのバックグラウンド処理も起動しないため、実行後はすぐに終了します。
+ */
+public class OneShotCommandRunner {
+
+  /** 1回だけ実行するモードで起動したことを表すプロパティ */
+  public static final String ONE_SHOT_PROPERTY = "work-report.cli.one-shot";
+
+  /** 正常終了 */
+  public static final int EXIT_OK = 0;
+
+  /** コマンドがエラーを返した場合 */
+  public static final int EXIT_ERROR = 1;
+
+  /** コマンドまたはオプションの指定が正しくない場合 */
+  public static final int EXIT_USAGE = 2;
+
+  /** コマンドの戻り値がエラーを表す場合の接頭辞 */
+  private static final String ERROR_PREFIX = "エラー";
+
+  private static final String OPTION_PREFIX = "--";
+
+  /**
+   * バックグラウンドで実行するオプション
+   *
+   * <p>このモードではコマンドの終了後にアプリケーションを終了し、実行中のバックグラウンド処理はキャンセルされるため指定できません。
+   */
+  private static final String BACKGROUND_OPTION = "--background";
+
+  private final Object commands;
+  private final ConversionService conversionService = DefaultConversionService.getSharedInstance();
+
+  /**
+   * @param commands コマンドを定義したオブジェクト（{@link ShellMethod} を付与したメソッドを持つ）
+   */
+  public OneShotCommandRunner(Object commands) {
+    this.commands = commands;
+  }
+
+  /**
+   * 引数がコマンドの指定かどうかを判定します
+   *
+   * @param args 起動引数
+   * @return 最初の引数がオプション（--で始まる）以外の場合はtrue
+   */
+  public static boolean isOneShot(String[] args) {
+    return args.length > 0 && !args[0].startsWith("-");
+  }
+
+  /**
+   * アプリケーションを起動してコマンドを1回実行し、アプリケーションを終了します
+   *
+   * @param args コマンド名とオプション（例: {@code send-all --month 2025/06}）
+   * @return 終了コード
+   */
+  public static int run(String[] args) {
+    long startTime = System.nanoTime();
+    // AOTで生成したBean定義はSpring Shellの自動構成を含むため、このモードでは使用しない
+    SpringProperties.setProperty(AotDetector.AOT_ENABLED, Boolean.FALSE.toString());
+    int exitCode;
+    try (ConfigurableApplicationContext context =
+        new SpringApplicationBuilder(WorkReportGeneratorApplication.class)
+            .bannerMode(Banner.Mode.OFF)
+            .logStartupInfo(false)
+            .properties(
+                ONE_SHOT_PROPERTY + "=true",
+                "spring.shell.interactive.enabled=false",
+                "spring.shell.noninteractive.enabled=false",
+                "work-report.directory-index.watch-enabled=false")
+            .run()) {
+      exitCode =
+          new OneShotCommandRunner(context.getBean(WorkReportCommands.class))
+              .execute(args, System.out, System.err);
+    }
+    if (Boolean.getBoolean("work-report.cli.timing")) {
+      long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+      System.err.printf("[timing] %s: %d ms%n", args[0], elapsedMillis);
+    }
+    return exitCode;
+  }
+
+  /**
+   * コマンドを実行し、結果を出力します
+   *
+   * @param args コマンド名とオプション
+   * @param out 実行結果の出力先
+   * @param err エラーの出力先
+   * @return 終了コード
+   */
+  public int execute(String[] args, PrintStream out, PrintStream err) {
+    String key = args[0];
+    Optional<Method> command = findCommand(key);
+    if (command.isEmpty()) {
+      err.println("エラー: コマンドが見つかりません: " + key + "（help でコマンド一覧を表示します）");
+      return EXIT_USAGE;
+    }
+
+    Object[] arguments;
+    try {
+      arguments = resolveArguments(command.get(), Arrays.copyOfRange(args, 1, args.length));
+    } catch (IllegalArgumentException e) {
+      err.println("エラー: " + e.getMessage());
+      return EXIT_USAGE;
+    }
+
+    Object result;
+    try {
+      result = command.get().invoke(commands, arguments);
+    } catch (InvocationTargetException e) {
+      err.println("エラー: " + e.getCause().getMessage());
+      return EXIT_ERROR;
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException("コマンドを実行できません: " + key, e);
+    }
+
+    String message = result != null ? result.toString() : "";
+    if (message.startsWith(ERROR_PREFIX)) {
+      err.println(message);
+      return EXIT_ERROR;
+    }
+    out.println(message);
+    return EXIT_OK;
+  }
+
+  private Optional<Method> findCommand(String key) {
+    return Arrays.stream(ClassUtils.getUserClass(commands).getMethods())
+        .filter(method -> method.isAnnotationPresent(ShellMethod.class))
+        .filter(method -> List.of(method.getAnnotation(ShellMethod.class).key()).contains(key))
+        .findFirst();
+  }
+
+  /**
+   * オプションをコマンドの引数に変換します
+   *
+   * <p>{@code --name value} 形式で指定します。boolean型のオプションは値を省略した場合にtrueとなります。
+   * {@code --background} は指定できません（フォアグラウンドで実行する場合は省略します）。
+   *
+   * @param method コマンドのメソッド
+   * @param options オプション
+   * @return メソッドの引数
+   * @throws IllegalArgumentException オプションの指定が正しくない場合
+   */
+  private Object[] resolveArguments(Method method, String[] options) {
+    Map<String, Parameter> parametersByOption = new HashMap<>();
+    for (Parameter parameter : method.getParameters()) {
+      ShellOption shellOption = parameter.getAnnotation(ShellOption.class);
+      if (shellOption != null) {
+        for (String name : shellOption.value()) {
+          parametersByOption.put(name, parameter);
+        }
+      }
+    }
+
+    Map<Parameter, String> values = new HashMap<>();
+    for (int i = 0; i < options.length; i++) {
+      Parameter parameter = parametersByOption.get(options[i]);
+      if (parameter == null) {
+        throw new IllegalArgumentException("不明なオプションです: " + options[i]);
+      }
+      boolean isFlag = parameter.getType() == boolean.class || parameter.getType() == Boolean.class;
+      if (isFlag && (i + 1 >= options.length || options[i + 1].startsWith(OPTION_PREFIX))) {
+        values.put(parameter, Boolean.TRUE.toString());
+      } else if (i + 1 < options.length) {
+        values.put(parameter, options[++i]);
+      } else {
+        throw new IllegalArgumentException("オプションの値が指定されていません: " + options[i]);
+      }
+    }
+
+    Parameter[] parameters = method.getParameters();
+    Object[] arguments = new Object[parameters.length];
+    for (int i = 0; i < parameters.length; i++) {
+      Parameter parameter = parameters[i];
+      ShellOption shellOption = parameter.getAnnotation(ShellOption.class);
+      String value = values.get(parameter);
+      boolean hasDefault =
+          shellOption != null && !ShellOption.NONE.equals(shellOption.defaultValue());
+      if (value == null && hasDefault) {
+        value = shellOption.defaultValue();
+      }
+      if (value == null) {
+        String name = shellOption != null ? shellOption.value()[0] : parameter.getName();
+        throw new IllegalArgumentException("必須のオプションが指定されていません: " + name);
+      }
+      arguments[i] = conversionService.convert(value, parameter.getType());
+      if (shellOption != null
+          && List.of(shellOption.value()).contains(BACKGROUND_OPTION)
+          && Boolean.TRUE.equals(arguments[i])) {
+        throw new IllegalArgumentException(
+            BACKGROUND_OPTION + " は対話シェルでのみ指定できます（コマンドの終了時にキャンセルされるため）");
+      }
+    }
+    return arguments;
+  }
+}
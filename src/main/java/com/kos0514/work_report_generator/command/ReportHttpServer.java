@@ -0,0 +1,466 @@
+package com.kos0514.work_report_generator.command;
+
+import com.kos0514.work_report_generator.model.ReportFileName;
+import com.kos0514.work_report_generator.model.ReportFormat;
+import com.kos0514.work_report_generator.service.config.ConfigService;
+import com.kos0514.work_report_generator.service.file.ExcelService;
+import com.kos0514.work_report_generator.service.file.ReportDirectoryIndex;
+import com.kos0514.work_report_generator.service.report.ReportService;
+import com.kos0514.work_report_generator.service.send_file.SendExcelFileService;
+import com.kos0514.work_report_generator.util.DateUtil;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 報告書の作成・更新・保存・送信とダウンロードを HTTP で提供するサーバー
+ *
+ * <p>{@code work-report.http.enabled} が true の場合、アプリケーションの起動時に JDK の {@link HttpServer} を起動し、
+ * リクエストごとに仮想スレッドで処理します。コマンドの実行は {@link WorkReportCommands} に委譲するため、POIを使用する
+ * 処理の同時実行数はシェルと同じく {@code work-report.scheduler} の上限で制限されます。ダウンロードとCSVのアップロードは
+ * ファイル全体をメモリに読み込まずにストリームで転送します。
+ *
+ * <p>{@code work-report.http.token} を設定した場合は、{@code Authorization: Bearer <トークン>} ヘッダーのない
+ * リクエストを 401 で拒否します。ループバック以外のアドレスで待ち受ける場合はトークンの設定が必須で、未設定の場合は
+ * 起動しません。送信結果のZIPのパスワードはHTTPのレスポンスには含めません。
+ *
+ * <ul>
+ *   <li>{@code GET /api/reports?month=2025/06} 報告書の一覧
+ *   <li>{@code POST /api/reports?month=&user=&client=} 報告書とCSVの作成（create-file）
+ *   <li>{@code GET /api/reports/{ファイル名}} 報告書のダウンロード
+ *   <li>{@code PUT /api/reports/{ファイル名}?csv=} CSVで報告書を更新（update-file）
+ *   <li>{@code PUT /api/csv/{ファイル名}} CSVファイルのアップロード
+ *   <li>{@code POST /api/save} 最新のCSVを報告書に適用（save）
+ *   <li>{@code POST /api/send?file=&csv=&force=} 報告書の送信（send）
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReportHttpServer {
+  private static final String API_PREFIX = "/api";
+  private static final String TEXT_CONTENT_TYPE = "text/plain; charset=UTF-8";
+  private static final String CSV_EXTENSION = ".csv";
+  private static final String BEARER_PREFIX = "Bearer ";
+
+  /** コマンドの戻り値がエラーを表す場合の接頭辞 */
+  private static final String ERROR_PREFIX = "エラー";
+
+  private static final int STATUS_OK = 200;
+  private static final int STATUS_BAD_REQUEST = 400;
+  private static final int STATUS_UNAUTHORIZED = 401;
+  private static final int STATUS_NOT_FOUND = 404;
+  private static final int STATUS_METHOD_NOT_ALLOWED = 405;
+  private static final int STATUS_CONFLICT = 409;
+  private static final int STATUS_PAYLOAD_TOO_LARGE = 413;
+  private static final int STATUS_INTERNAL_ERROR = 500;
+
+  private final WorkReportCommands commands;
+  private final ReportService reportService;
+  private final ConfigService configService;
+  private final ReportDirectoryIndex directoryIndex;
+  @Lazy private final ExcelService excelService;
+
+  /** HTTPサーバーを起動するかどうか */
+  @Value("${work-report.http.enabled:false}")
+  private boolean enabled;
+
+  /** コマンドを1回だけ実行するモードかどうか */
+  @Value("${work-report.cli.one-shot:false}")
+  private boolean oneShot;
+
+  @Value("${work-report.http.host:127.0.0.1}")
+  private String host;
+
+  @Value("${work-report.http.port:8080}")
+  private int port;
+
+  /** リクエストに必要な共有トークン（空の場合は認証しない、ループバック以外で待ち受ける場合は必須） */
+  @Value("${work-report.http.token:}")
+  private String token;
+
+  /** アップロードできるCSVファイルの最大サイズ（バイト） */
+  @Value("${work-report.http.max-upload-bytes:10485760}")
+  private long maxUploadBytes;
+
+  @Value("${work-report.csv-dir}")
+  private String csvDir;
+
+  private HttpServer server;
+  private ExecutorService executor;
+
+  /** アプリケーションの起動後に、HTTPサーバーを起動します（シェルと並行して動作します） */
+  @EventListener(ApplicationStartedEvent.class)
+  public void onApplicationStarted() throws IOException {
+    if (!enabled || oneShot) {
+      return;
+    }
+    start(host, port);
+  }
+
+  /**
+   * HTTPサーバーを起動します
+   *
+   * @param bindHost 待ち受けるアドレス
+   * @param bindPort 待ち受けるポート（0の場合は空いているポート）
+   * @return 待ち受けているポート
+   * @throws IOException ポートを使用できない場合
+   * @throws IllegalStateException ループバック以外のアドレスで待ち受けるのに、共有トークンが設定されていない場合
+   */
+  public synchronized int start(String bindHost, int bindPort) throws IOException {
+    if (server != null) {
+      return server.getAddress().getPort();
+    }
+    if (!hasToken() && !InetAddress.getByName(bindHost).isLoopbackAddress()) {
+      throw new IllegalStateException(
+          "ループバック以外のアドレス（"
+              + bindHost
+              + "）で待ち受ける場合は work-report.http.token を設定してください");
+    }
+    executor = Executors.newVirtualThreadPerTaskExecutor();
+    server = HttpServer.create(new InetSocketAddress(bindHost, bindPort), 0);
+    server.createContext(API_PREFIX + "/", this::handle);
+    server.setExecutor(executor);
+    server.start();
+    int actualPort = server.getAddress().getPort();
+    log.info("HTTPサーバーを起動しました: http://{}:{}{}/", bindHost, actualPort, API_PREFIX);
+    return actualPort;
+  }
+
+  /** HTTPサーバーを停止します（処理中のリクエストは最大1秒待ちます） */
+  @PreDestroy
+  public synchronized void stop() {
+    if (server == null) {
+      return;
+    }
+    server.stop(1);
+    executor.close();
+    server = null;
+    executor = null;
+    log.info("HTTPサーバーを停止しました");
+  }
+
+  /**
+   * リクエストをパスとメソッドに応じて振り分けます
+   *
+   * @param exchange リクエストとレスポンス
+   */
+  private void handle(HttpExchange exchange) {
+    try {
+      if (!isAuthorized(exchange)) {
+        exchange.getResponseHeaders().set("WWW-Authenticate", "Bearer");
+        respond(exchange, STATUS_UNAUTHORIZED, "エラー: 認証に失敗しました");
+        return;
+      }
+      String method = exchange.getRequestMethod();
+      String path = exchange.getRequestURI().getPath().substring(API_PREFIX.length());
+      Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+      // "/reports/ファイル名" → ["", "reports", "ファイル名"]
+      String[] segments = path.split("/", 3);
+      String resource = segments.length > 1 ? segments[1] : "";
+      String name = segments.length > 2 && !segments[2].isEmpty() ? segments[2] : null;
+      if (name != null && !isPlainFileName(name)) {
+        respond(exchange, STATUS_BAD_REQUEST, "エラー: ファイル名が正しくありません: " + name);
+        return;
+      }
+
+      switch (resource) {
+        case "reports" -> {
+          if (name == null && "GET".equals(method)) {
+            listReports(exchange, query);
+          } else if (name == null && "POST".equals(method)) {
+            createReport(exchange, query);
+          } else if (name != null && "GET".equals(method)) {
+            download(exchange, name);
+          } else if (name != null && "PUT".equals(method)) {
+            respondResult(exchange, commands.updateFile(name, requiredFileName(query, "csv")));
+          } else {
+            methodNotAllowed(exchange, method);
+          }
+        }
+        case "csv" -> {
+          if (name != null && "PUT".equals(method)) {
+            uploadCsv(exchange, name);
+          } else {
+            methodNotAllowed(exchange, method);
+          }
+        }
+        case "save" -> {
+          if ("POST".equals(method)) {
+            respondResult(exchange, commands.saveLatestCsv(false, false));
+          } else {
+            methodNotAllowed(exchange, method);
+          }
+        }
+        case "send" -> {
+          if ("POST".equals(method)) {
+            send(exchange, query);
+          } else {
+            methodNotAllowed(exchange, method);
+          }
+        }
+        default -> respond(exchange, STATUS_NOT_FOUND, "エラー: 見つかりません: " + path);
+      }
+    } catch (IllegalArgumentException e) {
+      respondQuietly(exchange, STATUS_BAD_REQUEST, "エラー: " + e.getMessage());
+    } catch (Exception e) {
+      log.error("HTTPリクエストの処理中にエラーが発生しました: {}", exchange.getRequestURI(), e);
+      respondQuietly(exchange, STATUS_INTERNAL_ERROR, "エラー: " + e.getMessage());
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private void listReports(HttpExchange exchange, Map<String, String> query) throws IOException {
+    String yearMonth = DateUtil.getFileNameMonth(required(query, "month"));
+    List<String> fileNames = reportService.findExcelFilesByYearMonth(yearMonth);
+    respond(exchange, STATUS_OK, String.join("\n", fileNames));
+  }
+
+  private void createReport(HttpExchange exchange, Map<String, String> query) throws IOException {
+    respondResult(
+        exchange,
+        commands.createFile(
+            required(query, "month"),
+            requiredFileName(query, "user"),
+            required(query, "client")));
+  }
+
+  private void send(HttpExchange exchange, Map<String, String> query) throws IOException {
+    String fileName = optionalFileName(query, "file");
+    if (!fileName.isEmpty() && ReportFileName.parse(fileName).isEmpty()) {
+      throw new IllegalArgumentException("報告書のファイル名ではありません: " + fileName);
+    }
+    String csvFile = optionalFileName(query, "csv");
+
+    // HTTPでは送信先ディレクトリを入力できないため、設定済みの場合のみ送信する
+    String sendDir = configService.getSendDirectory();
+    if (sendDir == null || sendDir.isEmpty()) {
+      respond(
+          exchange,
+          STATUS_CONFLICT,
+          "エラー: 送信先ディレクトリが設定されていません（send-config.properties の send.directory）");
+      return;
+    }
+    String result =
+        commands.sendExcelFile(
+            fileName, csvFile, Boolean.parseBoolean(query.getOrDefault("force", "false")));
+    // ZIPのパスワードは送信先のパスワードファイルで確認するため、レスポンスには含めない
+    respondResult(
+        exchange,
+        result
+            .lines()
+            .filter(line -> !line.startsWith(SendExcelFileService.PASSWORD_LINE_PREFIX))
+            .collect(Collectors.joining("\n")));
+  }
+
+  private boolean hasToken() {
+    return token != null && !token.isBlank();
+  }
+
+  /** 共有トークンが設定されている場合に、リクエストのトークンが一致するかどうか */
+  private boolean isAuthorized(HttpExchange exchange) {
+    if (!hasToken()) {
+      return true;
+    }
+    String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+    if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+      return false;
+    }
+    // 一致する文字数から推測されないよう、比較時間を一定にする
+    return MessageDigest.isEqual(
+        authorization.substring(BEARER_PREFIX.length()).getBytes(StandardCharsets.UTF_8),
+        token.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * 報告書をダウンロードします
+   *
+   * <p>ファイルを開いた時点の内容を送信するため、送信中に報告書が更新（置き換え）されても内容が混ざりません。
+   */
+  private void download(HttpExchange exchange, String fileName) throws IOException {
+    if (ReportFileName.parse(fileName).isEmpty()) {
+      respond(exchange, STATUS_BAD_REQUEST, "エラー: 報告書のファイル名ではありません: " + fileName);
+      return;
+    }
+    Path file = reportService.resolveReportPath(fileName);
+    try (FileChannel channel = FileChannel.open(file)) {
+      String contentType =
+          ReportFormat.fromFileName(fileName) == ReportFormat.XLSX
+              ? "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"
+              : "application/vnd.ms-excel";
+      exchange.getResponseHeaders().set("Content-Type", contentType);
+      exchange
+          .getResponseHeaders()
+          .set(
+              "Content-Disposition",
+              "attachment; filename*=UTF-8''"
+                  + URLEncoder.encode(fileName, StandardCharsets.UTF_8).replace("+", "%20"));
+      exchange.sendResponseHeaders(STATUS_OK, channel.size());
+      try (OutputStream body = exchange.getResponseBody()) {
+        Channels.newInputStream(channel).transferTo(body);
+      }
+    } catch (NoSuchFileException e) {
+      respond(exchange, STATUS_NOT_FOUND, "エラー: 報告書が見つかりません: " + fileName);
+    }
+  }
+
+  /**
+   * CSVファイルをアップロードします
+   *
+   * <p>一時ファイルに書き込んでから置き換えるため、アップロード中のCSVが他のコマンドから読まれることはありません。
+   */
+  private void uploadCsv(HttpExchange exchange, String fileName) throws IOException {
+    if (!fileName.endsWith(CSV_EXTENSION)) {
+      respond(exchange, STATUS_BAD_REQUEST, "エラー: CSVファイル名が正しくありません: " + fileName);
+      return;
+    }
+    Path target = Paths.get(csvDir).resolve(fileName);
+    Files.createDirectories(target.getParent());
+    try (InputStream body = exchange.getRequestBody()) {
+      excelService.writeAtomically(target, out -> copyWithLimit(body, out));
+    } catch (UploadTooLargeException e) {
+      respond(exchange, STATUS_PAYLOAD_TOO_LARGE, "エラー: " + e.getMessage());
+      return;
+    }
+    directoryIndex.recordCsvFile(fileName);
+    respond(exchange, STATUS_OK, "アップロード完了: " + fileName);
+  }
+
+  private void copyWithLimit(InputStream in, OutputStream out) throws IOException {
+    byte[] buffer = new byte[8192];
+    long total = 0;
+    int read;
+    while ((read = in.read(buffer)) != -1) {
+      total += read;
+      if (total > maxUploadBytes) {
+        throw new UploadTooLargeException(
+            "アップロードできるファイルのサイズを超えています（上限 " + maxUploadBytes + " バイト）");
+      }
+      out.write(buffer, 0, read);
+    }
+  }
+
+  /** ディレクトリの区切りや親ディレクトリの指定を含まないファイル名かどうか */
+  private static boolean isPlainFileName(String fileName) {
+    Path path = Paths.get(fileName);
+    return path.getNameCount() == 1
+        && !fileName.equals("..")
+        && !fileName.contains("\\")
+        && path.getFileName().toString().equals(fileName);
+  }
+
+  private static void methodNotAllowed(HttpExchange exchange, String method) throws IOException {
+    respond(exchange, STATUS_METHOD_NOT_ALLOWED, "エラー: 対応していないメソッドです: " + method);
+  }
+
+  /** コマンドの戻り値を、エラーの場合は 400、それ以外は 200 で返します */
+  private static void respondResult(HttpExchange exchange, String result) throws IOException {
+    respond(exchange, result.startsWith(ERROR_PREFIX) ? STATUS_BAD_REQUEST : STATUS_OK, result);
+  }
+
+  private static void respond(HttpExchange exchange, int status, String message)
+      throws IOException {
+    byte[] body = (message + "\n").getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", TEXT_CONTENT_TYPE);
+    exchange.sendResponseHeaders(status, body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+
+  /** レスポンスを返します（ヘッダーの送信後に失敗した場合など、返せない場合は何もしません） */
+  private static void respondQuietly(HttpExchange exchange, int status, String message) {
+    try {
+      respond(exchange, status, message);
+    } catch (IOException | IllegalStateException e) {
+      log.debug("エラーのレスポンスを返せませんでした: {}", e.getMessage());
+    }
+  }
+
+  private static String required(Map<String, String> query, String name) {
+    String value = query.get(name);
+    if (value == null || value.isBlank()) {
+      throw new IllegalArgumentException("パラメータ " + name + " を指定してください");
+    }
+    return value;
+  }
+
+  /**
+   * ファイル名（またはファイル名の一部）として使用する必須のパラメータを取得します
+   *
+   * @throws IllegalArgumentException 指定されていない場合、またはディレクトリを含む場合
+   */
+  private static String requiredFileName(Map<String, String> query, String name) {
+    return checkFileName(name, required(query, name));
+  }
+
+  /**
+   * ファイル名として使用する省略可能なパラメータを取得します
+   *
+   * @return パラメータの値（省略された場合は空文字列）
+   * @throws IllegalArgumentException ディレクトリを含む場合
+   */
+  private static String optionalFileName(Map<String, String> query, String name) {
+    String value = query.getOrDefault(name, "");
+    return value.isEmpty() ? value : checkFileName(name, value);
+  }
+
+  private static String checkFileName(String name, String value) {
+    if (!isPlainFileName(value)) {
+      throw new IllegalArgumentException("パラメータ " + name + " のファイル名が正しくありません: " + value);
+    }
+    return value;
+  }
+
+  private static Map<String, String> parseQuery(String rawQuery) {
+    Map<String, String> query = new HashMap<>();
+    if (rawQuery == null || rawQuery.isEmpty()) {
+      return query;
+    }
+    for (String pair : rawQuery.split("&")) {
+      int separator = pair.indexOf('=');
+      String key = separator >= 0 ? pair.substring(0, separator) : pair;
+      String value = separator >= 0 ? pair.substring(separator + 1) : "";
+      query.put(
+          URLDecoder.decode(key, StandardCharsets.UTF_8),
+          URLDecoder.decode(value, StandardCharsets.UTF_8));
+    }
+    return query;
+  }
+
+  /** アップロードされたファイルが上限を超えた場合の例外 */
+  private static final class UploadTooLargeException extends IOException {
+    private UploadTooLargeException(String message) {
+      super(message);
+    }
+  }
+}
@@ -1,7 +1,21 @@
 package com.kos0514.work_report_generator.command;
 
+import com.kos0514.work_report_generator.model.job.WorkPriority;
+import com.kos0514.work_report_generator.model.metrics.PhaseStats;
+import com.kos0514.work_report_generator.service.job.BackgroundJob;
+import com.kos0514.work_report_generator.service.job.BackgroundJobService;
+import com.kos0514.work_report_generator.service.job.JobRunnerService;
+import com.kos0514.work_report_generator.service.job.WorkScheduler;
+import com.kos0514.work_report_generator.service.metrics.PhaseMetrics;
 import com.kos0514.work_report_generator.service.report.ReportService;
+import com.kos0514.work_report_generator.service.send_file.BatchSendService;
 import com.kos0514.work_report_generator.service.send_file.SendExcelFileService;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.shell.standard.ShellComponent;
 import org.springframework.shell.standard.ShellMethod;
@@ -10,6 +24,10 @@ import org.springframework.stereotype.Component;
 
 /**
  * 作業報告書管理システムのCLIコマンドを定義するクラス
+ *
+ * <p>{@code save} / {@code send-all} / {@code run-jobs} は {@code --background} を指定するとバックグラウンドで実行し、
+ * {@code jobs} で進捗を確認、{@code cancel} でキャンセルできます。1件のファイルを扱うコマンドは {@link WorkScheduler} で
+ * interactive として実行し、バックグラウンドの処理より先に開始します。
  */
 @Component
 @ShellComponent
@@ -18,6 +36,11 @@ public class WorkReportCommands {
 
   private final ReportService reportService;
   private final SendExcelFileService sendExcelFileService;
+  private final BatchSendService batchSendService;
+  private final JobRunnerService jobRunnerService;
+  private final BackgroundJobService backgroundJobService;
+  private final WorkScheduler workScheduler;
+  private final PhaseMetrics phaseMetrics;
 
   @ShellMethod(value = "新規報告書ファイルを作成", key = "create-file")
   public String createFile(
@@ -27,13 +50,34 @@ public class WorkReportCommands {
       ) {
     try {
 
-      // Excelファイル作成
-      String excelFileName = reportService.createReport(month, user, client);
+      return workScheduler.run(
+          WorkPriority.INTERACTIVE,
+          () -> {
+            // Excelファイル作成
+            String excelFileName = reportService.createReport(month, user, client);
 
-      // CSVファイル作成
-      String csvFileName = reportService.createCsvFile(month);
+            // CSVファイル作成
+            String csvFileName = reportService.createCsvFile(month);
 
-      return "ファイル作成完了:\n" + "- Excel: " + excelFileName + "\n" + "- CSV: " + csvFileName;
+            return "ファイル作成完了:\n" + "- Excel: " + excelFileName + "\n" + "- CSV: " + csvFileName;
+          });
+    } catch (Exception e) {
+      return "エラー: " + e.getMessage();
+    }
+  }
+
+  @ShellMethod(value = "1月〜12月のシートを含む年間報告書ファイルを作成", key = "create-year")
+  public String createYearFile(
+      @ShellOption("--year") String year, // 2025 形式
+      @ShellOption("--user") String user, // ユーザー名
+      @ShellOption("--client") String client // クライアント名
+      ) {
+    try {
+
+      String excelFileName =
+          workScheduler.run(
+              WorkPriority.INTERACTIVE, () -> reportService.createYearReport(year, user, client));
+      return "年間ファイル作成完了:\n" + "- Excel: " + excelFileName;
     } catch (Exception e) {
       return "エラー: " + e.getMessage();
     }
@@ -46,7 +90,9 @@ public class WorkReportCommands {
       ) {
     try {
 
-      int updatedRows = reportService.updateFromCsv(fileName, csvFile);
+      int updatedRows =
+          workScheduler.run(
+              WorkPriority.INTERACTIVE, () -> reportService.updateFromCsv(fileName, csvFile));
       return "更新完了: " + updatedRows + " 件";
     } catch (Exception e) {
       return "エラー: " + e.getMessage();
@@ -54,10 +100,24 @@ public class WorkReportCommands {
   }
 
   @ShellMethod(value = "最新のCSVファイルを対応するExcelファイルに適用", key = "save")
-  public String saveLatestCsv() {
+  public String saveLatestCsv(
+      @ShellOption(value = "--resume", help = "前回中断した実行を再開する", defaultValue = "false")
+          boolean resume,
+      @ShellOption(value = "--background", help = "バックグラウンドで実行する", defaultValue = "false")
+          boolean background) {
+    if (background) {
+      return started(
+          backgroundJobService.submit(
+              "save" + (resume ? " --resume" : ""),
+              progress -> saveMessage(() -> reportService.saveLatestCsvToExcel(resume, progress))));
+    }
+    return saveMessage(() -> reportService.saveLatestCsvToExcel(resume));
+  }
+
+  private static String saveMessage(IntSupplier save) {
     try {
 
-      int updatedFiles = reportService.saveLatestCsvToExcel();
+      int updatedFiles = save.getAsInt();
       if (updatedFiles > 0) {
         return "保存完了: " + updatedFiles + " 件のファイルを更新しました";
       } else {
@@ -75,7 +135,134 @@ public class WorkReportCommands {
 
   @ShellMethod(value = "Excelファイルをパスワード付きZIPにして送信", key = "send")
   public String sendExcelFile(
-      @ShellOption(value = "--file", help = "送信するExcelファイル", defaultValue = "") String fileName) {
-    return sendExcelFileService.sendExcelFile(fileName);
+      @ShellOption(value = "--file", help = "送信するExcelファイル", defaultValue = "") String fileName,
+      @ShellOption(value = "--csv", help = "送信前に適用するCSVファイル", defaultValue = "")
+          String csvFile,
+      @ShellOption(value = "--force", help = "変更がなくても送信する", defaultValue = "false")
+          boolean force) {
+    return workScheduler.run(
+        WorkPriority.INTERACTIVE,
+        () -> sendExcelFileService.sendExcelFile(fileName, csvFile, force));
+  }
+
+  @ShellMethod(value = "指定した月のすべての報告書をパスワード付きZIPにして送信", key = "send-all")
+  public String sendAllExcelFiles(
+      @ShellOption("--month") String month, // 2025/06 形式
+      @ShellOption(value = "--bundle", help = "1つのZIPにまとめる", defaultValue = "false")
+          boolean bundle,
+      @ShellOption(value = "--force", help = "変更がなくても送信する", defaultValue = "false")
+          boolean force,
+      @ShellOption(value = "--resume", help = "前回中断した実行を再開する", defaultValue = "false")
+          boolean resume,
+      @ShellOption(value = "--csv", help = "送信前に各報告書へ適用するCSVファイル", defaultValue = "")
+          String csvFile,
+      @ShellOption(value = "--background", help = "バックグラウンドで実行する", defaultValue = "false")
+          boolean background) {
+    if (background) {
+      String command =
+          "send-all --month "
+              + month
+              + (bundle ? " --bundle" : "")
+              + (force ? " --force" : "")
+              + (resume ? " --resume" : "")
+              + (csvFile.isEmpty() ? "" : " --csv " + csvFile);
+      return started(
+          backgroundJobService.submit(
+              command,
+              progress ->
+                  batchSendService.sendAll(month, bundle, force, resume, csvFile, progress)));
+    }
+    return batchSendService.sendAll(month, bundle, force, resume, csvFile);
+  }
+
+  @ShellMethod(value = "ジョブファイル（JSON）のコマンドを依存関係に従って並列に実行", key = "run-jobs")
+  public String runJobs(
+      @ShellOption(value = "--file", help = "ジョブファイル（JSON）") String jobFile,
+      @ShellOption(value = "--resume", help = "前回中断した実行を再開する", defaultValue = "false")
+          boolean resume,
+      @ShellOption(value = "--background", help = "バックグラウンドで実行する", defaultValue = "false")
+          boolean background) {
+    if (background) {
+      // バックグラウンドでは進捗を画面に出力せず、jobs で確認する
+      return started(
+          backgroundJobService.submit(
+              "run-jobs --file " + jobFile + (resume ? " --resume" : ""),
+              progress -> jobRunnerService.runJobs(jobFile, resume, line -> {}, progress)));
+    }
+    return jobRunnerService.runJobs(jobFile, resume, System.out::println);
+  }
+
+  @ShellMethod(value = "バックグラウンドで実行したコマンドの進捗と結果を表示", key = "jobs")
+  public String listJobs(
+      @ShellOption(value = "--id", help = "結果を表示するジョブ番号", defaultValue = "0") int id) {
+    if (id > 0) {
+      return backgroundJobService
+          .find(id)
+          .map(job -> job.describe() + (job.getResult() != null ? "\n" + job.getResult() : ""))
+          .orElse("エラー: ジョブが見つかりません: #" + id);
+    }
+    List<BackgroundJob> jobs = backgroundJobService.list();
+    if (jobs.isEmpty()) {
+      return "バックグラウンドで実行したコマンドはありません";
+    }
+    return jobs.stream().map(BackgroundJob::describe).collect(Collectors.joining("\n"));
+  }
+
+  @ShellMethod(value = "バックグラウンドで実行中のコマンドをキャンセル", key = "cancel")
+  public String cancelJob(@ShellOption(value = "--id", help = "キャンセルするジョブ番号") int id) {
+    if (!backgroundJobService.cancel(id)) {
+      return "エラー: 実行中のジョブが見つかりません: #" + id;
+    }
+    return "キャンセルを要求しました: #" + id + "（処理中のファイルの保存が終わり次第停止します）";
+  }
+
+  @ShellMethod(value = "優先度クラスごとの実行待ちの件数と待ち時間を表示", key = "scheduler-stats")
+  public String showSchedulerStats() {
+    return "同時実行数の上限: "
+        + workScheduler.totalLimit()
+        + "\n"
+        + workScheduler.stats().stream()
+            .map(stats -> "- " + stats.describe())
+            .collect(Collectors.joining("\n"));
+  }
+
+  @ShellMethod(value = "処理の段階ごとの処理時間（p50 / p95 / max）と件数を表示", key = "stats")
+  public String showStats(
+      @ShellOption(value = "--file", help = "統計を書き出すJSONファイル", defaultValue = "")
+          String file) {
+    List<PhaseStats> phases = phaseMetrics.phaseStats();
+    if (phases.isEmpty()) {
+      return "計測した処理はありません";
+    }
+
+    StringBuilder message = new StringBuilder("処理時間:\n");
+    phases.forEach(stats -> message.append("- ").append(stats.describe()).append("\n"));
+    Map<String, Long> counters = phaseMetrics.counters();
+    if (!counters.isEmpty()) {
+      message.append("件数:\n");
+      counters.forEach(
+          (name, value) ->
+              message.append("- ").append(name).append(": ").append(value).append("\n"));
+    }
+
+    if (!file.isEmpty()) {
+      try {
+        phaseMetrics.dump(Paths.get(file));
+        message.append("統計を書き出しました: ").append(file).append("\n");
+      } catch (IOException e) {
+        return "エラー: 統計の書き出しに失敗しました: " + e.getMessage();
+      }
+    }
+    return message.toString();
+  }
+
+  private static String started(BackgroundJob job) {
+    return "バックグラウンドで開始しました: #"
+        + job.getId()
+        + " "
+        + job.getCommand()
+        + "\n進捗は jobs、キャンセルは cancel --id "
+        + job.getId()
+        + " で行えます";
   }
 }
@@ -0,0 +1,46 @@
+package com.kos0514.work_report_generator.model;
+
+/**
+ * ZIPファイル作成時の圧縮方式を表す列挙型
+ */
+public enum CompressionPolicy {
+  /** 圧縮せずに格納する（暗号化のみ） */
+  STORE,
+
+  /** DEFLATEの最速レベルで圧縮する */
+  FASTEST,
+
+  /** DEFLATEの標準レベルで圧縮する */
+  NORMAL,
+
+  /** DEFLATEの最大レベルで圧縮する */
+  MAXIMUM,
+
+  /** ファイルの一部を試し圧縮した圧縮率から STORE / FASTEST / NORMAL を選択する */
+  ADAPTIVE;
+
+  /** この圧縮率（圧縮後 / 圧縮前）以上の場合は圧縮しても効果がないとみなす */
+  private static final double INCOMPRESSIBLE_RATIO = 0.9;
+
+  /** この圧縮率以下の場合は最速レベルでも十分に縮むとみなす */
+  private static final double HIGHLY_COMPRESSIBLE_RATIO = 0.5;
+
+  /**
+   * 試し圧縮の圧縮率から実際に使用する圧縮方式を決定します
+   *
+   * @param sampledRatio 試し圧縮の圧縮率（圧縮後 / 圧縮前）
+   * @return ADAPTIVE の場合は圧縮率に応じた方式、それ以外は自身
+   */
+  public CompressionPolicy resolve(double sampledRatio) {
+    if (this != ADAPTIVE) {
+      return this;
+    }
+    if (sampledRatio >= INCOMPRESSIBLE_RATIO) {
+      return STORE;
+    }
+    if (sampledRatio <= HIGHLY_COMPRESSIBLE_RATIO) {
+      return FASTEST;
+    }
+    return NORMAL;
+  }
+}
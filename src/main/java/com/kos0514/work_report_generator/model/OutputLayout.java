@@ -0,0 +1,42 @@
+package com.kos0514.work_report_generator.model;
+
+import java.nio.file.Path;
+
+/**
+ * 出力ディレクトリ内の報告書ファイルの配置方式を表す列挙型
+ */
+public enum OutputLayout {
+  /** 出力ディレクトリ直下にすべての報告書を配置する */
+  FLAT,
+
+  /** 出力ディレクトリ/yyyy/mm に年月ごとに分けて配置する */
+  SHARDED;
+
+  /**
+   * 月次報告書を配置するディレクトリを返します
+   *
+   * @param outputDir 出力ディレクトリ
+   * @param yearMonth 年月（yyyymm形式）
+   * @return 月次報告書の配置先ディレクトリ
+   */
+  public Path monthDirectory(Path outputDir, String yearMonth) {
+    if (this == FLAT) {
+      return outputDir;
+    }
+    return outputDir.resolve(yearMonth.substring(0, 4)).resolve(yearMonth.substring(4, 6));
+  }
+
+  /**
+   * 年間報告書を配置するディレクトリを返します
+   *
+   * @param outputDir 出力ディレクトリ
+   * @param year 対象年
+   * @return 年間報告書の配置先ディレクトリ
+   */
+  public Path yearDirectory(Path outputDir, int year) {
+    if (this == FLAT) {
+      return outputDir;
+    }
+    return outputDir.resolve(String.format("%04d", year));
+  }
+}
@@ -0,0 +1,79 @@
+package com.kos0514.work_report_generator.model;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.Value;
+
+/**
+ * 月次報告書のファイル名（user_yyyymm_作業報告書.xls）を表す値オブジェクト
+ *
+ * <p>年月は末尾から解析するため、アンダースコアを含むユーザー名にも対応します。
+ */
+@Value
+public class ReportFileName {
+
+  /** ファイル名の形式: user_yyyymm_作業報告書.xls（または .xlsx） */
+  private static final Pattern FILE_NAME_PATTERN =
+      Pattern.compile("(.+)_(\\d{6})_作業報告書(\\.xlsx?)");
+
+  private static final String FILE_NAME_SUFFIX = "_作業報告書";
+
+  /** ユーザー名 */
+  String user;
+
+  /** 年月（yyyymm形式） */
+  String yearMonth;
+
+  /** ファイル形式 */
+  ReportFormat format;
+
+  /**
+   * 報告書のファイル名を生成します
+   *
+   * @param user ユーザー名
+   * @param yearMonth 年月（yyyymm形式）
+   * @param format ファイル形式
+   * @return ReportFileNameインスタンス
+   * @throws NullPointerException いずれかの引数がnullの場合
+   * @throws IllegalArgumentException 年月の形式が不正な場合
+   */
+  public static ReportFileName of(String user, String yearMonth, ReportFormat format) {
+    Objects.requireNonNull(user, "ユーザー名は必須です");
+    Objects.requireNonNull(yearMonth, "年月は必須です");
+    Objects.requireNonNull(format, "ファイル形式は必須です");
+    if (!yearMonth.matches("\\d{6}")) {
+      throw new IllegalArgumentException("年月の形式が不正です: " + yearMonth + " (期待形式: yyyymm)");
+    }
+    return new ReportFileName(user, yearMonth, format);
+  }
+
+  /**
+   * ファイル名を解析します
+   *
+   * @param fileName ファイル名（例: 田中太郎_202506_作業報告書.xls）
+   * @return 解析結果、報告書のファイル名形式でない場合は空
+   */
+  public static Optional<ReportFileName> parse(String fileName) {
+    if (fileName == null) {
+      return Optional.empty();
+    }
+    Matcher matcher = FILE_NAME_PATTERN.matcher(fileName);
+    if (!matcher.matches()) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        new ReportFileName(
+            matcher.group(1), matcher.group(2), ReportFormat.fromFileName(matcher.group(3))));
+  }
+
+  /**
+   * ファイル名を返します
+   *
+   * @return user_yyyymm_作業報告書.xls 形式のファイル名
+   */
+  public String toFileName() {
+    return user + "_" + yearMonth + FILE_NAME_SUFFIX + format.getExtension();
+  }
+}
@@ -0,0 +1,35 @@
+package com.kos0514.work_report_generator.model;
+
+import com.kos0514.work_report_generator.util.Constants;
+import java.util.Locale;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 報告書ファイルの出力形式を表す列挙型
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ReportFormat {
+  /** Excel 97-2003形式（HSSF、最大65,536行） */
+  XLS(Constants.Files.EXCEL_EXTENSION),
+
+  /** Excel 2007以降の形式（SXSSFによる行ストリーミング出力） */
+  XLSX(Constants.Files.XLSX_EXTENSION);
+
+  /** ファイル拡張子（ドット付き） */
+  private final String extension;
+
+  /**
+   * ファイル名の拡張子から形式を判定します
+   *
+   * @param fileName ファイル名またはパス
+   * @return .xlsx で終わる場合はXLSX、それ以外はXLS
+   */
+  public static ReportFormat fromFileName(String fileName) {
+    if (fileName != null && fileName.toLowerCase(Locale.ROOT).endsWith(XLSX.extension)) {
+      return XLSX;
+    }
+    return XLS;
+  }
+}
@@ -0,0 +1,12 @@
+package com.kos0514.work_report_generator.model;
+
+/**
+ * 時刻・時間セルの書き込み方式を表す列挙型
+ */
+public enum TimeCellMode {
+  /** "09:00" のような文字列として書き込む */
+  TEXT,
+
+  /** 1日を1とする数値（シリアル値）として書き込み、時刻の表示形式を設定する */
+  NUMERIC
+}
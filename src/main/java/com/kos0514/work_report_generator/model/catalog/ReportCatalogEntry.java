@@ -0,0 +1,47 @@
+package com.kos0514.work_report_generator.model.catalog;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 報告書カタログの1行（JSON Lines形式）を表すレコード
+ *
+ * @param op 操作種別
+ * @param user ユーザー名
+ * @param yearMonth 年月（yyyymm形式）
+ * @param client クライアント名
+ * @param path 出力ディレクトリからの相対パス（区切り文字は "/"）
+ * @param size ファイルサイズ（バイト）
+ * @param sha256 ファイル内容のSHA-256（16進数）
+ * @param updatedAt 記録日時（ISO-8601形式）
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ReportCatalogEntry(
+    Op op,
+    String user,
+    String yearMonth,
+    String client,
+    String path,
+    long size,
+    String sha256,
+    String updatedAt) {
+
+  /** カタログに対する操作種別 */
+  public enum Op {
+    /** 報告書の登録・更新 */
+    PUT,
+
+    /** 報告書の削除 */
+    REMOVE
+  }
+
+  /**
+   * ファイル名を返します
+   *
+   * @return 相対パスの最後の要素
+   */
+  public String fileName() {
+    return path.substring(path.lastIndexOf('/') + 1);
+  }
+}
@@ -0,0 +1,26 @@
+package com.kos0514.work_report_generator.model.job;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * バックグラウンドで実行するコマンドの状態を表す列挙型
+ */
+@Getter
+@RequiredArgsConstructor
+public enum BackgroundJobState {
+  /** 実行中 */
+  RUNNING("実行中"),
+
+  /** 正常に終了した */
+  SUCCEEDED("完了"),
+
+  /** エラーで終了した */
+  FAILED("失敗"),
+
+  /** キャンセルの要求により途中で終了した */
+  CANCELLED("キャンセル");
+
+  /** 一覧に表示する名称 */
+  private final String label;
+}
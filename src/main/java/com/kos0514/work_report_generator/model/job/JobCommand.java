@@ -0,0 +1,44 @@
+package com.kos0514.work_report_generator.model.job;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * ジョブファイルで実行できるコマンドを表す列挙型
+ *
+ * <p>同じ報告書を対象とするジョブは、定義順（作成 → 更新 → 送信）に実行します。
+ */
+@Getter
+@RequiredArgsConstructor
+public enum JobCommand {
+  /** 新規報告書ファイルとCSVファイルの作成（create-file） */
+  CREATE_FILE("create-file"),
+
+  /** CSVファイルによる報告書の更新（update-file） */
+  UPDATE_FILE("update-file"),
+
+  /** 報告書の送信（send） */
+  SEND("send");
+
+  /** ジョブファイルに記述するコマンド名 */
+  @JsonValue private final String key;
+
+  /**
+   * コマンド名から列挙値を取得します
+   *
+   * @param key コマンド名（例: create-file）
+   * @return 対応する列挙値
+   * @throws IllegalArgumentException 対応するコマンドがない場合
+   */
+  @JsonCreator
+  public static JobCommand fromKey(String key) {
+    for (JobCommand command : values()) {
+      if (command.key.equals(key)) {
+        return command;
+      }
+    }
+    throw new IllegalArgumentException("ジョブで実行できないコマンドです: " + key);
+  }
+}
@@ -0,0 +1,139 @@
+package com.kos0514.work_report_generator.model.job;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * ジョブの依存関係を表す有向非巡回グラフ
+ *
+ * <p>依存関係は、ジョブに明示した {@code dependsOn} と、同じリソース（報告書ファイルなど）を扱うジョブ間の順序から
+ * 求めます。同じリソースを扱うジョブは、コマンドの順（作成 → 更新 → 送信）、同じコマンドの場合は定義順に1件ずつ実行します。
+ *
+ * @param order 実行できる順に並べたジョブ（トポロジカル順、依存関係がない場合は定義順）
+ * @param dependencies ジョブID → 先に終了している必要があるジョブのID
+ */
+public record JobGraph(List<JobSpec> order, Map<String, List<String>> dependencies) {
+
+  /**
+   * ジョブのリストから依存関係のグラフを作成します
+   *
+   * @param jobs ジョブのリスト（IDは割り当て済み）
+   * @param resourceKeys ジョブが読み書きするリソースのキーを返す関数
+   * @return 依存関係のグラフ
+   * @throws IllegalArgumentException IDの重複、存在しないジョブへの依存、循環する依存関係がある場合
+   */
+  public static JobGraph of(
+      List<JobSpec> jobs, Function<JobSpec, Collection<String>> resourceKeys) {
+    Map<String, Integer> indexById = new HashMap<>();
+    for (int i = 0; i < jobs.size(); i++) {
+      if (indexById.putIfAbsent(jobs.get(i).id(), i) != null) {
+        throw new IllegalArgumentException("ジョブIDが重複しています: " + jobs.get(i).id());
+      }
+    }
+
+    Map<String, Set<String>> dependencies = new LinkedHashMap<>();
+    for (JobSpec job : jobs) {
+      Set<String> prerequisites = new LinkedHashSet<>();
+      for (String dependency : job.dependsOn()) {
+        if (!indexById.containsKey(dependency)) {
+          throw new IllegalArgumentException(
+              "依存するジョブが見つかりません: " + job.id() + " -> " + dependency);
+        }
+        prerequisites.add(dependency);
+      }
+      dependencies.put(job.id(), prerequisites);
+    }
+
+    // 同じリソースを扱うジョブを、コマンドの順・定義順に1列に並べる
+    Map<String, List<JobSpec>> jobsByResource = new LinkedHashMap<>();
+    for (JobSpec job : jobs) {
+      for (String key : resourceKeys.apply(job)) {
+        jobsByResource.computeIfAbsent(key, k -> new ArrayList<>()).add(job);
+      }
+    }
+    Comparator<JobSpec> executionOrder =
+        Comparator.comparing(JobSpec::command).thenComparing(job -> indexById.get(job.id()));
+    for (List<JobSpec> sharing : jobsByResource.values()) {
+      sharing.sort(executionOrder);
+      for (int i = 1; i < sharing.size(); i++) {
+        dependencies.get(sharing.get(i).id()).add(sharing.get(i - 1).id());
+      }
+    }
+
+    return new JobGraph(sort(jobs, indexById, dependencies), freeze(dependencies));
+  }
+
+  /**
+   * 指定したジョブより先に終了している必要があるジョブのIDを返します
+   *
+   * @param id ジョブID
+   * @return 依存するジョブのID（ない場合は空）
+   */
+  public List<String> dependenciesOf(String id) {
+    return dependencies.getOrDefault(id, List.of());
+  }
+
+  /**
+   * ジョブをトポロジカル順に並べます（Kahnのアルゴリズム、実行可能なジョブが複数ある場合は定義順）
+   *
+   * @param jobs ジョブのリスト
+   * @param indexById ジョブID → 定義順
+   * @param dependencies ジョブID → 依存するジョブのID
+   * @return トポロジカル順のジョブ
+   * @throws IllegalArgumentException 依存関係が循環している場合
+   */
+  private static List<JobSpec> sort(
+      List<JobSpec> jobs, Map<String, Integer> indexById, Map<String, Set<String>> dependencies) {
+    Map<String, Integer> remaining = new HashMap<>();
+    Map<String, List<String>> dependents = new HashMap<>();
+    dependencies.forEach(
+        (id, prerequisites) -> {
+          remaining.put(id, prerequisites.size());
+          for (String prerequisite : prerequisites) {
+            dependents.computeIfAbsent(prerequisite, k -> new ArrayList<>()).add(id);
+          }
+        });
+
+    PriorityQueue<String> ready = new PriorityQueue<>(Comparator.comparing(indexById::get));
+    remaining.forEach(
+        (id, count) -> {
+          if (count == 0) {
+            ready.add(id);
+          }
+        });
+
+    List<JobSpec> order = new ArrayList<>(jobs.size());
+    while (!ready.isEmpty()) {
+      String id = ready.poll();
+      order.add(jobs.get(indexById.get(id)));
+      for (String dependent : dependents.getOrDefault(id, List.of())) {
+        if (remaining.merge(dependent, -1, Integer::sum) == 0) {
+          ready.add(dependent);
+        }
+      }
+    }
+
+    if (order.size() < jobs.size()) {
+      List<String> cyclic =
+          jobs.stream().map(JobSpec::id).filter(id -> remaining.get(id) > 0).toList();
+      throw new IllegalArgumentException("ジョブの依存関係が循環しています: " + String.join(", ", cyclic));
+    }
+    return List.copyOf(order);
+  }
+
+  private static Map<String, List<String>> freeze(Map<String, Set<String>> dependencies) {
+    Map<String, List<String>> frozen = new LinkedHashMap<>();
+    dependencies.forEach((id, prerequisites) -> frozen.put(id, List.copyOf(prerequisites)));
+    return Collections.unmodifiableMap(frozen);
+  }
+}
@@ -0,0 +1,45 @@
+package com.kos0514.work_report_generator.model.job;
+
+/**
+ * ジョブ1件の実行結果
+ *
+ * @param job 実行したジョブ
+ * @param status 実行結果の状態
+ * @param elapsedMillis 実行にかかった時間（ミリ秒）
+ * @param message 結果の概要、またはエラー・スキップの理由
+ */
+public record JobResult(JobSpec job, JobStatus status, long elapsedMillis, String message) {
+
+  public static JobResult succeeded(JobSpec job, long elapsedMillis, String message) {
+    return new JobResult(job, JobStatus.SUCCEEDED, elapsedMillis, message);
+  }
+
+  public static JobResult failed(JobSpec job, long elapsedMillis, String message) {
+    return new JobResult(job, JobStatus.FAILED, elapsedMillis, message);
+  }
+
+  public static JobResult skipped(JobSpec job, String message) {
+    return new JobResult(job, JobStatus.SKIPPED, 0, message);
+  }
+
+  public static JobResult alreadyCompleted(JobSpec job) {
+    return new JobResult(job, JobStatus.ALREADY_COMPLETED, 0, "前回の実行で完了しています");
+  }
+
+  /**
+   * 結果メッセージ用の1行を返します
+   *
+   * @return ジョブと実行結果（例: {@code job-1 (create-file) -> 成功 (120 ms): 田中太郎_202506_作業報告書.xls}）
+   */
+  public String describe() {
+    StringBuilder line = new StringBuilder();
+    line.append(job.describe()).append(" -> ").append(status.getLabel());
+    if (status == JobStatus.SUCCEEDED || status == JobStatus.FAILED) {
+      line.append(" (").append(elapsedMillis).append(" ms)");
+    }
+    if (message != null && !message.isEmpty()) {
+      line.append(": ").append(message);
+    }
+    return line.toString();
+  }
+}
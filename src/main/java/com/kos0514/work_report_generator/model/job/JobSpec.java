@@ -0,0 +1,61 @@
+package com.kos0514.work_report_generator.model.job;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.util.List;
+
+/**
+ * ジョブファイル（JSON）に記述する1件のジョブ
+ *
+ * <p>コマンドごとに使用する項目は次のとおりです。
+ *
+ * <ul>
+ *   <li>create-file: month, user, client
+ *   <li>update-file: file, csv
+ *   <li>send: file, csv（省略可）, force（省略可）
+ * </ul>
+ *
+ * @param id ジョブID（省略時は定義順に job-1, job-2, ... を割り当てる）
+ * @param command 実行するコマンド
+ * @param month 対象月（yyyy/MM形式）
+ * @param user ユーザー名
+ * @param client クライアント名
+ * @param file 対象の報告書ファイル名
+ * @param csv 適用するCSVファイル名
+ * @param force trueの場合は変更がなくても送信する
+ * @param dependsOn 先に成功している必要があるジョブのID
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record JobSpec(
+    String id,
+    JobCommand command,
+    String month,
+    String user,
+    String client,
+    String file,
+    String csv,
+    boolean force,
+    List<String> dependsOn) {
+
+  public JobSpec {
+    dependsOn = dependsOn != null ? List.copyOf(dependsOn) : List.of();
+  }
+
+  /**
+   * ジョブIDを置き換えたジョブを返します
+   *
+   * @param newId 新しいジョブID
+   * @return ジョブIDを置き換えたジョブ
+   */
+  public JobSpec withId(String newId) {
+    return new JobSpec(newId, command, month, user, client, file, csv, force, dependsOn);
+  }
+
+  /**
+   * 進捗・結果メッセージ用の表記を返します
+   *
+   * @return ジョブIDとコマンド名（例: {@code job-1 (create-file)}）
+   */
+  public String describe() {
+    return id + " (" + (command != null ? command.getKey() : "?") + ")";
+  }
+}
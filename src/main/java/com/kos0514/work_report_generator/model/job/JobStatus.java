@@ -0,0 +1,35 @@
+package com.kos0514.work_report_generator.model.job;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * ジョブの実行結果の状態を表す列挙型
+ */
+@Getter
+@RequiredArgsConstructor
+public enum JobStatus {
+  /** 正常に終了した */
+  SUCCEEDED("成功"),
+
+  /** エラーで終了した */
+  FAILED("失敗"),
+
+  /** 依存するジョブが成功しなかったため実行しなかった */
+  SKIPPED("スキップ"),
+
+  /** 前回の実行で完了していたため実行しなかった */
+  ALREADY_COMPLETED("完了済み");
+
+  /** 結果メッセージに表示する名称 */
+  private final String label;
+
+  /**
+   * 依存するジョブを実行できる状態かどうかを返します
+   *
+   * @return 成功した場合、または前回の実行で完了していた場合はtrue
+   */
+  public boolean isCompleted() {
+    return this == SUCCEEDED || this == ALREADY_COMPLETED;
+  }
+}
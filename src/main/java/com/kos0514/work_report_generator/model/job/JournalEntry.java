@@ -0,0 +1,23 @@
+package com.kos0514.work_report_generator.model.job;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * バッチ処理のジャーナルに記録する1行（ステップの開始または完了）
+ *
+ * @param step ステップ名（報告書のファイル名、ジョブIDなど）
+ * @param event 記録の種類
+ * @param at 記録した日時（ISO-8601形式）
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record JournalEntry(String step, Event event, String at) {
+
+  /** 記録の種類 */
+  public enum Event {
+    /** ステップを開始した */
+    STARTED,
+
+    /** ステップが完了した */
+    COMPLETED
+  }
+}
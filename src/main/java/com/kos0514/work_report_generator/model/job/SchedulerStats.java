@@ -0,0 +1,47 @@
+package com.kos0514.work_report_generator.model.job;
+
+/**
+ * 優先度クラスごとのスケジューラの統計
+ *
+ * @param priority 優先度クラス
+ * @param running 実行中の処理の数
+ * @param limit 同時に実行できる処理の上限
+ * @param waiting 実行を待っている処理の数
+ * @param completed 実行を終えた処理の数
+ * @param averageWaitMillis 実行を開始するまでの平均の待ち時間（ミリ秒）
+ * @param maxWaitMillis 実行を開始するまでの最大の待ち時間（ミリ秒）
+ * @param promoted 待ち時間が長くなったため優先して実行した処理の数
+ */
+public record SchedulerStats(
+    WorkPriority priority,
+    int running,
+    int limit,
+    int waiting,
+    long completed,
+    long averageWaitMillis,
+    long maxWaitMillis,
+    long promoted) {
+
+  /**
+   * 統計の表示用の1行を返します
+   *
+   * @return 優先度クラスと統計（例: {@code batch: 実行中 3 (上限 7), 待機中 120, 完了 80, 平均待ち 950 ms, ...}）
+   */
+  public String describe() {
+    return priority.getKey()
+        + ": 実行中 "
+        + running
+        + " (上限 "
+        + limit
+        + "), 待機中 "
+        + waiting
+        + ", 完了 "
+        + completed
+        + ", 平均待ち "
+        + averageWaitMillis
+        + " ms, 最大待ち "
+        + maxWaitMillis
+        + " ms, 優先実行 "
+        + promoted;
+  }
+}
@@ -0,0 +1,32 @@
+package com.kos0514.work_report_generator.model.job;
+
+/**
+ * パイプラインの段階ごとの統計
+ *
+ * @param name 段階の名前
+ * @param parallelism 同時に処理する件数の上限
+ * @param capacity 次の段階へ渡す前に保持できる件数の上限
+ * @param maxOccupancy 処理中と次の段階への受け渡し待ちを合わせた件数の最大値
+ * @param processed 処理した件数
+ */
+public record StageStats(
+    String name, int parallelism, int capacity, int maxOccupancy, long processed) {
+
+  /**
+   * 統計の表示用の文字列を返します
+   *
+   * @return 段階の名前と統計（例: {@code zip 18/20 (並列 4, 処理 120 件)}）
+   */
+  public String describe() {
+    return name
+        + " "
+        + maxOccupancy
+        + "/"
+        + (parallelism + capacity)
+        + " (並列 "
+        + parallelism
+        + ", 処理 "
+        + processed
+        + " 件)";
+  }
+}
@@ -0,0 +1,20 @@
+package com.kos0514.work_report_generator.model.job;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 報告書の処理の優先度クラスを表す列挙型
+ */
+@Getter
+@RequiredArgsConstructor
+public enum WorkPriority {
+  /** シェルで直接実行したコマンド（create-file / update-file / send など） */
+  INTERACTIVE("interactive"),
+
+  /** まとめて処理するコマンドのファイル1件ごとの処理（save / send-all / run-jobs） */
+  BATCH("batch");
+
+  /** 統計の表示に使用する名称 */
+  private final String key;
+}
@@ -0,0 +1,38 @@
+package com.kos0514.work_report_generator.model.layout;
+
+import org.apache.poi.ss.util.CellReference;
+
+/**
+ * コンパイル済みのセル位置を表すレコード
+ *
+ * @param row 行番号（0ベース）
+ * @param column 列番号（0ベース）
+ */
+public record CellIndex(int row, int column) {
+
+  /**
+   * Excel表記のセル位置から行列番号を生成します
+   *
+   * @param cellPosition セル位置（例: "B7"）
+   * @return CellIndexインスタンス
+   * @throws IllegalArgumentException セル位置の形式が不正な場合
+   */
+  public static CellIndex of(String cellPosition) {
+    if (cellPosition == null || cellPosition.isBlank()) {
+      throw new IllegalArgumentException("セル位置が指定されていません");
+    }
+
+    CellReference reference;
+    try {
+      reference = new CellReference(cellPosition.trim());
+    } catch (RuntimeException e) {
+      throw new IllegalArgumentException("セル位置の形式が不正です: " + cellPosition, e);
+    }
+
+    if (reference.getRow() < 0 || reference.getCol() < 0) {
+      throw new IllegalArgumentException("セル位置の形式が不正です: " + cellPosition);
+    }
+
+    return new CellIndex(reference.getRow(), reference.getCol());
+  }
+}
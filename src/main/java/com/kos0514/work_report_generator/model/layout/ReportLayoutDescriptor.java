@@ -0,0 +1,41 @@
+package com.kos0514.work_report_generator.model.layout;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+/**
+ * 報告書テンプレートのレイアウト定義ファイル（JSON）の内容を表すレコード
+ *
+ * <p>セル位置はExcel表記（例: "B7"）、列は列名（例: "F"）で記述します。
+ * 起動時に {@link ReportLayoutPlan} へコンパイルされ、書き込み処理では使用されません。
+ *
+ * @param name レイアウト名
+ * @param defaultLayout クライアントに一致するレイアウトがない場合に使用するかどうか
+ * @param clients このレイアウトを使用するクライアント名のリスト
+ * @param templateFile レイアウト専用のテンプレートファイル（省略時は共通テンプレートを使用）
+ * @param targetMonthCell 対象月セル（例: "B7"）
+ * @param clientNameCell クライアント名セル（例: "C4"）
+ * @param userNameCell ユーザー名セル（例: "L4"）
+ * @param startTimeColumn 開始時刻列（例: "F"）
+ * @param endTimeColumn 終了時刻列（例: "G"）
+ * @param breakTimeColumn 休憩時間列（例: "H"）
+ * @param workContentColumn 作業内容列（例: "J"）
+ * @param overflowColumn 作業内容のはみ出し幅を調整する列（例: "Q"）
+ * @param firstDayRow 1日に対応する行番号（1ベース）
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ReportLayoutDescriptor(
+    String name,
+    @JsonProperty("default") boolean defaultLayout,
+    List<String> clients,
+    String templateFile,
+    String targetMonthCell,
+    String clientNameCell,
+    String userNameCell,
+    String startTimeColumn,
+    String endTimeColumn,
+    String breakTimeColumn,
+    String workContentColumn,
+    String overflowColumn,
+    int firstDayRow) {}
@@ -0,0 +1,121 @@
+package com.kos0514.work_report_generator.model.layout;
+
+import java.util.List;
+import java.util.Objects;
+import lombok.Value;
+import org.apache.poi.ss.util.CellReference;
+
+/**
+ * レイアウト定義をコンパイルした書き込み計画を表す値オブジェクト
+ *
+ * <p>すべてのセル位置は0ベースの行列番号として保持されるため、
+ * 書き込み処理ではセル位置文字列の解析が不要になります。
+ */
+@Value
+public class ReportLayoutPlan {
+  /** レイアウト名 */
+  String name;
+
+  /** デフォルトレイアウトかどうか */
+  boolean defaultLayout;
+
+  /** このレイアウトを使用するクライアント名 */
+  List<String> clients;
+
+  /** レイアウト専用のテンプレートファイル（未指定の場合はnull） */
+  String templateFile;
+
+  /** 対象月セル */
+  CellIndex targetMonthCell;
+
+  /** クライアント名セル */
+  CellIndex clientNameCell;
+
+  /** ユーザー名セル */
+  CellIndex userNameCell;
+
+  /** 開始時刻列（0ベース） */
+  int startTimeColumn;
+
+  /** 終了時刻列（0ベース） */
+  int endTimeColumn;
+
+  /** 休憩時間列（0ベース） */
+  int breakTimeColumn;
+
+  /** 作業内容列（0ベース） */
+  int workContentColumn;
+
+  /** 作業内容のはみ出し幅を調整する列（0ベース） */
+  int overflowColumn;
+
+  /** 1日に対応する行番号（0ベース） */
+  int firstDayRow;
+
+  /**
+   * レイアウト定義をコンパイルします
+   *
+   * @param descriptor レイアウト定義
+   * @return コンパイル済みのReportLayoutPlanインスタンス
+   * @throws NullPointerException レイアウト定義またはレイアウト名がnullの場合
+   * @throws IllegalArgumentException セル位置や列名の形式が不正な場合
+   */
+  public static ReportLayoutPlan compile(ReportLayoutDescriptor descriptor) {
+    Objects.requireNonNull(descriptor, "レイアウト定義は必須です");
+    Objects.requireNonNull(descriptor.name(), "レイアウト名は必須です");
+
+    if (descriptor.firstDayRow() < 1) {
+      throw new IllegalArgumentException(
+          "1日の行番号は1以上である必要があります: " + descriptor.name() + " (" + descriptor.firstDayRow() + ")");
+    }
+
+    return new ReportLayoutPlan(
+        descriptor.name(),
+        descriptor.defaultLayout(),
+        descriptor.clients() == null ? List.of() : List.copyOf(descriptor.clients()),
+        descriptor.templateFile(),
+        CellIndex.of(descriptor.targetMonthCell()),
+        CellIndex.of(descriptor.clientNameCell()),
+        CellIndex.of(descriptor.userNameCell()),
+        toColumnIndex(descriptor.startTimeColumn()),
+        toColumnIndex(descriptor.endTimeColumn()),
+        toColumnIndex(descriptor.breakTimeColumn()),
+        toColumnIndex(descriptor.workContentColumn()),
+        toColumnIndex(descriptor.overflowColumn()),
+        descriptor.firstDayRow() - 1);
+  }
+
+  /**
+   * 指定された日に対応する行番号を返します
+   *
+   * @param dayOfMonth 日（1-31）
+   * @return 行番号（0ベース）
+   */
+  public int rowOfDay(int dayOfMonth) {
+    return firstDayRow + dayOfMonth - 1;
+  }
+
+  /**
+   * 指定されたクライアントがこのレイアウトの対象かチェックします
+   *
+   * @param client クライアント名
+   * @return 対象の場合はtrue
+   */
+  public boolean matchesClient(String client) {
+    return client != null && clients.contains(client);
+  }
+
+  /**
+   * 列名を列番号に変換します
+   *
+   * @param column 列名（例: "F"）
+   * @return 列番号（0ベース）
+   * @throws IllegalArgumentException 列名の形式が不正な場合
+   */
+  private static int toColumnIndex(String column) {
+    if (column == null || !column.trim().matches("[A-Za-z]{1,3}")) {
+      throw new IllegalArgumentException("列指定が不正です: " + column);
+    }
+    return CellReference.convertColStringToIndex(column.trim());
+  }
+}
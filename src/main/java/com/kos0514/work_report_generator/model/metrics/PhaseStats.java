@@ -0,0 +1,31 @@
+package com.kos0514.work_report_generator.model.metrics;
+
+/**
+ * 処理の段階（フェーズ）ごとの処理時間の統計
+ *
+ * @param phase フェーズの名前（例: {@code update.evaluate}）
+ * @param count 計測した回数
+ * @param p50Millis 処理時間の中央値（ミリ秒）
+ * @param p95Millis 処理時間の95パーセンタイル（ミリ秒）
+ * @param maxMillis 処理時間の最大値（ミリ秒）
+ * @param totalMillis 処理時間の合計（ミリ秒）
+ */
+public record PhaseStats(
+    String phase,
+    long count,
+    double p50Millis,
+    double p95Millis,
+    double maxMillis,
+    double totalMillis) {
+
+  /**
+   * 統計の表示用の1行を返します
+   *
+   * @return フェーズと統計（例: {@code update.save: 12 回, p50 35.2 ms, p95 80.1 ms, max 120.4 ms, 合計 512.0 ms}）
+   */
+  public String describe() {
+    return String.format(
+        "%s: %d 回, p50 %.1f ms, p95 %.1f ms, max %.1f ms, 合計 %.1f ms",
+        phase, count, p50Millis, p95Millis, maxMillis, totalMillis);
+  }
+}
@@ -0,0 +1,41 @@
+package com.kos0514.work_report_generator.model.send;
+
+import java.nio.file.Path;
+
+/**
+ * 追加の送信先1か所へのZIPファイルの配信結果
+ *
+ * @param destination 送信先ディレクトリ
+ * @param target 配信したファイルのパス
+ * @param attempts 試行回数
+ * @param elapsedMillis 配信にかかった時間（ミリ秒、再試行の待ち時間を含む）
+ * @param errorMessage 失敗した場合のエラーメッセージ
+ */
+public record DeliveryResult(
+    String destination, Path target, int attempts, long elapsedMillis, String errorMessage) {
+
+  /**
+   * 配信に成功したかどうかを返します
+   *
+   * @return 成功した場合はtrue
+   */
+  public boolean succeeded() {
+    return errorMessage == null;
+  }
+
+  /**
+   * 送信結果メッセージ用の1行を返します
+   *
+   * @return 送信先と配信結果（例: {@code /mnt/nas -> 成功 (12 ms, 1回)}）
+   */
+  public String describe() {
+    return destination
+        + " -> "
+        + (succeeded() ? "成功" : "失敗: " + errorMessage)
+        + " ("
+        + elapsedMillis
+        + " ms, "
+        + attempts
+        + "回)";
+  }
+}
@@ -0,0 +1,20 @@
+package com.kos0514.work_report_generator.model.send;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * 送信マニフェストに記録する、報告書1件分の送信記録
+ *
+ * @param sha256 送信した報告書ファイルのSHA-256（16進数）
+ * @param zipFilePath 作成したZIPファイルのパス
+ * @param passwordFilePath パスワードを保存したファイルのパス
+ * @param passwordFileSha256 保存したパスワードファイルのSHA-256（上書きされていないことの確認に使用）
+ * @param sentAt 送信日時（ISO-8601形式）
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record SendManifestEntry(
+    String sha256,
+    String zipFilePath,
+    String passwordFilePath,
+    String passwordFileSha256,
+    String sentAt) {}
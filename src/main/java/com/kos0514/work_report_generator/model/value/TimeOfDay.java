@@ -18,6 +18,9 @@ public class TimeOfDay {
   /** 出力用の時刻フォーマッター（HH:mm形式、例: "09:30"） */
   private static final DateTimeFormatter OUTPUT_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
 
+  /** 1日の秒数 */
+  private static final int SECONDS_PER_DAY = 24 * 60 * 60;
+
   /** 時刻の内部表現 */
   LocalTime value;
 
@@ -50,4 +53,13 @@ public class TimeOfDay {
   public String format() {
     return value.format(OUTPUT_FORMATTER);
   }
+
+  /**
+   * Excelのシリアル値（1日を1とする小数）に変換します
+   *
+   * @return 1日に対する割合（例: 9:00 は 0.375）
+   */
+  public double toExcelDayFraction() {
+    return value.toSecondOfDay() / (double) SECONDS_PER_DAY;
+  }
 }
@@ -15,6 +15,9 @@ public class WorkDuration {
   /** 時間形式（H:mm）を検証するための正規表現パターン（分は0-59の範囲） */
   private static final Pattern DURATION_PATTERN = Pattern.compile("(\\d+):([0-5][0-9])");
 
+  /** 1日の秒数 */
+  private static final long SECONDS_PER_DAY = 24L * 60 * 60;
+
   /** 時間の内部表現 */
   Duration value;
 
@@ -61,4 +64,13 @@ public class WorkDuration {
 
     return String.format("%d:%02d", hours, minutes);
   }
+
+  /**
+   * Excelのシリアル値（1日を1とする小数）に変換します
+   *
+   * @return 1日に対する割合（例: 1:00 は 1/24）
+   */
+  public double toExcelDayFraction() {
+    return value.getSeconds() / (double) SECONDS_PER_DAY;
+  }
 }
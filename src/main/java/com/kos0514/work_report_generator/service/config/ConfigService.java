@@ -1,19 +1,29 @@
 package com.kos0514.work_report_generator.service.config;
 
 import com.kos0514.work_report_generator.util.Constants;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 /**
  *  設定ファイルの読み書きを行うサービスクラス
+ *
+ * <p>設定ファイルの内容は不変のスナップショットとして保持し、更新日時とサイズが変わった場合にだけ読み直します。
+ * 設定ファイルは同じディレクトリの一時ファイルに書き込んでから置き換えるため、他のプロセスが書きかけの設定を読むことはありません。
  */
 @Service
 @Slf4j
@@ -23,14 +33,46 @@ public class ConfigService {
   private static final String SEND_CONFIG_PATH =
       CONFIG_PATH + "/" + Constants.Files.SEND_CONFIG_FILE;
 
+  /** 送信設定ファイルのパス */
+  private final Path sendConfigPath;
+
+  /** 最後に読み込んだ送信設定（読み取りはロックなしで行う） */
+  private volatile ConfigSnapshot sendConfig;
+
+  public ConfigService() {
+    this(Paths.get(SEND_CONFIG_PATH));
+  }
+
+  ConfigService(Path sendConfigPath) {
+    this.sendConfigPath = sendConfigPath;
+  }
+
   /**
    * 送信先ディレクトリの設定を取得します
    *
    * @return 送信先ディレクトリのパス、設定がない場合はnull
    */
   public String getSendDirectory() {
-    Properties props = loadSendConfig();
-    return props.getProperty(Constants.ConfigKeys.SEND_DIRECTORY);
+    return currentSendConfig().values().get(Constants.ConfigKeys.SEND_DIRECTORY);
+  }
+
+  /**
+   * 追加の送信先ディレクトリの設定を取得します
+   *
+   * <p>送信先ディレクトリに作成したZIPファイルを、これらのディレクトリにも配信します。
+   *
+   * @return 追加の送信先ディレクトリのリスト（設定がない場合は空）
+   */
+  public List<String> getAdditionalSendDirectories() {
+    String value = currentSendConfig().values().get(Constants.ConfigKeys.SEND_DESTINATIONS);
+    if (value == null || value.isBlank()) {
+      return List.of();
+    }
+    return Arrays.stream(value.split(","))
+        .map(String::trim)
+        .filter(directory -> !directory.isEmpty())
+        .distinct()
+        .toList();
   }
 
   /**
@@ -39,13 +81,56 @@ public class ConfigService {
    * @param directory 送信先ディレクトリのパス
    * @throws IOException 設定ファイルの保存に失敗した場合
    */
-  public void setSendDirectory(String directory) throws IOException {
-    Properties props = loadSendConfig();
+  public synchronized void setSendDirectory(String directory) throws IOException {
+    Properties props = new Properties();
+    props.putAll(currentSendConfig().values());
     props.setProperty(Constants.ConfigKeys.SEND_DIRECTORY, directory);
     saveSendConfig(props);
+    sendConfig = ConfigSnapshot.of(props, readAttributes(sendConfigPath));
     log.info("送信先ディレクトリを設定しました: {}", directory);
   }
 
+  /**
+   * 現在の送信設定を返します
+   *
+   * <p>設定ファイルの更新日時とサイズがスナップショットと一致する場合は、ファイルを読み直さずにそのまま返します。
+   *
+   * @return 送信設定のスナップショット
+   */
+  private ConfigSnapshot currentSendConfig() {
+    ConfigSnapshot snapshot = sendConfig;
+    if (snapshot != null && snapshot.matches(readAttributes(sendConfigPath))) {
+      return snapshot;
+    }
+    synchronized (this) {
+      BasicFileAttributes attributes = readAttributes(sendConfigPath);
+      snapshot = sendConfig;
+      if (snapshot == null || !snapshot.matches(attributes)) {
+        Properties props = loadSendConfig();
+        // 読み込み前に取得した属性を使い、読み込み中に更新された場合は次回に読み直す
+        // （ファイルがなくテンプレートから作成した場合のみ、作成後の属性を使う）
+        attributes = attributes != null ? attributes : readAttributes(sendConfigPath);
+        snapshot = ConfigSnapshot.of(props, attributes);
+        sendConfig = snapshot;
+      }
+      return snapshot;
+    }
+  }
+
+  /**
+   * ファイルの属性を取得します
+   *
+   * @param file 対象ファイル
+   * @return ファイルの属性、存在しない場合はnull
+   */
+  private static BasicFileAttributes readAttributes(Path file) {
+    try {
+      return Files.readAttributes(file, BasicFileAttributes.class);
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
   /**
    * 送信設定ファイルを読み込みます
    *
@@ -55,11 +140,10 @@ public class ConfigService {
     Properties props = new Properties();
 
     try {
-      Path configFile = Paths.get(SEND_CONFIG_PATH);
-      if (Files.exists(configFile)) {
-        try (FileInputStream fis = new FileInputStream(SEND_CONFIG_PATH)) {
-          props.load(fis);
-          log.debug("設定ファイルを読み込みました: {}", SEND_CONFIG_PATH);
+      if (Files.exists(sendConfigPath)) {
+        try (InputStream in = Files.newInputStream(sendConfigPath)) {
+          props.load(in);
+          log.debug("設定ファイルを読み込みました: {}", sendConfigPath);
           return props;
         }
       }
@@ -68,7 +152,7 @@ public class ConfigService {
       try (InputStream templateStream = getClass().getResourceAsStream(Constants.Files.SEND_CONFIG_TEMPLATE_PATH)) {
         if (templateStream != null) {
           props.load(templateStream);
-          log.info("テンプレートから設定ファイルを作成します: {}", SEND_CONFIG_PATH);
+          log.info("テンプレートから設定ファイルを作成します: {}", sendConfigPath);
           // 設定ファイルを保存
           saveSendConfig(props);
         } else {
@@ -86,14 +170,66 @@ public class ConfigService {
   /**
    * 送信設定ファイルを保存します
    *
+   * <p>同じディレクトリの一時ファイルに書き込んでから、設定ファイルをアトミックに置き換えます。
+   *
    * @param props 保存するプロパティ
    * @throws IOException 設定ファイルの保存に失敗した場合
    */
   private void saveSendConfig(Properties props) throws IOException {
-    // 設定ファイルを保存
-    try (FileOutputStream fos = new FileOutputStream(SEND_CONFIG_PATH)) {
-      props.store(fos, "送信設定");
-      log.debug("設定ファイルを保存しました: {}", SEND_CONFIG_PATH);
+    Path directory = sendConfigPath.toAbsolutePath().getParent();
+    Files.createDirectories(directory);
+    Path tempFile =
+        Files.createTempFile(directory, sendConfigPath.getFileName().toString() + ".", ".tmp");
+    try {
+      try (OutputStream out = Files.newOutputStream(tempFile)) {
+        props.store(out, "送信設定");
+      }
+      try {
+        Files.move(
+            tempFile,
+            sendConfigPath,
+            StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(tempFile, sendConfigPath, StandardCopyOption.REPLACE_EXISTING);
+      }
+      log.debug("設定ファイルを保存しました: {}", sendConfigPath);
+    } finally {
+      Files.deleteIfExists(tempFile);
+    }
+  }
+
+  /**
+   * 送信設定のスナップショット
+   *
+   * @param values 設定値（不変）
+   * @param lastModified 読み込み時の設定ファイルの更新日時（ファイルがない場合はnull）
+   * @param size 読み込み時の設定ファイルのサイズ
+   */
+  private record ConfigSnapshot(Map<String, String> values, FileTime lastModified, long size) {
+
+    private static ConfigSnapshot of(Properties props, BasicFileAttributes attributes) {
+      Map<String, String> values = new HashMap<>();
+      for (String key : props.stringPropertyNames()) {
+        values.put(key, props.getProperty(key));
+      }
+      return new ConfigSnapshot(
+          Map.copyOf(values),
+          attributes != null ? attributes.lastModifiedTime() : null,
+          attributes != null ? attributes.size() : -1);
+    }
+
+    /**
+     * 設定ファイルがスナップショット作成時から変更されていないかを判定します
+     *
+     * @param attributes 現在の設定ファイルの属性
+     * @return 更新日時とサイズが一致する場合はtrue
+     */
+    private boolean matches(BasicFileAttributes attributes) {
+      if (attributes == null || lastModified == null) {
+        return false;
+      }
+      return lastModified.equals(attributes.lastModifiedTime()) && size == attributes.size();
     }
   }
 }
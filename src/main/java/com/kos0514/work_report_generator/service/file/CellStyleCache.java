@@ -0,0 +1,84 @@
+package com.kos0514.work_report_generator.service.file;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DataFormat;
+import org.apache.poi.ss.usermodel.Workbook;
+
+/**
+ * ワークブックごとのセルスタイルキャッシュ
+ *
+ * <p>既存セルのスタイル（罫線やフォントなど）を引き継いだまま表示形式だけを変更したスタイルを、
+ * 元のスタイルと表示形式の組み合わせごとに1つだけ作成します。
+ * HSSFではワークブックあたりのスタイル数に上限（約4,000）があるため、
+ * 同じ組み合わせのスタイルを再利用してスタイル数の増加を防ぎます。
+ *
+ * <p>このクラスはスレッドセーフではありません。1つのワークブックを処理するスレッド内で使用してください。
+ */
+@Slf4j
+public class CellStyleCache {
+
+  private final Workbook workbook;
+  private final DataFormat dataFormat;
+  private final int maxCellStyles;
+  private final Map<StyleKey, CellStyle> styles = new HashMap<>();
+
+  /**
+   * 指定されたワークブック用のキャッシュを作成します
+   *
+   * @param workbook 対象のワークブック
+   */
+  public CellStyleCache(Workbook workbook) {
+    this.workbook = workbook;
+    this.dataFormat = workbook.createDataFormat();
+    this.maxCellStyles = workbook.getSpreadsheetVersion().getMaxCellStyles();
+  }
+
+  /**
+   * 元のスタイルに表示形式を適用したスタイルを返します
+   *
+   * <p>元のスタイルが既に同じ表示形式の場合は元のスタイルをそのまま返します。
+   * スタイル数が上限に達している場合は警告を出力し、元のスタイルを返します。
+   *
+   * @param baseStyle 元のスタイル
+   * @param format 表示形式（例: "h:mm"）
+   * @return 表示形式を適用したスタイル
+   */
+  public CellStyle withFormat(CellStyle baseStyle, String format) {
+    short formatIndex = dataFormat.getFormat(format);
+    if (baseStyle.getDataFormat() == formatIndex) {
+      return baseStyle;
+    }
+
+    StyleKey key = new StyleKey(baseStyle.getIndex(), formatIndex);
+    CellStyle cached = styles.get(key);
+    if (cached != null) {
+      return cached;
+    }
+
+    if (workbook.getNumCellStyles() >= maxCellStyles) {
+      log.warn("セルスタイル数が上限（{}）に達したため、表示形式を適用できません: {}", maxCellStyles, format);
+      return baseStyle;
+    }
+
+    CellStyle style = workbook.createCellStyle();
+    style.cloneStyleFrom(baseStyle);
+    style.setDataFormat(formatIndex);
+    styles.put(key, style);
+    return style;
+  }
+
+  /**
+   * キャッシュ済みのスタイル数を返します
+   *
+   * @return このキャッシュで作成したスタイル数
+   */
+  public int size() {
+    return styles.size();
+  }
+
+  /** 元のスタイル番号と表示形式番号の組み合わせ */
+  private record StyleKey(short baseStyleIndex, short formatIndex) {}
+}
@@ -0,0 +1,92 @@
+package com.kos0514.work_report_generator.service.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.Deflater;
+
+/**
+ * ファイルの一部を試し圧縮して圧縮率を見積もるクラス
+ *
+ * <p>ファイルの先頭・中央・末尾から一定量を読み込み、DEFLATEの最速レベルで圧縮した結果から圧縮率を求めます。
+ */
+final class CompressibilityEstimator {
+  /** 1か所あたりの読み込みサイズ */
+  static final int SAMPLE_SIZE = 16 * 1024;
+
+  private static final int SAMPLE_COUNT = 3;
+
+  private CompressibilityEstimator() {}
+
+  /**
+   * ファイルの圧縮率を見積もります
+   *
+   * @param file 対象ファイル
+   * @return 圧縮率（圧縮後 / 圧縮前）、空のファイルの場合は1.0
+   * @throws IOException ファイルの読み込みに失敗した場合
+   */
+  static double estimate(Path file) throws IOException {
+    byte[] sample;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      sample = readSample(channel);
+    }
+    return estimate(sample);
+  }
+
+  /**
+   * データの圧縮率を求めます
+   *
+   * @param data 対象データ
+   * @return 圧縮率（圧縮後 / 圧縮前）、空のデータの場合は1.0
+   */
+  static double estimate(byte[] data) {
+    if (data.length == 0) {
+      return 1.0;
+    }
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+    try {
+      deflater.setInput(data);
+      deflater.finish();
+      byte[] output = new byte[SAMPLE_SIZE];
+      long compressedSize = 0;
+      while (!deflater.finished()) {
+        compressedSize += deflater.deflate(output);
+      }
+      return (double) compressedSize / data.length;
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private static byte[] readSample(FileChannel channel) throws IOException {
+    long size = channel.size();
+    if (size <= (long) SAMPLE_SIZE * SAMPLE_COUNT) {
+      // 小さいファイルは全体を読み込む
+      ByteBuffer buffer = ByteBuffer.allocate((int) size);
+      readFully(channel, buffer, 0);
+      return buffer.array();
+    }
+
+    ByteBuffer buffer = ByteBuffer.allocate(SAMPLE_SIZE * SAMPLE_COUNT);
+    long[] positions = {0, size / 2 - SAMPLE_SIZE / 2, size - SAMPLE_SIZE};
+    for (long position : positions) {
+      buffer.limit(buffer.position() + SAMPLE_SIZE);
+      readFully(channel, buffer, position);
+    }
+    return buffer.array();
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+    long current = position;
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, current);
+      if (read < 0) {
+        break;
+      }
+      current += read;
+    }
+  }
+}
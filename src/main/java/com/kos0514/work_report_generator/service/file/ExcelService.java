@@ -1,34 +1,66 @@
 package com.kos0514.work_report_generator.service.file;
 
+import com.kos0514.work_report_generator.model.ReportFormat;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UncheckedIOException;
-import java.time.LocalDate;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
 import java.util.Date;
-import org.apache.poi.hssf.usermodel.HSSFCell;
-import org.apache.poi.hssf.usermodel.HSSFRow;
-import org.apache.poi.hssf.usermodel.HSSFSheet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 /**
  * Excelファイルの操作に関するサービスクラス
  *
- * <p>このクラスはExcelファイルの読み書きや、セルの操作、日付からの行検索などの 機能を提供します。
+ * <p>このクラスはExcelファイルの読み書きや、セルの操作などの機能を提供します。
+ * Apache POIの初期化は起動時間に影響するため、最初に使用する際に生成します。
  */
 @Service
+@Lazy
 public class ExcelService {
 
+  /** 数値で書き込む時刻・時間セルの表示形式 */
+  public static final String TIME_FORMAT = "h:mm";
+
+  /** SXSSFでメモリ上に保持する行数（これを超えた行は一時ファイルへ書き出される） */
+  @Value("${work-report.xlsx-row-window}")
+  private int xlsxRowWindow;
+
+  /** .xlsx 形式に変換したテンプレート（テンプレートのパスと行ストリーミングの開始行ごと） */
+  private final Map<TemplateKey, CachedTemplate> xlsxTemplates = new ConcurrentHashMap<>();
+
   /**
    * Excelファイルを読み込み、ワークブックオブジェクトを返します
    *
+   * <p>拡張子が .xlsx の場合はXSSFWorkbook、それ以外の場合はHSSFWorkbookとして読み込みます。
+   *
    * @param filePath 読み込むExcelファイルのパス
-   * @return 読み込まれたHSSFWorkbookオブジェクト
+   * @return 読み込まれたWorkbookオブジェクト
    * @throws UncheckedIOException ファイルの読み込みに失敗した場合
    */
-  public HSSFWorkbook loadWorkbook(String filePath) {
+  public Workbook loadWorkbook(String filePath) {
     try (FileInputStream fis = new FileInputStream(filePath)) {
+      if (ReportFormat.fromFileName(filePath) == ReportFormat.XLSX) {
+        return new XSSFWorkbook(fis);
+      }
       return new HSSFWorkbook(fis);
     } catch (IOException e) {
       throw new UncheckedIOException("Excelファイルの読み込みに失敗しました: " + filePath, e);
@@ -43,22 +75,54 @@ public class ExcelService {
    * @param value 設定する値
    * @throws IllegalArgumentException セル位置の形式が不正な場合
    */
-  public void setCellValue(HSSFSheet sheet, String cellPosition, String value) {
+  public void setCellValue(Sheet sheet, String cellPosition, String value) {
     int[] pos = parseCellPosition(cellPosition);
-    int row = pos[0];
-    int col = pos[1];
+    setCellValue(sheet, pos[0], pos[1], value);
+  }
 
-    HSSFRow hssfRow = sheet.getRow(row);
-    if (hssfRow == null) {
-      hssfRow = sheet.createRow(row);
-    }
+  /**
+   * 指定されたシートの行列番号のセルに値を設定します
+   *
+   * <p>レイアウト定義から事前計算された行列番号を使用するため、セル位置文字列の解析を行いません。
+   *
+   * @param sheet 対象のシート
+   * @param rowIndex 行番号（0ベース）
+   * @param columnIndex 列番号（0ベース）
+   * @param value 設定する値
+   */
+  public void setCellValue(Sheet sheet, int rowIndex, int columnIndex, String value) {
+    getOrCreateCell(sheet, rowIndex, columnIndex).setCellValue(value);
+  }
 
-    HSSFCell cell = hssfRow.getCell(col);
-    if (cell == null) {
-      cell = hssfRow.createCell(col);
-    }
+  /**
+   * 指定されたシートの行列番号のセルに数値を設定します（セルのスタイルは変更しません）
+   *
+   * @param sheet 対象のシート
+   * @param rowIndex 行番号（0ベース）
+   * @param columnIndex 列番号（0ベース）
+   * @param value 設定する値
+   */
+  public void setCellValue(Sheet sheet, int rowIndex, int columnIndex, double value) {
+    getOrCreateCell(sheet, rowIndex, columnIndex).setCellValue(value);
+  }
 
-    cell.setCellValue(value);
+  /**
+   * 指定されたシートの行列番号のセルに時刻・時間を数値（シリアル値）で設定します
+   *
+   * <p>セルには時刻の表示形式（{@value #TIME_FORMAT}）を適用したスタイルを設定します。
+   * スタイルはワークブックごとのキャッシュから取得するため、セルごとにスタイルが増えることはありません。
+   *
+   * @param sheet 対象のシート
+   * @param rowIndex 行番号（0ベース）
+   * @param columnIndex 列番号（0ベース）
+   * @param dayFraction 1日を1とする時刻・時間の値
+   * @param styleCache 対象ワークブックのスタイルキャッシュ
+   */
+  public void setCellTimeValue(
+      Sheet sheet, int rowIndex, int columnIndex, double dayFraction, CellStyleCache styleCache) {
+    Cell cell = getOrCreateCell(sheet, rowIndex, columnIndex);
+    cell.setCellValue(dayFraction);
+    cell.setCellStyle(styleCache.withFormat(cell.getCellStyle(), TIME_FORMAT));
   }
 
   /**
@@ -69,49 +133,65 @@ public class ExcelService {
    * @param date 設定する日付
    * @throws IllegalArgumentException セル位置の形式が不正な場合
    */
-  public void setCellDateValue(HSSFSheet sheet, String cellPosition, Date date) {
+  public void setCellDateValue(Sheet sheet, String cellPosition, Date date) {
     int[] pos = parseCellPosition(cellPosition);
-    int row = pos[0];
-    int col = pos[1];
+    setCellDateValue(sheet, pos[0], pos[1], date);
+  }
 
-    HSSFRow hssfRow = sheet.getRow(row);
+  /**
+   * 指定されたシートの行列番号のセルに日付値を設定します
+   *
+   * @param sheet 対象のシート
+   * @param rowIndex 行番号（0ベース）
+   * @param columnIndex 列番号（0ベース）
+   * @param date 設定する日付
+   */
+  public void setCellDateValue(Sheet sheet, int rowIndex, int columnIndex, Date date) {
+    getOrCreateCell(sheet, rowIndex, columnIndex).setCellValue(date);
+  }
+
+  /**
+   * 指定されたシートの行列番号のセルから文字列値を取得します
+   *
+   * @param sheet 対象のシート
+   * @param rowIndex 行番号（0ベース）
+   * @param columnIndex 列番号（0ベース）
+   * @return セルの文字列値、セルが存在しないか文字列セルでない場合はnull
+   */
+  public String getCellStringValue(Sheet sheet, int rowIndex, int columnIndex) {
+    Row hssfRow = sheet.getRow(rowIndex);
     if (hssfRow == null) {
-      hssfRow = sheet.createRow(row);
+      return null;
     }
 
-    HSSFCell cell = hssfRow.getCell(col);
-    if (cell == null) {
-      cell = hssfRow.createCell(col);
+    Cell cell = hssfRow.getCell(columnIndex);
+    if (cell == null || cell.getCellType() != CellType.STRING) {
+      return null;
     }
 
-    cell.setCellValue(date);
+    return cell.getStringCellValue();
   }
 
   /**
-   * 指定された日付に対応する行番号を特定します
+   * 指定された行がシートに存在するかチェックします
    *
    * @param sheet 対象のシート
-   * @param date 検索する日付
-   * @return 見つかった場合は行番号（0ベース）、見つからない場合は-1
+   * @param rowIndex 行番号（0ベース）
+   * @return 行が存在する場合はtrue
    */
-  public int findRowByDate(HSSFSheet sheet, LocalDate date) {
-    int targetDay = date.getDayOfMonth();
-
-    // 日付が1-31の範囲内かチェック
-
-    // テンプレートファイルでは、B7に1日が設定され、以降は連続的に日付が設定される
-    // B7 = 1日, B8 = 2日, B9 = 3日, ...
-    int rowNum = (targetDay - 1) + 7; // 7行目（0ベース）が1日に対応
-
-    // 行番号が有効範囲内（7-37行目）かチェック
-
-    // 計算した行が存在するかチェック
-    HSSFRow row = sheet.getRow(rowNum);
-    if (row == null) {
-      return -1;
-    }
+  public boolean hasRow(Sheet sheet, int rowIndex) {
+    return sheet.getRow(rowIndex) != null;
+  }
 
-    return rowNum;
+  /**
+   * ワークブックを出力ストリームへ書き出します（ストリームは閉じません）
+   *
+   * @param workbook 書き出すワークブック
+   * @param outputStream 書き出し先
+   * @throws IOException 書き出しに失敗した場合
+   */
+  public void writeWorkbook(Workbook workbook, OutputStream outputStream) throws IOException {
+    workbook.write(outputStream);
   }
 
   /**
@@ -121,34 +201,180 @@ public class ExcelService {
    * @param filePath 保存先のファイルパス
    * @throws UncheckedIOException ファイルの保存に失敗した場合
    */
-  public void saveWorkbook(HSSFWorkbook workbook, String filePath) {
-    try (FileOutputStream fos = new FileOutputStream(filePath)) {
-      workbook.write(fos);
+  public void saveWorkbook(Workbook workbook, String filePath) {
+    try {
+      writeAtomically(Paths.get(filePath), workbook::write);
     } catch (IOException e) {
       throw new UncheckedIOException("Excelファイルの保存に失敗しました: " + filePath, e);
     }
   }
 
+  /**
+   * テンプレートから .xlsx 形式の報告書を行ストリーミングで作成します
+   *
+   * @param templatePath テンプレートファイルのパス（.xls / .xlsx）
+   * @param firstStreamedRow 行ストリーミングで書き出す最初の行（0ベース、通常は1日の行）
+   * @return 作成した報告書（呼び出し側で閉じる）
+   * @throws UncheckedIOException テンプレートの読み込みに失敗した場合
+   */
+  public XlsxStreamingReport openXlsxReport(String templatePath, int firstStreamedRow) {
+    return openXlsxReport(templatePath, firstStreamedRow, List.of());
+  }
+
+  /**
+   * テンプレートから .xlsx 形式の報告書を行ストリーミングで作成します
+   *
+   * <p>テンプレートは最初に使用する際に1回だけXSSFへ変換して保持し、テンプレートのファイルが更新された場合は変換し直します。
+   * {@code firstStreamedRow} より前の行（見出し）はXSSFのワークブックとして、それ以降の行はSXSSFで1行ずつ書き出すため、
+   * 報告書の大きさによらずメモリ上には {@code work-report.xlsx-row-window} 行だけを保持します。
+   *
+   * @param templatePath テンプレートファイルのパス（.xls / .xlsx）
+   * @param firstStreamedRow 行ストリーミングで書き出す最初の行（0ベース、通常は1日の行）
+   * @param sheetNames 1枚目のシートを複製して作成するシート名（空の場合は1枚目のシートをそのまま使用）
+   * @return 作成した報告書（呼び出し側で閉じる）
+   * @throws UncheckedIOException テンプレートの読み込みに失敗した場合
+   */
+  public XlsxStreamingReport openXlsxReport(
+      String templatePath, int firstStreamedRow, List<String> sheetNames) {
+    try {
+      return xlsxTemplate(Paths.get(templatePath), firstStreamedRow)
+          .open(xlsxRowWindow, sheetNames);
+    } catch (IOException e) {
+      throw new UncheckedIOException("テンプレートの読み込みに失敗しました: " + templatePath, e);
+    }
+  }
+
+  /**
+   * .xlsx ファイルの1枚目のシートのセルの値を、ワークブックとして読み込まずに読み取ります
+   *
+   * @param file 読み取る .xlsx ファイル
+   * @return セルの値
+   * @throws UncheckedIOException ファイルの読み込みに失敗した場合
+   */
+  public XlsxSheetValues readXlsxValues(Path file) {
+    try {
+      return XlsxSheetValues.read(file);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Excelファイルの読み込みに失敗しました: " + file, e);
+    }
+  }
+
+  private XlsxReportTemplate xlsxTemplate(Path templatePath, int firstStreamedRow)
+      throws IOException {
+    Path path = templatePath.toAbsolutePath().normalize();
+    FileTime lastModified = Files.getLastModifiedTime(path);
+    TemplateKey key = new TemplateKey(path, firstStreamedRow);
+    CachedTemplate cached = xlsxTemplates.get(key);
+    if (cached != null && cached.lastModified().equals(lastModified)) {
+      return cached.template();
+    }
+
+    XlsxReportTemplate template;
+    try (Workbook source = loadWorkbook(path.toString())) {
+      template = XlsxReportTemplate.of(source, firstStreamedRow);
+    }
+    xlsxTemplates.put(key, new CachedTemplate(lastModified, template));
+    return template;
+  }
+
+  /**
+   * 一時ファイルへ書き込んでから、保存先のファイルをアトミックに置き換えます
+   *
+   * <p>書き込みの途中で失敗・中断した場合も、保存先には書きかけのファイルが残らず、元のファイルがそのまま残ります。
+   *
+   * @param target 保存先のファイル
+   * @param writer 出力ストリームへ内容を書き込む処理
+   * @throws IOException 書き込みまたは置き換えに失敗した場合
+   */
+  public void writeAtomically(Path target, ContentWriter writer) throws IOException {
+    Path tempFile = target.resolveSibling(target.getFileName() + ".tmp");
+    try {
+      try (OutputStream out = Files.newOutputStream(tempFile)) {
+        writer.write(out);
+      }
+      try {
+        Files.move(
+            tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(tempFile);
+    }
+  }
+
+  /** 出力ストリームへ内容を書き込む処理 */
+  @FunctionalInterface
+  public interface ContentWriter {
+
+    /**
+     * 出力ストリームへ内容を書き込みます
+     *
+     * @param out 書き込み先（呼び出し側で閉じる）
+     * @throws IOException 書き込みに失敗した場合
+     */
+    void write(OutputStream out) throws IOException;
+  }
+
+  /**
+   * ワークブック内のすべての計算式を再評価します
+   *
+   * @param workbook 対象のワークブック
+   */
+  public void evaluateAllFormulaCells(Workbook workbook) {
+    workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+  }
+
   /**
    * 指定されたセルをクリアします
    *
    * @param sheet 対象のシート
    * @param cellPosition セル位置（例: "B7"）
    */
-  public void clearCell(HSSFSheet sheet, String cellPosition) {
+  public void clearCell(Sheet sheet, String cellPosition) {
     int[] pos = parseCellPosition(cellPosition);
-    int row = pos[0];
-    int col = pos[1];
+    clearCell(sheet, pos[0], pos[1]);
+  }
 
-    HSSFRow hssfRow = sheet.getRow(row);
+  /**
+   * 指定された行列番号のセルをクリアします
+   *
+   * @param sheet 対象のシート
+   * @param rowIndex 行番号（0ベース）
+   * @param columnIndex 列番号（0ベース）
+   */
+  public void clearCell(Sheet sheet, int rowIndex, int columnIndex) {
+    Row hssfRow = sheet.getRow(rowIndex);
     if (hssfRow != null) {
-      HSSFCell cell = hssfRow.getCell(col);
+      Cell cell = hssfRow.getCell(columnIndex);
       if (cell != null) {
         cell.setBlank();
       }
     }
   }
 
+  /**
+   * 指定された行列番号のセルを取得します。行やセルが存在しない場合は作成します
+   *
+   * @param sheet 対象のシート
+   * @param rowIndex 行番号（0ベース）
+   * @param columnIndex 列番号（0ベース）
+   * @return 対象のセル
+   */
+  private Cell getOrCreateCell(Sheet sheet, int rowIndex, int columnIndex) {
+    Row hssfRow = sheet.getRow(rowIndex);
+    if (hssfRow == null) {
+      hssfRow = sheet.createRow(rowIndex);
+    }
+
+    Cell cell = hssfRow.getCell(columnIndex);
+    if (cell == null) {
+      cell = hssfRow.createCell(columnIndex);
+    }
+
+    return cell;
+  }
+
   /**
    * セル位置文字列を行列番号に変換します
    *
@@ -203,7 +429,13 @@ public class ExcelService {
    * @param columnIndex 設定する列のインデックス（0ベース）
    * @param width 設定する幅（Apache POIでは列幅の単位は1/256文字幅）
    */
-  public void setColumnWidth(HSSFSheet sheet, int columnIndex, int width) {
+  public void setColumnWidth(Sheet sheet, int columnIndex, int width) {
     sheet.setColumnWidth(columnIndex, width);
   }
+
+  /** 変換したテンプレートのキャッシュのキー */
+  private record TemplateKey(Path path, int firstStreamedRow) {}
+
+  /** 変換したテンプレートと、変換時のテンプレートファイルの更新日時 */
+  private record CachedTemplate(FileTime lastModified, XlsxReportTemplate template) {}
 }
@@ -87,4 +87,32 @@ public class FileService {
     Path path = Paths.get(dirPath);
     return createDirectoryIfNotExists(path);
   }
+
+  /**
+   * 年月・ユーザーに対応する作業ディレクトリを作成します
+   *
+   * <p>一括送信でユーザーごとのパスワード・メール文面が上書きされないよう、年月の作業ディレクトリ配下に
+   * ユーザー名のディレクトリを作成します。
+   *
+   * @param sendDir 送信先ディレクトリ
+   * @param workDirName 作業ディレクトリ名（Constants.Files.WORK_DIR）
+   * @param year 年（yyyy形式）
+   * @param yearMonth 年月（yyyymm形式）
+   * @param user ユーザー名（nullの場合は年月の作業ディレクトリ）
+   * @return 作成されたディレクトリのパス
+   * @throws IOException ディレクトリ作成に失敗した場合
+   */
+  public Path createWorkDirectoryForUser(
+      String sendDir, String workDirName, String year, String yearMonth, String user)
+      throws IOException {
+    if (user == null) {
+      return createWorkDirectoryForYearMonth(sendDir, workDirName, year, yearMonth);
+    }
+    if (sendDir == null || sendDir.isEmpty()) {
+      throw new IllegalArgumentException("送信先ディレクトリが指定されていません");
+    }
+
+    String dirPath = String.format(WORK_DIR_FORMAT, sendDir, workDirName, year, yearMonth);
+    return createDirectoryIfNotExists(Paths.get(dirPath, user));
+  }
 }
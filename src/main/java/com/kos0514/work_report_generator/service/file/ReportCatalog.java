@@ -0,0 +1,478 @@
+package com.kos0514.work_report_generator.service.file;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kos0514.work_report_generator.model.OutputLayout;
+import com.kos0514.work_report_generator.model.ReportFileName;
+import com.kos0514.work_report_generator.model.catalog.ReportCatalogEntry;
+import com.kos0514.work_report_generator.util.HashUtil;
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * 出力ディレクトリの報告書を記録するカタログ
+ *
+ * <p>年月別に分けて配置する出力レイアウト（{@link OutputLayout#SHARDED}）で使用します。カタログは追記専用の JSON
+ * Lines ファイルで、初回の検索・登録時に1回の順次読み込みでメモリ上に展開し、同じパスの古い行や削除済みの行があれば
+ * 一時ファイルへの書き出しとアトミックな置き換えで圧縮します。報告書の検索はディレクトリを走査せずにカタログから行います。
+ *
+ * <p>カタログファイルは cron の {@code save} とシェルなど複数のプロセスで共有します。追記と圧縮はカタログのロック
+ * （{@link WorkbookLockService}）を取得して行い、検索・登録のたびにカタログファイルのサイズか更新日時が変わっていれば、
+ * 前回の読み込み以降に追記された行だけを読み込みます。カタログファイルがない状態で初めて使用する場合は、出力ディレクトリの
+ * 既存の報告書を取り込んでカタログを作成します。
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ReportCatalog {
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final byte[] LINE_SEPARATOR = {'\n'};
+
+  private final WorkbookLockService workbookLockService;
+
+  @Value("${work-report.output-dir}")
+  private String outputDir;
+
+  @Value("${work-report.output-layout}")
+  private OutputLayout outputLayout;
+
+  @Value("${work-report.catalog-file}")
+  private String catalogFile;
+
+  /** 相対パス → エントリ（登録順） */
+  private final Map<String, ReportCatalogEntry> entriesByPath = new LinkedHashMap<>();
+
+  /** 年月（yyyymm） → ファイル名 → エントリ */
+  private final Map<String, TreeMap<String, ReportCatalogEntry>> entriesByYearMonth =
+      new TreeMap<>();
+
+  /** カタログファイルを読み込んだかどうか */
+  private boolean loaded;
+
+  /** カタログファイルの読み込み済みの位置（バイト、改行で終わる行の末尾） */
+  private long readPosition;
+
+  /** 読み込み済みの行数（空行を除く） */
+  private int lineCount;
+
+  /** 最後に読み込んだ時点のカタログファイルの属性（未読み込みの場合はnull） */
+  private CatalogStamp readStamp;
+
+  /**
+   * カタログを使用するかどうかを返します
+   *
+   * @return 出力レイアウトが年月別の場合はtrue
+   */
+  public boolean isEnabled() {
+    return outputLayout == OutputLayout.SHARDED;
+  }
+
+  /**
+   * カタログファイルの変更をメモリ上のカタログに反映します
+   *
+   * <p>初回はカタログファイル全体を読み込み（カタログファイルがない場合は既存の報告書を取り込んで作成し）、古い行が
+   * あれば圧縮します。2回目以降は、サイズか更新日時が変わった場合だけ前回の読み込み以降に追記された行を読み込みます。
+   * 他のプロセスの圧縮でファイルが置き換えられた場合は、全体を読み込み直します。
+   *
+   * @throws UncheckedIOException カタログファイルの読み込みに失敗した場合
+   */
+  public void refresh() {
+    if (!isEnabled()) {
+      return;
+    }
+    Path catalogPath = Paths.get(catalogFile);
+    try {
+      synchronized (this) {
+        if (loaded) {
+          readChanges(catalogPath);
+          return;
+        }
+      }
+      // 初回の読み込みは、他のプロセスの取り込み・圧縮と重ならないようカタログのロックを取得して行う
+      workbookLockService.withLock(
+          catalogPath,
+          () -> {
+            synchronized (this) {
+              if (loaded) {
+                readChanges(catalogPath);
+              } else {
+                load(catalogPath);
+                loaded = true;
+              }
+            }
+            return null;
+          });
+    } catch (IOException e) {
+      throw new UncheckedIOException("報告書カタログの読み込みに失敗しました: " + catalogPath, e);
+    }
+  }
+
+  /**
+   * 報告書ファイルをカタログに登録します（同じパスの既存エントリは置き換えます）
+   *
+   * @param reportFileName 報告書ファイル名
+   * @param client クライアント名
+   * @param file 報告書ファイルのパス
+   */
+  public void record(ReportFileName reportFileName, String client, Path file) {
+    refresh();
+    try {
+      append(newEntry(reportFileName, client, file));
+    } catch (IOException e) {
+      throw new UncheckedIOException("報告書カタログの更新に失敗しました: " + file, e);
+    }
+  }
+
+  /**
+   * 指定した年月の報告書をファイル名順で返します
+   *
+   * <p>カタログに登録後、手動で削除されたファイルは除外し、カタログからも削除します。
+   *
+   * @param yearMonth 年月（yyyymm形式）
+   * @return 該当するエントリのリスト
+   */
+  public List<ReportCatalogEntry> findByYearMonth(String yearMonth) {
+    refresh();
+    List<ReportCatalogEntry> entries;
+    synchronized (this) {
+      TreeMap<String, ReportCatalogEntry> files = entriesByYearMonth.get(yearMonth);
+      entries = files != null ? List.copyOf(files.values()) : List.of();
+    }
+
+    Path outputDirPath = Paths.get(outputDir);
+    List<ReportCatalogEntry> existing =
+        entries.stream()
+            .filter(entry -> Files.exists(outputDirPath.resolve(entry.path())))
+            .toList();
+    if (existing.size() != entries.size()) {
+      entries.stream().filter(entry -> !existing.contains(entry)).forEach(this::remove);
+    }
+    return existing;
+  }
+
+  private void remove(ReportCatalogEntry entry) {
+    log.info("存在しない報告書をカタログから削除します: {}", entry.path());
+    try {
+      append(
+          new ReportCatalogEntry(
+              ReportCatalogEntry.Op.REMOVE,
+              entry.user(),
+              entry.yearMonth(),
+              null,
+              entry.path(),
+              0,
+              null,
+              OffsetDateTime.now().toString()));
+    } catch (IOException e) {
+      log.warn("報告書カタログの更新に失敗しました: {}", e.getMessage());
+    }
+  }
+
+  /** カタログファイルを読み込みます（カタログのロックを取得した状態で呼び出します） */
+  private void load(Path catalogPath) throws IOException {
+    if (!Files.exists(catalogPath)) {
+      importExistingReports();
+      if (entriesByPath.isEmpty()) {
+        log.info("報告書カタログはまだありません: {}", catalogPath);
+        return;
+      }
+      writeCatalog(catalogPath);
+      log.info("既存の報告書を取り込み、報告書カタログを作成しました: {}件", entriesByPath.size());
+      return;
+    }
+
+    readChanges(catalogPath);
+    if (lineCount > entriesByPath.size()) {
+      compact(catalogPath);
+    }
+    log.info("報告書カタログ読み込み完了: {}件 ({}行)", entriesByPath.size(), lineCount);
+  }
+
+  /**
+   * カタログのロックを取得してエントリを追記し、自身と他のプロセスが追記した行をメモリ上のカタログに反映します
+   */
+  private void append(ReportCatalogEntry entry) throws IOException {
+    Path catalogPath = Paths.get(catalogFile);
+    byte[] line =
+        (OBJECT_MAPPER.writeValueAsString(entry) + "\n").getBytes(StandardCharsets.UTF_8);
+    workbookLockService.withLock(
+        catalogPath,
+        () -> {
+          synchronized (this) {
+            try (FileChannel channel =
+                FileChannel.open(
+                    catalogPath,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+              long size = channel.size();
+              if (size > 0 && !endsWithLineSeparator(channel, size)) {
+                // 書き込み途中で終了した行に続けて書き込まないよう、改行してから追記する
+                size += writeFully(channel, LINE_SEPARATOR, size);
+              }
+              writeFully(channel, line, size);
+            }
+            readChanges(catalogPath);
+          }
+          return null;
+        });
+  }
+
+  /**
+   * 前回の読み込み以降のカタログファイルの変更を読み込みます
+   *
+   * <p>カタログファイルが置き換えられた場合（他のプロセスによる圧縮）は、メモリ上のカタログを破棄して全体を読み込みます。
+   */
+  private void readChanges(Path catalogPath) throws IOException {
+    if (!Files.exists(catalogPath)) {
+      return;
+    }
+    CatalogStamp current = CatalogStamp.of(catalogPath);
+    if (current.equals(readStamp)) {
+      return;
+    }
+    if (readStamp != null
+        && (!Objects.equals(current.fileKey(), readStamp.fileKey())
+            || current.size() < readPosition)) {
+      log.info("報告書カタログが置き換えられたため、読み込み直します: {}", catalogPath);
+      clear();
+    }
+    readTail(catalogPath);
+    readStamp = current;
+  }
+
+  /** 読み込み済みの位置から、改行で終わる行を順に読み込みます */
+  private void readTail(Path catalogPath) throws IOException {
+    try (InputStream in =
+        new BufferedInputStream(
+            Channels.newInputStream(
+                FileChannel.open(catalogPath, StandardOpenOption.READ).position(readPosition)))) {
+      ByteArrayOutputStream line = new ByteArrayOutputStream();
+      int b;
+      while ((b = in.read()) != -1) {
+        if (b != '\n') {
+          line.write(b);
+          continue;
+        }
+        readPosition += line.size() + 1;
+        String text = line.toString(StandardCharsets.UTF_8).strip();
+        line.reset();
+        if (text.isEmpty()) {
+          continue;
+        }
+        lineCount++;
+        try {
+          apply(OBJECT_MAPPER.readValue(text, ReportCatalogEntry.class));
+        } catch (JsonProcessingException e) {
+          // 書き込み途中で終了した行などは読み飛ばす
+          log.warn("報告書カタログの不正な行を読み飛ばします: {} 行目", lineCount);
+        }
+      }
+      // 改行で終わらない最終行は書き込み途中の可能性があるため、読み込み位置を進めずに次回改めて読み込む
+    }
+  }
+
+  private void apply(ReportCatalogEntry entry) {
+    if (entry.op() == ReportCatalogEntry.Op.REMOVE) {
+      ReportCatalogEntry removed = entriesByPath.remove(entry.path());
+      if (removed != null) {
+        TreeMap<String, ReportCatalogEntry> files = entriesByYearMonth.get(removed.yearMonth());
+        if (files != null) {
+          files.remove(removed.fileName());
+          if (files.isEmpty()) {
+            entriesByYearMonth.remove(removed.yearMonth());
+          }
+        }
+      }
+      return;
+    }
+    entriesByPath.put(entry.path(), entry);
+    entriesByYearMonth
+        .computeIfAbsent(entry.yearMonth(), k -> new TreeMap<>())
+        .put(entry.fileName(), entry);
+  }
+
+  private void clear() {
+    entriesByPath.clear();
+    entriesByYearMonth.clear();
+    readPosition = 0;
+    lineCount = 0;
+    readStamp = null;
+  }
+
+  /**
+   * 有効なエントリだけを書き出してカタログファイルを置き換えます（カタログのロックを取得した状態で呼び出します）
+   */
+  private void compact(Path catalogPath) {
+    try {
+      // ロックを使用しない古いバージョンのプロセスが追記した行も含めて書き出す
+      readChanges(catalogPath);
+      writeCatalog(catalogPath);
+      log.info("報告書カタログを圧縮しました: {}件", entriesByPath.size());
+    } catch (IOException e) {
+      // 圧縮に失敗しても追記形式のカタログはそのまま使用できる
+      log.warn("報告書カタログの圧縮に失敗しました: {}", e.getMessage());
+    }
+  }
+
+  /** 有効なエントリを一時ファイルへ書き出し、カタログファイルをアトミックに置き換えます */
+  private void writeCatalog(Path catalogPath) throws IOException {
+    Path directory = catalogPath.toAbsolutePath().getParent();
+    Files.createDirectories(directory);
+    Path tempPath =
+        Files.createTempFile(directory, catalogPath.getFileName().toString() + ".", ".tmp");
+    try {
+      try (BufferedWriter writer = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)) {
+        for (ReportCatalogEntry entry : entriesByPath.values()) {
+          writer.write(OBJECT_MAPPER.writeValueAsString(entry));
+          writer.write('\n');
+        }
+      }
+      try {
+        Files.move(
+            tempPath,
+            catalogPath,
+            StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(tempPath, catalogPath, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(tempPath);
+    }
+    readPosition = Files.size(catalogPath);
+    lineCount = entriesByPath.size();
+    readStamp = CatalogStamp.of(catalogPath);
+  }
+
+  /**
+   * 出力ディレクトリの既存の報告書をカタログに取り込みます
+   *
+   * <p>出力ディレクトリ直下の報告書（{@link OutputLayout#FLAT} で作成したもの）は年月別のディレクトリへ移動してから
+   * 取り込みます。移動先に同じ名前のファイルがある場合は移動しません。
+   */
+  private void importExistingReports() throws IOException {
+    Path outputDirPath = Paths.get(outputDir);
+    if (!Files.isDirectory(outputDirPath)) {
+      return;
+    }
+
+    List<Path> flatFiles;
+    try (Stream<Path> paths = Files.list(outputDirPath)) {
+      flatFiles = paths.filter(Files::isRegularFile).toList();
+    }
+    for (Path file : flatFiles) {
+      Optional<ReportFileName> reportFileName =
+          ReportFileName.parse(file.getFileName().toString());
+      if (reportFileName.isEmpty()) {
+        continue;
+      }
+      Path target =
+          OutputLayout.SHARDED
+              .monthDirectory(outputDirPath, reportFileName.get().getYearMonth())
+              .resolve(file.getFileName());
+      if (Files.exists(target)) {
+        log.warn("年月別のディレクトリに同じ名前の報告書があるため、移動しません: {}", file);
+        continue;
+      }
+      Files.createDirectories(target.getParent());
+      Files.move(file, target);
+      log.info("報告書を年月別のディレクトリへ移動しました: {}", target);
+    }
+
+    List<Path> shardedFiles;
+    try (Stream<Path> paths = Files.walk(outputDirPath, 3)) {
+      shardedFiles = paths.filter(Files::isRegularFile).toList();
+    }
+    for (Path file : shardedFiles) {
+      Optional<ReportFileName> reportFileName =
+          ReportFileName.parse(file.getFileName().toString())
+              .filter(
+                  name ->
+                      OutputLayout.SHARDED
+                          .monthDirectory(outputDirPath, name.getYearMonth())
+                          .equals(file.getParent()));
+      if (reportFileName.isPresent()) {
+        apply(newEntry(reportFileName.get(), null, file));
+      }
+    }
+  }
+
+  private ReportCatalogEntry newEntry(ReportFileName reportFileName, String client, Path file)
+      throws IOException {
+    return new ReportCatalogEntry(
+        ReportCatalogEntry.Op.PUT,
+        reportFileName.getUser(),
+        reportFileName.getYearMonth(),
+        client,
+        relativize(file),
+        Files.size(file),
+        HashUtil.sha256(file),
+        OffsetDateTime.now().toString());
+  }
+
+  private static boolean endsWithLineSeparator(FileChannel channel, long size) throws IOException {
+    ByteBuffer last = ByteBuffer.allocate(1);
+    channel.read(last, size - 1);
+    return last.get(0) == '\n';
+  }
+
+  private static int writeFully(FileChannel channel, byte[] bytes, long position)
+      throws IOException {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    while (buffer.hasRemaining()) {
+      channel.write(buffer, position + buffer.position());
+    }
+    return bytes.length;
+  }
+
+  private String relativize(Path file) {
+    Path outputDirPath = Paths.get(outputDir).toAbsolutePath().normalize();
+    Path relative = outputDirPath.relativize(file.toAbsolutePath().normalize());
+    return relative.toString().replace('\\', '/');
+  }
+
+  /**
+   * カタログファイルの変更を検出するための属性
+   *
+   * @param fileKey ファイルの識別子（置き換えの検出に使用、取得できない環境ではnull）
+   * @param lastModified 更新日時
+   * @param size サイズ（バイト）
+   */
+  private record CatalogStamp(Object fileKey, FileTime lastModified, long size) {
+
+    private static CatalogStamp of(Path file) throws IOException {
+      BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+      return new CatalogStamp(
+          attributes.fileKey(), attributes.lastModifiedTime(), attributes.size());
+    }
+  }
+}
@@ -0,0 +1,308 @@
+package com.kos0514.work_report_generator.service.file;
+
+import com.kos0514.work_report_generator.model.ReportFileName;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * CSVディレクトリと出力ディレクトリのファイル名を年月ごとに保持するインデックス
+ *
+ * <p>初回の検索時にディレクトリを一度だけ走査し、以降は {@link WatchService} で受け取った作成・削除イベントで
+ * インデックスを更新します。監視イベントが溢れた場合（OVERFLOW）や監視できないディレクトリの場合は、次の検索時に
+ * 再走査します。
+ *
+ * <p>報告書はユーザーごとには索引しません。1件の報告書はファイル名（user_yyyymm_作業報告書.xls）から直接パスを
+ * 求められるため、索引を使用するのは年月単位の検索（{@code save}、{@code send-all}、ファイル名を指定しない
+ * {@code send}）だけです。
+ */
+@Service
+@Slf4j
+public class ReportDirectoryIndex {
+
+  /** CSVファイルの命名規則: yyyymm_work_data.csv */
+  private static final Pattern CSV_FILE_PATTERN = Pattern.compile("(\\d{6})_work_data\\.csv");
+
+  @Value("${work-report.csv-dir}")
+  private String csvDir;
+
+  @Value("${work-report.output-dir}")
+  private String outputDir;
+
+  @Value("${work-report.directory-index.watch-enabled:true}")
+  private boolean watchEnabled;
+
+  /** 年月（yyyymm） → CSVファイル名 */
+  private final ConcurrentSkipListMap<String, String> csvFilesByYearMonth =
+      new ConcurrentSkipListMap<>();
+
+  /** 年月（yyyymm） → ファイル名 → 報告書ファイル名 */
+  private final Map<String, ConcurrentSkipListMap<String, ReportFileName>>
+      reportFilesByYearMonth = new ConcurrentHashMap<>();
+
+  private IndexedDirectory csvDirectory;
+  private IndexedDirectory outputDirectory;
+  private WatchService watchService;
+  private boolean watcherStarted;
+
+  /** 監視対象ディレクトリを初期化します（走査は初回の検索時に行います） */
+  @PostConstruct
+  public void init() {
+    csvDirectory =
+        new IndexedDirectory(
+            Paths.get(csvDir), csvFilesByYearMonth::clear, this::addCsvFile, this::removeCsvFile);
+    outputDirectory =
+        new IndexedDirectory(
+            Paths.get(outputDir),
+            reportFilesByYearMonth::clear,
+            this::addReportFile,
+            this::removeReportFile);
+  }
+
+  /** ディレクトリの監視を終了します */
+  @PreDestroy
+  public synchronized void close() {
+    if (watchService != null) {
+      try {
+        watchService.close();
+      } catch (IOException e) {
+        log.warn("ディレクトリ監視の終了に失敗しました: {}", e.getMessage());
+      }
+      watchService = null;
+    }
+  }
+
+  /**
+   * 最新の年月のCSVファイルを返します
+   *
+   * @return 年月（yyyymm）とファイル名の組、CSVファイルが存在しない場合は空
+   * @throws IOException ディレクトリの走査に失敗した場合
+   */
+  public Optional<Map.Entry<String, String>> findLatestCsvFile() throws IOException {
+    refreshIfStale(csvDirectory);
+    return Optional.ofNullable(csvFilesByYearMonth.lastEntry());
+  }
+
+  /**
+   * 指定した年月の報告書ファイル名をファイル名順で返します
+   *
+   * @param yearMonth 年月（yyyymm形式）
+   * @return 該当するファイル名のリスト
+   * @throws IOException ディレクトリの走査に失敗した場合
+   */
+  public List<String> findReportFiles(String yearMonth) throws IOException {
+    refreshIfStale(outputDirectory);
+    Map<String, ReportFileName> files = reportFilesByYearMonth.get(yearMonth);
+    return files != null ? List.copyOf(files.keySet()) : List.of();
+  }
+
+  /**
+   * 作成したCSVファイルをインデックスに反映します
+   *
+   * <p>監視イベントの到着を待たずに直後の検索で参照できるようにするためのものです。
+   *
+   * @param fileName CSVファイル名
+   */
+  public synchronized void recordCsvFile(String fileName) {
+    addCsvFile(fileName);
+  }
+
+  /**
+   * 作成した報告書ファイルをインデックスに反映します
+   *
+   * @param fileName 報告書ファイル名
+   */
+  public synchronized void recordReportFile(String fileName) {
+    addReportFile(fileName);
+  }
+
+  private void refreshIfStale(IndexedDirectory directory) throws IOException {
+    if (!directory.stale) {
+      return;
+    }
+    synchronized (this) {
+      if (!directory.stale) {
+        return;
+      }
+      // 走査中の作成・削除を取りこぼさないよう、監視を登録してから走査する
+      watch(directory);
+      directory.rescan();
+      directory.stale = directory.key == null;
+    }
+  }
+
+  private void watch(IndexedDirectory directory) {
+    if (!watchEnabled || directory.key != null || !Files.isDirectory(directory.path)) {
+      return;
+    }
+    try {
+      if (watchService == null) {
+        watchService = FileSystems.getDefault().newWatchService();
+      }
+      directory.key =
+          directory.path.register(
+              watchService,
+              StandardWatchEventKinds.ENTRY_CREATE,
+              StandardWatchEventKinds.ENTRY_DELETE);
+      if (!watcherStarted) {
+        Thread.ofVirtual().name("report-directory-watcher").start(this::watchLoop);
+        watcherStarted = true;
+      }
+    } catch (IOException e) {
+      log.warn(
+          "ディレクトリを監視できません。検索のたびに走査します: {} ({})", directory.path, e.getMessage());
+    }
+  }
+
+  private void watchLoop() {
+    WatchService service;
+    synchronized (this) {
+      service = watchService;
+    }
+    try {
+      while (true) {
+        WatchKey key = service.take();
+        synchronized (this) {
+          applyEvents((Path) key.watchable(), key.pollEvents());
+          if (!key.reset()) {
+            for (IndexedDirectory directory : List.of(csvDirectory, outputDirectory)) {
+              if (directory.key == key) {
+                log.info("ディレクトリの監視が無効になりました: {}", directory.path);
+                directory.key = null;
+                directory.stale = true;
+              }
+            }
+          }
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ClosedWatchServiceException e) {
+      log.debug("ディレクトリ監視を終了しました");
+    }
+  }
+
+  /**
+   * 監視イベントを、イベントを受け取ったディレクトリのインデックスに反映します
+   *
+   * <p>OVERFLOW の場合は、次の検索時にディレクトリを再走査します。
+   *
+   * @param watchedPath イベントを受け取ったディレクトリ
+   * @param events 監視イベント
+   */
+  synchronized void applyEvents(Path watchedPath, List<WatchEvent<?>> events) {
+    Path path = watchedPath.toAbsolutePath().normalize();
+    for (WatchEvent<?> event : events) {
+      // CSVディレクトリと出力ディレクトリが同一の場合は両方に反映する
+      for (IndexedDirectory directory : List.of(csvDirectory, outputDirectory)) {
+        if (directory.path.equals(path)) {
+          directory.apply(event);
+        }
+      }
+    }
+  }
+
+  private void addCsvFile(String fileName) {
+    Matcher matcher = CSV_FILE_PATTERN.matcher(fileName);
+    if (matcher.matches()) {
+      csvFilesByYearMonth.put(matcher.group(1), fileName);
+    }
+  }
+
+  private void removeCsvFile(String fileName) {
+    Matcher matcher = CSV_FILE_PATTERN.matcher(fileName);
+    if (matcher.matches()) {
+      csvFilesByYearMonth.remove(matcher.group(1), fileName);
+    }
+  }
+
+  private void addReportFile(String fileName) {
+    ReportFileName.parse(fileName)
+        .ifPresent(
+            reportFileName ->
+                reportFilesByYearMonth
+                    .computeIfAbsent(
+                        reportFileName.getYearMonth(), k -> new ConcurrentSkipListMap<>())
+                    .put(fileName, reportFileName));
+  }
+
+  private void removeReportFile(String fileName) {
+    ReportFileName.parse(fileName)
+        .ifPresent(
+            reportFileName ->
+                reportFilesByYearMonth.computeIfPresent(
+                    reportFileName.getYearMonth(),
+                    (yearMonth, files) -> {
+                      files.remove(fileName);
+                      return files.isEmpty() ? null : files;
+                    }));
+  }
+
+  /** インデックス対象のディレクトリと監視状態 */
+  private final class IndexedDirectory {
+    private final Path path;
+    private final Runnable onClear;
+    private final Consumer<String> onCreate;
+    private final Consumer<String> onDelete;
+    private volatile boolean stale = true;
+    private WatchKey key;
+
+    private IndexedDirectory(
+        Path path,
+        Runnable onClear,
+        Consumer<String> onCreate,
+        Consumer<String> onDelete) {
+      this.path = path.toAbsolutePath().normalize();
+      this.onClear = onClear;
+      this.onCreate = onCreate;
+      this.onDelete = onDelete;
+    }
+
+    /** ディレクトリを走査し、このディレクトリ由来のエントリを置き換えます */
+    private void rescan() throws IOException {
+      List<String> fileNames;
+      try (Stream<Path> paths = Files.list(path)) {
+        fileNames =
+            paths.filter(Files::isRegularFile).map(p -> p.getFileName().toString()).toList();
+      }
+      onClear.run();
+      fileNames.forEach(onCreate);
+      log.info("ディレクトリを走査しました: {} ({}件)", path, fileNames.size());
+    }
+
+    private void apply(WatchEvent<?> event) {
+      if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+        log.info("ディレクトリの変更通知が溢れたため、次回の検索時に再走査します: {}", path);
+        stale = true;
+        return;
+      }
+      String fileName = ((Path) event.context()).getFileName().toString();
+      if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+        onCreate.accept(fileName);
+      } else if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+        onDelete.accept(fileName);
+      }
+    }
+  }
+}
@@ -0,0 +1,130 @@
+package com.kos0514.work_report_generator.service.file;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ConcurrentModificationException;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * 報告書ファイルの更新を報告書ごとに直列化するサービスクラス
+ *
+ * <p>プロセス内ではファイルパスのハッシュで選んだロック（ストライプ）を、プロセス間では報告書と同じディレクトリに作成する
+ * ロックファイル（{@code .<ファイル名>.lock}）の {@link FileLock} を取得します。作業ディレクトリによらず、同じ報告書には
+ * 同じロックファイルが使用されます。異なる報告書の更新は並行して実行され、同じ報告書の更新
+ * （cron の {@code save} とシェルの {@code update-file} など）だけが順番に実行されます。
+ *
+ * <p>ロックを使用しない更新（Excelで直接編集した場合など）は、{@link #stamp(Path)} と
+ * {@link #verifyUnchanged(Path, FileStamp)} で読み込みから保存までの間に更新日時とサイズが変わっていないかを確認します。
+ */
+@Service
+@Slf4j
+public class WorkbookLockService {
+
+  /** プロセス内のロックの数 */
+  private static final int STRIPES = 64;
+
+  private static final String LOCK_FILE_EXTENSION = ".lock";
+
+  private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+  public WorkbookLockService() {
+    for (int i = 0; i < STRIPES; i++) {
+      stripes[i] = new ReentrantLock();
+    }
+  }
+
+  /**
+   * ロックを保持したまま実行する処理
+   *
+   * @param <T> 処理の戻り値の型
+   */
+  @FunctionalInterface
+  public interface LockedAction<T> {
+    /**
+     * 処理を実行します
+     *
+     * @return 処理の戻り値
+     * @throws IOException 入出力エラーが発生した場合
+     */
+    T run() throws IOException;
+  }
+
+  /**
+   * 報告書のロックを取得して処理を実行します
+   *
+   * <p>同じ報告書のロックを他のスレッドや他のプロセスが保持している場合は、解放されるまで待ちます。
+   *
+   * @param workbook 報告書ファイルのパス
+   * @param action ロックを保持したまま実行する処理
+   * @param <T> 処理の戻り値の型
+   * @return 処理の戻り値
+   * @throws IOException ロックファイルを開けなかった場合、または処理で入出力エラーが発生した場合
+   */
+  public <T> T withLock(Path workbook, LockedAction<T> action) throws IOException {
+    Path normalized = workbook.toAbsolutePath().normalize();
+    int hash = normalized.hashCode();
+    ReentrantLock stripe = stripes[Math.floorMod(hash, STRIPES)];
+    stripe.lock();
+    try {
+      Path lockFile = lockFileOf(normalized);
+      Files.createDirectories(lockFile.getParent());
+      try (FileChannel channel =
+              FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+          FileLock ignored = channel.lock()) {
+        log.debug("報告書のロックを取得しました: {}", normalized);
+        return action.run();
+      }
+    } finally {
+      stripe.unlock();
+    }
+  }
+
+  /**
+   * 報告書ファイルの現在の更新日時とサイズを取得します
+   *
+   * @param workbook 報告書ファイルのパス
+   * @return 更新日時とサイズ
+   * @throws IOException ファイルの属性を取得できなかった場合
+   */
+  public FileStamp stamp(Path workbook) throws IOException {
+    BasicFileAttributes attributes = Files.readAttributes(workbook, BasicFileAttributes.class);
+    return new FileStamp(attributes.lastModifiedTime(), attributes.size());
+  }
+
+  /**
+   * 報告書ファイルが読み込み時から変更されていないことを確認します
+   *
+   * @param workbook 報告書ファイルのパス
+   * @param loaded 読み込み時の更新日時とサイズ
+   * @throws ConcurrentModificationException 読み込み後にファイルが変更された場合
+   * @throws IOException ファイルの属性を取得できなかった場合
+   */
+  public void verifyUnchanged(Path workbook, FileStamp loaded) throws IOException {
+    FileStamp current = stamp(workbook);
+    if (!current.equals(loaded)) {
+      throw new ConcurrentModificationException(
+          "報告書が読み込み後に他の処理で変更されたため、保存を中止しました: " + workbook.getFileName());
+    }
+  }
+
+  /** ロックファイルのパス（報告書と同じディレクトリの隠しファイル） */
+  private Path lockFileOf(Path normalized) {
+    return normalized.resolveSibling("." + normalized.getFileName() + LOCK_FILE_EXTENSION);
+  }
+
+  /**
+   * 報告書ファイルの更新日時とサイズ
+   *
+   * @param lastModified 更新日時
+   * @param size サイズ（バイト）
+   */
+  public record FileStamp(FileTime lastModified, long size) {}
+}
@@ -0,0 +1,167 @@
+package com.kos0514.work_report_generator.service.file;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+/**
+ * 行ストリーミングで報告書を書き出すために、.xlsx 形式に変換したテンプレート
+ *
+ * <p>テンプレートの1枚目のシートを、行ストリーミングの開始行より前（見出し）と、それ以降（各日の行と合計行など）に
+ * 分けて保持します。見出しは開始行以降の行を削除したXSSFのワークブックとして、それ以降の行はセルのスタイル番号・値・
+ * 計算式だけを保持した行の雛形として保持し、報告書ごとにSXSSFで1行ずつ書き出します。
+ *
+ * <p>このクラスは不変で、スレッドセーフです。
+ */
+final class XlsxReportTemplate {
+
+  /** 見出しだけを残したテンプレート（.xlsx 形式） */
+  private final byte[] headerWorkbook;
+
+  /** 行ストリーミングで書き出す行の雛形（行番号の昇順） */
+  private final List<RowPrototype> rows;
+
+  private XlsxReportTemplate(byte[] headerWorkbook, List<RowPrototype> rows) {
+    this.headerWorkbook = headerWorkbook;
+    this.rows = rows;
+  }
+
+  /**
+   * テンプレートを変換します
+   *
+   * @param source テンプレートのワークブック（HSSFの場合はXSSFに変換します。XSSFの場合は内容を変更します）
+   * @param firstStreamedRow 行ストリーミングで書き出す最初の行（0ベース）
+   * @return 変換したテンプレート
+   * @throws IOException 変換に失敗した場合
+   */
+  static XlsxReportTemplate of(Workbook source, int firstStreamedRow) throws IOException {
+    XSSFWorkbook workbook =
+        source instanceof XSSFWorkbook xssf ? xssf : new XlsxTemplateConverter().convert(source);
+    try {
+      Sheet sheet = workbook.getSheetAt(0);
+      List<RowPrototype> rows = new ArrayList<>();
+      List<Row> streamedRows = new ArrayList<>();
+      for (Row row : sheet) {
+        if (row.getRowNum() >= firstStreamedRow) {
+          rows.add(RowPrototype.of(row));
+          streamedRows.add(row);
+        }
+      }
+      // SXSSFで書き出す行はテンプレートの最終行より後である必要があるため、見出しから削除する
+      streamedRows.forEach(sheet::removeRow);
+
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      workbook.write(out);
+      return new XlsxReportTemplate(out.toByteArray(), List.copyOf(rows));
+    } finally {
+      if (workbook != source) {
+        workbook.close();
+      }
+    }
+  }
+
+  /**
+   * テンプレートから報告書を作成します
+   *
+   * @param rowAccessWindowSize メモリ上に保持する行数
+   * @param sheetNames 1枚目のシートを複製して作成するシート名（空の場合は1枚目のシートをそのまま使用）
+   * @return 作成した報告書（呼び出し側で閉じる）
+   * @throws IOException テンプレートの読み込みに失敗した場合
+   */
+  XlsxStreamingReport open(int rowAccessWindowSize, List<String> sheetNames) throws IOException {
+    XSSFWorkbook base = new XSSFWorkbook(new ByteArrayInputStream(headerWorkbook));
+    if (!sheetNames.isEmpty()) {
+      for (String sheetName : sheetNames) {
+        base.cloneSheet(0, sheetName);
+      }
+      base.removeSheetAt(0);
+    }
+    return new XlsxStreamingReport(base, rowAccessWindowSize, rows);
+  }
+
+  /**
+   * 行ストリーミングで書き出す行の雛形
+   *
+   * @param rowNum 行番号（0ベース）
+   * @param height 行の高さ
+   * @param rowStyleIndex 行のスタイル番号（行のスタイルがない場合は-1）
+   * @param cells セルの雛形
+   */
+  record RowPrototype(int rowNum, short height, int rowStyleIndex, List<CellPrototype> cells) {
+
+    private static RowPrototype of(Row row) {
+      List<CellPrototype> cells = new ArrayList<>();
+      for (Cell cell : row) {
+        cells.add(CellPrototype.of(cell));
+      }
+      int rowStyleIndex = row.getRowStyle() != null ? row.getRowStyle().getIndex() : -1;
+      return new RowPrototype(row.getRowNum(), row.getHeight(), rowStyleIndex, List.copyOf(cells));
+    }
+
+    /**
+     * 雛形の内容を行に書き込みます
+     *
+     * @param row 書き込み先の行
+     * @param workbook 書き込み先のワークブック（スタイル番号はテンプレートと同じ）
+     */
+    void copyTo(Row row, Workbook workbook) {
+      row.setHeight(height);
+      if (rowStyleIndex >= 0) {
+        row.setRowStyle(workbook.getCellStyleAt(rowStyleIndex));
+      }
+      for (CellPrototype prototype : cells) {
+        Cell cell = row.createCell(prototype.column());
+        cell.setCellStyle(workbook.getCellStyleAt(prototype.styleIndex()));
+        prototype.copyValueTo(cell);
+      }
+    }
+  }
+
+  /**
+   * 行ストリーミングで書き出すセルの雛形
+   *
+   * @param column 列番号（0ベース）
+   * @param styleIndex スタイル番号
+   * @param value 値（文字列・数値・真偽値、値がない場合はnull）
+   * @param formula 計算式（計算式でない場合はnull）
+   */
+  record CellPrototype(int column, int styleIndex, Object value, String formula) {
+
+    private static CellPrototype of(Cell cell) {
+      int styleIndex = cell.getCellStyle().getIndex();
+      CellType type = cell.getCellType();
+      if (type == CellType.FORMULA) {
+        return new CellPrototype(cell.getColumnIndex(), styleIndex, null, cell.getCellFormula());
+      }
+      Object value =
+          switch (type) {
+            case STRING -> cell.getStringCellValue();
+            case NUMERIC -> cell.getNumericCellValue();
+            case BOOLEAN -> cell.getBooleanCellValue();
+            default -> null;
+          };
+      return new CellPrototype(cell.getColumnIndex(), styleIndex, value, null);
+    }
+
+    private void copyValueTo(Cell cell) {
+      if (formula != null) {
+        // 計算結果はExcelで開いた際に再計算される
+        cell.setCellFormula(formula);
+      } else if (value instanceof String text) {
+        cell.setCellValue(text);
+      } else if (value instanceof Double number) {
+        cell.setCellValue(number);
+      } else if (value instanceof Boolean bool) {
+        cell.setCellValue(bool);
+      }
+    }
+  }
+}
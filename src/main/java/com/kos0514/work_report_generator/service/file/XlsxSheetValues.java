@@ -0,0 +1,169 @@
+package com.kos0514.work_report_generator.service.file;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import javax.xml.parsers.ParserConfigurationException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * .xlsx ファイルの1枚目のシートのセルの値
+ *
+ * <p>ワークブックとして読み込まず、シートのXMLをSAXで読み取ります。計算式のセルとエラー値のセルは含みません。
+ */
+public final class XlsxSheetValues {
+
+  /** 行番号と列番号 → 値（文字列・数値・真偽値） */
+  private final Map<Long, Object> values;
+
+  private XlsxSheetValues(Map<Long, Object> values) {
+    this.values = values;
+  }
+
+  /**
+   * .xlsx ファイルの1枚目のシートのセルの値を読み取ります
+   *
+   * @param file 読み取る .xlsx ファイル
+   * @return セルの値
+   * @throws IOException ファイルの読み込みに失敗した場合
+   */
+  static XlsxSheetValues read(Path file) throws IOException {
+    try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+      XSSFReader reader = new XSSFReader(pkg);
+      SheetHandler handler = new SheetHandler(new ReadOnlySharedStringsTable(pkg));
+      Iterator<InputStream> sheets = reader.getSheetsData();
+      if (sheets.hasNext()) {
+        try (InputStream sheet = sheets.next()) {
+          XMLReader parser = XMLHelper.newXMLReader();
+          parser.setContentHandler(handler);
+          parser.parse(new InputSource(sheet));
+        }
+      }
+      return new XlsxSheetValues(handler.values);
+    } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+      throw new IOException("xlsxファイルの読み込みに失敗しました: " + file, e);
+    }
+  }
+
+  /**
+   * セルの値を返します
+   *
+   * @param row 行番号（0ベース）
+   * @param column 列番号（0ベース）
+   * @return 値（文字列・数値・真偽値）、値がない場合はnull
+   */
+  public Object get(int row, int column) {
+    return values.get(key(row, column));
+  }
+
+  /**
+   * 文字列のセルの値を返します
+   *
+   * @param row 行番号（0ベース）
+   * @param column 列番号（0ベース）
+   * @return 文字列の値、値がないか文字列でない場合はnull
+   */
+  public String getString(int row, int column) {
+    return get(row, column) instanceof String text ? text : null;
+  }
+
+  private static long key(int row, int column) {
+    return ((long) row << 16) | column;
+  }
+
+  /** シートのXMLからセルの値を読み取るハンドラー */
+  private static final class SheetHandler extends DefaultHandler {
+    private final SharedStrings sharedStrings;
+    private final Map<Long, Object> values = new HashMap<>();
+    private final StringBuilder text = new StringBuilder();
+    private int row = -1;
+    private int column = -1;
+    private String cellType;
+    private boolean formula;
+    private boolean hasValue;
+    private boolean collecting;
+
+    private SheetHandler(SharedStrings sharedStrings) {
+      this.sharedStrings = sharedStrings;
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes) {
+      switch (localName) {
+        case "row" -> {
+          String reference = attributes.getValue("r");
+          row = reference != null ? Integer.parseInt(reference) - 1 : row + 1;
+          column = -1;
+        }
+        case "c" -> {
+          String reference = attributes.getValue("r");
+          column = reference != null ? new CellReference(reference).getCol() : column + 1;
+          cellType = attributes.getValue("t");
+          formula = false;
+          hasValue = false;
+          text.setLength(0);
+        }
+        case "f" -> formula = true;
+        // <v> は値、<t> はインライン文字列（リッチテキストの場合は複数）
+        case "v", "t" -> collecting = true;
+        default -> {
+          // 読み取り対象外
+        }
+      }
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) {
+      if (collecting) {
+        text.append(ch, start, length);
+      }
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) {
+      switch (localName) {
+        case "v", "t" -> {
+          collecting = false;
+          hasValue = true;
+        }
+        case "c" -> {
+          Object value = formula || !hasValue ? null : toValue(text.toString());
+          if (value != null) {
+            values.put(key(row, column), value);
+          }
+        }
+        default -> {
+          // 読み取り対象外
+        }
+      }
+    }
+
+    private Object toValue(String raw) {
+      if (cellType == null) {
+        return Double.parseDouble(raw);
+      }
+      return switch (cellType) {
+        case "s" -> sharedStrings.getItemAt(Integer.parseInt(raw.trim())).getString();
+        case "inlineStr", "str" -> raw;
+        case "b" -> "1".equals(raw.trim());
+        case "n" -> Double.parseDouble(raw);
+        default -> null;
+      };
+    }
+  }
+}
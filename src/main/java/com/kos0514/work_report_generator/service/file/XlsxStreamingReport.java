@@ -0,0 +1,109 @@
+package com.kos0514.work_report_generator.service.file;
+
+import com.kos0514.work_report_generator.service.file.XlsxReportTemplate.RowPrototype;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.function.IntConsumer;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+/**
+ * テンプレートから行ストリーミング（SXSSF）で書き出す .xlsx 形式の報告書
+ *
+ * <p>見出し（各日の行より前の行）は {@link #headerSheet(int)} のシートに直接書き込みます。各日の行と合計行などは
+ * {@link #writeRows(int, IntConsumer)} でテンプレートの雛形から昇順に1行ずつ作成し、作成した直後の行だけを
+ * {@link #rowSheet(int)} のシートで書き換えられます。メモリ上には {@code work-report.xlsx-row-window} 行だけを保持し、
+ * それ以前の行は一時ファイルへ書き出します。
+ *
+ * <p>このクラスはスレッドセーフではありません。
+ */
+public final class XlsxStreamingReport implements Closeable {
+
+  private final XSSFWorkbook base;
+  private final SXSSFWorkbook workbook;
+  private final List<RowPrototype> rows;
+
+  XlsxStreamingReport(XSSFWorkbook base, int rowAccessWindowSize, List<RowPrototype> rows) {
+    this.base = base;
+    this.workbook = new SXSSFWorkbook(base, rowAccessWindowSize);
+    this.workbook.setCompressTempFiles(true);
+    this.rows = rows;
+  }
+
+  /**
+   * 報告書のワークブックを返します（スタイルの作成やシートの選択に使用します）
+   *
+   * @return 行ストリーミングのワークブック
+   */
+  public Workbook getWorkbook() {
+    return workbook;
+  }
+
+  /**
+   * 見出しの行を書き込むシートを返します
+   *
+   * @param sheetIndex シート番号
+   * @return 見出しの行だけを持つシート（行ストリーミングの開始行より前の行を書き込めます）
+   */
+  public Sheet headerSheet(int sheetIndex) {
+    return base.getSheetAt(sheetIndex);
+  }
+
+  /**
+   * 行ストリーミングで作成した行を書き込むシートを返します
+   *
+   * @param sheetIndex シート番号
+   * @return 行ストリーミングのシート
+   */
+  public Sheet rowSheet(int sheetIndex) {
+    return workbook.getSheetAt(sheetIndex);
+  }
+
+  /**
+   * テンプレートの雛形から各日の行と合計行などを昇順に作成します
+   *
+   * <p>1行作成するごとに {@code rowWriter} を呼び出します。{@code rowWriter} は {@link #rowSheet(int)} のシートの
+   * その行にだけ書き込んでください（メモリ上の行数を超えた前の行は書き出し済みのため、書き換えられません）。
+   * 1つのシートにつき1回だけ呼び出せます。
+   *
+   * @param sheetIndex シート番号（テンプレートの1枚目のシート、またはその複製）
+   * @param rowWriter 作成した行の行番号（0ベース）を受け取り、値を書き込む処理
+   */
+  public void writeRows(int sheetIndex, IntConsumer rowWriter) {
+    Sheet sheet = workbook.getSheetAt(sheetIndex);
+    for (RowPrototype prototype : rows) {
+      Row row = sheet.createRow(prototype.rowNum());
+      prototype.copyTo(row, workbook);
+      rowWriter.accept(prototype.rowNum());
+    }
+  }
+
+  /**
+   * 報告書を出力ストリームへ書き出します（ストリームは閉じません）
+   *
+   * <p>計算式の結果は保持しないため、Excelで開いた際に再計算されるよう設定します。
+   *
+   * @param out 書き出し先
+   * @throws IOException 書き出しに失敗した場合
+   */
+  public void write(OutputStream out) throws IOException {
+    workbook.setForceFormulaRecalculation(true);
+    workbook.write(out);
+  }
+
+  /**
+   * 一時ファイルを削除し、ワークブックを閉じます
+   *
+   * @throws IOException 閉じる際に失敗した場合
+   */
+  @Override
+  public void close() throws IOException {
+    workbook.dispose();
+    workbook.close();
+  }
+}
@@ -0,0 +1,229 @@
+package com.kos0514.work_report_generator.service.file;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.PrintSetup;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+/**
+ * .xls 形式のテンプレートを .xlsx 形式（XSSF）のワークブックに変換するクラス
+ *
+ * <p>値、計算式（計算結果のキャッシュを含む）、セルスタイル、列幅、行の高さ、結合セル、印刷設定を変換します。
+ * 画像やコメントなどの図形は変換されません。
+ * 変換はテンプレートごとに1回だけ行い、報告書の行は変換後のテンプレートからSXSSFで書き出します
+ * （{@link XlsxReportTemplate}）。
+ *
+ * <p>このクラスはスレッドセーフではありません。変換ごとに新しいインスタンスを使用してください。
+ */
+@Slf4j
+class XlsxTemplateConverter {
+
+  /** 変換元スタイル番号から変換先スタイルへの対応表 */
+  private final Map<Integer, CellStyle> styleCache = new HashMap<>();
+
+  /** 変換元フォント番号から変換先フォントへの対応表 */
+  private final Map<Integer, Font> fontCache = new HashMap<>();
+
+  /**
+   * ワークブックをXSSFのワークブックに変換します
+   *
+   * @param source 変換元のワークブック
+   * @return 変換後のワークブック（呼び出し側で閉じる）
+   */
+  XSSFWorkbook convert(Workbook source) {
+    XSSFWorkbook target = new XSSFWorkbook();
+    // 他シート参照の計算式を解決できるよう、先にすべてのシートを作成
+    for (int i = 0; i < source.getNumberOfSheets(); i++) {
+      target.createSheet(source.getSheetName(i));
+    }
+
+    for (int i = 0; i < source.getNumberOfSheets(); i++) {
+      copySheet(source, source.getSheetAt(i), target, target.getSheetAt(i));
+    }
+
+    target.setActiveSheet(source.getActiveSheetIndex());
+    return target;
+  }
+
+  /**
+   * シートの内容を行単位でコピーします
+   *
+   * @param sourceWorkbook 変換元のワークブック
+   * @param sourceSheet 変換元のシート
+   * @param targetWorkbook 変換先のワークブック
+   * @param targetSheet 変換先のシート
+   */
+  private void copySheet(
+      Workbook sourceWorkbook, Sheet sourceSheet, Workbook targetWorkbook, Sheet targetSheet) {
+    targetSheet.setDefaultRowHeight(sourceSheet.getDefaultRowHeight());
+    targetSheet.setDisplayGridlines(sourceSheet.isDisplayGridlines());
+    copyPrintSetup(sourceSheet.getPrintSetup(), targetSheet.getPrintSetup());
+
+    for (CellRangeAddress region : sourceSheet.getMergedRegions()) {
+      targetSheet.addMergedRegionUnsafe(region.copy());
+    }
+
+    int maxColumn = 0;
+    for (Row sourceRow : sourceSheet) {
+      Row targetRow = targetSheet.createRow(sourceRow.getRowNum());
+      targetRow.setHeight(sourceRow.getHeight());
+      if (sourceRow.getRowStyle() != null) {
+        targetRow.setRowStyle(
+            convertStyle(sourceWorkbook, sourceRow.getRowStyle(), targetWorkbook));
+      }
+
+      for (Cell sourceCell : sourceRow) {
+        Cell targetCell = targetRow.createCell(sourceCell.getColumnIndex());
+        targetCell.setCellStyle(
+            convertStyle(sourceWorkbook, sourceCell.getCellStyle(), targetWorkbook));
+        copyCellValue(sourceCell, targetCell);
+      }
+      maxColumn = Math.max(maxColumn, sourceRow.getLastCellNum());
+    }
+
+    for (int column = 0; column < maxColumn; column++) {
+      targetSheet.setColumnWidth(column, sourceSheet.getColumnWidth(column));
+      targetSheet.setColumnHidden(column, sourceSheet.isColumnHidden(column));
+    }
+  }
+
+  /**
+   * セルの値をコピーします。計算式は計算結果のキャッシュとともにコピーします
+   *
+   * @param source コピー元のセル
+   * @param target コピー先のセル
+   */
+  private void copyCellValue(Cell source, Cell target) {
+    switch (source.getCellType()) {
+      case STRING -> target.setCellValue(source.getStringCellValue());
+      case NUMERIC -> target.setCellValue(source.getNumericCellValue());
+      case BOOLEAN -> target.setCellValue(source.getBooleanCellValue());
+      case ERROR -> target.setCellErrorValue(source.getErrorCellValue());
+      case FORMULA -> copyFormula(source, target);
+      default -> target.setBlank();
+    }
+  }
+
+  /**
+   * 計算式と計算結果のキャッシュをコピーします。計算式を変換できない場合は計算結果のみをコピーします
+   *
+   * @param source コピー元のセル
+   * @param target コピー先のセル
+   */
+  private void copyFormula(Cell source, Cell target) {
+    CellType resultType = source.getCachedFormulaResultType();
+    try {
+      target.setCellFormula(source.getCellFormula());
+    } catch (RuntimeException e) {
+      log.debug(
+          "計算式を変換できないため計算結果のみをコピーします: {} ({})",
+          source.getAddress(),
+          e.getMessage());
+    }
+
+    switch (resultType) {
+      case STRING -> target.setCellValue(source.getStringCellValue());
+      case NUMERIC -> target.setCellValue(source.getNumericCellValue());
+      case BOOLEAN -> target.setCellValue(source.getBooleanCellValue());
+      case ERROR -> target.setCellErrorValue(source.getErrorCellValue());
+      default -> {
+        // 計算結果なし
+      }
+    }
+  }
+
+  /**
+   * セルスタイルを変換先のワークブックのスタイルに変換します
+   *
+   * <p>HSSFとXSSFの間では {@link CellStyle#cloneStyleFrom} が使用できないため、各属性を個別にコピーします。
+   * 変換結果は変換元のスタイル番号ごとにキャッシュされます。
+   *
+   * @param sourceWorkbook 変換元のワークブック
+   * @param source 変換元のスタイル
+   * @param targetWorkbook 変換先のワークブック
+   * @return 変換先のスタイル
+   */
+  private CellStyle convertStyle(
+      Workbook sourceWorkbook, CellStyle source, Workbook targetWorkbook) {
+    return styleCache.computeIfAbsent(
+        (int) source.getIndex(),
+        index -> {
+          CellStyle target = targetWorkbook.createCellStyle();
+          target.setAlignment(source.getAlignment());
+          target.setVerticalAlignment(source.getVerticalAlignment());
+          target.setWrapText(source.getWrapText());
+          target.setShrinkToFit(source.getShrinkToFit());
+          target.setIndention(source.getIndention());
+          target.setRotation(source.getRotation());
+          target.setHidden(source.getHidden());
+          target.setLocked(source.getLocked());
+
+          target.setBorderTop(source.getBorderTop());
+          target.setBorderBottom(source.getBorderBottom());
+          target.setBorderLeft(source.getBorderLeft());
+          target.setBorderRight(source.getBorderRight());
+          target.setTopBorderColor(source.getTopBorderColor());
+          target.setBottomBorderColor(source.getBottomBorderColor());
+          target.setLeftBorderColor(source.getLeftBorderColor());
+          target.setRightBorderColor(source.getRightBorderColor());
+
+          target.setFillPattern(source.getFillPattern());
+          target.setFillForegroundColor(source.getFillForegroundColor());
+          target.setFillBackgroundColor(source.getFillBackgroundColor());
+
+          target.setDataFormat(
+              targetWorkbook.createDataFormat().getFormat(source.getDataFormatString()));
+          Font sourceFont = sourceWorkbook.getFontAt(source.getFontIndex());
+          target.setFont(convertFont(sourceFont, targetWorkbook));
+          return target;
+        });
+  }
+
+  /**
+   * フォントを変換先のワークブックのフォントに変換します
+   *
+   * @param source 変換元のフォント
+   * @param targetWorkbook 変換先のワークブック
+   * @return 変換先のフォント
+   */
+  private Font convertFont(Font source, Workbook targetWorkbook) {
+    return fontCache.computeIfAbsent(
+        (int) source.getIndex(),
+        index -> {
+          Font target = targetWorkbook.createFont();
+          target.setFontName(source.getFontName());
+          target.setFontHeight(source.getFontHeight());
+          target.setBold(source.getBold());
+          target.setItalic(source.getItalic());
+          target.setUnderline(source.getUnderline());
+          target.setStrikeout(source.getStrikeout());
+          target.setColor(source.getColor());
+          target.setTypeOffset(source.getTypeOffset());
+          target.setCharSet(source.getCharSet());
+          return target;
+        });
+  }
+
+  /**
+   * 印刷設定をコピーします
+   *
+   * @param source コピー元の印刷設定
+   * @param target コピー先の印刷設定
+   */
+  private void copyPrintSetup(PrintSetup source, PrintSetup target) {
+    target.setLandscape(source.getLandscape());
+    target.setPaperSize(source.getPaperSize());
+    target.setScale(source.getScale());
+    target.setFitWidth(source.getFitWidth());
+    target.setFitHeight(source.getFitHeight());
+  }
+}
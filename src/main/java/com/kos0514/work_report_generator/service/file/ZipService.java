@@ -1,32 +1,67 @@
 package com.kos0514.work_report_generator.service.file;
 
+import com.kos0514.work_report_generator.model.CompressionPolicy;
 import com.kos0514.work_report_generator.service.config.ConfigService;
+import com.kos0514.work_report_generator.service.metrics.PhaseMetrics;
 import com.kos0514.work_report_generator.util.Constants;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import lombok.RequiredArgsConstructor;
 import net.lingala.zip4j.ZipFile;
+import net.lingala.zip4j.io.outputstream.ZipOutputStream;
 import net.lingala.zip4j.model.ZipParameters;
+import net.lingala.zip4j.model.enums.AesKeyStrength;
 import net.lingala.zip4j.model.enums.CompressionLevel;
 import net.lingala.zip4j.model.enums.CompressionMethod;
 import net.lingala.zip4j.model.enums.EncryptionMethod;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 /**
  *  ZIPファイルの作成と管理を行うサービスクラス
+ *
+ * <p>zip4jの初期化は起動時間に影響するため、最初に使用する際に生成します。
  */
 @Service
+@Lazy
 @RequiredArgsConstructor
 @Slf4j
 public class ZipService {
+  private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
 
   private final ConfigService configService;
   private final FileService fileService;
+  private final PhaseMetrics phaseMetrics;
+
+  /** 圧縮方式 */
+  @Value("${work-report.zip.compression:normal}")
+  private CompressionPolicy compressionPolicy;
+
+  /** AESの鍵長（128 または 256） */
+  @Value("${work-report.zip.aes-key-strength:256}")
+  private int aesKeyStrength;
+
+  /** まとめZIPの作成時に先読みするファイル数（0の場合は先読みしない） */
+  @Value("${work-report.zip.bundle-prefetch:0}")
+  private int bundlePrefetch;
 
   /**
    * ファイルをパスワード付きZIPファイルに圧縮します パスワードは内部で生成され、戻り値として返されます
@@ -38,6 +73,7 @@ public class ZipService {
    */
   public String createPasswordProtectedZip(String sourceFilePath, String zipFilePath)
       throws IOException {
+    long startTime = System.nanoTime();
     // パスワード生成
     String password = generatePassword();
 
@@ -47,12 +83,14 @@ public class ZipService {
       fileService.createDirectoryIfNotExists(zipFileParent);
     }
 
-    // ZIPファイル作成
-    ZipParameters zipParameters = new ZipParameters();
-    zipParameters.setEncryptFiles(true);
-    zipParameters.setEncryptionMethod(EncryptionMethod.AES);
-    zipParameters.setCompressionMethod(CompressionMethod.DEFLATE);
-    zipParameters.setCompressionLevel(CompressionLevel.NORMAL);
+    // ZIPファイル作成（ADAPTIVEの場合は試し圧縮の結果から圧縮方式を決定）
+    CompressionPolicy policy = compressionPolicy;
+    if (policy == CompressionPolicy.ADAPTIVE) {
+      double ratio = CompressibilityEstimator.estimate(Paths.get(sourceFilePath));
+      policy = policy.resolve(ratio);
+      log.debug("試し圧縮の圧縮率 {} から圧縮方式 {} を選択しました", String.format("%.2f", ratio), policy);
+    }
+    ZipParameters zipParameters = createZipParameters(policy, toAesKeyStrength(aesKeyStrength));
 
     // 文字化け対策
     try (ZipFile zipFile = new ZipFile(zipFilePath, password.toCharArray())) {
@@ -60,11 +98,228 @@ public class ZipService {
       zipFile.setCharset(StandardCharsets.UTF_8);
       zipFile.addFile(new File(sourceFilePath), zipParameters);
     }
+    recordZip("zip.create", startTime, Paths.get(zipFilePath));
+
+    log.info("パスワード付きZIPファイルを作成しました: {}", zipFilePath);
+    return password;
+  }
+
+  /**
+   * 出力ストリームへ書き出される内容を、中間ファイルを作らずにパスワード付きZIPファイルへ格納します
+   *
+   * <p>内容はzip4jの {@link ZipOutputStream} へ直接書き込まれ、圧縮・暗号化されます。
+   * パスワードは内部で生成され、戻り値として返されます。
+   *
+   * @param entryName ZIP内のファイル名
+   * @param contentWriter 内容を書き出す処理（渡された出力ストリームを閉じてはいけません）
+   * @param zipFilePath 作成するZIPファイルのパス
+   * @return 生成されたパスワード
+   * @throws IOException 圧縮処理に失敗した場合
+   */
+  public String createPasswordProtectedZip(
+      String entryName, ContentWriter contentWriter, String zipFilePath) throws IOException {
+    long startTime = System.nanoTime();
+    // パスワード生成
+    String password = generatePassword();
+
+    // 親ディレクトリが存在しない場合は作成
+    Path zipFile = Paths.get(zipFilePath);
+    if (zipFile.getParent() != null) {
+      fileService.createDirectoryIfNotExists(zipFile.getParent());
+    }
+
+    // 書き出し前に内容を試し圧縮できないため、ADAPTIVEの場合は標準レベルで圧縮する
+    CompressionPolicy policy =
+        compressionPolicy == CompressionPolicy.ADAPTIVE
+            ? CompressionPolicy.NORMAL
+            : compressionPolicy;
+    ZipParameters zipParameters = createZipParameters(policy, toAesKeyStrength(aesKeyStrength));
+    zipParameters.setFileNameInZip(entryName);
+
+    try (OutputStream fileOut =
+            new BufferedOutputStream(Files.newOutputStream(zipFile), OUTPUT_BUFFER_SIZE);
+        ZipOutputStream zipOut =
+            new ZipOutputStream(fileOut, password.toCharArray(), StandardCharsets.UTF_8)) {
+      zipOut.putNextEntry(zipParameters);
+      contentWriter.writeTo(zipOut);
+      zipOut.closeEntry();
+    } catch (IOException | RuntimeException e) {
+      // 書き込み途中のZIPファイルは残さない
+      Files.deleteIfExists(zipFile);
+      throw e;
+    }
+    recordZip("zip.stream", startTime, zipFile);
 
     log.info("パスワード付きZIPファイルを作成しました: {}", zipFilePath);
     return password;
   }
 
+  /**
+   * 複数のファイルを1つのパスワード付きZIPファイルにまとめます
+   *
+   * <p>ファイルは指定された順にzip4jの {@link ZipOutputStream} へ1回の書き込みで格納され、すべてのエントリが同じパスワードで
+   * 暗号化されます。ファイルの内容はバッファ単位で書き込むため、ファイル数が多くても使用メモリは増えません。
+   * 先読み数（{@code work-report.zip.bundle-prefetch}）を指定した場合は、書き込み中のファイルの後続を仮想スレッドで
+   * 並行して読み込みます（先読みするファイル数分のメモリを使用します）。
+   *
+   * @param sourceFiles まとめるファイルのリスト（ZIP内のファイル名はファイル名部分を使用）
+   * @param zipFilePath 作成するZIPファイルのパス
+   * @return 生成されたパスワード
+   * @throws IOException 圧縮処理に失敗した場合
+   * @throws IllegalArgumentException ファイルがない場合、またはファイル名が重複している場合
+   */
+  public String createPasswordProtectedBundle(List<Path> sourceFiles, String zipFilePath)
+      throws IOException {
+    if (sourceFiles.isEmpty()) {
+      throw new IllegalArgumentException("まとめるファイルがありません");
+    }
+    Set<String> entryNames = new HashSet<>();
+    for (Path sourceFile : sourceFiles) {
+      if (!entryNames.add(sourceFile.getFileName().toString())) {
+        throw new IllegalArgumentException("ファイル名が重複しています: " + sourceFile.getFileName());
+      }
+    }
+
+    long startTime = System.nanoTime();
+    // パスワード生成
+    String password = generatePassword();
+
+    // 親ディレクトリが存在しない場合は作成
+    Path zipFile = Paths.get(zipFilePath);
+    if (zipFile.getParent() != null) {
+      fileService.createDirectoryIfNotExists(zipFile.getParent());
+    }
+
+    // エントリごとに試し圧縮はせず、ADAPTIVEの場合は標準レベルで圧縮する
+    CompressionPolicy policy =
+        compressionPolicy == CompressionPolicy.ADAPTIVE
+            ? CompressionPolicy.NORMAL
+            : compressionPolicy;
+    ZipParameters baseParameters = createZipParameters(policy, toAesKeyStrength(aesKeyStrength));
+
+    try (OutputStream fileOut =
+            new BufferedOutputStream(Files.newOutputStream(zipFile), OUTPUT_BUFFER_SIZE);
+        ZipOutputStream zipOut =
+            new ZipOutputStream(fileOut, password.toCharArray(), StandardCharsets.UTF_8)) {
+      if (bundlePrefetch > 0) {
+        writeBundleEntriesWithPrefetch(sourceFiles, baseParameters, zipOut);
+      } else {
+        for (Path sourceFile : sourceFiles) {
+          putEntry(zipOut, baseParameters, sourceFile, out -> Files.copy(sourceFile, out));
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      // 書き込み途中のZIPファイルは残さない
+      Files.deleteIfExists(zipFile);
+      throw e;
+    }
+    recordZip("zip.bundle", startTime, zipFile);
+
+    log.info("パスワード付きZIPファイルを作成しました: {} ({}件)", zipFilePath, sourceFiles.size());
+    return password;
+  }
+
+  /**
+   * 後続のファイルを先読みしながら、指定された順にエントリを書き込みます
+   *
+   * @param sourceFiles まとめるファイルのリスト
+   * @param baseParameters ZIPパラメータ
+   * @param zipOut 書き込み先
+   * @throws IOException 読み込みまたは書き込みに失敗した場合
+   */
+  private void writeBundleEntriesWithPrefetch(
+      List<Path> sourceFiles, ZipParameters baseParameters, ZipOutputStream zipOut)
+      throws IOException {
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      Deque<Future<byte[]>> window = new ArrayDeque<>(bundlePrefetch);
+      int next = 0;
+      try {
+        for (Path sourceFile : sourceFiles) {
+          while (next < sourceFiles.size() && window.size() < bundlePrefetch) {
+            Path prefetchFile = sourceFiles.get(next++);
+            window.addLast(executor.submit(() -> Files.readAllBytes(prefetchFile)));
+          }
+          byte[] content = awaitContent(window.removeFirst(), sourceFile);
+          putEntry(zipOut, baseParameters, sourceFile, out -> out.write(content));
+        }
+      } finally {
+        window.forEach(future -> future.cancel(true));
+      }
+    }
+  }
+
+  private static byte[] awaitContent(Future<byte[]> future, Path sourceFile) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("ファイルの読み込みが中断されました: " + sourceFile, e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException ioException) {
+        throw ioException;
+      }
+      throw new IOException("ファイルの読み込みに失敗しました: " + sourceFile, e.getCause());
+    }
+  }
+
+  private static void putEntry(
+      ZipOutputStream zipOut,
+      ZipParameters baseParameters,
+      Path sourceFile,
+      ContentWriter contentWriter)
+      throws IOException {
+    ZipParameters entryParameters = new ZipParameters(baseParameters);
+    entryParameters.setFileNameInZip(sourceFile.getFileName().toString());
+    zipOut.putNextEntry(entryParameters);
+    contentWriter.writeTo(zipOut);
+    zipOut.closeEntry();
+  }
+
+  /**
+   * AES暗号化を行うZIPパラメータを作成します
+   *
+   * @param policy 圧縮方式（ADAPTIVE以外）
+   * @param keyStrength AESの鍵長
+   * @return ZIPパラメータ
+   */
+  static ZipParameters createZipParameters(CompressionPolicy policy, AesKeyStrength keyStrength) {
+    ZipParameters zipParameters = new ZipParameters();
+    zipParameters.setEncryptFiles(true);
+    zipParameters.setEncryptionMethod(EncryptionMethod.AES);
+    zipParameters.setAesKeyStrength(keyStrength);
+    switch (policy) {
+      case STORE -> zipParameters.setCompressionMethod(CompressionMethod.STORE);
+      case FASTEST -> {
+        zipParameters.setCompressionMethod(CompressionMethod.DEFLATE);
+        zipParameters.setCompressionLevel(CompressionLevel.FASTEST);
+      }
+      case MAXIMUM -> {
+        zipParameters.setCompressionMethod(CompressionMethod.DEFLATE);
+        zipParameters.setCompressionLevel(CompressionLevel.MAXIMUM);
+      }
+      case NORMAL, ADAPTIVE -> {
+        zipParameters.setCompressionMethod(CompressionMethod.DEFLATE);
+        zipParameters.setCompressionLevel(CompressionLevel.NORMAL);
+      }
+    }
+    return zipParameters;
+  }
+
+  /**
+   * 設定値の鍵長をzip4jの鍵長に変換します
+   *
+   * @param bits 鍵長（128 または 256）
+   * @return zip4jの鍵長
+   * @throws IllegalArgumentException 対応していない鍵長の場合
+   */
+  static AesKeyStrength toAesKeyStrength(int bits) {
+    return switch (bits) {
+      case 128 -> AesKeyStrength.KEY_STRENGTH_128;
+      case 256 -> AesKeyStrength.KEY_STRENGTH_256;
+      default -> throw new IllegalArgumentException("AESの鍵長は128または256を指定してください: " + bits);
+    };
+  }
+
   /**
    * 指定されたルールに従ってランダムなパスワードを生成します 英字大文字小文字、数字、記号なし、8文字
    *
@@ -83,14 +338,35 @@ public class ZipService {
     return sb.toString();
   }
 
+  /** ZIPの作成にかかった時間と、作成したZIPのバイト数を記録します */
+  private void recordZip(String phase, long startTime, Path zipFile) throws IOException {
+    phaseMetrics.record(phase, startTime);
+    phaseMetrics.count("zip.bytes.written", Files.size(zipFile));
+  }
+
   /**
    * パスワードをファイルに保存します
    *
    * @param yearMonth 年月（yyyymm形式）
    * @param password パスワード
+   * @return パスワードを保存したファイルのパス
+   * @throws IOException ファイル書き込みに失敗した場合
+   */
+  public Path savePasswordToFile(String yearMonth, String password) throws IOException {
+    return savePasswordToFile(yearMonth, null, password);
+  }
+
+  /**
+   * パスワードをユーザーごとの作業ディレクトリに保存します
+   *
+   * @param yearMonth 年月（yyyymm形式）
+   * @param user ユーザー名（nullの場合は年月の作業ディレクトリに保存）
+   * @param password パスワード
+   * @return パスワードを保存したファイルのパス
    * @throws IOException ファイル書き込みに失敗した場合
    */
-  public void savePasswordToFile(String yearMonth, String password) throws IOException {
+  public Path savePasswordToFile(String yearMonth, String user, String password)
+      throws IOException {
     // 送信先ディレクトリを取得
     String sendDir = configService.getSendDirectory();
     if (sendDir == null || sendDir.isEmpty()) {
@@ -101,13 +377,28 @@ public class ZipService {
     String year = yearMonth.substring(0, 4);
 
     // パスワード保存先ディレクトリ作成
-    Path passwordDir = fileService.createWorkDirectoryForYearMonth(sendDir, Constants.Files.WORK_DIR, year, yearMonth);
-    String passwordDirPath = passwordDir.toString();
+    Path passwordDir =
+        fileService.createWorkDirectoryForUser(
+            sendDir, Constants.Files.WORK_DIR, year, yearMonth, user);
 
     // パスワードをファイルに保存
-    Path passwordFile = Paths.get(passwordDirPath, Constants.Files.PASSWORD_FILE_NAME);
+    Path passwordFile = passwordDir.resolve(Constants.Files.PASSWORD_FILE_NAME);
     fileService.writeStringToFile(passwordFile, password);
 
     log.info("パスワードをファイルに保存しました: {}", passwordFile);
+    return passwordFile;
+  }
+
+  /** ZIPのエントリへ内容を書き出す処理 */
+  @FunctionalInterface
+  public interface ContentWriter {
+
+    /**
+     * 内容を書き出します
+     *
+     * @param outputStream 書き出し先（閉じてはいけません）
+     * @throws IOException 書き出しに失敗した場合
+     */
+    void writeTo(OutputStream outputStream) throws IOException;
   }
 }
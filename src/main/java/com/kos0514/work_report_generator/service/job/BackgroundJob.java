@@ -0,0 +1,89 @@
+package com.kos0514.work_report_generator.service.job;
+
+import com.kos0514.work_report_generator.model.job.BackgroundJobState;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Function;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * バックグラウンドで実行するコマンド1件
+ */
+@Slf4j
+@Getter
+public class BackgroundJob {
+  private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+  /** コマンドの戻り値がエラーを表す場合の接頭辞 */
+  private static final String ERROR_PREFIX = "エラー";
+
+  /** ジョブ番号 */
+  private final int id;
+
+  /** 実行したコマンド（例: {@code send-all --month 2025/06}） */
+  private final String command;
+
+  private final JobProgress progress = new JobProgress();
+  private final LocalDateTime startedAt = LocalDateTime.now();
+
+  private volatile BackgroundJobState state = BackgroundJobState.RUNNING;
+
+  /** コマンドの実行結果のメッセージ（実行中はnull） */
+  private volatile String result;
+
+  BackgroundJob(int id, String command) {
+    this.id = id;
+    this.command = command;
+  }
+
+  /**
+   * コマンドを実行し、結果と状態を記録します
+   *
+   * @param task 進捗オブジェクトを受け取り、結果のメッセージを返す処理
+   */
+  void run(Function<JobProgress, String> task) {
+    try {
+      String message = task.apply(progress);
+      result = message;
+      if (progress.isCancelRequested()) {
+        state = BackgroundJobState.CANCELLED;
+      } else if (message != null && message.startsWith(ERROR_PREFIX)) {
+        state = BackgroundJobState.FAILED;
+      } else {
+        state = BackgroundJobState.SUCCEEDED;
+      }
+    } catch (RuntimeException e) {
+      log.error("バックグラウンドジョブの実行に失敗しました: #{} {}", id, command, e);
+      result = "エラー: " + e.getMessage();
+      state = BackgroundJobState.FAILED;
+    }
+  }
+
+  /**
+   * 実行中かどうかを返します
+   *
+   * @return 実行中の場合はtrue
+   */
+  public boolean isRunning() {
+    return state == BackgroundJobState.RUNNING;
+  }
+
+  /**
+   * 一覧表示用の1行を返します
+   *
+   * @return ジョブ番号、コマンド、状態、進捗（例: {@code #1 save [実行中] 12/40 件 (30%), ... 開始 10:15:30}）
+   */
+  public String describe() {
+    BackgroundJobState current = state;
+    StringBuilder line = new StringBuilder();
+    line.append("#").append(id).append(" ").append(command);
+    line.append(" [").append(current.getLabel());
+    if (current == BackgroundJobState.RUNNING && progress.isCancelRequested()) {
+      line.append("・キャンセル中");
+    }
+    line.append("] ").append(progress.describe());
+    line.append(" 開始 ").append(startedAt.format(TIME_FORMAT));
+    return line.toString();
+  }
+}
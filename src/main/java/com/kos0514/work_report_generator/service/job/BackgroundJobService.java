@@ -0,0 +1,131 @@
+package com.kos0514.work_report_generator.service.job;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * 長時間かかるコマンドをバックグラウンドの仮想スレッドで実行し、進捗の確認とキャンセルを受け付けるサービスクラス
+ *
+ * <p>コマンドの実行中もシェルは次のコマンドを受け付けます。キャンセルは協調的に行い、実行中のファイルの処理が終わった
+ * 時点で停止します（報告書は一時ファイルへの書き込みとアトミックな置き換えで保存するため、書きかけの報告書は残りません）。
+ */
+@Service
+@Slf4j
+public class BackgroundJobService {
+
+  /** ジョブ番号 → ジョブ（番号順） */
+  private final Map<Integer, BackgroundJob> jobs = new ConcurrentSkipListMap<>();
+
+  private final Map<Integer, Thread> threads = new ConcurrentSkipListMap<>();
+  private final AtomicInteger sequence = new AtomicInteger();
+
+  /** 一覧に残す終了済みのジョブの数 */
+  @Value("${work-report.background.history-size:20}")
+  private int historySize;
+
+  /** アプリケーションの終了時に、キャンセルしたジョブの停止を待つ時間（秒） */
+  @Value("${work-report.background.shutdown-timeout-seconds:30}")
+  private long shutdownTimeoutSeconds;
+
+  /**
+   * コマンドをバックグラウンドで実行します
+   *
+   * @param command 一覧に表示するコマンド
+   * @param task 進捗オブジェクトを受け取り、結果のメッセージを返す処理
+   * @return 開始したジョブ
+   */
+  public BackgroundJob submit(String command, Function<JobProgress, String> task) {
+    BackgroundJob job = new BackgroundJob(sequence.incrementAndGet(), command);
+    jobs.put(job.getId(), job);
+    Thread thread =
+        Thread.ofVirtual()
+            .name("background-job-" + job.getId())
+            .unstarted(
+                () -> {
+                  try {
+                    job.run(task);
+                    log.info("バックグラウンドジョブが終了しました: {}", job.describe());
+                  } finally {
+                    threads.remove(job.getId());
+                    trimHistory();
+                  }
+                });
+    threads.put(job.getId(), thread);
+    thread.start();
+    return job;
+  }
+
+  /**
+   * ジョブの一覧を返します
+   *
+   * @return ジョブ（番号順）
+   */
+  public List<BackgroundJob> list() {
+    return new ArrayList<>(jobs.values());
+  }
+
+  /**
+   * ジョブを取得します
+   *
+   * @param id ジョブ番号
+   * @return ジョブ、存在しない場合は空
+   */
+  public Optional<BackgroundJob> find(int id) {
+    return Optional.ofNullable(jobs.get(id));
+  }
+
+  /**
+   * ジョブのキャンセルを要求します
+   *
+   * @param id ジョブ番号
+   * @return 実行中のジョブにキャンセルを要求した場合はtrue
+   */
+  public boolean cancel(int id) {
+    BackgroundJob job = jobs.get(id);
+    if (job == null || !job.isRunning()) {
+      return false;
+    }
+    job.getProgress().requestCancel();
+    log.info("バックグラウンドジョブのキャンセルを要求しました: #{}", id);
+    return true;
+  }
+
+  /** 実行中のジョブにキャンセルを要求し、処理中のファイルの保存が終わるまで待ちます */
+  @PreDestroy
+  public void shutdown() {
+    jobs.values().stream()
+        .filter(BackgroundJob::isRunning)
+        .forEach(job -> job.getProgress().requestCancel());
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(shutdownTimeoutSeconds);
+    for (Thread thread : threads.values()) {
+      long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+      try {
+        if (remainingMillis <= 0 || !thread.join(Duration.ofMillis(remainingMillis))) {
+          log.warn("バックグラウンドジョブが時間内に停止しませんでした: {}", thread.getName());
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  /** 終了済みのジョブを古い順に削除し、一覧に残す数に収めます */
+  private void trimHistory() {
+    List<BackgroundJob> finished = jobs.values().stream().filter(job -> !job.isRunning()).toList();
+    for (int i = 0; i < finished.size() - Math.max(0, historySize); i++) {
+      jobs.remove(finished.get(i).getId());
+    }
+  }
+}
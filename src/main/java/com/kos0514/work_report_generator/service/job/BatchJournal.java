@@ -0,0 +1,184 @@
+package com.kos0514.work_report_generator.service.job;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kos0514.work_report_generator.model.job.JournalEntry;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.OffsetDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * バッチ処理1回分の追記専用ジャーナル（JSON Lines形式）
+ *
+ * <p>ステップの開始と完了を1行ずつ追記し、一定の件数ごとにまとめてディスクへ同期します。同期前にプロセスが終了した場合に
+ * 失われるのは末尾の数行だけで、再開時にそのステップをもう一度実行するだけで済みます。途中まで書き込まれた末尾の行は
+ * 読み込み時に無視します。ジャーナルへの書き込みに失敗してもバッチ処理は中断しません。
+ */
+@Slf4j
+public class BatchJournal implements Closeable {
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private final Path file;
+  private final FileChannel channel;
+  private final int syncInterval;
+
+  /** 前回までの実行で完了したステップ */
+  private final Set<String> completedSteps;
+
+  /** 前回の同期以降に追記した行数 */
+  private int unsyncedLines;
+
+  private BatchJournal(
+      Path file, FileChannel channel, int syncInterval, Set<String> completedSteps) {
+    this.file = file;
+    this.channel = channel;
+    this.syncInterval = Math.max(1, syncInterval);
+    this.completedSteps = completedSteps;
+  }
+
+  /**
+   * ジャーナルを開きます
+   *
+   * @param file ジャーナルファイル
+   * @param resume trueの場合は既存のジャーナルに追記し、完了済みのステップを読み込む（falseの場合は空にする）
+   * @param syncInterval ディスクへ同期する間隔（行数）
+   * @return ジャーナル
+   * @throws IOException ジャーナルファイルを開けない場合
+   */
+  static BatchJournal open(Path file, boolean resume, int syncInterval) throws IOException {
+    Files.createDirectories(file.toAbsolutePath().getParent());
+    Set<String> completedSteps = ConcurrentHashMap.newKeySet();
+    boolean needsNewLine = false;
+    if (resume && Files.exists(file)) {
+      completedSteps.addAll(readCompletedSteps(file));
+      needsNewLine = Files.size(file) > 0 && !endsWithNewLine(file);
+    }
+
+    FileChannel channel =
+        resume
+            ? FileChannel.open(
+                file,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)
+            : FileChannel.open(
+                file,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    BatchJournal journal = new BatchJournal(file, channel, syncInterval, completedSteps);
+    if (needsNewLine) {
+      // 途中まで書き込まれた行の後ろに追記しないよう改行する
+      journal.write("\n");
+    }
+    return journal;
+  }
+
+  /**
+   * 前回までの実行でステップが完了しているかを返します
+   *
+   * @param step ステップ名
+   * @return 完了している場合はtrue
+   */
+  public boolean isCompleted(String step) {
+    return completedSteps.contains(step);
+  }
+
+  /**
+   * 前回までの実行で完了したステップの数を返します
+   *
+   * @return 完了済みのステップ数
+   */
+  public int completedCount() {
+    return completedSteps.size();
+  }
+
+  /**
+   * ステップの開始を記録します
+   *
+   * @param step ステップ名
+   */
+  public void started(String step) {
+    append(new JournalEntry(step, JournalEntry.Event.STARTED, OffsetDateTime.now().toString()));
+  }
+
+  /**
+   * ステップの完了を記録します
+   *
+   * @param step ステップ名
+   */
+  public void completed(String step) {
+    append(new JournalEntry(step, JournalEntry.Event.COMPLETED, OffsetDateTime.now().toString()));
+  }
+
+  /** 未同期の行をディスクへ同期してジャーナルを閉じます */
+  @Override
+  public synchronized void close() {
+    try {
+      if (unsyncedLines > 0) {
+        channel.force(false);
+      }
+      channel.close();
+    } catch (IOException e) {
+      log.warn("ジャーナルのクローズに失敗しました: {} ({})", file, e.getMessage());
+    }
+  }
+
+  private synchronized void append(JournalEntry entry) {
+    try {
+      write(OBJECT_MAPPER.writeValueAsString(entry) + "\n");
+      if (++unsyncedLines >= syncInterval) {
+        channel.force(false);
+        unsyncedLines = 0;
+      }
+    } catch (IOException e) {
+      log.warn("ジャーナルへの書き込みに失敗しました: {} ({})", file, e.getMessage());
+    }
+  }
+
+  private void write(String text) throws IOException {
+    ByteBuffer buffer = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  private static Set<String> readCompletedSteps(Path file) throws IOException {
+    Set<String> completedSteps = ConcurrentHashMap.newKeySet();
+    try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.isBlank()) {
+          continue;
+        }
+        try {
+          JournalEntry entry = OBJECT_MAPPER.readValue(line, JournalEntry.class);
+          if (entry.event() == JournalEntry.Event.COMPLETED && entry.step() != null) {
+            completedSteps.add(entry.step());
+          }
+        } catch (JsonProcessingException e) {
+          log.warn("ジャーナルの読み込めない行を無視します: {}", file);
+        }
+      }
+    }
+    return completedSteps;
+  }
+
+  private static boolean endsWithNewLine(Path file) throws IOException {
+    try (FileChannel reader = FileChannel.open(file, StandardOpenOption.READ)) {
+      ByteBuffer last = ByteBuffer.allocate(1);
+      reader.read(last, reader.size() - 1);
+      return last.get(0) == '\n';
+    }
+  }
+}
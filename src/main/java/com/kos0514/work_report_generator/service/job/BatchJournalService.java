@@ -0,0 +1,42 @@
+package com.kos0514.work_report_generator.service.job;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * バッチ処理（save / send-all / run-jobs）のジャーナルを管理するサービスクラス
+ *
+ * <p>ジャーナルはバッチ処理の種類と対象（年月、ジョブファイル）ごとに1ファイルで、再開しない場合は実行のたびに作り直します。
+ */
+@Service
+@Slf4j
+public class BatchJournalService {
+
+  @Value("${work-report.journal.dir:./local-data/journal}")
+  private String journalDir;
+
+  /** ディスクへ同期する間隔（行数） */
+  @Value("${work-report.journal.sync-interval:32}")
+  private int syncInterval;
+
+  /**
+   * バッチ処理のジャーナルを開きます
+   *
+   * @param batchName バッチ処理の名前（例: {@code send-all_202506}）
+   * @param resume trueの場合は前回のジャーナルから再開する
+   * @return ジャーナル
+   * @throws IOException ジャーナルファイルを開けない場合
+   */
+  public BatchJournal open(String batchName, boolean resume) throws IOException {
+    Path file = Paths.get(journalDir, batchName.replaceAll("[\\\\/:*?\"<>|\\s]", "_") + ".jsonl");
+    BatchJournal journal = BatchJournal.open(file, resume, syncInterval);
+    if (resume) {
+      log.info("ジャーナルから再開します: {} (完了済み: {}件)", file, journal.completedCount());
+    }
+    return journal;
+  }
+}
@@ -0,0 +1,197 @@
+package com.kos0514.work_report_generator.service.job;
+
+import com.kos0514.work_report_generator.model.job.StageStats;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link Flow} で接続するパイプラインの1段階
+ *
+ * <p>上流には同時に処理できる件数（{@code parallelism}）だけを要求し、1件の処理が終わるごとに次の1件を要求します。
+ * 処理結果は {@link SubmissionPublisher} で下流へ渡し、下流のバッファ（{@code capacity}）が一杯の場合は空くまで待つため、
+ * 遅い段階があると上流の段階も順に待たされ、処理中の報告書やワークブックがメモリに溜まり続けることはありません。
+ * 処理の戻り値が null の場合、その要素は下流へ渡しません。
+ * 処理が例外で終了した場合は失敗時の処理（{@code failureMapper}）の戻り値を下流へ渡すため、上流から受け取った要素は
+ * 必ず処理か失敗時の処理のどちらかを経ます。
+ *
+ * @param <I> 上流から受け取る要素の型
+ * @param <O> 下流へ渡す要素の型
+ */
+@Slf4j
+public class FlowStage<I, O> implements Flow.Processor<I, O> {
+
+  private final String name;
+  private final int parallelism;
+  private final Executor executor;
+  private final Function<? super I, ? extends O> function;
+  private final BiFunction<? super I, ? super RuntimeException, ? extends O> failureMapper;
+  private final SubmissionPublisher<O> publisher;
+
+  /** 処理中の件数 */
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  /** 処理中と下流への受け渡し待ちを合わせた件数の最大値 */
+  private final AtomicInteger maxOccupancy = new AtomicInteger();
+
+  private final AtomicLong processed = new AtomicLong();
+
+  private Flow.Subscription subscription;
+
+  /** 上流が終了した場合はtrue（this で同期） */
+  private boolean upstreamDone;
+
+  /** 上流がエラーで終了した場合の例外（this で同期） */
+  private Throwable upstreamError;
+
+  /** 下流へ終了を通知した場合はtrue（this で同期） */
+  private boolean closed;
+
+  /**
+   * 処理が例外で終了した要素を下流へ渡さない段階を作成します
+   *
+   * @param name 段階の名前（統計とログに使用）
+   * @param parallelism 同時に処理する件数の上限
+   * @param capacity 下流へ渡す前に保持できる件数の上限（2のべき乗に切り上げられます）
+   * @param executor 処理と下流への受け渡しを実行するエグゼキュータ
+   * @param function 要素ごとの処理（null を返した要素は下流へ渡さない）
+   */
+  public FlowStage(
+      String name,
+      int parallelism,
+      int capacity,
+      Executor executor,
+      Function<? super I, ? extends O> function) {
+    this(name, parallelism, capacity, executor, function, (item, e) -> null);
+  }
+
+  /**
+   * @param name 段階の名前（統計とログに使用）
+   * @param parallelism 同時に処理する件数の上限
+   * @param capacity 下流へ渡す前に保持できる件数の上限（2のべき乗に切り上げられます）
+   * @param executor 処理と下流への受け渡しを実行するエグゼキュータ
+   * @param function 要素ごとの処理（null を返した要素は下流へ渡さない）
+   * @param failureMapper 処理が例外で終了した要素と例外を受け取り、代わりに下流へ渡す要素を返す処理
+   *     （null を返した要素は下流へ渡さない）
+   */
+  public FlowStage(
+      String name,
+      int parallelism,
+      int capacity,
+      Executor executor,
+      Function<? super I, ? extends O> function,
+      BiFunction<? super I, ? super RuntimeException, ? extends O> failureMapper) {
+    this.name = name;
+    this.parallelism = Math.max(1, parallelism);
+    this.executor = executor;
+    this.function = function;
+    this.failureMapper = failureMapper;
+    this.publisher = new SubmissionPublisher<>(executor, Math.max(1, capacity));
+  }
+
+  @Override
+  public void onSubscribe(Flow.Subscription subscription) {
+    this.subscription = subscription;
+    subscription.request(parallelism);
+  }
+
+  @Override
+  public void onNext(I item) {
+    inFlight.incrementAndGet();
+    recordOccupancy();
+    executor.execute(() -> process(item));
+  }
+
+  @Override
+  public synchronized void onError(Throwable throwable) {
+    upstreamError = throwable;
+    upstreamDone = true;
+    closeIfDone();
+  }
+
+  @Override
+  public synchronized void onComplete() {
+    upstreamDone = true;
+    closeIfDone();
+  }
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super O> subscriber) {
+    publisher.subscribe(subscriber);
+  }
+
+  /**
+   * この段階の出力を受け取る終端を接続します
+   *
+   * @param consumer 出力を受け取る処理
+   * @return すべての出力を受け取ったとき（上流がエラーで終了した場合は例外で）完了する Future
+   */
+  public CompletableFuture<Void> consume(Consumer<? super O> consumer) {
+    return publisher.consume(consumer);
+  }
+
+  /**
+   * この段階の統計を返します
+   *
+   * @return 統計
+   */
+  public StageStats stats() {
+    return new StageStats(
+        name, parallelism, publisher.getMaxBufferCapacity(), maxOccupancy.get(), processed.get());
+  }
+
+  private void process(I item) {
+    try {
+      O result = apply(item);
+      if (result != null) {
+        // 下流のバッファが一杯の場合はここで待ち、その間は上流へ次の要素を要求しない
+        publisher.submit(result);
+        recordOccupancy();
+      }
+    } catch (RuntimeException e) {
+      log.error("パイプラインの段階 {} で失敗時の処理または下流への受け渡しに失敗しました", name, e);
+    } finally {
+      processed.incrementAndGet();
+      inFlight.decrementAndGet();
+      subscription.request(1);
+      synchronized (this) {
+        closeIfDone();
+      }
+    }
+  }
+
+  /** 要素を処理し、例外で終了した場合は失敗時の処理の戻り値を返します */
+  private O apply(I item) {
+    try {
+      return function.apply(item);
+    } catch (RuntimeException e) {
+      log.error("パイプラインの段階 {} で処理に失敗しました", name, e);
+      return failureMapper.apply(item, e);
+    }
+  }
+
+  /** 上流が終了し、処理中の要素がなくなったら下流へ終了を通知します（this で同期して呼び出す） */
+  private void closeIfDone() {
+    if (closed || !upstreamDone || inFlight.get() > 0) {
+      return;
+    }
+    closed = true;
+    if (upstreamError != null) {
+      publisher.closeExceptionally(upstreamError);
+    } else {
+      publisher.close();
+    }
+  }
+
+  private void recordOccupancy() {
+    int occupancy = inFlight.get() + publisher.estimateMaximumLag();
+    maxOccupancy.accumulateAndGet(occupancy, Math::max);
+  }
+}
@@ -0,0 +1,87 @@
+package com.kos0514.work_report_generator.service.job;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 長時間かかる処理の進捗とキャンセル要求を共有するオブジェクト
+ *
+ * <p>処理側は対象の件数を設定し、1件終わるごとに {@link #advance()} を呼び出します。キャンセルは協調的に行い、処理側は
+ * ファイルの区切りで {@link #isCancelRequested()} を確認して、以降のファイルを処理せずに終了します。
+ */
+public class JobProgress {
+
+  private final AtomicInteger total = new AtomicInteger();
+  private final AtomicInteger done = new AtomicInteger();
+  private final long startNanos = System.nanoTime();
+  private volatile boolean cancelRequested;
+
+  /**
+   * 進捗を表示しない処理に渡すオブジェクトを返します
+   *
+   * @return 新しい進捗オブジェクト
+   */
+  public static JobProgress untracked() {
+    return new JobProgress();
+  }
+
+  /**
+   * 処理対象の件数を設定します
+   *
+   * @param count 処理対象の件数
+   */
+  public void start(int count) {
+    total.set(count);
+  }
+
+  /** 1件の処理が終わったことを記録します */
+  public void advance() {
+    done.incrementAndGet();
+  }
+
+  /** キャンセルを要求します */
+  public void requestCancel() {
+    cancelRequested = true;
+  }
+
+  /**
+   * キャンセルが要求されているかを返します
+   *
+   * @return キャンセルが要求されている場合はtrue
+   */
+  public boolean isCancelRequested() {
+    return cancelRequested;
+  }
+
+  public int total() {
+    return total.get();
+  }
+
+  public int done() {
+    return done.get();
+  }
+
+  /**
+   * 進捗の表示用の文字列を返します
+   *
+   * @return 処理済みの件数、処理速度、残り時間の目安（例: {@code 12/40 件 (30%), 2.5 件/秒, 残り約 11 秒}）
+   */
+  public String describe() {
+    int totalCount = total();
+    int doneCount = done();
+    double elapsedSeconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+    double rate = elapsedSeconds > 0 ? doneCount / elapsedSeconds : 0;
+
+    StringBuilder text = new StringBuilder();
+    text.append(doneCount).append("/").append(totalCount).append(" 件");
+    if (totalCount > 0) {
+      text.append(" (").append(doneCount * 100 / totalCount).append("%)");
+    }
+    text.append(", ").append(String.format(Locale.ROOT, "%.1f", rate)).append(" 件/秒");
+    if (rate > 0 && doneCount < totalCount) {
+      long remainingSeconds = Math.round((totalCount - doneCount) / rate);
+      text.append(", 残り約 ").append(remainingSeconds).append(" 秒");
+    }
+    return text.toString();
+  }
+}
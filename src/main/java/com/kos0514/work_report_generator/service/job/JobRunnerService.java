@@ -0,0 +1,394 @@
+package com.kos0514.work_report_generator.service.job;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kos0514.work_report_generator.model.ReportFileName;
+import com.kos0514.work_report_generator.model.ReportFormat;
+import com.kos0514.work_report_generator.model.job.JobCommand;
+import com.kos0514.work_report_generator.model.job.JobGraph;
+import com.kos0514.work_report_generator.model.job.JobResult;
+import com.kos0514.work_report_generator.model.job.JobSpec;
+import com.kos0514.work_report_generator.model.job.JobStatus;
+import com.kos0514.work_report_generator.model.job.WorkPriority;
+import com.kos0514.work_report_generator.service.config.ConfigService;
+import com.kos0514.work_report_generator.service.config.UserInputService;
+import com.kos0514.work_report_generator.service.report.ReportService;
+import com.kos0514.work_report_generator.service.send_file.SendExcelFileService;
+import com.kos0514.work_report_generator.util.DateUtil;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * ジョブファイル（JSON）に記述した複数のコマンドを、依存関係に従って並列に実行するサービスクラス
+ *
+ * <p>同じ報告書を扱うジョブは作成 → 更新 → 送信の順に実行し、同じ月のCSVファイルを作成するジョブ、同じ月の報告書を
+ * 送信するジョブ（パスワードファイルを共有する）も1件ずつ実行します。それ以外のジョブは並列数を上限に同時に実行します。
+ * 依存するジョブが成功しなかった場合、そのジョブは実行せずにスキップします。
+ *
+ * <p>ジョブの開始と完了はジョブファイルごとのジャーナルに記録します。中断した実行を再開する場合は、完了したジョブを
+ * 実行せずに完了済みとして扱います（ジョブIDで照合するため、再開するジョブファイルではIDを明示することを推奨します）。
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JobRunnerService {
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  /** コマンドの戻り値がエラーを表す場合の接頭辞 */
+  private static final String ERROR_PREFIX = "エラー: ";
+
+  private final ReportService reportService;
+  private final SendExcelFileService sendExcelFileService;
+  private final ConfigService configService;
+  private final UserInputService userInputService;
+  private final BatchJournalService batchJournalService;
+  private final WorkScheduler workScheduler;
+
+  /** 同時に実行するジョブの数（0以下の場合はCPUコア数） */
+  @Value("${work-report.jobs.parallelism:0}")
+  private int parallelism;
+
+  @Value("${work-report.output-format}")
+  private ReportFormat outputFormat;
+
+  /**
+   * ジョブファイルのジョブを実行します
+   *
+   * @param jobFile ジョブファイルのパス
+   * @param progress 進捗メッセージの出力先（複数のスレッドから呼び出される）
+   * @return ジョブごとの実行結果と所要時間の集計メッセージ
+   */
+  public String runJobs(String jobFile, Consumer<String> progress) {
+    return runJobs(jobFile, false, progress);
+  }
+
+  /**
+   * ジョブファイルのジョブを実行します
+   *
+   * @param jobFile ジョブファイルのパス
+   * @param resume trueの場合は前回の実行で完了したジョブを省略する
+   * @param progress 進捗メッセージの出力先（複数のスレッドから呼び出される）
+   * @return ジョブごとの実行結果と所要時間の集計メッセージ
+   */
+  public String runJobs(String jobFile, boolean resume, Consumer<String> progress) {
+    return runJobs(jobFile, resume, progress, JobProgress.untracked());
+  }
+
+  /**
+   * ジョブファイルのジョブを実行します
+   *
+   * <p>キャンセルが要求された場合、まだ開始していないジョブを実行せずにスキップします。
+   *
+   * @param jobFile ジョブファイルのパス
+   * @param resume trueの場合は前回の実行で完了したジョブを省略する
+   * @param progress 進捗メッセージの出力先（複数のスレッドから呼び出される）
+   * @param jobProgress 進捗とキャンセル要求を共有するオブジェクト
+   * @return ジョブごとの実行結果と所要時間の集計メッセージ
+   */
+  public String runJobs(
+      String jobFile, boolean resume, Consumer<String> progress, JobProgress jobProgress) {
+    try {
+      Path jobPath = Paths.get(jobFile);
+      List<JobSpec> jobs = loadJobs(jobPath);
+      if (jobs.isEmpty()) {
+        return "実行するジョブがありません: " + jobFile;
+      }
+      JobGraph graph = JobGraph.of(jobs, this::resourceKeys);
+      prepareSendDirectory(jobs);
+
+      String batchName =
+          "run-jobs_" + jobPath.getFileName().toString().replaceFirst("\\.json$", "");
+      try (BatchJournal journal = batchJournalService.open(batchName, resume)) {
+        long startTime = System.nanoTime();
+        List<JobResult> results = execute(graph, journal, progress, jobProgress);
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+
+        return buildSummary(results, elapsedMillis);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return "エラー: ジョブの実行が中断されました";
+    } catch (Exception e) {
+      log.error("ジョブの実行中にエラーが発生しました", e);
+      return ERROR_PREFIX + e.getMessage();
+    }
+  }
+
+  /**
+   * ジョブファイルを読み込み、ジョブIDの割り当てと項目の確認を行います
+   *
+   * @param jobFile ジョブファイルのパス
+   * @return ジョブのリスト（定義順）
+   * @throws IOException ジョブファイルの読み込みに失敗した場合
+   * @throws IllegalArgumentException 必須の項目が指定されていない場合
+   */
+  List<JobSpec> loadJobs(Path jobFile) throws IOException {
+    if (!Files.exists(jobFile)) {
+      throw new IOException("ジョブファイルが見つかりません: " + jobFile);
+    }
+    List<JobSpec> loaded =
+        OBJECT_MAPPER.readValue(jobFile.toFile(), new TypeReference<List<JobSpec>>() {});
+
+    List<JobSpec> jobs = new ArrayList<>(loaded.size());
+    for (int i = 0; i < loaded.size(); i++) {
+      JobSpec job = loaded.get(i);
+      if (job.id() == null || job.id().isBlank()) {
+        job = job.withId("job-" + (i + 1));
+      }
+      validate(job);
+      jobs.add(job);
+    }
+    return jobs;
+  }
+
+  /**
+   * コマンドに必要な項目が指定されているかを確認します
+   *
+   * @param job 確認するジョブ
+   * @throws IllegalArgumentException 必須の項目が指定されていない場合
+   */
+  private static void validate(JobSpec job) {
+    if (job.command() == null) {
+      throw new IllegalArgumentException("コマンドが指定されていません: " + job.id());
+    }
+    switch (job.command()) {
+      case CREATE_FILE -> {
+        require(job, "month", job.month());
+        require(job, "user", job.user());
+        require(job, "client", job.client());
+      }
+      case UPDATE_FILE -> {
+        require(job, "file", job.file());
+        require(job, "csv", job.csv());
+      }
+      case SEND -> require(job, "file", job.file());
+    }
+  }
+
+  private static void require(JobSpec job, String name, String value) {
+    if (value == null || value.isBlank()) {
+      throw new IllegalArgumentException(name + " が指定されていません: " + job.describe());
+    }
+  }
+
+  /**
+   * ジョブが読み書きするリソースのキーを返します
+   *
+   * @param job ジョブ
+   * @return 報告書ファイル、月のCSVファイル、月の送信ファイルを表すキー
+   */
+  private List<String> resourceKeys(JobSpec job) {
+    return switch (job.command()) {
+      case CREATE_FILE -> {
+        String yearMonth = DateUtil.getFileNameMonth(job.month());
+        yield List.of(
+            "file:" + ReportFileName.of(job.user(), yearMonth, outputFormat).toFileName(),
+            "csv:" + yearMonth);
+      }
+      case UPDATE_FILE -> List.of("file:" + job.file());
+      case SEND ->
+          ReportFileName.parse(job.file())
+              .map(name -> List.of("file:" + job.file(), "send:" + name.getYearMonth()))
+              .orElseGet(() -> List.of("file:" + job.file()));
+    };
+  }
+
+  /**
+   * 送信するジョブがある場合、送信先ディレクトリが未設定であれば実行前に1回だけ入力を求めます
+   *
+   * @param jobs ジョブのリスト
+   * @throws IOException 設定の保存に失敗した場合
+   */
+  private void prepareSendDirectory(List<JobSpec> jobs) throws IOException {
+    boolean hasSendJob = jobs.stream().anyMatch(job -> job.command() == JobCommand.SEND);
+    if (!hasSendJob) {
+      return;
+    }
+    String sendDir = configService.getSendDirectory();
+    if (sendDir == null || sendDir.isEmpty()) {
+      String newDir = userInputService.readLine("送信先ディレクトリを入力してください: ");
+      configService.setSendDirectory(newDir);
+    }
+  }
+
+  /**
+   * ジョブを依存関係に従って実行します
+   *
+   * <p>ジョブごとに、依存するジョブがすべて終了した時点で実行を開始する {@link CompletableFuture} を作成し、
+   * 並列数を上限とする仮想スレッドのプールで実行します。
+   *
+   * @param graph 依存関係のグラフ
+   * @param journal ジョブの開始と完了を記録するジャーナル
+   * @param progress 進捗メッセージの出力先
+   * @param jobProgress 進捗とキャンセル要求を共有するオブジェクト
+   * @return ジョブごとの実行結果（トポロジカル順）
+   * @throws InterruptedException 実行が中断された場合
+   */
+  private List<JobResult> execute(
+      JobGraph graph, BatchJournal journal, Consumer<String> progress, JobProgress jobProgress)
+      throws InterruptedException {
+    int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    int total = graph.order().size();
+    AtomicInteger finished = new AtomicInteger();
+    Map<String, CompletableFuture<JobResult>> futures = new HashMap<>();
+    jobProgress.start(total);
+
+    log.info("ジョブの実行を開始します: {}件 (並列数: {})", total, workers);
+
+    try (ExecutorService executor =
+        Executors.newFixedThreadPool(workers, Thread.ofVirtual().name("job-", 1).factory())) {
+      for (JobSpec job : graph.order()) {
+        List<CompletableFuture<JobResult>> prerequisites =
+            graph.dependenciesOf(job.id()).stream().map(futures::get).toList();
+        CompletableFuture<JobResult> future =
+            CompletableFuture.allOf(prerequisites.toArray(CompletableFuture[]::new))
+                .thenApplyAsync(
+                    ignored -> runOrSkip(job, prerequisites, journal, progress, jobProgress),
+                    executor)
+                .thenApply(
+                    result -> {
+                      int count = finished.incrementAndGet();
+                      jobProgress.advance();
+                      progress.accept("[" + count + "/" + total + "] " + result.describe());
+                      return result;
+                    });
+        futures.put(job.id(), future);
+      }
+
+      CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new)).get();
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("ジョブの実行に失敗しました: " + e.getCause().getMessage(), e);
+    }
+
+    return graph.order().stream().map(job -> futures.get(job.id()).join()).toList();
+  }
+
+  /**
+   * 依存するジョブがすべて成功している場合にジョブを実行し、そうでない場合はスキップします
+   *
+   * @param job 実行するジョブ
+   * @param prerequisites 依存するジョブの実行結果
+   * @param journal ジョブの開始と完了を記録するジャーナル
+   * @param progress 進捗メッセージの出力先
+   * @param jobProgress 進捗とキャンセル要求を共有するオブジェクト
+   * @return 実行結果
+   */
+  private JobResult runOrSkip(
+      JobSpec job,
+      List<CompletableFuture<JobResult>> prerequisites,
+      BatchJournal journal,
+      Consumer<String> progress,
+      JobProgress jobProgress) {
+    if (journal.isCompleted(job.id())) {
+      return JobResult.alreadyCompleted(job);
+    }
+    if (jobProgress.isCancelRequested()) {
+      return JobResult.skipped(job, "キャンセルされました");
+    }
+    List<String> unfinished =
+        prerequisites.stream()
+            .map(CompletableFuture::join)
+            .filter(result -> !result.status().isCompleted())
+            .map(result -> result.job().id())
+            .toList();
+    if (!unfinished.isEmpty()) {
+      return JobResult.skipped(job, "依存するジョブが成功していません: " + String.join(", ", unfinished));
+    }
+    progress.accept("開始: " + job.describe());
+    journal.started(job.id());
+    JobResult result = workScheduler.run(WorkPriority.BATCH, () -> run(job));
+    if (result.status() == JobStatus.SUCCEEDED) {
+      journal.completed(job.id());
+    }
+    return result;
+  }
+
+  /**
+   * ジョブのコマンドを実行します
+   *
+   * @param job 実行するジョブ
+   * @return 実行結果
+   */
+  private JobResult run(JobSpec job) {
+    long startTime = System.nanoTime();
+    try {
+      String message =
+          switch (job.command()) {
+            case CREATE_FILE -> {
+              String excelFileName =
+                  reportService.createReport(job.month(), job.user(), job.client());
+              String csvFileName = reportService.createCsvFile(job.month());
+              yield excelFileName + ", " + csvFileName;
+            }
+            case UPDATE_FILE -> {
+              int updatedRows = reportService.updateFromCsv(job.file(), job.csv());
+              yield "更新 " + updatedRows + " 件";
+            }
+            case SEND -> {
+              String result =
+                  sendExcelFileService.sendExcelFile(
+                      job.file(), job.csv() != null ? job.csv() : "", job.force());
+              if (result.startsWith(ERROR_PREFIX)) {
+                throw new IllegalStateException(result.substring(ERROR_PREFIX.length()));
+              }
+              yield result.lines().findFirst().orElse("");
+            }
+          };
+      return JobResult.succeeded(job, elapsedMillis(startTime), message);
+    } catch (Exception e) {
+      log.error("ジョブの実行に失敗しました: {}", job.describe(), e);
+      return JobResult.failed(job, elapsedMillis(startTime), e.getMessage());
+    }
+  }
+
+  private static long elapsedMillis(long startTime) {
+    return (System.nanoTime() - startTime) / 1_000_000;
+  }
+
+  private static String buildSummary(List<JobResult> results, long elapsedMillis) {
+    Map<JobStatus, Long> counts = new HashMap<>();
+    for (JobResult result : results) {
+      counts.merge(result.status(), 1L, Long::sum);
+    }
+
+    StringBuilder message = new StringBuilder();
+    message
+        .append("ジョブ実行完了: 成功 ")
+        .append(counts.getOrDefault(JobStatus.SUCCEEDED, 0L))
+        .append(" 件, 失敗 ")
+        .append(counts.getOrDefault(JobStatus.FAILED, 0L))
+        .append(" 件, スキップ ")
+        .append(counts.getOrDefault(JobStatus.SKIPPED, 0L))
+        .append(" 件");
+    if (counts.containsKey(JobStatus.ALREADY_COMPLETED)) {
+      message
+          .append(", 完了済み ")
+          .append(counts.get(JobStatus.ALREADY_COMPLETED))
+          .append(" 件");
+    }
+    message
+        .append(" (")
+        .append(elapsedMillis)
+        .append(" ms)\n");
+    for (JobResult result : results) {
+      message.append("- ").append(result.describe()).append("\n");
+    }
+    return message.toString();
+  }
+}
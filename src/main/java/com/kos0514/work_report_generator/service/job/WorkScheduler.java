@@ -0,0 +1,231 @@
+package com.kos0514.work_report_generator.service.job;
+
+import com.kos0514.work_report_generator.model.job.SchedulerStats;
+import com.kos0514.work_report_generator.model.job.WorkPriority;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * 報告書の処理を優先度クラスに従って実行するスケジューラ
+ *
+ * <p>処理は呼び出し元のスレッドで実行し、同時に実行できる数を全体と優先度クラスごとに制限します。空きができた際は
+ * interactive の処理を batch の処理より先に開始するため、バックグラウンドで大量のファイルを処理している間も、
+ * シェルで実行したコマンドは待たされません。batch の上限は全体の上限より1つ少なくし、interactive の処理のために常に
+ * 1つ空けておきます。batch の処理が {@code work-report.scheduler.aging-ms} 以上待っている場合は interactive と同じ
+ * 優先度で扱い、batch の処理がいつまでも開始されない状態を防ぎます。
+ */
+@Service
+@Slf4j
+public class WorkScheduler {
+
+  /** 全体の同時実行数の上限（0以下の場合はCPUコア数） */
+  @Value("${work-report.scheduler.max-concurrency:0}")
+  private int maxConcurrency;
+
+  /** batch の同時実行数の上限（0以下の場合は全体の上限 - 1、最小1） */
+  @Value("${work-report.scheduler.batch-limit:0}")
+  private int batchLimit;
+
+  /** batch の処理を interactive と同じ優先度で扱うまでの待ち時間（ミリ秒、0以下の場合は扱わない） */
+  @Value("${work-report.scheduler.aging-ms:2000}")
+  private long agingMillis;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition dispatched = lock.newCondition();
+
+  /** 実行を待っている処理（到着順） */
+  private final List<Ticket> waiting = new ArrayList<>();
+
+  private final Map<WorkPriority, Counters> counters = new EnumMap<>(WorkPriority.class);
+
+  private int runningTotal;
+
+  public WorkScheduler() {
+    for (WorkPriority priority : WorkPriority.values()) {
+      counters.put(priority, new Counters());
+    }
+  }
+
+  /**
+   * 実行の順番を待ってから、呼び出し元のスレッドで処理を実行します
+   *
+   * @param priority 優先度クラス
+   * @param work 実行する処理
+   * @param <T> 処理の戻り値の型
+   * @return 処理の戻り値
+   * @throws CancellationException 実行を待っている間に割り込まれた場合
+   */
+  public <T> T run(WorkPriority priority, Supplier<T> work) {
+    Ticket ticket = acquire(priority);
+    try {
+      return work.get();
+    } finally {
+      release(ticket);
+    }
+  }
+
+  /**
+   * 優先度クラスごとの統計を返します
+   *
+   * @return 統計（interactive, batch の順）
+   */
+  public List<SchedulerStats> stats() {
+    lock.lock();
+    try {
+      List<SchedulerStats> stats = new ArrayList<>();
+      for (WorkPriority priority : WorkPriority.values()) {
+        Counters c = counters.get(priority);
+        int queued = (int) waiting.stream().filter(t -> t.priority == priority).count();
+        long started = c.started;
+        stats.add(
+            new SchedulerStats(
+                priority,
+                c.running,
+                limitOf(priority),
+                queued,
+                c.completed,
+                started > 0 ? TimeUnit.NANOSECONDS.toMillis(c.totalWaitNanos / started) : 0,
+                TimeUnit.NANOSECONDS.toMillis(c.maxWaitNanos),
+                c.promoted));
+      }
+      return stats;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * 全体の同時実行数の上限を返します
+   *
+   * @return 全体の上限
+   */
+  public int totalLimit() {
+    return maxConcurrency > 0 ? maxConcurrency : Runtime.getRuntime().availableProcessors();
+  }
+
+  private int limitOf(WorkPriority priority) {
+    int total = totalLimit();
+    if (priority == WorkPriority.INTERACTIVE) {
+      return total;
+    }
+    return batchLimit > 0 ? Math.min(batchLimit, total) : Math.max(1, total - 1);
+  }
+
+  private Ticket acquire(WorkPriority priority) {
+    Ticket ticket = new Ticket(priority, System.nanoTime());
+    lock.lock();
+    try {
+      waiting.add(ticket);
+      dispatch();
+      while (!ticket.admitted) {
+        dispatched.await();
+      }
+      return ticket;
+    } catch (InterruptedException e) {
+      if (ticket.admitted) {
+        releaseLocked(ticket);
+      } else {
+        waiting.remove(ticket);
+      }
+      Thread.currentThread().interrupt();
+      throw new CancellationException("実行を待っている間に中断されました");
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void release(Ticket ticket) {
+    lock.lock();
+    try {
+      releaseLocked(ticket);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void releaseLocked(Ticket ticket) {
+    Counters c = counters.get(ticket.priority);
+    c.running--;
+    c.completed++;
+    runningTotal--;
+    dispatch();
+  }
+
+  /** 空きがある限り、優先順位が最も高い待機中の処理に実行を許可します（ロックを保持した状態で呼び出す） */
+  private void dispatch() {
+    boolean admittedAny = false;
+    long now = System.nanoTime();
+    while (runningTotal < totalLimit()) {
+      Ticket next = null;
+      for (Ticket candidate : waiting) {
+        if (counters.get(candidate.priority).running >= limitOf(candidate.priority)) {
+          continue;
+        }
+        if (next == null || rank(candidate, now) < rank(next, now)) {
+          next = candidate;
+        }
+      }
+      if (next == null) {
+        break;
+      }
+      waiting.remove(next);
+      Counters c = counters.get(next.priority);
+      long waitNanos = now - next.enqueuedNanos;
+      if (next.priority == WorkPriority.BATCH && isAged(next, now)) {
+        c.promoted++;
+      }
+      c.running++;
+      c.started++;
+      c.totalWaitNanos += waitNanos;
+      c.maxWaitNanos = Math.max(c.maxWaitNanos, waitNanos);
+      runningTotal++;
+      next.admitted = true;
+      admittedAny = true;
+    }
+    if (admittedAny) {
+      dispatched.signalAll();
+    }
+  }
+
+  /** 優先順位（0: interactive または待ち時間が長い batch、1: batch）。同じ順位の場合は到着順 */
+  private int rank(Ticket ticket, long now) {
+    return ticket.priority == WorkPriority.INTERACTIVE || isAged(ticket, now) ? 0 : 1;
+  }
+
+  private boolean isAged(Ticket ticket, long now) {
+    return agingMillis > 0
+        && now - ticket.enqueuedNanos >= TimeUnit.MILLISECONDS.toNanos(agingMillis);
+  }
+
+  /** 実行を待っている処理 */
+  private static final class Ticket {
+    private final WorkPriority priority;
+    private final long enqueuedNanos;
+    private boolean admitted;
+
+    private Ticket(WorkPriority priority, long enqueuedNanos) {
+      this.priority = priority;
+      this.enqueuedNanos = enqueuedNanos;
+    }
+  }
+
+  /** 優先度クラスごとの集計値（ロックを保持した状態で更新する） */
+  private static final class Counters {
+    private int running;
+    private long started;
+    private long completed;
+    private long totalWaitNanos;
+    private long maxWaitNanos;
+    private long promoted;
+  }
+}
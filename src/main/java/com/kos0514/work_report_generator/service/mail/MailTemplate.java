@@ -0,0 +1,99 @@
+package com.kos0514.work_report_generator.service.mail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 解析済みのメールテンプレート
+ *
+ * <p>テンプレート文字列を固定文字列と {@code ${name}} 形式のプレースホルダーの並びに一度だけ分解し、
+ * 描画時は変数の値を埋め込みながら1つの {@link StringBuilder} に連結します。
+ * 値が指定されていないプレースホルダーはそのまま出力します。
+ */
+public final class MailTemplate {
+    private static final String PLACEHOLDER_PREFIX = "${";
+    private static final String PLACEHOLDER_SUFFIX = "}";
+
+    /** 固定文字列（プレースホルダー数 + 1 個） */
+    private final String[] literals;
+
+    /** プレースホルダー名（literals[i] の直後に placeholders[i] が入る） */
+    private final String[] placeholders;
+
+    /** 固定文字列の合計文字数 */
+    private final int literalLength;
+
+    private MailTemplate(List<String> literals, List<String> placeholders) {
+        this.literals = literals.toArray(String[]::new);
+        this.placeholders = placeholders.toArray(String[]::new);
+        this.literalLength = literals.stream().mapToInt(String::length).sum();
+    }
+
+    /**
+     * テンプレート文字列を解析します
+     *
+     * @param template テンプレート文字列
+     * @return 解析済みのテンプレート
+     */
+    public static MailTemplate compile(String template) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+
+        int position = 0;
+        int literalStart = 0;
+        while (true) {
+            int start = template.indexOf(PLACEHOLDER_PREFIX, position);
+            if (start < 0) {
+                break;
+            }
+            int end = template.indexOf(PLACEHOLDER_SUFFIX, start + PLACEHOLDER_PREFIX.length());
+            if (end < 0) {
+                break;
+            }
+            literals.add(template.substring(literalStart, start));
+            placeholders.add(template.substring(start + PLACEHOLDER_PREFIX.length(), end));
+            position = end + PLACEHOLDER_SUFFIX.length();
+            literalStart = position;
+        }
+        literals.add(template.substring(literalStart));
+
+        return new MailTemplate(literals, placeholders);
+    }
+
+    /**
+     * テンプレートに含まれるプレースホルダー名を返します
+     *
+     * @return プレースホルダー名（出現順、重複なし）
+     */
+    public Set<String> getPlaceholders() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(List.of(placeholders)));
+    }
+
+    /**
+     * 変数を埋め込んだ文字列を生成します
+     *
+     * @param variables プレースホルダー名と値の対応
+     * @return 生成した文字列
+     */
+    public String render(Map<String, String> variables) {
+        // 埋め込む値を先に解決し、連結後の長さで StringBuilder を確保する
+        String[] values = new String[placeholders.length];
+        int length = literalLength;
+        for (int i = 0; i < placeholders.length; i++) {
+            String value = variables.get(placeholders[i]);
+            values[i] = value != null ? value : PLACEHOLDER_PREFIX + placeholders[i] + PLACEHOLDER_SUFFIX;
+            length += values[i].length();
+        }
+
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < placeholders.length; i++) {
+            builder.append(literals[i]).append(values[i]);
+        }
+        builder.append(literals[placeholders.length]);
+        return builder.toString();
+    }
+}
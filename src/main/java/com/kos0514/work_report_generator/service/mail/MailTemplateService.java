@@ -2,21 +2,28 @@ package com.kos0514.work_report_generator.service.mail;
 
 import com.kos0514.work_report_generator.service.config.ConfigService;
 import com.kos0514.work_report_generator.service.file.FileService;
+import com.kos0514.work_report_generator.service.metrics.PhaseMetrics;
 import com.kos0514.work_report_generator.service.report.HolidayService;
 import com.kos0514.work_report_generator.util.Constants;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 /**
@@ -26,14 +33,33 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 @Slf4j
 public class MailTemplateService {
-    private static final String LOCAL_DATA_DIR = "./local-data";
-    private static final String MAIL_TEMPLATE_DIR = LOCAL_DATA_DIR + "/" + Constants.Files.MAIL_DIR;
     private static final DateTimeFormatter YEAR_MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyy年MM月");
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy年MM月dd日(E)", Locale.JAPANESE);
 
+    /** テンプレート変数名: 対象年月（yyyy年MM月） */
+    public static final String VAR_YEAR_MONTH = "yearMonth";
+    /** テンプレート変数名: 確認期限（翌月の第2営業日） */
+    public static final String VAR_DEADLINE = "deadline";
+    /** テンプレート変数名: ZIPファイルのパスワード */
+    public static final String VAR_PASSWORD = "password";
+    /** テンプレート変数名: ユーザー名 */
+    public static final String VAR_USER = "user";
+    /** テンプレート変数名: クライアント名 */
+    public static final String VAR_CLIENT = "client";
+
+    private static final int TEMPLATE_SECTION_COUNT = 3;
+
     private final HolidayService holidayService;
     private final ConfigService configService;
     private final FileService fileService;
+    private final PhaseMetrics phaseMetrics;
+
+    /** メールテンプレートファイルを配置するディレクトリ */
+    @Value("${work-report.mail.template-dir:./local-data/mail}")
+    private String mailTemplateDir;
+
+    /** 解析済みのテンプレート（テンプレートファイルの更新日時とサイズが変わった場合に解析し直す） */
+    private volatile CompiledTemplates compiledTemplates;
 
     /**
      * メール文面を生成して保存します
@@ -43,12 +69,39 @@ public class MailTemplateService {
      * @throws IOException テンプレートファイルの読み込みや保存に失敗した場合
      */
     public void generateAndSaveMailTemplates(String yearMonth, String password) throws IOException {
-        // テンプレートファイルを読み込む
-        List<String> templates = readTemplateFile();
+        generateAndSaveMailTemplates(yearMonth, password, Map.of());
+    }
 
-        if (templates.size() < 3) {
-            throw new IOException("テンプレートファイルの形式が不正です。3つのセクションが必要です。");
-        }
+    /**
+     * 追加の変数を指定してメール文面を生成して保存します
+     *
+     * @param yearMonth 年月（yyyymm形式）
+     * @param password ZIPファイルのパスワード
+     * @param variables 追加のテンプレート変数（{@link #VAR_USER}、{@link #VAR_CLIENT} など）
+     * @throws IOException テンプレートファイルの読み込みや保存に失敗した場合
+     */
+    public void generateAndSaveMailTemplates(
+            String yearMonth, String password, Map<String, String> variables) throws IOException {
+        generateAndSaveMailTemplates(yearMonth, null, password, variables);
+    }
+
+    /**
+     * メール文面を生成してユーザーごとの作業ディレクトリに保存します
+     *
+     * <p>{@code ${user}} にはユーザー名が設定されます。
+     *
+     * @param yearMonth 年月（yyyymm形式）
+     * @param user ユーザー名（nullの場合は年月の作業ディレクトリに保存）
+     * @param password ZIPファイルのパスワード
+     * @param variables 追加のテンプレート変数
+     * @throws IOException テンプレートファイルの読み込みや保存に失敗した場合
+     */
+    public void generateAndSaveMailTemplates(
+            String yearMonth, String user, String password, Map<String, String> variables)
+            throws IOException {
+        long startTime = System.nanoTime();
+        // 解析済みのテンプレートを取得（テンプレートファイルが変更された場合のみ読み込む）
+        List<MailTemplate> templates = getCompiledTemplates().sections();
 
         // 年月を変換
         YearMonth ym = YearMonth.parse(yearMonth, DateTimeFormatter.ofPattern("yyyyMM"));
@@ -58,15 +111,78 @@ public class MailTemplateService {
         LocalDate deadline = calculateSecondBusinessDayOfNextMonth(ym);
         String formattedDeadline = deadline.format(DATE_FORMATTER);
 
-        // テンプレート内の変数を置換
-        String subject = templates.get(0).replace("${yearMonth}", formattedYearMonth);
-        String body = templates.get(1)
-                .replace("${yearMonth}", formattedYearMonth)
-                .replace("${deadline}", formattedDeadline);
-        String passwordBody = templates.get(2).replace("${password}", password);
+        // テンプレート内の変数を埋め込む
+        Map<String, String> allVariables = new HashMap<>(variables);
+        allVariables.put(VAR_YEAR_MONTH, formattedYearMonth);
+        allVariables.put(VAR_DEADLINE, formattedDeadline);
+        allVariables.put(VAR_PASSWORD, password);
+        if (user != null) {
+            allVariables.put(VAR_USER, user);
+        }
+
+        String subject = templates.get(0).render(allVariables);
+        String body = templates.get(1).render(allVariables);
+        String passwordBody = templates.get(2).render(allVariables);
+        phaseMetrics.record("mail.render", startTime);
 
         // 生成したメール文面を保存
-        saveMailTemplates(yearMonth, subject, body, passwordBody);
+        long saveStart = System.nanoTime();
+        saveMailTemplates(yearMonth, user, subject, body, passwordBody);
+        phaseMetrics.record("mail.save", saveStart);
+    }
+
+    /**
+     * 解析済みのテンプレートを返します
+     *
+     * <p>テンプレートファイルの更新日時とサイズが前回の解析時と同じ場合は、ファイルを読み込まずに返します。
+     *
+     * @return 解析済みのテンプレート
+     * @throws IOException テンプレートファイルの読み込みに失敗した場合
+     */
+    private CompiledTemplates getCompiledTemplates() throws IOException {
+        Path templateFile = Paths.get(mailTemplateDir, Constants.Files.MAIL_TEMPLATE_FILE);
+        CompiledTemplates cached = compiledTemplates;
+        if (cached != null && cached.matches(readAttributes(templateFile))) {
+            return cached;
+        }
+
+        synchronized (this) {
+            cached = compiledTemplates;
+            BasicFileAttributes attributes = readAttributes(templateFile);
+            if (cached != null && cached.matches(attributes)) {
+                return cached;
+            }
+
+            List<String> sections = readTemplateFile();
+            if (sections.size() < TEMPLATE_SECTION_COUNT) {
+                throw new IOException("テンプレートファイルの形式が不正です。3つのセクションが必要です。");
+            }
+
+            List<MailTemplate> templates = sections.stream().map(MailTemplate::compile).toList();
+            // 読み込み前に取得した属性を使い、読み込み中に更新された場合は次回に解析し直す
+            attributes = attributes != null ? attributes : readAttributes(templateFile);
+            cached = new CompiledTemplates(
+                    templates,
+                    attributes != null ? attributes.lastModifiedTime() : null,
+                    attributes != null ? attributes.size() : -1);
+            compiledTemplates = cached;
+            log.debug("メールテンプレートを解析しました: {}", templateFile);
+            return cached;
+        }
+    }
+
+    /**
+     * ファイルの属性を取得します
+     *
+     * @param file 対象ファイル
+     * @return ファイルの属性、存在しない場合はnull
+     */
+    private static BasicFileAttributes readAttributes(Path file) {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return null;
+        }
     }
 
     /**
@@ -76,10 +192,10 @@ public class MailTemplateService {
      * @throws IOException ファイルの読み込みに失敗した場合
      */
     private List<String> readTemplateFile() throws IOException {
-        Path templateDir = Paths.get(MAIL_TEMPLATE_DIR);
+        Path templateDir = Paths.get(mailTemplateDir);
         fileService.createDirectoryIfNotExists(templateDir);
 
-        Path templateFile = Paths.get(MAIL_TEMPLATE_DIR, Constants.Files.MAIL_TEMPLATE_FILE);
+        Path templateFile = Paths.get(mailTemplateDir, Constants.Files.MAIL_TEMPLATE_FILE);
 
         // テンプレートファイルが存在しない場合、リソースからコピーする
         if (!fileService.exists(templateFile)) {
@@ -134,12 +250,15 @@ public class MailTemplateService {
      * メール文面をファイルに保存します
      *
      * @param yearMonth 年月（yyyymm形式）
+     * @param user ユーザー名（nullの場合は年月の作業ディレクトリに保存）
      * @param subject メール件名
      * @param body メール本文
      * @param passwordBody パスワードメールの本文
      * @throws IOException ファイル書き込みに失敗した場合
      */
-    private void saveMailTemplates(String yearMonth, String subject, String body, String passwordBody) throws IOException {
+    private void saveMailTemplates(
+            String yearMonth, String user, String subject, String body, String passwordBody)
+            throws IOException {
         // 送信先ディレクトリを取得
         String sendDir = configService.getSendDirectory();
         if (sendDir == null || sendDir.isEmpty()) {
@@ -150,7 +269,8 @@ public class MailTemplateService {
         String year = yearMonth.substring(0, 4);
 
         // メール保存先ディレクトリ作成
-        Path mailDir = fileService.createWorkDirectoryForYearMonth(sendDir, Constants.Files.WORK_DIR, year, yearMonth);
+        Path mailDir = fileService.createWorkDirectoryForUser(
+                sendDir, Constants.Files.WORK_DIR, year, yearMonth, user);
         String mailDirPath = mailDir.toString();
 
         // 全てのメール文面を1つのファイルに保存
@@ -165,4 +285,21 @@ public class MailTemplateService {
 
         log.info("メール文面をファイルに保存しました: {}", mailDirPath);
     }
+
+    /**
+     * 解析済みのテンプレートとテンプレートファイルの状態
+     *
+     * @param sections 解析済みのテンプレート（件名、本文、パスワードメール本文の順）
+     * @param lastModified 解析時のテンプレートファイルの更新日時
+     * @param size 解析時のテンプレートファイルのサイズ
+     */
+    private record CompiledTemplates(List<MailTemplate> sections, FileTime lastModified, long size) {
+
+        private boolean matches(BasicFileAttributes attributes) {
+            if (attributes == null || lastModified == null) {
+                return false;
+            }
+            return lastModified.equals(attributes.lastModifiedTime()) && size == attributes.size();
+        }
+    }
 }
@@ -0,0 +1,161 @@
+package com.kos0514.work_report_generator.service.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.kos0514.work_report_generator.model.metrics.PhaseStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * 報告書の作成・更新、ZIP作成、メール文面の生成の処理時間と件数を記録するサービスクラス
+ *
+ * <p>処理の段階（フェーズ）ごとの処理時間を Micrometer の {@link Timer}（{@code work-report.phase}、タグ
+ * {@code phase}）に、更新・クリアした行数や書き込んだバイト数を {@link Counter}（{@code work-report.*}）に記録します。
+ * パーセンタイルと最大値は直近 {@code work-report.metrics.window-minutes} 分間の計測から求め、回数と合計は起動時から累積します。
+ * {@code stats} コマンドで表示し、JSONファイルに書き出して実行ごとの比較に使用できます。
+ */
+@Service
+@Slf4j
+public class PhaseMetrics {
+
+  /** フェーズごとの処理時間のメトリクス名 */
+  public static final String PHASE_TIMER = "work-report.phase";
+
+  /** 件数のメトリクス名の接頭辞 */
+  private static final String COUNTER_PREFIX = "work-report.";
+
+  private static final String PHASE_TAG = "phase";
+
+  private static final ObjectMapper OBJECT_MAPPER =
+      new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+  private final MeterRegistry registry = new SimpleMeterRegistry();
+
+  private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+  private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+  /** パーセンタイルと最大値を求める期間（分、0以下の場合は60分） */
+  @Value("${work-report.metrics.window-minutes:60}")
+  private int windowMinutes;
+
+  /**
+   * フェーズの処理時間を記録します
+   *
+   * @param phase フェーズの名前（例: {@code update.load}）
+   * @param startNanos 処理を開始した時点の {@link System#nanoTime()}
+   */
+  public void record(String phase, long startNanos) {
+    timers
+        .computeIfAbsent(phase, this::registerTimer)
+        .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * 件数を加算します
+   *
+   * @param name 件数の名前（例: {@code rows.updated}）
+   * @param amount 加算する件数
+   */
+  public void count(String name, long amount) {
+    if (amount > 0) {
+      counters
+          .computeIfAbsent(name, key -> registry.counter(COUNTER_PREFIX + key))
+          .increment(amount);
+    }
+  }
+
+  /**
+   * フェーズごとの処理時間の統計を返します
+   *
+   * @return フェーズ名の順に並べた統計
+   */
+  public List<PhaseStats> phaseStats() {
+    return timers.entrySet().stream()
+        .map(entry -> toStats(entry.getKey(), entry.getValue().takeSnapshot()))
+        .sorted(Comparator.comparing(PhaseStats::phase))
+        .toList();
+  }
+
+  /**
+   * 件数の一覧を返します
+   *
+   * @return 件数の名前（接頭辞 {@code work-report.} を除く）と値
+   */
+  public Map<String, Long> counters() {
+    Map<String, Long> values = new TreeMap<>();
+    counters.forEach((name, counter) -> values.put(name, (long) counter.count()));
+    return values;
+  }
+
+  /**
+   * 統計をJSONファイルに書き出します
+   *
+   * @param file 書き出し先のファイル
+   * @throws IOException ファイルの書き込みに失敗した場合
+   */
+  public void dump(Path file) throws IOException {
+    Map<String, Object> content = new LinkedHashMap<>();
+    content.put("recordedAt", OffsetDateTime.now().toString());
+    content.put("windowMinutes", window().toMinutes());
+    content.put("phases", phaseStats());
+    content.put("counters", counters());
+    Path parent = file.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    OBJECT_MAPPER.writeValue(file.toFile(), content);
+    log.info("処理時間の統計を書き出しました: {}", file);
+  }
+
+  private Timer registerTimer(String phase) {
+    return Timer.builder(PHASE_TIMER)
+        .tag(PHASE_TAG, phase)
+        .publishPercentiles(0.5, 0.95)
+        .percentilePrecision(2)
+        .distributionStatisticExpiry(window())
+        .register(registry);
+  }
+
+  private Duration window() {
+    return Duration.ofMinutes(windowMinutes > 0 ? windowMinutes : 60);
+  }
+
+  private static PhaseStats toStats(String phase, HistogramSnapshot snapshot) {
+    double p50 = 0;
+    double p95 = 0;
+    for (ValueAtPercentile value : snapshot.percentileValues()) {
+      if (value.percentile() == 0.5) {
+        p50 = value.value(TimeUnit.MILLISECONDS);
+      } else if (value.percentile() == 0.95) {
+        p95 = value.value(TimeUnit.MILLISECONDS);
+      }
+    }
+    return new PhaseStats(
+        phase,
+        snapshot.count(),
+        p50,
+        p95,
+        snapshot.max(TimeUnit.MILLISECONDS),
+        snapshot.total(TimeUnit.MILLISECONDS));
+  }
+}
@@ -2,13 +2,14 @@ package com.kos0514.work_report_generator.service.report;
 
 import com.kos0514.work_report_generator.model.Holiday;
 import com.kos0514.work_report_generator.service.file.CsvService;
-import jakarta.annotation.PostConstruct;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -18,6 +19,8 @@ import org.springframework.stereotype.Service;
 
 /**
  * 祝日データを管理し、日付が祝日かどうかを判定するサービスクラス
+ *
+ * <p>祝日データは起動時ではなく、最初に祝日を判定する際に読み込みます。
  */
 @Service
 @RequiredArgsConstructor
@@ -31,8 +34,11 @@ public class HolidayService {
 
   private List<Holiday> holidays;
 
-  @PostConstruct
-  public void loadHolidays() {
+  /** 祝日判定用の日付インデックス（読み込み前はnull） */
+  private volatile Set<LocalDate> holidayDates;
+
+  /** 祝日データを読み込みます（読み込み済みの場合は読み直します） */
+  public synchronized void loadHolidays() {
     try {
       Resource resource = resourceLoader.getResource(holidaysFile);
       // リソースからテンポラリファイルを作成して読み込み
@@ -45,6 +51,8 @@ public class HolidayService {
       }
 
       holidays = csvService.readHolidayCsv(tempFile.getAbsolutePath());
+      holidayDates =
+          holidays.stream().map(Holiday::getDate).collect(Collectors.toUnmodifiableSet());
       log.info("祝日データ読み込み完了: {}件", holidays.size());
     } catch (IOException e) {
       log.error("祝日データの読み込みに失敗しました: {}", e.getMessage());
@@ -52,12 +60,13 @@ public class HolidayService {
     } catch (Exception e) {
       log.error("祝日データの処理中にエラーが発生しました: {}", e.getMessage());
       holidays = List.of(); // 空のリストで継続
+      holidayDates = Set.of();
     }
   }
 
   /** 指定日が祝日かチェック */
   public boolean isHoliday(LocalDate date) {
-    return holidays.stream().anyMatch(h -> h.getDate().equals(date));
+    return holidayDates().contains(date);
   }
 
   /** 指定日が平日かチェック（土日祝除く） */
@@ -65,4 +74,22 @@ public class HolidayService {
     DayOfWeek dayOfWeek = date.getDayOfWeek();
     return !isHoliday(date) && dayOfWeek != DayOfWeek.SATURDAY && dayOfWeek != DayOfWeek.SUNDAY;
   }
+
+  /**
+   * 祝日判定用の日付インデックスを返します（未読み込みの場合は読み込みます）
+   *
+   * @return 祝日の日付の集合
+   */
+  private Set<LocalDate> holidayDates() {
+    Set<LocalDate> dates = holidayDates;
+    if (dates == null) {
+      synchronized (this) {
+        if (holidayDates == null) {
+          loadHolidays();
+        }
+        dates = holidayDates;
+      }
+    }
+    return dates;
+  }
 }
@@ -0,0 +1,168 @@
+package com.kos0514.work_report_generator.service.report;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kos0514.work_report_generator.model.layout.ReportLayoutDescriptor;
+import com.kos0514.work_report_generator.model.layout.ReportLayoutPlan;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.ResourcePatternUtils;
+import org.springframework.stereotype.Service;
+
+/**
+ * 報告書テンプレートのレイアウト定義を管理するサービスクラス
+ *
+ * <p>起動時にクラスパスの {@code layouts/*.json} とローカルのレイアウトディレクトリの定義を読み込み、 {@link
+ * ReportLayoutPlan} へコンパイルします。ローカルの定義は同名の組み込み定義を上書きします。
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportLayoutRegistry {
+  private static final String BUILTIN_LAYOUT_PATTERN = "classpath*:layouts/*.json";
+  private static final String LAYOUT_FILE_EXTENSION = ".json";
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private final ResourceLoader resourceLoader;
+
+  @Value("${work-report.layout-dir}")
+  private String layoutDir;
+
+  private List<ReportLayoutPlan> plans;
+  private Map<String, ReportLayoutPlan> plansByClient;
+  private ReportLayoutPlan defaultPlan;
+
+  @PostConstruct
+  public void loadLayouts() {
+    Map<String, ReportLayoutPlan> plansByName = new LinkedHashMap<>();
+
+    // 1. 組み込みレイアウト定義を読み込み
+    try {
+      Resource[] resources =
+          ResourcePatternUtils.getResourcePatternResolver(resourceLoader)
+              .getResources(BUILTIN_LAYOUT_PATTERN);
+      for (Resource resource : resources) {
+        try (InputStream inputStream = resource.getInputStream()) {
+          ReportLayoutPlan plan = compile(inputStream, resource.getDescription());
+          plansByName.put(plan.getName(), plan);
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("組み込みレイアウト定義の読み込みに失敗しました", e);
+    }
+
+    // 2. ローカルのレイアウト定義を読み込み（同名の定義は上書き）
+    Path layoutDirPath = Paths.get(layoutDir);
+    if (Files.isDirectory(layoutDirPath)) {
+      try (Stream<Path> paths = Files.list(layoutDirPath)) {
+        List<Path> layoutFiles =
+            paths
+                .filter(Files::isRegularFile)
+                .filter(path -> path.getFileName().toString().endsWith(LAYOUT_FILE_EXTENSION))
+                .sorted()
+                .toList();
+        for (Path layoutFile : layoutFiles) {
+          try (InputStream inputStream = Files.newInputStream(layoutFile)) {
+            ReportLayoutPlan plan = compile(inputStream, layoutFile.toString());
+            plansByName.put(plan.getName(), plan);
+          }
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException("レイアウト定義の読み込みに失敗しました: " + layoutDir, e);
+      }
+    }
+
+    if (plansByName.isEmpty()) {
+      throw new IllegalStateException("レイアウト定義が見つかりません: " + BUILTIN_LAYOUT_PATTERN);
+    }
+
+    // 3. クライアント名からレイアウトへの対応表とデフォルトレイアウトを作成
+    Map<String, ReportLayoutPlan> byClient = new HashMap<>();
+    ReportLayoutPlan defaultCandidate = null;
+    for (ReportLayoutPlan plan : plansByName.values()) {
+      for (String client : plan.getClients()) {
+        ReportLayoutPlan previous = byClient.put(client, plan);
+        if (previous != null) {
+          log.warn(
+              "クライアント {} に複数のレイアウトが定義されています: {} -> {}",
+              client,
+              previous.getName(),
+              plan.getName());
+        }
+      }
+      if (plan.isDefaultLayout() && defaultCandidate == null) {
+        defaultCandidate = plan;
+      }
+    }
+
+    plans = List.copyOf(plansByName.values());
+    plansByClient = Map.copyOf(byClient);
+    defaultPlan = defaultCandidate != null ? defaultCandidate : plans.getFirst();
+    log.info("レイアウト定義読み込み完了: {}件 (デフォルト: {})", plans.size(), defaultPlan.getName());
+  }
+
+  /**
+   * クライアント名に対応するレイアウトを返します
+   *
+   * @param client クライアント名
+   * @return 対応するレイアウト、定義がない場合はデフォルトレイアウト
+   */
+  public ReportLayoutPlan resolve(String client) {
+    if (client == null) {
+      return defaultPlan;
+    }
+    return plansByClient.getOrDefault(client, defaultPlan);
+  }
+
+  /**
+   * デフォルトレイアウトを返します
+   *
+   * @return デフォルトレイアウト
+   */
+  public ReportLayoutPlan getDefaultPlan() {
+    return defaultPlan;
+  }
+
+  /**
+   * 読み込まれたすべてのレイアウトを返します
+   *
+   * @return レイアウトのリスト（読み込み順）
+   */
+  public List<ReportLayoutPlan> getPlans() {
+    return plans;
+  }
+
+  /**
+   * レイアウト定義を読み込み、コンパイルします
+   *
+   * @param inputStream レイアウト定義の入力ストリーム
+   * @param source エラーメッセージ用の読み込み元
+   * @return コンパイル済みのレイアウト
+   * @throws IOException 読み込みに失敗した場合
+   */
+  private ReportLayoutPlan compile(InputStream inputStream, String source) throws IOException {
+    ReportLayoutDescriptor descriptor =
+        OBJECT_MAPPER.readValue(inputStream, ReportLayoutDescriptor.class);
+    try {
+      ReportLayoutPlan plan = ReportLayoutPlan.compile(descriptor);
+      log.debug("レイアウト定義をコンパイルしました: {} ({})", plan.getName(), source);
+      return plan;
+    } catch (RuntimeException e) {
+      throw new IllegalStateException("レイアウト定義が不正です: " + source + " - " + e.getMessage(), e);
+    }
+  }
+}
@@ -1,11 +1,34 @@
 package com.kos0514.work_report_generator.service.report;
 
+import com.kos0514.work_report_generator.model.OutputLayout;
+import com.kos0514.work_report_generator.model.ReportFileName;
+import com.kos0514.work_report_generator.model.ReportFormat;
+import com.kos0514.work_report_generator.model.TimeCellMode;
 import com.kos0514.work_report_generator.model.WorkRecord;
+import com.kos0514.work_report_generator.model.catalog.ReportCatalogEntry;
+import com.kos0514.work_report_generator.model.job.WorkPriority;
+import com.kos0514.work_report_generator.model.layout.CellIndex;
+import com.kos0514.work_report_generator.model.layout.ReportLayoutPlan;
+import com.kos0514.work_report_generator.model.value.TimeOfDay;
+import com.kos0514.work_report_generator.model.value.WorkDuration;
+import com.kos0514.work_report_generator.service.file.CellStyleCache;
 import com.kos0514.work_report_generator.service.file.CsvService;
 import com.kos0514.work_report_generator.service.file.ExcelService;
+import com.kos0514.work_report_generator.service.file.ReportCatalog;
+import com.kos0514.work_report_generator.service.file.ReportDirectoryIndex;
+import com.kos0514.work_report_generator.service.file.WorkbookLockService;
+import com.kos0514.work_report_generator.service.file.XlsxSheetValues;
+import com.kos0514.work_report_generator.service.file.XlsxStreamingReport;
+import com.kos0514.work_report_generator.service.job.BatchJournal;
+import com.kos0514.work_report_generator.service.job.BatchJournalService;
+import com.kos0514.work_report_generator.service.job.JobProgress;
+import com.kos0514.work_report_generator.service.job.WorkScheduler;
+import com.kos0514.work_report_generator.service.metrics.PhaseMetrics;
 import com.kos0514.work_report_generator.util.DateUtil;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -16,21 +39,22 @@ import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.Calendar;
-import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Stream;
+import java.util.Set;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.hssf.usermodel.HSSFFormulaEvaluator;
-import org.apache.poi.hssf.usermodel.HSSFSheet;
-import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 /**
@@ -41,19 +65,13 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class ReportService {
 
-  // I社フォーマット用定数（ハードコード）
-  private static final String TARGET_MONTH_CELL = "B7";
-  private static final String CLIENT_NAME_CELL = "C4";
-  private static final String USER_NAME_CELL = "L4";
-  private static final String START_TIME_COLUMN = "F";
-  private static final String END_TIME_COLUMN = "G";
-  private static final String BREAK_TIME_COLUMN = "H";
-  private static final String WORK_CONTENT_COLUMN = "J";
-  private static final String Q_COLUMN = "Q";
-  private static final int Q_COLUMN_INDEX = 16;
+  // 列幅調整用の定数（セル位置はレイアウト定義 layouts/*.json で管理）
   private static final BigDecimal MAX_BYTE_COUNT = new BigDecimal("50");
   private static final int DEFAULT_COLUMN_WIDTH = 2048; // 8文字分（256 * 8）
 
+  // 報告書を書き出すバッファの初期サイズ（一般的な .xls 報告書が収まる大きさ）
+  private static final int WORKBOOK_BUFFER_SIZE = 128 * 1024;
+
   // 日付検証用の定数
   private static final int MIN_VALID_YEAR = 1900;
   private static final int MAX_VALID_YEAR = 2100;
@@ -61,9 +79,21 @@ public class ReportService {
   private static final int MAX_VALID_MONTH = 12;
   private static final String DATE_FORMAT_PATTERN = "^\\d{4}/(?:0?[1-9]|1[0-2])$";
 
-  private final ExcelService excelService;
+  // 平日のデフォルト勤務時間
+  private static final TimeOfDay DEFAULT_START_TIME = TimeOfDay.of("09:00");
+  private static final TimeOfDay DEFAULT_END_TIME = TimeOfDay.of("18:00");
+  private static final WorkDuration DEFAULT_BREAK_TIME = WorkDuration.of("1:00");
+
+  @Lazy private final ExcelService excelService;
   private final CsvService csvService;
   private final HolidayService holidayService;
+  private final ReportLayoutRegistry layoutRegistry;
+  private final ReportDirectoryIndex directoryIndex;
+  private final ReportCatalog reportCatalog;
+  private final BatchJournalService batchJournalService;
+  private final WorkScheduler workScheduler;
+  private final WorkbookLockService workbookLockService;
+  private final PhaseMetrics phaseMetrics;
 
   @Value("${work-report.template-file}")
   private String templateFile;
@@ -76,83 +106,379 @@ public class ReportService {
   @Value("${work-report.csv-dir}")
   private String csvDir;
 
-  /** 新規報告書作成（ファイル名: user_yyyymm_作業報告書.xls） */
+  @Value("${work-report.output-format}")
+  private ReportFormat outputFormat;
+
+  @Value("${work-report.time-cell-mode}")
+  private TimeCellMode timeCellMode;
+
+  @Value("${work-report.output-layout}")
+  private OutputLayout outputLayout;
+
+  /** 新規報告書作成（ファイル名: user_yyyymm_作業報告書.xls、xlsx形式の場合は .xlsx） */
   public String createReport(String month, String user, String client) {
+    long startTime = System.nanoTime();
     try {
+      // クライアントに対応するレイアウトを選択
+      ReportLayoutPlan layout = layoutRegistry.resolve(client);
+      String layoutTemplateFile = templateFileOf(layout);
+
       // テンプレートファイルの存在確認
-      File templateFileObj = new File(templateFile);
+      File templateFileObj = new File(layoutTemplateFile);
       if (!templateFileObj.exists()) {
         throw new IOException(
             "テンプレートファイルが見つかりません: "
-                + templateFile
+                + layoutTemplateFile
                 + "\n`local-data/templates/` ディレクトリに作業報告書のテンプレートファイル（`作業報告書 I社フォーマット.xls`）を配置してください。");
       }
 
       // 1. ファイル名設定 (user_202506_作業報告書.xls)
+      ReportFormat format = outputFormat;
       String fileNameMonth = DateUtil.getFileNameMonth(month);
-      String fileName = user + "_" + fileNameMonth + "_作業報告書.xls";
-      String outputPath = Paths.get(outputDir, fileName).toString();
+      ReportFileName reportFileName = ReportFileName.of(user, fileNameMonth, format);
+      String fileName = reportFileName.toFileName();
+      Path outputFile = resolveReportPath(reportFileName);
+      Files.createDirectories(outputFile.getParent());
+      String outputPath = outputFile.toString();
+
+      // 同じ報告書の更新と重ならないよう、ロックを保持したまま作成する
+      workbookLockService.withLock(
+          outputFile,
+          () -> {
+            if (format == ReportFormat.XLSX) {
+              writeXlsxReport(outputFile, layoutTemplateFile, layout, month, user, client);
+            } else {
+              writeXlsReport(outputFile, layoutTemplateFile, layout, month, user, client);
+            }
+            phaseMetrics.count("workbook.bytes.written", Files.size(outputFile));
+            recordReportFile(reportFileName, client, outputFile);
+            return null;
+          });
+
+      phaseMetrics.record("create.total", startTime);
+      log.info("ファイル作成完了: {} (レイアウト: {})", fileName, layout.getName());
+      return fileName;
 
-      // 2. テンプレートファイルをコピー
-      excelService.copyFile(templateFile, outputPath);
+    } catch (IOException e) {
+      throw new UncheckedIOException("報告書の作成に失敗しました", e);
+    } catch (Exception e) {
+      throw new IllegalStateException("報告書の作成に失敗しました", e);
+    }
+  }
+
+  /**
+   * テンプレートをコピーして .xls 形式の報告書を作成します
+   *
+   * @param outputFile 作成するファイル
+   * @param layoutTemplateFile テンプレートファイルのパス
+   * @param layout 書き込みに使用するレイアウト
+   * @param month 対象月（yyyy/MM形式）
+   * @param user ユーザー名
+   * @param client クライアント名
+   */
+  private void writeXlsReport(
+      Path outputFile,
+      String layoutTemplateFile,
+      ReportLayoutPlan layout,
+      String month,
+      String user,
+      String client)
+      throws IOException {
+    // 2. テンプレートファイルをコピーして読み込み
+    long phaseStart = System.nanoTime();
+    String outputPath = outputFile.toString();
+    excelService.copyFile(layoutTemplateFile, outputPath);
+    try (Workbook workbook = excelService.loadWorkbook(outputPath)) {
+      phaseMetrics.record("create.load", phaseStart);
 
       // 3. 基本項目設定
-      HSSFWorkbook workbook = excelService.loadWorkbook(outputPath);
-      HSSFSheet sheet = workbook.getSheetAt(0);
+      phaseStart = System.nanoTime();
+      Sheet sheet = workbook.getSheetAt(0);
+      CellStyleCache styleCache = new CellStyleCache(workbook);
 
-      // 基本情報設定（B7: 対象月、C4: クライアント、L4: ユーザー名）
-      // B7にDate型の日付を設定
-      Date targetDate = parseTargetDate(month);
-      excelService.setCellDateValue(sheet, TARGET_MONTH_CELL, targetDate);
-      excelService.setCellValue(sheet, CLIENT_NAME_CELL, client);
-      excelService.setCellValue(sheet, USER_NAME_CELL, user);
+      // 基本情報設定（I社フォーマットの場合 B7: 対象月、C4: クライアント、L4: ユーザー名）
+      setBasicInfo(sheet, layout, month, user, client);
 
       // 平日（土日祝以外）に開始時刻、終了時刻、休憩時間を自動設定
-      setDefaultWorkTimeForWeekdays(sheet, month);
+      setDefaultWorkTimeForWeekdays(sheet, layout, month, styleCache);
+      phaseMetrics.record("create.write", phaseStart);
 
       // 4. ファイル保存
+      phaseStart = System.nanoTime();
       excelService.saveWorkbook(workbook, outputPath);
-      workbook.close();
+      phaseMetrics.record("create.save", phaseStart);
+    }
+  }
+
+  /**
+   * テンプレートから行ストリーミングで .xlsx 形式の報告書を作成します
+   *
+   * <p>見出しに基本情報を書き込み、各日の行はテンプレートの雛形から1行ずつ作成しながら平日のデフォルト値を書き込みます。
+   *
+   * @param outputFile 作成するファイル
+   * @param layoutTemplateFile テンプレートファイルのパス
+   * @param layout 書き込みに使用するレイアウト
+   * @param month 対象月（yyyy/MM形式）
+   * @param user ユーザー名
+   * @param client クライアント名
+   */
+  private void writeXlsxReport(
+      Path outputFile,
+      String layoutTemplateFile,
+      ReportLayoutPlan layout,
+      String month,
+      String user,
+      String client)
+      throws IOException {
+    // 2. .xlsx 形式に変換済みのテンプレートを開く
+    checkHeaderCells(layout);
+    long phaseStart = System.nanoTime();
+    try (XlsxStreamingReport report =
+        excelService.openXlsxReport(layoutTemplateFile, layout.getFirstDayRow())) {
+      phaseMetrics.record("create.load", phaseStart);
+
+      // 3. 基本項目設定と、各日の行の書き出し
+      phaseStart = System.nanoTime();
+      setBasicInfo(report.headerSheet(0), layout, month, user, client);
+      CellStyleCache styleCache = new CellStyleCache(report.getWorkbook());
+      streamDefaultWorkTimes(report, 0, layout, getWorkdaysOfMonth(month), styleCache);
+      phaseMetrics.record("create.write", phaseStart);
+
+      // 4. ファイル保存
+      phaseStart = System.nanoTime();
+      excelService.writeAtomically(outputFile, report::write);
+      phaseMetrics.record("create.save", phaseStart);
+    }
+  }
+
+  /**
+   * 年間報告書作成（ファイル名: user_yyyy_年間作業報告書.xls）
+   *
+   * <p>テンプレートを1回だけ読み込み、1つのワークブック内でテンプレートシートを12回複製して
+   * 各月（1月〜12月）のシートを作成します。
+   * 出勤日は年間カレンダーから一括で求め、計算式の再評価は最後に1回だけ実行します。
+   *
+   * @param year 対象年（yyyy形式）
+   * @param user ユーザー名
+   * @param client クライアント名
+   * @return 作成したファイル名
+   */
+  public String createYearReport(String year, String user, String client) {
+    try {
+      int yearValue = parseYear(year);
+
+      // クライアントに対応するレイアウトを選択
+      ReportLayoutPlan layout = layoutRegistry.resolve(client);
+      String layoutTemplateFile = templateFileOf(layout);
 
-      log.info("ファイル作成完了: {}", fileName);
+      // テンプレートファイルの存在確認
+      if (!new File(layoutTemplateFile).exists()) {
+        throw new IOException("テンプレートファイルが見つかりません: " + layoutTemplateFile);
+      }
+
+      // 1. ファイル名設定 (user_2025_年間作業報告書.xls)
+      ReportFormat format = outputFormat;
+      String fileName = user + "_" + yearValue + "_年間作業報告書" + format.getExtension();
+      Path outputFile =
+          outputLayout.yearDirectory(Paths.get(outputDir), yearValue).resolve(fileName);
+      Files.createDirectories(outputFile.getParent());
+      String outputPath = outputFile.toString();
+      Map<YearMonth, List<LocalDate>> yearCalendar = getWorkdaysOfYear(yearValue);
+
+      // 同じ報告書の作成と重ならないよう、ロックを保持したまま作成する
+      workbookLockService.withLock(
+          outputFile,
+          () -> {
+            if (format == ReportFormat.XLSX) {
+              writeXlsxYearReport(
+                  outputFile, layoutTemplateFile, layout, yearValue, user, client, yearCalendar);
+              return null;
+            }
+
+            // 2. テンプレートを1回だけ読み込む
+            try (Workbook workbook = excelService.loadWorkbook(layoutTemplateFile)) {
+              // 12シートで同じスタイルを共有し、スタイル数の増加を防ぐ
+              CellStyleCache styleCache = new CellStyleCache(workbook);
+
+              // 3. テンプレートシートを複製して各月のシートを作成
+              int templateSheetIndex = 0;
+              for (int month = 1; month <= MAX_VALID_MONTH; month++) {
+                Sheet sheet = workbook.cloneSheet(templateSheetIndex);
+                workbook.setSheetName(workbook.getSheetIndex(sheet), month + "月");
+
+                String monthStr = String.format("%04d/%02d", yearValue, month);
+                setBasicInfo(sheet, layout, monthStr, user, client);
+                writeDefaultWorkTimes(
+                    sheet, layout, yearCalendar.get(YearMonth.of(yearValue, month)), styleCache);
+              }
+
+              // 4. 複製元のテンプレートシートを削除し、1月のシートを選択状態にする
+              workbook.removeSheetAt(templateSheetIndex);
+              int firstMonthSheetIndex = workbook.getSheetIndex("1月");
+              workbook.setActiveSheet(firstMonthSheetIndex);
+              workbook.setSelectedTab(firstMonthSheetIndex);
+
+              // 5. すべての計算式を1回だけ再評価
+              log.info("計算式を再評価します");
+              excelService.evaluateAllFormulaCells(workbook);
+
+              // 6. ファイル保存
+              excelService.saveWorkbook(workbook, outputPath);
+            }
+            // 年間報告書のファイル名は月次の報告書（ReportFileName）の命名規則に一致せず、
+            // 年月ごとのインデックスとカタログの対象外のため記録しない
+            return null;
+          });
+
+      log.info("年間ファイル作成完了: {} (レイアウト: {})", fileName, layout.getName());
       return fileName;
 
     } catch (IOException e) {
-      throw new UncheckedIOException("報告書の作成に失敗しました", e);
+      throw new UncheckedIOException("年間報告書の作成に失敗しました: " + e.getMessage(), e);
     } catch (Exception e) {
-      throw new IllegalStateException("報告書の作成に失敗しました", e);
+      throw new IllegalStateException("年間報告書の作成に失敗しました: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * テンプレートから行ストリーミングで .xlsx 形式の年間報告書を作成します
+   *
+   * <p>テンプレートの1枚目のシートを12回複製して各月のシートを作成し、シートごとに各日の行を1行ずつ書き出します。
+   * 計算式はExcelで開いた際に再計算されます。
+   *
+   * @param outputFile 作成するファイル
+   * @param layoutTemplateFile テンプレートファイルのパス
+   * @param layout 書き込みに使用するレイアウト
+   * @param year 対象年
+   * @param user ユーザー名
+   * @param client クライアント名
+   * @param yearCalendar 年月ごとの出勤日
+   */
+  private void writeXlsxYearReport(
+      Path outputFile,
+      String layoutTemplateFile,
+      ReportLayoutPlan layout,
+      int year,
+      String user,
+      String client,
+      Map<YearMonth, List<LocalDate>> yearCalendar)
+      throws IOException {
+    checkHeaderCells(layout);
+    List<String> sheetNames = new ArrayList<>();
+    for (int month = MIN_VALID_MONTH; month <= MAX_VALID_MONTH; month++) {
+      sheetNames.add(month + "月");
+    }
+
+    try (XlsxStreamingReport report =
+        excelService.openXlsxReport(layoutTemplateFile, layout.getFirstDayRow(), sheetNames)) {
+      Workbook workbook = report.getWorkbook();
+      // 12シートで同じスタイルを共有し、スタイル数の増加を防ぐ
+      CellStyleCache styleCache = new CellStyleCache(workbook);
+      for (int month = MIN_VALID_MONTH; month <= MAX_VALID_MONTH; month++) {
+        int sheetIndex = workbook.getSheetIndex(month + "月");
+        String monthStr = String.format("%04d/%02d", year, month);
+        setBasicInfo(report.headerSheet(sheetIndex), layout, monthStr, user, client);
+        streamDefaultWorkTimes(
+            report, sheetIndex, layout, yearCalendar.get(YearMonth.of(year, month)), styleCache);
+      }
+
+      int firstMonthSheetIndex = workbook.getSheetIndex("1月");
+      workbook.setActiveSheet(firstMonthSheetIndex);
+      workbook.setSelectedTab(firstMonthSheetIndex);
+      excelService.writeAtomically(outputFile, report::write);
     }
   }
 
   /** CSV からの更新（日付,開始時刻,終了時刻,休憩時間,作業内容） CSVファイルに含まれない日付の行はクリアされます */
   public int updateFromCsv(String fileName, String csvFile) {
+    return updateFromCsv(fileName, csvFile, null, true);
+  }
+
+  /**
+   * CSVで更新した報告書を出力ストリームへ書き出します
+   *
+   * <p>送信時にZIPのエントリへ直接書き出すためのものです。
+   * ファイルにも保存する場合は、ワークブックを一度だけバッファへ書き出し、
+   * その内容をファイルと出力ストリームの両方へ書き込みます。
+   *
+   * @param fileName 更新対象のファイル名
+   * @param csvFile CSVファイル名
+   * @param exportTarget 更新後のワークブックの書き出し先（nullの場合はファイルへの保存のみ）
+   * @param saveToDisk 更新後のワークブックをファイルにも保存する場合はtrue
+   * @return 更新件数
+   */
+  public int updateFromCsv(
+      String fileName, String csvFile, OutputStream exportTarget, boolean saveToDisk) {
+    long startTime = System.nanoTime();
     try {
       // 1. CSVファイル読み込み
       String csvPath = Paths.get(csvDir, csvFile).toString();
       List<WorkRecord> records = csvService.readCsv(csvPath);
+      phaseMetrics.record("update.csv-parse", startTime);
+
+      // 同じ報告書の読み込みから保存までを、他のスレッド・プロセスの更新と直列化する
+      Path excelFile = resolveReportPath(fileName);
+      int updatedCount =
+          workbookLockService.withLock(
+              excelFile,
+              () -> applyCsvRecords(fileName, excelFile, records, exportTarget, saveToDisk));
+      phaseMetrics.record("update.total", startTime);
+      return updatedCount;
 
-      // 2. Excelファイル読み込み
-      String excelPath = Paths.get(outputDir, fileName).toString();
-      HSSFWorkbook workbook = excelService.loadWorkbook(excelPath);
-      HSSFSheet sheet = workbook.getSheetAt(0);
-
-      // 3. 対象月を取得（ファイル名から抽出）
-      // ファイル名形式: user_yyyymm_作業報告書.xls
-      String yearMonth = null;
-      String[] parts = fileName.split("_");
-      if (parts.length >= 2) {
-        yearMonth = parts[1];
-        if (yearMonth.length() == 6) {
-          yearMonth = yearMonth.substring(0, 4) + "/" + yearMonth.substring(4, 6);
-        }
-      }
+    } catch (ConcurrentModificationException e) {
+      throw e;
+    } catch (IOException e) {
+      throw new UncheckedIOException("CSVからの更新に失敗しました", e);
+    } catch (Exception e) {
+      throw new IllegalStateException("CSVからの更新に失敗しました", e);
+    }
+  }
 
-      if (yearMonth == null) {
-        log.warn("ファイル名から対象月を抽出できませんでした: {}", fileName);
-        return 0;
-      }
+  /**
+   * 報告書のロックを保持した状態で、CSVのレコードを報告書へ書き込んで保存します
+   *
+   * @param fileName 更新対象のファイル名
+   * @param excelFile 更新対象のファイルのパス
+   * @param records CSVのレコード
+   * @param exportTarget 更新後のワークブックの書き出し先（nullの場合はファイルへの保存のみ）
+   * @param saveToDisk 更新後のワークブックをファイルにも保存する場合はtrue
+   * @return 更新件数
+   * @throws IOException 入出力エラーが発生した場合
+   */
+  private int applyCsvRecords(
+      String fileName,
+      Path excelFile,
+      List<WorkRecord> records,
+      OutputStream exportTarget,
+      boolean saveToDisk)
+      throws IOException {
+    // 2. 対象月を取得（ファイル名から抽出）
+    // ファイル名形式: user_yyyymm_作業報告書.xls（または .xlsx）
+    Optional<ReportFileName> reportFileName = ReportFileName.parse(fileName);
+    if (reportFileName.isEmpty()) {
+      log.warn("ファイル名から対象月を抽出できませんでした: {}", fileName);
+      return 0;
+    }
+    String fileNameMonth = reportFileName.get().getYearMonth();
+    String yearMonth = fileNameMonth.substring(0, 4) + "/" + fileNameMonth.substring(4, 6);
+    if (ReportFormat.fromFileName(fileName) == ReportFormat.XLSX) {
+      return applyCsvRecordsToXlsx(
+          reportFileName.get(), yearMonth, excelFile, records, exportTarget, saveToDisk);
+    }
+
+    // 3. Excelファイル読み込み（保存前に他の処理による変更を検出するため、更新日時とサイズを記録）
+    long phaseStart = System.nanoTime();
+    String excelPath = excelFile.toString();
+    WorkbookLockService.FileStamp loadedStamp = workbookLockService.stamp(excelFile);
+    // 読み込み後に例外が発生した場合も、ワークブックを閉じる
+    try (Workbook workbook = excelService.loadWorkbook(excelPath)) {
+      Sheet sheet = workbook.getSheetAt(0);
+      ReportLayoutPlan layout = resolveLayout(sheet);
+      CellStyleCache styleCache = new CellStyleCache(workbook);
+      phaseMetrics.record("update.load", phaseStart);
 
       // 4. CSVファイルに含まれる日付のリストを作成
+      phaseStart = System.nanoTime();
       List<LocalDate> csvDates = records.stream().map(WorkRecord::getDate).toList();
 
       // 5. 対象月の全ての平日（出勤日）を取得
@@ -164,36 +490,226 @@ public class ReportService {
       // 6. 各レコードを処理
       for (WorkRecord record : records) {
         // 日付をキーとして該当行特定
-        int rowIndex = excelService.findRowByDate(sheet, record.getDate());
-        if (rowIndex == 0) {
+        int rowIndex = layout.rowOfDay(record.getDate().getDayOfMonth());
+        if (!excelService.hasRow(sheet, rowIndex)) {
           log.warn("該当日なし: {} ({})", record.getDate(), record.getDate().getDayOfWeek());
           continue;
         }
-        processWorkRecord(sheet, record);
+        processWorkRecord(sheet, layout, record, styleCache);
         updatedCount++;
       }
 
       // 8. CSVファイルに含まれない平日の行をクリア
-      clearedCount = clearRowsNotInCsv(sheet, workdays, csvDates);
+      clearedCount = clearRowsNotInCsv(sheet, layout, workdays, csvDates);
 
       // 9. 最大バイト数に基づいてQ列の幅を調整
-      adjustQColumnWidthBasedOnByteCount(sheet, records);
+      adjustQColumnWidthBasedOnByteCount(sheet, layout, records);
+      phaseMetrics.record("update.write", phaseStart);
+      phaseMetrics.count("rows.updated", updatedCount);
+      phaseMetrics.count("rows.cleared", clearedCount);
 
       // 10. すべての計算式を再評価
       log.info("計算式を再評価します");
-      HSSFFormulaEvaluator.evaluateAllFormulaCells(workbook);
+      phaseStart = System.nanoTime();
+      excelService.evaluateAllFormulaCells(workbook);
+      phaseMetrics.record("update.evaluate", phaseStart);
 
       // 11. ファイル保存
-      excelService.saveWorkbook(workbook, excelPath);
-      workbook.close();
+      phaseStart = System.nanoTime();
+      CellIndex clientNameCell = layout.getClientNameCell();
+      String client =
+          excelService.getCellStringValue(sheet, clientNameCell.row(), clientNameCell.column());
+      if (exportTarget == null || saveToDisk) {
+        workbookLockService.verifyUnchanged(excelFile, loadedStamp);
+      }
+      saveUpdatedReport(
+          excelFile, exportTarget, saveToDisk, out -> excelService.writeWorkbook(workbook, out));
+      phaseMetrics.record("update.save", phaseStart);
+      if (exportTarget == null || saveToDisk) {
+        recordReportFile(reportFileName.get(), client, excelFile);
+      }
 
       log.info("CSV更新完了: {}件更新, {}件クリア", updatedCount, clearedCount);
       return updatedCount;
+    }
+  }
 
-    } catch (IOException e) {
-      throw new UncheckedIOException("CSVからの更新に失敗しました", e);
-    } catch (Exception e) {
-      throw new IllegalStateException("CSVからの更新に失敗しました", e);
+  /**
+   * .xlsx 形式の報告書をテンプレートから作り直し、CSVのレコードを書き込んで保存します
+   *
+   * <p>既存のファイルはワークブックとして読み込まず、セルの値だけを読み取ります。テンプレートから行ストリーミングで
+   * 各日の行を作成しながら、CSVのレコードの日付はその内容を、CSVに含まれない出勤日は空欄を、それ以外の日は
+   * 既存のファイルの値を書き込みます。見出しはレイアウトで定義された基本情報のセルの値だけを引き継ぎます。
+   *
+   * @param reportFileName 更新対象のファイル名
+   * @param yearMonth 対象月（yyyy/MM形式）
+   * @param excelFile 更新対象のファイルのパス
+   * @param records CSVのレコード
+   * @param exportTarget 更新後のワークブックの書き出し先（nullの場合はファイルへの保存のみ）
+   * @param saveToDisk 更新後のワークブックをファイルにも保存する場合はtrue
+   * @return 更新件数
+   * @throws IOException 入出力エラーが発生した場合
+   */
+  private int applyCsvRecordsToXlsx(
+      ReportFileName reportFileName,
+      String yearMonth,
+      Path excelFile,
+      List<WorkRecord> records,
+      OutputStream exportTarget,
+      boolean saveToDisk)
+      throws IOException {
+    // 3. 既存のファイルのセルの値を読み込み（保存前に他の処理による変更を検出するため、更新日時とサイズを記録）
+    long phaseStart = System.nanoTime();
+    WorkbookLockService.FileStamp loadedStamp = workbookLockService.stamp(excelFile);
+    XlsxSheetValues values = excelService.readXlsxValues(excelFile);
+    ReportLayoutPlan layout = resolveLayout(values::getString);
+    checkHeaderCells(layout);
+    CellIndex clientNameCell = layout.getClientNameCell();
+    String client = values.getString(clientNameCell.row(), clientNameCell.column());
+
+    try (XlsxStreamingReport report =
+        excelService.openXlsxReport(templateFileOf(layout), layout.getFirstDayRow())) {
+      Sheet headerSheet = report.headerSheet(0);
+      for (CellIndex cell : headerCellsOf(layout)) {
+        restoreCell(headerSheet, cell.row(), cell.column(), values);
+      }
+      CellStyleCache styleCache = new CellStyleCache(report.getWorkbook());
+      phaseMetrics.record("update.load", phaseStart);
+
+      // 4. CSVのレコードと、CSVに含まれない出勤日を行番号ごとにまとめる
+      phaseStart = System.nanoTime();
+      Map<Integer, WorkRecord> recordsByRow = new LinkedHashMap<>();
+      for (WorkRecord record : records) {
+        recordsByRow.put(layout.rowOfDay(record.getDate().getDayOfMonth()), record);
+      }
+      Set<Integer> rowsToClear = new HashSet<>();
+      for (LocalDate workday : getWorkdaysOfMonth(yearMonth)) {
+        int rowIndex = layout.rowOfDay(workday.getDayOfMonth());
+        if (!recordsByRow.containsKey(rowIndex)) {
+          rowsToClear.add(rowIndex);
+        }
+      }
+
+      // 5. 各日の行を作成しながら、レコード・空欄・既存の値を書き込む
+      Sheet sheet = report.rowSheet(0);
+      int[] counts = new int[2];
+      report.writeRows(
+          0,
+          rowIndex -> {
+            WorkRecord record = recordsByRow.remove(rowIndex);
+            if (record != null) {
+              processWorkRecord(sheet, layout, record, styleCache);
+              counts[0]++;
+            } else if (rowsToClear.contains(rowIndex)) {
+              restoreCell(sheet, rowIndex, layout.getOverflowColumn(), values);
+              counts[1]++;
+            } else {
+              restoreDayRow(sheet, layout, rowIndex, values, styleCache);
+            }
+          });
+      recordsByRow
+          .values()
+          .forEach(
+              record ->
+                  log.warn(
+                      "該当日なし: {} ({})", record.getDate(), record.getDate().getDayOfWeek()));
+
+      // 6. 最大バイト数に基づいてQ列の幅を調整
+      adjustQColumnWidthBasedOnByteCount(sheet, layout, records);
+      phaseMetrics.record("update.write", phaseStart);
+      phaseMetrics.count("rows.updated", counts[0]);
+      phaseMetrics.count("rows.cleared", counts[1]);
+
+      // 7. ファイル保存（計算式はExcelで開いた際に再計算される）
+      phaseStart = System.nanoTime();
+      if (exportTarget == null || saveToDisk) {
+        workbookLockService.verifyUnchanged(excelFile, loadedStamp);
+      }
+      saveUpdatedReport(excelFile, exportTarget, saveToDisk, report::write);
+      phaseMetrics.record("update.save", phaseStart);
+      if (exportTarget == null || saveToDisk) {
+        recordReportFile(reportFileName, client, excelFile);
+      }
+
+      log.info("CSV更新完了: {}件更新, {}件クリア", counts[0], counts[1]);
+      return counts[0];
+    }
+  }
+
+  /**
+   * 更新した報告書をファイルまたは出力ストリームへ書き出します
+   *
+   * @param excelFile 報告書ファイルのパス
+   * @param exportTarget 書き出し先（nullの場合はファイルへの保存のみ）
+   * @param saveToDisk ファイルにも保存する場合はtrue
+   * @param writer 報告書の内容を書き出す処理
+   * @throws IOException 書き出しに失敗した場合
+   */
+  private void saveUpdatedReport(
+      Path excelFile,
+      OutputStream exportTarget,
+      boolean saveToDisk,
+      ExcelService.ContentWriter writer)
+      throws IOException {
+    if (exportTarget == null) {
+      excelService.writeAtomically(excelFile, writer);
+      phaseMetrics.count("workbook.bytes.written", Files.size(excelFile));
+    } else if (saveToDisk) {
+      // ワークブックの書き出しは1回だけ行い、同じ内容をファイルと出力先へ書き込む
+      ByteArrayOutputStream buffer = new ByteArrayOutputStream(WORKBOOK_BUFFER_SIZE);
+      writer.write(buffer);
+      excelService.writeAtomically(excelFile, buffer::writeTo);
+      buffer.writeTo(exportTarget);
+      phaseMetrics.count("workbook.bytes.written", buffer.size());
+    } else {
+      // ZIPへ直接書き出すため、書き込んだバイト数はZIPの側で記録する
+      writer.write(exportTarget);
+    }
+  }
+
+  /**
+   * 既存の報告書の日の行の値（開始時刻・終了時刻・休憩時間・作業内容・はみ出し幅の列）を書き込みます
+   *
+   * @param sheet 対象のシート
+   * @param layout 書き込みに使用するレイアウト
+   * @param rowIndex 行番号（0ベース）
+   * @param values 既存の報告書のセルの値
+   * @param styleCache 対象ワークブックのスタイルキャッシュ
+   */
+  private void restoreDayRow(
+      Sheet sheet,
+      ReportLayoutPlan layout,
+      int rowIndex,
+      XlsxSheetValues values,
+      CellStyleCache styleCache) {
+    for (int column :
+        List.of(
+            layout.getStartTimeColumn(), layout.getEndTimeColumn(), layout.getBreakTimeColumn())) {
+      // 数値の時刻は書き込み方式（numeric）で書き込まれたもののため、時刻の表示形式を設定する
+      if (values.get(rowIndex, column) instanceof Double fraction) {
+        excelService.setCellTimeValue(sheet, rowIndex, column, fraction, styleCache);
+      } else {
+        restoreCell(sheet, rowIndex, column, values);
+      }
+    }
+    restoreCell(sheet, rowIndex, layout.getWorkContentColumn(), values);
+    restoreCell(sheet, rowIndex, layout.getOverflowColumn(), values);
+  }
+
+  /**
+   * 既存の報告書のセルの文字列・数値を書き込みます（値がない場合は何もしません）
+   *
+   * @param sheet 対象のシート
+   * @param rowIndex 行番号（0ベース）
+   * @param columnIndex 列番号（0ベース）
+   * @param values 既存の報告書のセルの値
+   */
+  private void restoreCell(Sheet sheet, int rowIndex, int columnIndex, XlsxSheetValues values) {
+    Object value = values.get(rowIndex, columnIndex);
+    if (value instanceof String text) {
+      excelService.setCellValue(sheet, rowIndex, columnIndex, text);
+    } else if (value instanceof Double number) {
+      excelService.setCellValue(sheet, rowIndex, columnIndex, number);
     }
   }
 
@@ -201,64 +717,165 @@ public class ReportService {
    * 平日（土日祝日以外）に開始時刻、終了時刻、休憩時間を自動設定
    *
    * @param sheet 対象のシート
+   * @param layout 書き込みに使用するレイアウト
    * @param monthStr 対象月（yyyy/MM形式）
+   * @param styleCache 対象ワークブックのスタイルキャッシュ
    */
-  private void setDefaultWorkTimeForWeekdays(HSSFSheet sheet, String monthStr) {
+  private void setDefaultWorkTimeForWeekdays(
+      Sheet sheet, ReportLayoutPlan layout, String monthStr, CellStyleCache styleCache) {
+    writeDefaultWorkTimes(sheet, layout, getWorkdaysOfMonth(monthStr), styleCache);
+  }
+
+  /**
+   * 指定された出勤日の行に開始時刻、終了時刻、休憩時間のデフォルト値を設定します
+   *
+   * @param sheet 対象のシート
+   * @param layout 書き込みに使用するレイアウト
+   * @param workdays 対象月の出勤日（平日）のリスト
+   * @param styleCache 対象ワークブックのスタイルキャッシュ
+   */
+  private void writeDefaultWorkTimes(
+      Sheet sheet, ReportLayoutPlan layout, List<LocalDate> workdays, CellStyleCache styleCache) {
     try {
-      // 月の解析
-      String[] parts = monthStr.split("/");
-      if (parts.length != 2) {
-        log.warn("月形式が不正です: {}", monthStr);
-        return;
+      // 各出勤日に対して処理
+      for (LocalDate date : workdays) {
+        // 行インデックスを取得
+        int rowIndex = layout.rowOfDay(date.getDayOfMonth());
+
+        if (excelService.hasRow(sheet, rowIndex)) {
+          writeDefaultWorkTime(sheet, layout, rowIndex, date, styleCache);
+        } else {
+          log.warn("該当日の行が見つかりません: {} ({})", date, date.getDayOfWeek());
+        }
       }
+    } catch (Exception e) {
+      log.error("平日のデフォルト時間設定中にエラーが発生しました: {}", e.getMessage());
+    }
+  }
 
-      int year = Integer.parseInt(parts[0]);
-      int month = Integer.parseInt(parts[1]);
+  /**
+   * 行ストリーミングで各日の行を作成しながら、出勤日の行に開始時刻、終了時刻、休憩時間のデフォルト値を設定します
+   *
+   * @param report 書き込み先の報告書
+   * @param sheetIndex シート番号
+   * @param layout 書き込みに使用するレイアウト
+   * @param workdays 対象月の出勤日（平日）のリスト
+   * @param styleCache 対象ワークブックのスタイルキャッシュ
+   */
+  private void streamDefaultWorkTimes(
+      XlsxStreamingReport report,
+      int sheetIndex,
+      ReportLayoutPlan layout,
+      List<LocalDate> workdays,
+      CellStyleCache styleCache) {
+    Map<Integer, LocalDate> workdaysByRow = new LinkedHashMap<>();
+    for (LocalDate date : workdays) {
+      workdaysByRow.put(layout.rowOfDay(date.getDayOfMonth()), date);
+    }
+    Sheet sheet = report.rowSheet(sheetIndex);
+    report.writeRows(
+        sheetIndex,
+        rowIndex -> {
+          LocalDate date = workdaysByRow.remove(rowIndex);
+          if (date != null) {
+            writeDefaultWorkTime(sheet, layout, rowIndex, date, styleCache);
+          }
+        });
+    workdaysByRow
+        .values()
+        .forEach(date -> log.warn("該当日の行が見つかりません: {} ({})", date, date.getDayOfWeek()));
+  }
 
-      // 対象月の日数を取得
-      YearMonth yearMonth = YearMonth.of(year, month);
-      int daysInMonth = yearMonth.lengthOfMonth();
+  /**
+   * 出勤日の行に開始時刻、終了時刻、休憩時間のデフォルト値を設定します
+   *
+   * @param sheet 対象のシート
+   * @param layout 書き込みに使用するレイアウト
+   * @param rowIndex 行番号（0ベース）
+   * @param date 出勤日
+   * @param styleCache 対象ワークブックのスタイルキャッシュ
+   */
+  private void writeDefaultWorkTime(
+      Sheet sheet,
+      ReportLayoutPlan layout,
+      int rowIndex,
+      LocalDate date,
+      CellStyleCache styleCache) {
+    writeTime(sheet, rowIndex, layout.getStartTimeColumn(), DEFAULT_START_TIME, styleCache);
+    writeTime(sheet, rowIndex, layout.getEndTimeColumn(), DEFAULT_END_TIME, styleCache);
+    writeDuration(sheet, rowIndex, layout.getBreakTimeColumn(), DEFAULT_BREAK_TIME, styleCache);
+
+    log.debug(
+        "平日のデフォルト時間を設定: {} ({}) - 開始: {}, 終了: {}, 休憩: {}",
+        date,
+        date.getDayOfWeek(),
+        DEFAULT_START_TIME.format(),
+        DEFAULT_END_TIME.format(),
+        DEFAULT_BREAK_TIME.format());
+  }
 
-      // デフォルト値
-      String defaultStartTime = "09:00";
-      String defaultEndTime = "18:00";
-      String defaultBreakTime = "1:00";
+  /**
+   * 基本情報（対象月、クライアント名、ユーザー名）をシートに設定します
+   *
+   * @param sheet 対象のシート
+   * @param layout 書き込みに使用するレイアウト
+   * @param month 対象月（yyyy/MM形式）
+   * @param user ユーザー名
+   * @param client クライアント名
+   */
+  private void setBasicInfo(
+      Sheet sheet, ReportLayoutPlan layout, String month, String user, String client) {
+    // 対象月セルにDate型の日付を設定
+    Date targetDate = parseTargetDate(month);
+    CellIndex targetMonthCell = layout.getTargetMonthCell();
+    CellIndex clientNameCell = layout.getClientNameCell();
+    CellIndex userNameCell = layout.getUserNameCell();
+    excelService.setCellDateValue(
+        sheet, targetMonthCell.row(), targetMonthCell.column(), targetDate);
+    excelService.setCellValue(sheet, clientNameCell.row(), clientNameCell.column(), client);
+    excelService.setCellValue(sheet, userNameCell.row(), userNameCell.column(), user);
+  }
 
-      // 各日に対して処理
-      for (int day = 1; day <= daysInMonth; day++) {
-        LocalDate date = LocalDate.of(year, month, day);
+  /**
+   * 対象年の全ての出勤日（平日）を月ごとにまとめた年間カレンダーを作成します
+   *
+   * @param year 対象年
+   * @return 年月をキー、その月の出勤日リストを値とするマップ（1月〜12月の順）
+   */
+  private Map<YearMonth, List<LocalDate>> getWorkdaysOfYear(int year) {
+    Map<YearMonth, List<LocalDate>> yearCalendar = new LinkedHashMap<>();
+    for (int month = MIN_VALID_MONTH; month <= MAX_VALID_MONTH; month++) {
+      yearCalendar.put(YearMonth.of(year, month), new ArrayList<>());
+    }
 
-        // 平日（土日祝日以外）かチェック
-        if (holidayService.isWorkday(date)) {
-          // 行インデックスを取得
-          int rowIndex = excelService.findRowByDate(sheet, date);
-
-          if (rowIndex >= 0) {
-            // セル位置を計算
-            String startTimeCell = START_TIME_COLUMN + rowIndex;
-            String endTimeCell = END_TIME_COLUMN + rowIndex;
-            String breakTimeCell = BREAK_TIME_COLUMN + rowIndex;
-
-            // 値を設定
-            excelService.setCellValue(sheet, startTimeCell, defaultStartTime);
-            excelService.setCellValue(sheet, endTimeCell, defaultEndTime);
-            excelService.setCellValue(sheet, breakTimeCell, defaultBreakTime);
-
-            log.debug(
-                "平日のデフォルト時間を設定: {} ({}) - 開始: {}, 終了: {}, 休憩: {}",
-                date,
-                date.getDayOfWeek(),
-                defaultStartTime,
-                defaultEndTime,
-                defaultBreakTime);
-          } else {
-            log.warn("該当日の行が見つかりません: {} ({})", date, date.getDayOfWeek());
-          }
-        }
+    for (LocalDate date = LocalDate.of(year, 1, 1);
+        date.getYear() == year;
+        date = date.plusDays(1)) {
+      if (holidayService.isWorkday(date)) {
+        yearCalendar.get(YearMonth.from(date)).add(date);
       }
-    } catch (Exception e) {
-      log.error("平日のデフォルト時間設定中にエラーが発生しました: {}", e.getMessage());
     }
+
+    return yearCalendar;
+  }
+
+  /**
+   * 対象年文字列（yyyy形式）を解析します
+   *
+   * @param year 対象年文字列
+   * @return 対象年
+   * @throws IllegalArgumentException 年の形式が不正な場合、または有効範囲外の場合
+   */
+  private int parseYear(String year) {
+    if (year == null || !year.trim().matches("\\d{4}")) {
+      throw new IllegalArgumentException("年形式が正しくありません: " + year + " (期待形式: yyyy)");
+    }
+
+    int yearValue = Integer.parseInt(year.trim());
+    if (yearValue < MIN_VALID_YEAR || yearValue > MAX_VALID_YEAR) {
+      throw new IllegalArgumentException("無効な年の値: " + year);
+    }
+    return yearValue;
   }
 
   /**
@@ -354,6 +971,7 @@ public class ReportService {
 
       // 5. CSVファイル作成
       csvService.writeCsv(records, csvPath);
+      directoryIndex.recordCsvFile(fileName);
 
       log.info("CSVファイル作成完了: {}", fileName);
       return fileName;
@@ -371,30 +989,11 @@ public class ReportService {
    */
   public CsvFileInfo findLatestCsvFile() {
     try {
-      // CSVファイルの命名規則: yyyymm_work_data.csv
-      Pattern pattern = Pattern.compile("(\\d{6})_work_data\\.csv");
-
-      // csvフォルダ内のファイルを検索
-      Path csvDirPath = Paths.get(csvDir);
-
-      Optional<CsvFileInfo> latestCsvFile;
-      try (Stream<Path> paths = Files.list(csvDirPath)) {
-        latestCsvFile =
-            paths
-                .filter(Files::isRegularFile)
-                .map(
-                    path -> {
-                      String fileName = path.getFileName().toString();
-                      Matcher matcher = pattern.matcher(fileName);
-                      if (matcher.matches()) {
-                        String yearMonth = matcher.group(1);
-                        return new CsvFileInfo(fileName, yearMonth);
-                      }
-                      return null;
-                    })
-                .filter(Objects::nonNull)
-                .max(Comparator.comparing(CsvFileInfo::yearMonth));
-      }
+      // CSVファイルの命名規則: yyyymm_work_data.csv（ディレクトリインデックスから取得）
+      Optional<CsvFileInfo> latestCsvFile =
+          directoryIndex
+              .findLatestCsvFile()
+              .map(entry -> new CsvFileInfo(entry.getValue(), entry.getKey()));
 
       if (latestCsvFile.isPresent()) {
         log.info("最新のCSVファイルを見つけました: {}", latestCsvFile.get().fileName());
@@ -411,29 +1010,18 @@ public class ReportService {
    * 指定した年月（yyyymm形式）を含むExcelファイルを見つけます
    *
    * @param yearMonth 年月（yyyymm形式）
-   * @return 該当するExcelファイルのリスト
+   * @return 該当するExcelファイルのリスト（ファイル名順）
    */
   public List<String> findExcelFilesByYearMonth(String yearMonth) {
     try {
-      // Excelファイルの命名規則: user_yyyymm_作業報告書.xls
-      Pattern pattern = Pattern.compile("(.+)_" + yearMonth + "_作業報告書\\.xls");
-
-      // outputフォルダ内のファイルを検索
-      Path outputDirPath = Paths.get(outputDir);
-
-      List<String> matchingFiles = new ArrayList<>();
-      try (Stream<Path> paths = Files.list(outputDirPath)) {
-        paths
-            .filter(Files::isRegularFile)
-            .map(path -> path.getFileName().toString())
-            .forEach(
-                fileName -> {
-                  Matcher matcher = pattern.matcher(fileName);
-                  if (matcher.matches()) {
-                    matchingFiles.add(fileName);
-                  }
-                });
-      }
+      // Excelファイルの命名規則: user_yyyymm_作業報告書.xls（または .xlsx）
+      // 年月別の出力レイアウトではカタログ、それ以外はディレクトリインデックスから取得
+      List<String> matchingFiles =
+          reportCatalog.isEnabled()
+              ? reportCatalog.findByYearMonth(yearMonth).stream()
+                  .map(ReportCatalogEntry::fileName)
+                  .toList()
+              : directoryIndex.findReportFiles(yearMonth);
 
       log.info("{}年月のExcelファイルを{}件見つけました", yearMonth, matchingFiles.size());
       return matchingFiles;
@@ -448,6 +1036,32 @@ public class ReportService {
    * @return 更新されたファイル数
    */
   public int saveLatestCsvToExcel() {
+    return saveLatestCsvToExcel(false);
+  }
+
+  /**
+   * 最新のCSVファイルを対応するExcelファイルに適用します
+   *
+   * <p>ファイルごとの更新の開始と完了をジャーナルに記録します。{@code resume} が true の場合は、前回の実行で更新が完了した
+   * ファイルを省略します。
+   *
+   * @param resume trueの場合は前回の実行で完了したファイルを省略する
+   * @return 更新されたファイル数
+   */
+  public int saveLatestCsvToExcel(boolean resume) {
+    return saveLatestCsvToExcel(resume, JobProgress.untracked());
+  }
+
+  /**
+   * 最新のCSVファイルを対応するExcelファイルに適用します
+   *
+   * <p>1ファイルごとに進捗を記録し、キャンセルが要求された場合は残りのファイルを更新せずに終了します。
+   *
+   * @param resume trueの場合は前回の実行で完了したファイルを省略する
+   * @param progress 進捗とキャンセル要求を共有するオブジェクト
+   * @return 更新されたファイル数
+   */
+  public int saveLatestCsvToExcel(boolean resume, JobProgress progress) {
     try {
       // 1. 最新のCSVファイルを見つける
       CsvFileInfo latestCsvFile = findLatestCsvFile();
@@ -464,14 +1078,37 @@ public class ReportService {
 
       // 3. 各Excelファイルを更新
       int updatedFiles = 0;
-      for (String excelFileName : excelFiles) {
-        try {
-          int updatedRows = updateFromCsv(excelFileName, csvFileName);
-          log.info("ファイル更新完了: {} ({}行更新)", excelFileName, updatedRows);
-          updatedFiles++;
-        } catch (Exception e) {
-          log.error("ファイル更新中にエラーが発生しました: {}", excelFileName, e);
+      try (BatchJournal journal = batchJournalService.open("save_" + yearMonth, resume)) {
+        List<String> pendingFiles = new ArrayList<>();
+        for (String excelFileName : excelFiles) {
+          if (journal.isCompleted(excelFileName)) {
+            log.info("前回の実行で更新済みのため省略しました: {}", excelFileName);
+          } else {
+            pendingFiles.add(excelFileName);
+          }
+        }
+        progress.start(pendingFiles.size());
+
+        for (String excelFileName : pendingFiles) {
+          if (progress.isCancelRequested()) {
+            log.info("キャンセルの要求により保存処理を中断しました: {}/{}件", updatedFiles, pendingFiles.size());
+            break;
+          }
+          try {
+            journal.started(excelFileName);
+            int updatedRows =
+                workScheduler.run(
+                    WorkPriority.BATCH, () -> updateFromCsv(excelFileName, csvFileName));
+            journal.completed(excelFileName);
+            log.info("ファイル更新完了: {} ({}行更新)", excelFileName, updatedRows);
+            updatedFiles++;
+          } catch (Exception e) {
+            log.error("ファイル更新中にエラーが発生しました: {}", excelFileName, e);
+          }
+          progress.advance();
         }
+      } catch (IOException e) {
+        throw new UncheckedIOException("ジャーナルを開けませんでした", e);
       }
 
       return updatedFiles;
@@ -496,16 +1133,60 @@ public class ReportService {
                    CSVファイルで報告書を更新します
                    例: update-file --file "田中太郎_202506_作業報告書.xls" --csv "work_data.csv"
 
-                3. save
+                3. create-year --year <年> --user <ユーザー名> --client <クライアント名>
+                   1月〜12月のシートを含む年間報告書ファイルを作成します
+                   例: create-year --year 2025 --user "田中太郎" --client "株式会社サンプル"
+
+                4. save [--resume] [--background]
                    最新のCSVファイルを対応するExcelファイルに適用します
+                   --resume を指定すると、前回中断した実行のうち更新済みのファイルを省略します
+                   --background を指定すると、バックグラウンドで実行します（save / send-all / run-jobs 共通）
                    例: save
 
-                4. send [--file <ファイル名>]
+                5. send [--file <ファイル名>] [--csv <CSVファイル名>] [--force]
                    Excelファイルをパスワード付きZIPにして送信します
+                   前回の送信から変更がない場合は省略します（--force で再送信）
                    例: send
                    例: send --file "田中太郎_202506_作業報告書.xls"
 
-                5. help
+                6. send-all --month <月> [--bundle] [--force] [--resume] [--csv <CSVファイル名>] [--background]
+                   指定した月のすべての報告書をパスワード付きZIPにして送信します
+                   前回の送信から変更がない報告書は省略します（--force で再送信）
+                   --bundle を指定すると、すべての報告書を1つのZIP（1つのパスワード）にまとめます
+                   --resume を指定すると、前回中断した実行のうち送信済みの報告書を省略します
+                   --csv を指定すると、送信前に各報告書へCSVを適用します
+                   例: send-all --month 2025/06
+                   例: send-all --month 2025/06 --bundle
+                   例: send-all --month 2025/06 --csv "202506_work_data.csv"
+
+                7. run-jobs --file <ジョブファイル> [--resume] [--background]
+                   ジョブファイル（JSON）に記述したコマンドを依存関係に従って並列に実行します
+                   同じ報告書に対するジョブは create-file → update-file → send の順に実行します
+                   --resume を指定すると、前回中断した実行のうち完了したジョブを省略します
+                   例: run-jobs --file "jobs.json"
+
+                8. jobs [--id <ジョブ番号>]
+                   --background で開始したコマンドの進捗（件数・処理速度・残り時間）と結果を表示します
+                   例: jobs
+                   例: jobs --id 1
+
+                9. cancel --id <ジョブ番号>
+                   --background で開始したコマンドをキャンセルします（処理中のファイルの保存後に停止します）
+                   例: cancel --id 1
+
+                10. scheduler-stats
+                   優先度クラス（interactive / batch）ごとの実行中・待機中の件数と待ち時間を表示します
+                   create-file / create-year / update-file / send は、バックグラウンドの処理より先に実行されます
+                   例: scheduler-stats
+
+                11. stats [--file <ファイル名>]
+                   報告書の作成・CSVからの更新・ZIP作成・メール文面生成の段階ごとの処理時間（p50 / p95 / max）と
+                   更新・クリアした行数、書き込んだバイト数を表示します
+                   --file を指定すると、統計をJSONファイルに書き出します（変更前後の比較用）
+                   例: stats
+                   例: stats --file "local-data/stats/before.json"
+
+                12. help
                    このヘルプを表示します
 
                 CSVファイル形式:
@@ -524,27 +1205,68 @@ public class ReportService {
    * WorkRecordを処理し、Excelシートに反映します
    *
    * @param sheet 対象のシート
+   * @param layout 書き込みに使用するレイアウト
    * @param record 処理対象のWorkRecord
+   * @param styleCache 対象ワークブックのスタイルキャッシュ
    */
-  private void processWorkRecord(HSSFSheet sheet, WorkRecord record) {
+  private void processWorkRecord(
+      Sheet sheet, ReportLayoutPlan layout, WorkRecord record, CellStyleCache styleCache) {
     // 日付をキーとして該当行特定
-    int rowIndex = excelService.findRowByDate(sheet, record.getDate());
+    int rowIndex = layout.rowOfDay(record.getDate().getDayOfMonth());
 
-    if (rowIndex >= 0) {
+    if (excelService.hasRow(sheet, rowIndex)) {
       // 開始時刻・終了時刻・休憩時間・作業内容更新
-      String startTimeCell = START_TIME_COLUMN + rowIndex;
-      String endTimeCell = END_TIME_COLUMN + rowIndex;
-      String breakTimeCell = BREAK_TIME_COLUMN + rowIndex;
-      String workContentCell = WORK_CONTENT_COLUMN + rowIndex;
-
-      excelService.setCellValue(sheet, startTimeCell, record.getStartTimeString());
-      excelService.setCellValue(sheet, endTimeCell, record.getEndTimeString());
-      excelService.setCellValue(sheet, breakTimeCell, record.getBreakTimeString());
-      excelService.setCellValue(sheet, workContentCell, record.getWorkContent());
+      writeTime(sheet, rowIndex, layout.getStartTimeColumn(), record.getStartTime(), styleCache);
+      writeTime(sheet, rowIndex, layout.getEndTimeColumn(), record.getEndTime(), styleCache);
+      writeDuration(
+          sheet, rowIndex, layout.getBreakTimeColumn(), record.getBreakTime(), styleCache);
+      excelService.setCellValue(
+          sheet, rowIndex, layout.getWorkContentColumn(), record.getWorkContent());
 
       // Q列のセルをクリア
-      String qColumnCell = Q_COLUMN + rowIndex;
-      excelService.clearCell(sheet, qColumnCell);
+      excelService.clearCell(sheet, rowIndex, layout.getOverflowColumn());
+    }
+  }
+
+  /**
+   * 時刻をセルに書き込みます。書き込み方式（work-report.time-cell-mode）に従い文字列または数値で設定します
+   *
+   * @param sheet 対象のシート
+   * @param rowIndex 行番号（0ベース）
+   * @param columnIndex 列番号（0ベース）
+   * @param time 書き込む時刻
+   * @param styleCache 対象ワークブックのスタイルキャッシュ
+   */
+  private void writeTime(
+      Sheet sheet, int rowIndex, int columnIndex, TimeOfDay time, CellStyleCache styleCache) {
+    if (timeCellMode == TimeCellMode.NUMERIC) {
+      excelService.setCellTimeValue(
+          sheet, rowIndex, columnIndex, time.toExcelDayFraction(), styleCache);
+    } else {
+      excelService.setCellValue(sheet, rowIndex, columnIndex, time.format());
+    }
+  }
+
+  /**
+   * 時間をセルに書き込みます。書き込み方式（work-report.time-cell-mode）に従い文字列または数値で設定します
+   *
+   * @param sheet 対象のシート
+   * @param rowIndex 行番号（0ベース）
+   * @param columnIndex 列番号（0ベース）
+   * @param duration 書き込む時間
+   * @param styleCache 対象ワークブックのスタイルキャッシュ
+   */
+  private void writeDuration(
+      Sheet sheet,
+      int rowIndex,
+      int columnIndex,
+      WorkDuration duration,
+      CellStyleCache styleCache) {
+    if (timeCellMode == TimeCellMode.NUMERIC) {
+      excelService.setCellTimeValue(
+          sheet, rowIndex, columnIndex, duration.toExcelDayFraction(), styleCache);
+    } else {
+      excelService.setCellValue(sheet, rowIndex, columnIndex, duration.format());
     }
   }
 
@@ -552,12 +1274,16 @@ public class ReportService {
    * CSVファイルに含まれない平日の行をクリアします
    *
    * @param sheet 対象のシート
+   * @param layout 書き込みに使用するレイアウト
    * @param workdays 対象月の全ての平日
    * @param csvDates CSVファイルに含まれる日付のリスト
    * @return クリアした行数
    */
   private int clearRowsNotInCsv(
-      HSSFSheet sheet, List<LocalDate> workdays, List<LocalDate> csvDates) {
+      Sheet sheet,
+      ReportLayoutPlan layout,
+      List<LocalDate> workdays,
+      List<LocalDate> csvDates) {
     int clearedCount = 0;
 
     for (LocalDate workday : workdays) {
@@ -565,19 +1291,13 @@ public class ReportService {
         continue;
       }
 
-      int rowIndex = excelService.findRowByDate(sheet, workday);
-      if (rowIndex >= 0) {
+      int rowIndex = layout.rowOfDay(workday.getDayOfMonth());
+      if (excelService.hasRow(sheet, rowIndex)) {
         // 開始時刻・終了時刻・休憩時間・作業内容をクリア
-        String startTimeCell = START_TIME_COLUMN + rowIndex;
-        String endTimeCell = END_TIME_COLUMN + rowIndex;
-        String breakTimeCell = BREAK_TIME_COLUMN + rowIndex;
-        String workContentCell = WORK_CONTENT_COLUMN + rowIndex;
-
-        // セルをクリア
-        excelService.clearCell(sheet, startTimeCell);
-        excelService.clearCell(sheet, endTimeCell);
-        excelService.clearCell(sheet, breakTimeCell);
-        excelService.clearCell(sheet, workContentCell);
+        excelService.clearCell(sheet, rowIndex, layout.getStartTimeColumn());
+        excelService.clearCell(sheet, rowIndex, layout.getEndTimeColumn());
+        excelService.clearCell(sheet, rowIndex, layout.getBreakTimeColumn());
+        excelService.clearCell(sheet, rowIndex, layout.getWorkContentColumn());
 
         clearedCount++;
         log.debug("CSVに含まれない日付の行をクリア: {} ({})", workday, workday.getDayOfWeek());
@@ -613,9 +1333,11 @@ public class ReportService {
    * 1バイト文字は0.5、2バイト文字は1としてカウントします
    *
    * @param sheet 対象のシート
+   * @param layout 書き込みに使用するレイアウト
    * @param records 処理対象のWorkRecordリスト
    */
-  private void adjustQColumnWidthBasedOnByteCount(HSSFSheet sheet, List<WorkRecord> records) {
+  private void adjustQColumnWidthBasedOnByteCount(
+      Sheet sheet, ReportLayoutPlan layout, List<WorkRecord> records) {
     // J列の内容の最大バイト数を計算
     BigDecimal maxByteCount =
         records.stream()
@@ -639,10 +1361,10 @@ public class ReportService {
       int columnWidthInPoi = excessCharCount * 256;
 
       // Q列の幅を設定（超過分の幅）
-      excelService.setColumnWidth(sheet, Q_COLUMN_INDEX, columnWidthInPoi);
+      excelService.setColumnWidth(sheet, layout.getOverflowColumn(), columnWidthInPoi);
     } else {
       // 50バイト以下の場合はデフォルト幅に戻す
-      excelService.setColumnWidth(sheet, Q_COLUMN_INDEX, DEFAULT_COLUMN_WIDTH);
+      excelService.setColumnWidth(sheet, layout.getOverflowColumn(), DEFAULT_COLUMN_WIDTH);
     }
   }
 
@@ -715,6 +1437,76 @@ public class ReportService {
     return targetDate;
   }
 
+  /**
+   * 既存の報告書シートに対応するレイアウトを判定します
+   *
+   * <p>各レイアウトのクライアント名セルを読み取り、対象クライアントに一致するレイアウトを返します。
+   *
+   * @param sheet 対象のシート
+   * @return 判定したレイアウト、一致するものがない場合はデフォルトレイアウト
+   */
+  private ReportLayoutPlan resolveLayout(Sheet sheet) {
+    return resolveLayout((row, column) -> excelService.getCellStringValue(sheet, row, column));
+  }
+
+  /**
+   * 既存の報告書に対応するレイアウトを判定します
+   *
+   * @param cellReader 既存の報告書のセルの文字列を読み取る処理
+   * @return 判定したレイアウト、一致するものがない場合はデフォルトレイアウト
+   */
+  private ReportLayoutPlan resolveLayout(CellReader cellReader) {
+    for (ReportLayoutPlan plan : layoutRegistry.getPlans()) {
+      if (plan.getClients().isEmpty()) {
+        continue;
+      }
+      CellIndex clientNameCell = plan.getClientNameCell();
+      String client = cellReader.read(clientNameCell.row(), clientNameCell.column());
+      if (plan.matchesClient(client)) {
+        return plan;
+      }
+    }
+    return layoutRegistry.getDefaultPlan();
+  }
+
+  /**
+   * レイアウトで使用するテンプレートファイルを返します
+   *
+   * @param layout 対象のレイアウト
+   * @return レイアウト専用のテンプレートファイル、未指定の場合は共通のテンプレートファイル
+   */
+  private String templateFileOf(ReportLayoutPlan layout) {
+    return layout.getTemplateFile() != null ? layout.getTemplateFile() : templateFile;
+  }
+
+  /**
+   * レイアウトの基本情報のセル（対象月、クライアント名、ユーザー名）を返します
+   *
+   * @param layout 対象のレイアウト
+   * @return 基本情報のセル
+   */
+  private List<CellIndex> headerCellsOf(ReportLayoutPlan layout) {
+    return List.of(
+        layout.getTargetMonthCell(), layout.getClientNameCell(), layout.getUserNameCell());
+  }
+
+  /**
+   * .xlsx 形式で書き出せるレイアウトか確認します
+   *
+   * <p>行ストリーミングでは各日の行より前の行を見出しとして書き込むため、基本情報のセルは1日の行より前に配置する必要があります。
+   *
+   * @param layout 対象のレイアウト
+   * @throws IllegalStateException 基本情報のセルが1日の行以降にある場合
+   */
+  private void checkHeaderCells(ReportLayoutPlan layout) {
+    for (CellIndex cell : headerCellsOf(layout)) {
+      if (cell.row() >= layout.getFirstDayRow()) {
+        throw new IllegalStateException(
+            "xlsx形式では基本情報のセルを1日の行より前に配置してください: " + layout.getName());
+      }
+    }
+  }
+
   /**
    * ファイル名から年月を抽出します（user_yyyymm_作業報告書.xls）
    *
@@ -722,15 +1514,99 @@ public class ReportService {
    * @return 年月（yyyymm形式）、抽出できない場合はnull
    */
   public String extractYearMonthFromFileName(String fileName) {
-    // ReportService.updateFromCsv と同じ方法で年月を抽出
-    String[] parts = fileName.split("_");
-    if (parts.length >= 2) {
-      String yearMonth = parts[1];
-      if (yearMonth.length() == 6 && yearMonth.matches("\\d{6}")) {
-        return yearMonth;
+    // 年月は末尾から解析するため、アンダースコアを含むユーザー名にも対応する
+    return ReportFileName.parse(fileName).map(ReportFileName::getYearMonth).orElse(null);
+  }
+
+  /**
+   * 報告書ファイルのパスを返します
+   *
+   * <p>年月別の出力レイアウトの場合は 出力ディレクトリ/yyyy/mm 配下のパスになります。
+   *
+   * @param fileName ファイル名（user_yyyymm_作業報告書.xls）
+   * @return 報告書ファイルのパス、報告書のファイル名形式でない場合は出力ディレクトリ直下のパス
+   */
+  public Path resolveReportPath(String fileName) {
+    return ReportFileName.parse(fileName)
+        .map(this::resolveReportPath)
+        .orElseGet(() -> Paths.get(outputDir, fileName));
+  }
+
+  private Path resolveReportPath(ReportFileName reportFileName) {
+    return outputLayout
+        .monthDirectory(Paths.get(outputDir), reportFileName.getYearMonth())
+        .resolve(reportFileName.toFileName());
+  }
+
+  /**
+   * 報告書のクライアント名を返します
+   *
+   * <p>カタログが有効な場合はカタログのエントリから取得し、記録されていない場合は報告書のレイアウトで定義された
+   * クライアント名のセルを読み取ります。
+   *
+   * @param fileName ファイル名（user_yyyymm_作業報告書.xls）
+   * @return クライアント名、取得できない場合はnull
+   */
+  public String findClient(String fileName) {
+    Optional<ReportFileName> reportFileName = ReportFileName.parse(fileName);
+    if (reportFileName.isPresent() && reportCatalog.isEnabled()) {
+      Optional<String> client =
+          reportCatalog.findByYearMonth(reportFileName.get().getYearMonth()).stream()
+              .filter(entry -> entry.fileName().equals(fileName))
+              .map(ReportCatalogEntry::client)
+              .filter(Objects::nonNull)
+              .findFirst();
+      if (client.isPresent()) {
+        return client.get();
+      }
+    }
+
+    Path excelFile = resolveReportPath(fileName);
+    try {
+      if (ReportFormat.fromFileName(fileName) == ReportFormat.XLSX) {
+        XlsxSheetValues values = excelService.readXlsxValues(excelFile);
+        CellIndex clientNameCell = resolveLayout(values::getString).getClientNameCell();
+        return values.getString(clientNameCell.row(), clientNameCell.column());
+      }
+      try (Workbook workbook = excelService.loadWorkbook(excelFile.toString())) {
+        Sheet sheet = workbook.getSheetAt(0);
+        CellIndex clientNameCell = resolveLayout(sheet).getClientNameCell();
+        return excelService.getCellStringValue(
+            sheet, clientNameCell.row(), clientNameCell.column());
       }
+    } catch (IOException | UncheckedIOException e) {
+      log.warn("報告書からクライアント名を読み取れませんでした: {}", excelFile, e);
+      return null;
     }
-    return null;
+  }
+
+  /**
+   * 作成・更新した報告書ファイルをカタログまたはディレクトリインデックスに反映します
+   *
+   * @param reportFileName 報告書ファイル名
+   * @param client クライアント名
+   * @param file 報告書ファイルのパス
+   */
+  private void recordReportFile(ReportFileName reportFileName, String client, Path file) {
+    if (reportCatalog.isEnabled()) {
+      reportCatalog.record(reportFileName, client, file);
+    } else {
+      directoryIndex.recordReportFile(reportFileName.toFileName());
+    }
+  }
+
+  /** 既存の報告書のセルの文字列を読み取る処理 */
+  @FunctionalInterface
+  private interface CellReader {
+
+    /**
+     * セルの文字列を読み取ります
+     *
+     * @param row 行番号（0ベース）
+     * @param column 列番号（0ベース）
+     * @return セルの文字列、値がない場合はnull
+     */
+    String read(int row, int column);
   }
 
   /** CSVファイル情報を保持するレコードクラス */
@@ -0,0 +1,116 @@
+package com.kos0514.work_report_generator.service.report;
+
+import com.kos0514.work_report_generator.model.layout.ReportLayoutPlan;
+import com.kos0514.work_report_generator.service.file.ExcelService;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * シェルの起動直後に、報告書の作成・更新で使用する処理を事前に実行しておくサービスクラス
+ *
+ * <p>セッションで最初の {@code create-file} / {@code update-file} は、POIのクラス読み込み・テンプレートの解析・JITの
+ * ウォームアップのため2回目以降より大幅に遅くなります。{@code work-report.warm-up.enabled} が true の場合、起動直後に
+ * 仮想スレッドで祝日データの読み込み、テンプレートの読み込み（計算式の評価と書き出しを含む）を行い、
+ * プロンプトの表示は待たせません。コマンドを1回だけ実行するモードでは行いません。
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportWarmUpService {
+  private static final String THREAD_NAME = "report-warm-up";
+
+  @Lazy private final ExcelService excelService;
+  private final HolidayService holidayService;
+  private final ReportLayoutRegistry layoutRegistry;
+
+  /** ウォームアップを行うかどうか */
+  @Value("${work-report.warm-up.enabled:false}")
+  private boolean enabled;
+
+  /** コマンドを1回だけ実行するモードかどうか */
+  @Value("${work-report.cli.one-shot:false}")
+  private boolean oneShot;
+
+  @Value("${work-report.template-file}")
+  private String templateFile;
+
+  /** アプリケーションの起動後（シェルの起動前）に、ウォームアップを仮想スレッドで開始します */
+  @EventListener(ApplicationStartedEvent.class)
+  public void onApplicationStarted() {
+    if (!enabled || oneShot) {
+      return;
+    }
+    Thread.ofVirtual().name(THREAD_NAME).start(this::warmUp);
+  }
+
+  /**
+   * ウォームアップを呼び出したスレッドで実行します
+   *
+   * <p>失敗しても報告書の作成・更新には影響しないため、ログに出力して終了します。
+   */
+  public void warmUp() {
+    long startTime = System.nanoTime();
+    try {
+      // 祝日インデックスの作成
+      holidayService.isHoliday(LocalDate.now());
+
+      // テンプレートの読み込み・計算式の評価・書き出し
+      int templateCount = 0;
+      for (String template : templateFiles()) {
+        if (!Files.exists(Paths.get(template))) {
+          continue;
+        }
+        try (Workbook workbook = excelService.loadWorkbook(template)) {
+          touch(workbook);
+        }
+        templateCount++;
+      }
+
+      // テンプレートがない場合も、HSSFの書き込み処理は実行しておく
+      if (templateCount == 0) {
+        try (Workbook workbook = new HSSFWorkbook()) {
+          Sheet sheet = workbook.createSheet();
+          excelService.setCellValue(sheet, "A1", THREAD_NAME);
+          touch(workbook);
+        }
+      }
+
+      long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+      log.info("ウォームアップ完了: {} ms (テンプレート: {}件)", elapsedMillis, templateCount);
+    } catch (IOException | RuntimeException e) {
+      log.warn("ウォームアップに失敗しました: {}", e.getMessage());
+    }
+  }
+
+  private void touch(Workbook workbook) throws IOException {
+    excelService.evaluateAllFormulaCells(workbook);
+    excelService.writeWorkbook(workbook, OutputStream.nullOutputStream());
+  }
+
+  /** デフォルトのテンプレートとレイアウト専用のテンプレート */
+  private Set<String> templateFiles() {
+    Set<String> templates = new LinkedHashSet<>();
+    templates.add(templateFile);
+    for (ReportLayoutPlan plan : layoutRegistry.getPlans()) {
+      if (plan.getTemplateFile() != null) {
+        templates.add(plan.getTemplateFile());
+      }
+    }
+    return templates;
+  }
+}
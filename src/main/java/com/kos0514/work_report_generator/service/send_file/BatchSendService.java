@@ -0,0 +1,731 @@
+package com.kos0514.work_report_generator.service.send_file;
+
+import com.kos0514.work_report_generator.model.ReportFileName;
+import com.kos0514.work_report_generator.model.job.StageStats;
+import com.kos0514.work_report_generator.model.job.WorkPriority;
+import com.kos0514.work_report_generator.model.send.DeliveryResult;
+import com.kos0514.work_report_generator.model.send.SendManifestEntry;
+import com.kos0514.work_report_generator.service.config.ConfigService;
+import com.kos0514.work_report_generator.service.config.UserInputService;
+import com.kos0514.work_report_generator.service.file.ZipService;
+import com.kos0514.work_report_generator.service.job.BatchJournal;
+import com.kos0514.work_report_generator.service.job.BatchJournalService;
+import com.kos0514.work_report_generator.service.job.FlowStage;
+import com.kos0514.work_report_generator.service.job.JobProgress;
+import com.kos0514.work_report_generator.service.job.WorkScheduler;
+import com.kos0514.work_report_generator.service.mail.MailTemplateService;
+import com.kos0514.work_report_generator.service.report.ReportService;
+import com.kos0514.work_report_generator.util.Constants;
+import com.kos0514.work_report_generator.util.DateUtil;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+/**
+ * 指定した月の報告書をまとめて送信するサービスクラス
+ *
+ * <p>報告書ごとの処理を「CSVの適用（POI、--csv 指定時のみ）」「ZIP作成（CPU）」「パスワード・メール文面の保存（I/O）」の段階に分け、
+ * 段階間を {@link java.util.concurrent.Flow} の背圧付きで接続して仮想スレッド上で並行に処理します。
+ * パスワードとメール文面は、送信先の作業ディレクトリ配下のユーザーごとのディレクトリに保存します。
+ * 前回の送信から変更されていない報告書は、送信マニフェストをもとにZIPの作成を省略します。
+ * 追加の送信先ディレクトリが設定されている場合は、作成したZIPをそれらにも配信します。
+ * 報告書ごとの送信の開始と完了はジャーナルに記録し、中断した送信を再開する場合は完了した報告書を省略します。
+ *
+ * <p>まとめて送信する場合は、対象月の報告書を1つのパスワード付きZIPに格納し、パスワードとメール文面は年月の作業ディレクトリに
+ * 保存します。
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BatchSendService {
+
+  /** まとめZIPのファイル名の接尾辞（yyyymm_作業報告書一式.zip） */
+  private static final String BUNDLE_FILE_SUFFIX = "_作業報告書一式";
+
+  private final ReportService reportService;
+  @Lazy private final ZipService zipService;
+  private final ConfigService configService;
+  private final MailTemplateService mailTemplateService;
+  private final UserInputService userInputService;
+  private final SendManifestService sendManifestService;
+  private final ReportDeliveryService reportDeliveryService;
+  private final BatchJournalService batchJournalService;
+  private final WorkScheduler workScheduler;
+
+  /** 各段階の並列数の既定値（0以下の場合はCPUコア数） */
+  @Value("${work-report.send.parallelism:0}")
+  private int parallelism;
+
+  /** CSV適用段階の並列数（0以下の場合は work-report.send.parallelism） */
+  @Value("${work-report.send.csv-parallelism:0}")
+  private int csvParallelism;
+
+  /** ZIP作成段階の並列数（0以下の場合は work-report.send.parallelism） */
+  @Value("${work-report.send.zip-parallelism:0}")
+  private int zipParallelism;
+
+  /** パスワード・メール文面保存段階の並列数（0以下の場合は work-report.send.parallelism） */
+  @Value("${work-report.send.mail-parallelism:0}")
+  private int mailParallelism;
+
+  /** 段階間のバッファの容量 */
+  @Value("${work-report.send.queue-capacity:16}")
+  private int queueCapacity;
+
+  /**
+   * 指定した月のすべての報告書をパスワード付きZIPにして送信します
+   *
+   * @param month 対象月（yyyy/MM形式）
+   * @return 処理結果の集計メッセージ
+   */
+  public String sendAll(String month) {
+    return sendAll(month, false, false);
+  }
+
+  /**
+   * 指定した月のすべての報告書をパスワード付きZIPにして送信します
+   *
+   * @param month 対象月（yyyy/MM形式）
+   * @param bundle trueの場合はすべての報告書を1つのZIPにまとめる
+   * @param force trueの場合は前回の送信から変更がない報告書も送信する（まとめる場合は常に送信）
+   * @return 処理結果の集計メッセージ
+   */
+  public String sendAll(String month, boolean bundle, boolean force) {
+    return sendAll(month, bundle, force, false);
+  }
+
+  /**
+   * 指定した月のすべての報告書をパスワード付きZIPにして送信します
+   *
+   * @param month 対象月（yyyy/MM形式）
+   * @param bundle trueの場合はすべての報告書を1つのZIPにまとめる
+   * @param force trueの場合は前回の送信から変更がない報告書も送信する（まとめる場合は常に送信）
+   * @param resume trueの場合は前回の実行で送信が完了した報告書を省略する（まとめる場合は無視）
+   * @return 処理結果の集計メッセージ
+   */
+  public String sendAll(String month, boolean bundle, boolean force, boolean resume) {
+    return sendAll(month, bundle, force, resume, "");
+  }
+
+  /**
+   * 指定した月のすべての報告書にCSVを適用してから、パスワード付きZIPにして送信します
+   *
+   * @param month 対象月（yyyy/MM形式）
+   * @param bundle trueの場合はすべての報告書を1つのZIPにまとめる
+   * @param force trueの場合は前回の送信から変更がない報告書も送信する（まとめる場合は常に送信）
+   * @param resume trueの場合は前回の実行で送信が完了した報告書を省略する（まとめる場合は無視）
+   * @param csvFile 送信前に適用するCSVファイル名（空の場合は適用しない）
+   * @return 処理結果の集計メッセージ
+   */
+  public String sendAll(
+      String month, boolean bundle, boolean force, boolean resume, String csvFile) {
+    return sendAll(month, bundle, force, resume, csvFile, JobProgress.untracked());
+  }
+
+  /**
+   * 指定した月のすべての報告書をパスワード付きZIPにして送信します
+   *
+   * <p>報告書1件ごとに進捗を記録し、キャンセルが要求された場合はまだZIPの作成を始めていない報告書を送信せずに終了します。
+   *
+   * @param month 対象月（yyyy/MM形式）
+   * @param bundle trueの場合はすべての報告書を1つのZIPにまとめる
+   * @param force trueの場合は前回の送信から変更がない報告書も送信する（まとめる場合は常に送信）
+   * @param resume trueの場合は前回の実行で送信が完了した報告書を省略する（まとめる場合は無視）
+   * @param progress 進捗とキャンセル要求を共有するオブジェクト
+   * @return 処理結果の集計メッセージ
+   */
+  public String sendAll(
+      String month, boolean bundle, boolean force, boolean resume, JobProgress progress) {
+    return sendAll(month, bundle, force, resume, "", progress);
+  }
+
+  /**
+   * 指定した月のすべての報告書にCSVを適用してから、パスワード付きZIPにして送信します
+   *
+   * <p>報告書1件ごとに進捗を記録し、キャンセルが要求された場合はまだZIPの作成を始めていない報告書を送信せずに終了します。
+   * CSVの適用に失敗した報告書は送信しません。
+   *
+   * @param month 対象月（yyyy/MM形式）
+   * @param bundle trueの場合はすべての報告書を1つのZIPにまとめる
+   * @param force trueの場合は前回の送信から変更がない報告書も送信する（まとめる場合は常に送信）
+   * @param resume trueの場合は前回の実行で送信が完了した報告書を省略する（まとめる場合は無視）
+   * @param csvFile 送信前に適用するCSVファイル名（空の場合は適用しない）
+   * @param progress 進捗とキャンセル要求を共有するオブジェクト
+   * @return 処理結果の集計メッセージ
+   */
+  public String sendAll(
+      String month,
+      boolean bundle,
+      boolean force,
+      boolean resume,
+      String csvFile,
+      JobProgress progress) {
+    try {
+      // 送信先ディレクトリの確認
+      String sendDir = configService.getSendDirectory();
+      if (sendDir == null || sendDir.isEmpty()) {
+        String newDir = userInputService.readLine("送信先ディレクトリを入力してください: ");
+        configService.setSendDirectory(newDir);
+        sendDir = newDir;
+      }
+
+      String yearMonth = DateUtil.getFileNameMonth(month);
+      List<String> excelFiles = reportService.findExcelFilesByYearMonth(yearMonth);
+      if (excelFiles.isEmpty()) {
+        return "送信可能なExcelファイルが見つかりません: " + month;
+      }
+
+      List<String> destinations = configService.getAdditionalSendDirectories();
+      if (bundle) {
+        return sendBundle(excelFiles, sendDir, destinations, yearMonth, csvFile);
+      }
+
+      try (BatchJournal journal = batchJournalService.open("send-all_" + yearMonth, resume)) {
+        List<String> pendingFiles =
+            excelFiles.stream().filter(fileName -> !journal.isCompleted(fileName)).toList();
+        int resumedCount = excelFiles.size() - pendingFiles.size();
+        progress.start(pendingFiles.size());
+
+        long startTime = System.nanoTime();
+        List<StageStats> stageStats = new ArrayList<>();
+        List<SendResult> results =
+            runPipeline(
+                pendingFiles,
+                sendDir,
+                destinations,
+                force,
+                csvFile,
+                journal,
+                progress,
+                stageStats);
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+
+        String summary =
+            buildSummary(sendDir, yearMonth, results, resumedCount, elapsedMillis, stageStats);
+        if (progress.isCancelRequested()) {
+          int cancelledCount = pendingFiles.size() - results.size();
+          return summary + "- キャンセルの要求により送信しなかった報告書: " + cancelledCount + " 件\n";
+        }
+        return summary;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return "エラー: 一括送信が中断されました";
+    } catch (Exception e) {
+      log.error("一括送信中にエラーが発生しました", e);
+      return "エラー: " + e.getMessage();
+    }
+  }
+
+  /**
+   * 報告書を1つのパスワード付きZIPにまとめ、パスワードとメール文面を年月の作業ディレクトリに保存します
+   *
+   * @param excelFiles 送信するExcelファイル名のリスト
+   * @param sendDir 送信先ディレクトリ
+   * @param destinations 追加の送信先ディレクトリ
+   * @param yearMonth 年月（yyyymm形式）
+   * @param csvFile まとめる前に各報告書に適用するCSVファイル名（空の場合は適用しない）
+   * @return 処理結果のメッセージ
+   * @throws IOException ZIP作成またはファイル保存に失敗した場合
+   * @throws InterruptedException 配信が中断された場合
+   */
+  private String sendBundle(
+      List<String> excelFiles,
+      String sendDir,
+      List<String> destinations,
+      String yearMonth,
+      String csvFile)
+      throws IOException, InterruptedException {
+    if (csvFile != null && !csvFile.isEmpty()) {
+      // まとめZIPは1つでも古い報告書を含めないよう、CSVの適用に失敗した時点で中止する
+      for (String fileName : excelFiles) {
+        workScheduler.run(
+            WorkPriority.BATCH, () -> reportService.updateFromCsv(fileName, csvFile));
+      }
+    }
+    List<Path> sourceFiles = excelFiles.stream().map(reportService::resolveReportPath).toList();
+    String zipFilePath =
+        Paths.get(sendDir, yearMonth + BUNDLE_FILE_SUFFIX + Constants.Files.ZIP_EXTENSION)
+            .toString();
+
+    long startTime = System.nanoTime();
+    String password = zipService.createPasswordProtectedBundle(sourceFiles, zipFilePath);
+    zipService.savePasswordToFile(yearMonth, password);
+    // すべての報告書のクライアントが同じ場合だけ、メール文面にクライアント名を埋め込む
+    List<String> clients =
+        excelFiles.stream().map(reportService::findClient).distinct().toList();
+    mailTemplateService.generateAndSaveMailTemplates(
+        yearMonth,
+        password,
+        clients.size() == 1 && clients.getFirst() != null
+            ? Map.of(MailTemplateService.VAR_CLIENT, clients.getFirst())
+            : Map.of());
+    List<DeliveryResult> deliveries =
+        reportDeliveryService.deliver(Paths.get(zipFilePath), destinations);
+    long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+
+    StringBuilder message = new StringBuilder();
+    message
+        .append("一括送信完了: ")
+        .append(excelFiles.size())
+        .append(" 件を1つのZIPにまとめました (")
+        .append(elapsedMillis)
+        .append(" ms)\n");
+    message.append("- ZIP: ").append(zipFilePath).append("\n");
+    for (String fileName : excelFiles) {
+      message.append("  - ").append(fileName).append("\n");
+    }
+    for (DeliveryResult delivery : deliveries) {
+      message.append("- 配信先: ").append(delivery.describe()).append("\n");
+    }
+    String workDirPath =
+        Paths.get(sendDir, Constants.Files.WORK_DIR, yearMonth.substring(0, 4), yearMonth)
+            .toString();
+    message.append("- パスワード・メール文面保存先: ").append(workDirPath).append("\n");
+    return message.toString();
+  }
+
+  /**
+   * CSVの適用、ZIP作成、パスワード・メール文面の保存を {@link FlowStage} のパイプラインで実行します
+   *
+   * <p>各段階は同時に処理する件数だけを上流に要求し、下流のバッファが一杯の場合は空くまで待つため、
+   * 遅い段階があると上流の段階と報告書の投入も待たされます。
+   *
+   * @param excelFiles 送信するExcelファイル名のリスト
+   * @param sendDir 送信先ディレクトリ
+   * @param destinations 追加の送信先ディレクトリ
+   * @param force trueの場合は変更がない報告書もZIPを作成する
+   * @param csvFile 送信前に適用するCSVファイル名（空の場合は適用しない）
+   * @param journal 送信の開始と完了を記録するジャーナル
+   * @param progress 進捗とキャンセル要求を共有するオブジェクト
+   * @param stageStats 段階ごとの統計の追加先
+   * @return ファイルごとの処理結果（キャンセルした報告書は含まない）
+   * @throws InterruptedException 処理が中断された場合
+   * @throws ExecutionException パイプラインが異常終了した場合
+   */
+  private List<SendResult> runPipeline(
+      List<String> excelFiles,
+      String sendDir,
+      List<String> destinations,
+      boolean force,
+      String csvFile,
+      BatchJournal journal,
+      JobProgress progress,
+      List<StageStats> stageStats)
+      throws InterruptedException, ExecutionException {
+    int capacity = Math.max(1, queueCapacity);
+    boolean withCsv = csvFile != null && !csvFile.isEmpty();
+    ConcurrentLinkedQueue<SendResult> results = new ConcurrentLinkedQueue<>();
+
+    log.info(
+        "一括送信を開始します: {}件 (並列数: csv {}, zip {}, mail {})",
+        excelFiles.size(),
+        withCsv ? parallelismOf(csvParallelism) : 0,
+        parallelismOf(zipParallelism),
+        parallelismOf(mailParallelism));
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      List<FlowStage<?, ?>> stages = new ArrayList<>();
+      SubmissionPublisher<SendItem> source = new SubmissionPublisher<>(executor, capacity);
+      Flow.Publisher<SendItem> upstream = source;
+
+      // 第1段階（--csv 指定時）: CSVを報告書に適用して保存（POI）
+      if (withCsv) {
+        FlowStage<SendItem, SendItem> csvStage =
+            new FlowStage<>(
+                "csv",
+                parallelismOf(csvParallelism),
+                capacity,
+                executor,
+                item -> applyCsv(item, csvFile, results, progress),
+                (item, e) -> recordFailure(item, e, results, progress));
+        upstream.subscribe(csvStage);
+        upstream = csvStage;
+        stages.add(csvStage);
+      }
+
+      // 第2段階: パスワード付きZIPの作成（CPU）
+      FlowStage<SendItem, SendItem> zipStage =
+          new FlowStage<>(
+              "zip",
+              parallelismOf(zipParallelism),
+              capacity,
+              executor,
+              item -> {
+                if (progress.isCancelRequested()) {
+                  // キャンセル後はZIPの作成を始めずに読み捨てる
+                  return null;
+                }
+                SendItem zipped =
+                    workScheduler.run(
+                        WorkPriority.BATCH, () -> zip(item, sendDir, force, journal, results));
+                if (zipped == null) {
+                  // 失敗・変更なしの結果はZIP作成段階で確定する
+                  progress.advance();
+                }
+                return zipped;
+              },
+              // 実行待ちの間に中断された場合（CancellationException）なども、報告書の失敗として記録する
+              (item, e) -> recordFailure(item, e, results, progress));
+      upstream.subscribe(zipStage);
+      stages.add(zipStage);
+
+      // 第3段階: パスワードファイルとメール文面の保存、追加の送信先への配信（I/O）
+      FlowStage<SendItem, SendResult> mailStage =
+          new FlowStage<>(
+              "mail",
+              parallelismOf(mailParallelism),
+              capacity,
+              executor,
+              item -> {
+                SendResult result = saveSendFiles(item, sendDir, destinations, journal);
+                progress.advance();
+                return result;
+              },
+              (item, e) -> {
+                progress.advance();
+                return SendResult.failure(item.fileName(), e.getMessage());
+              });
+      zipStage.subscribe(mailStage);
+      stages.add(mailStage);
+      CompletableFuture<Void> completed = mailStage.consume(results::add);
+
+      // 報告書の投入（先頭の段階のバッファが一杯の場合はここで待つ）
+      for (String fileName : excelFiles) {
+        if (progress.isCancelRequested()) {
+          break;
+        }
+        source.submit(new SendItem(fileName, null, null, null, null));
+      }
+      source.close();
+      completed.get();
+
+      for (FlowStage<?, ?> stage : stages) {
+        stageStats.add(stage.stats());
+      }
+      log.info(
+          "一括送信の段階ごとの最大滞留数: {}",
+          stageStats.stream().map(StageStats::describe).collect(Collectors.joining(", ")));
+    }
+
+    List<SendResult> sorted = new ArrayList<>(results);
+    sorted.sort(Comparator.comparing(SendResult::fileName));
+    return sorted;
+  }
+
+  /** 段階の並列数（0以下の場合は work-report.send.parallelism、それも0以下の場合はCPUコア数） */
+  private int parallelismOf(int stageParallelism) {
+    if (stageParallelism > 0) {
+      return stageParallelism;
+    }
+    return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+  }
+
+  /**
+   * 段階の処理が例外で終了した報告書を、失敗の結果として記録します
+   *
+   * @param item 処理対象
+   * @param e 段階の処理で発生した例外
+   * @param results 結果を追加するキュー
+   * @param progress 進捗とキャンセル要求を共有するオブジェクト
+   * @return 常にnull（下流の段階へ渡さない）
+   */
+  private SendItem recordFailure(
+      SendItem item,
+      RuntimeException e,
+      ConcurrentLinkedQueue<SendResult> results,
+      JobProgress progress) {
+    results.add(SendResult.failure(item.fileName(), e.getMessage()));
+    progress.advance();
+    return null;
+  }
+
+  /**
+   * CSVを報告書に適用して保存します
+   *
+   * @param item 処理対象
+   * @param csvFile 適用するCSVファイル名
+   * @param results 失敗した場合に結果を追加するキュー
+   * @param progress 進捗とキャンセル要求を共有するオブジェクト
+   * @return 処理対象、キャンセルされた場合と失敗した場合はnull
+   */
+  private SendItem applyCsv(
+      SendItem item,
+      String csvFile,
+      ConcurrentLinkedQueue<SendResult> results,
+      JobProgress progress) {
+    if (progress.isCancelRequested()) {
+      return null;
+    }
+    try {
+      int updatedRows =
+          workScheduler.run(
+              WorkPriority.BATCH, () -> reportService.updateFromCsv(item.fileName(), csvFile));
+      log.info("CSVを適用しました: {} ({}行更新)", item.fileName(), updatedRows);
+      return item;
+    } catch (Exception e) {
+      log.error("CSVの適用に失敗しました: {}", item.fileName(), e);
+      results.add(SendResult.failure(item.fileName(), "CSVの適用に失敗しました: " + e.getMessage()));
+      progress.advance();
+      return null;
+    }
+  }
+
+  /**
+   * パスワード付きZIPを作成します（前回の送信から変更がない場合は作成しません）
+   *
+   * @param item 処理対象
+   * @param sendDir 送信先ディレクトリ
+   * @param force trueの場合は変更がなくてもZIPを作成する
+   * @param journal 送信の開始と完了を記録するジャーナル
+   * @param results 失敗時・変更なしの場合に結果を追加するキュー
+   * @return ZIP作成後の処理対象、失敗した場合と変更がない場合はnull
+   */
+  private SendItem zip(
+      SendItem item,
+      String sendDir,
+      boolean force,
+      BatchJournal journal,
+      ConcurrentLinkedQueue<SendResult> results) {
+    String fileName = item.fileName();
+    journal.started(fileName);
+    try {
+      ReportFileName reportFileName =
+          ReportFileName.parse(fileName)
+              .orElseThrow(
+                  () -> new IllegalArgumentException("ファイル名から年月を抽出できません: " + fileName));
+
+      Path excelFile = reportService.resolveReportPath(fileName);
+      String sha256 = sendManifestService.hash(excelFile);
+      if (!force) {
+        Optional<SendManifestEntry> unchanged =
+            sendManifestService.findUnchanged(
+                sendDir, reportFileName.getYearMonth(), fileName, sha256);
+        if (unchanged.isPresent()) {
+          log.info("変更がないため送信を省略しました: {}", fileName);
+          journal.completed(fileName);
+          results.add(SendResult.unchanged(fileName, unchanged.get().zipFilePath()));
+          return null;
+        }
+      }
+
+      String zipFileName =
+          fileName.replaceFirst(
+              Constants.Files.EXCEL_EXTENSION_PATTERN, Constants.Files.ZIP_EXTENSION);
+      String zipFilePath = Paths.get(sendDir, zipFileName).toString();
+
+      String password = zipService.createPasswordProtectedZip(excelFile.toString(), zipFilePath);
+      return new SendItem(fileName, reportFileName, zipFilePath, password, sha256);
+    } catch (Exception e) {
+      log.error("ZIPファイルの作成に失敗しました: {}", fileName, e);
+      results.add(SendResult.failure(fileName, e.getMessage()));
+      return null;
+    }
+  }
+
+  /**
+   * パスワードファイルとメール文面をユーザーごとの作業ディレクトリに保存し、送信マニフェストに記録してから
+   * 追加の送信先へZIPを配信します
+   *
+   * @param item ZIP作成後の処理対象
+   * @param sendDir 送信先ディレクトリ
+   * @param destinations 追加の送信先ディレクトリ
+   * @param journal 送信の開始と完了を記録するジャーナル
+   * @return 処理結果
+   */
+  private SendResult saveSendFiles(
+      SendItem item, String sendDir, List<String> destinations, BatchJournal journal) {
+    try {
+      ReportFileName reportFileName = item.reportFileName();
+      String yearMonth = reportFileName.getYearMonth();
+      String user = reportFileName.getUser();
+
+      Path passwordFile = zipService.savePasswordToFile(yearMonth, user, item.password());
+      String client = reportService.findClient(item.fileName());
+      mailTemplateService.generateAndSaveMailTemplates(
+          yearMonth,
+          user,
+          item.password(),
+          client != null ? Map.of(MailTemplateService.VAR_CLIENT, client) : Map.of());
+      sendManifestService.record(
+          sendDir, yearMonth, item.fileName(), item.sha256(), item.zipFilePath(), passwordFile);
+
+      List<DeliveryResult> deliveries =
+          reportDeliveryService.deliver(Paths.get(item.zipFilePath()), destinations);
+
+      journal.completed(item.fileName());
+      log.info("ファイルを送信しました: {}", item.zipFilePath());
+      return SendResult.success(item.fileName(), item.zipFilePath(), deliveries);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return SendResult.failure(item.fileName(), "配信が中断されました");
+    } catch (Exception e) {
+      log.error("パスワード・メール文面の保存に失敗しました: {}", item.fileName(), e);
+      return SendResult.failure(item.fileName(), e.getMessage());
+    }
+  }
+
+  private String buildSummary(
+      String sendDir,
+      String yearMonth,
+      List<SendResult> results,
+      int resumedCount,
+      long elapsedMillis,
+      List<StageStats> stageStats) {
+    long successCount = results.stream().filter(SendResult::succeeded).count();
+    long unchangedCount = results.stream().filter(SendResult::unchanged).count();
+    long failureCount = results.size() - successCount - unchangedCount;
+
+    StringBuilder message = new StringBuilder();
+    message
+        .append("一括送信完了: 成功 ")
+        .append(successCount)
+        .append(" 件, 失敗 ")
+        .append(failureCount)
+        .append(" 件, 変更なし ")
+        .append(unchangedCount)
+        .append(" 件 (")
+        .append(elapsedMillis)
+        .append(" ms)\n");
+    if (resumedCount > 0) {
+      message.append("- 前回の実行で送信済みのため省略: ").append(resumedCount).append(" 件\n");
+    }
+    for (SendResult result : results) {
+      message.append("- ").append(result.fileName());
+      if (result.succeeded()) {
+        message.append(" -> ").append(result.zipFilePath());
+      } else if (result.unchanged()) {
+        message.append(" -> 変更なし: ").append(result.zipFilePath());
+      } else {
+        message.append(" -> エラー: ").append(result.errorMessage());
+      }
+      message.append("\n");
+    }
+    appendDeliverySummary(message, results);
+    if (!stageStats.isEmpty()) {
+      message
+          .append("- 段階ごとの最大滞留数: ")
+          .append(stageStats.stream().map(StageStats::describe).collect(Collectors.joining(", ")))
+          .append("\n");
+    }
+
+    String workDirPath =
+        Paths.get(sendDir, Constants.Files.WORK_DIR, yearMonth.substring(0, 4), yearMonth)
+            .toString();
+    message.append("- パスワード・メール文面保存先: ").append(workDirPath).append("/<ユーザー名>\n");
+    return message.toString();
+  }
+
+  /**
+   * 追加の送信先ごとに、配信の成否・再試行回数・合計時間を集計して追加します
+   *
+   * @param message 追加先のメッセージ
+   * @param results ファイルごとの処理結果
+   */
+  private static void appendDeliverySummary(StringBuilder message, List<SendResult> results) {
+    Map<String, List<DeliveryResult>> byDestination = new LinkedHashMap<>();
+    Map<String, List<String>> failuresByDestination = new LinkedHashMap<>();
+    for (SendResult result : results) {
+      for (DeliveryResult delivery : result.deliveries()) {
+        byDestination
+            .computeIfAbsent(delivery.destination(), k -> new ArrayList<>())
+            .add(delivery);
+        if (!delivery.succeeded()) {
+          failuresByDestination
+              .computeIfAbsent(delivery.destination(), k -> new ArrayList<>())
+              .add(result.fileName() + ": " + delivery.errorMessage());
+        }
+      }
+    }
+    byDestination.forEach(
+        (destination, deliveries) -> {
+          long succeeded = deliveries.stream().filter(DeliveryResult::succeeded).count();
+          int retries = deliveries.stream().mapToInt(delivery -> delivery.attempts() - 1).sum();
+          long totalMillis = deliveries.stream().mapToLong(DeliveryResult::elapsedMillis).sum();
+          message
+              .append("- 配信先: ")
+              .append(destination)
+              .append(" -> 成功 ")
+              .append(succeeded)
+              .append(" 件, 失敗 ")
+              .append(deliveries.size() - succeeded)
+              .append(" 件, 再試行 ")
+              .append(retries)
+              .append(" 回 (合計 ")
+              .append(totalMillis)
+              .append(" ms)\n");
+          for (String failure : failuresByDestination.getOrDefault(destination, List.of())) {
+            message.append("  - ").append(failure).append("\n");
+          }
+        });
+  }
+
+  /**
+   * パイプラインを流れる処理対象
+   *
+   * @param fileName Excelファイル名
+   * @param reportFileName 解析済みのファイル名
+   * @param zipFilePath 作成したZIPファイルのパス
+   * @param password ZIPファイルのパスワード
+   * @param sha256 報告書ファイルのSHA-256
+   */
+  private record SendItem(
+      String fileName,
+      ReportFileName reportFileName,
+      String zipFilePath,
+      String password,
+      String sha256) {}
+
+  /**
+   * ファイルごとの送信結果
+   *
+   * @param fileName Excelファイル名
+   * @param zipFilePath 作成したZIPファイルのパス
+   * @param errorMessage 失敗した場合のエラーメッセージ
+   * @param unchanged 前回の送信から変更がなく、送信を省略した場合はtrue
+   * @param deliveries 追加の送信先ごとの配信結果
+   */
+  private record SendResult(
+      String fileName,
+      String zipFilePath,
+      String errorMessage,
+      boolean unchanged,
+      List<DeliveryResult> deliveries) {
+
+    private static SendResult success(
+        String fileName, String zipFilePath, List<DeliveryResult> deliveries) {
+      return new SendResult(fileName, zipFilePath, null, false, deliveries);
+    }
+
+    private static SendResult failure(String fileName, String errorMessage) {
+      return new SendResult(fileName, null, errorMessage, false, List.of());
+    }
+
+    private static SendResult unchanged(String fileName, String zipFilePath) {
+      return new SendResult(fileName, zipFilePath, null, true, List.of());
+    }
+
+    private boolean succeeded() {
+      return errorMessage == null && !unchanged;
+    }
+  }
+}
@@ -0,0 +1,143 @@
+package com.kos0514.work_report_generator.service.send_file;
+
+import com.kos0514.work_report_generator.model.send.DeliveryResult;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * 作成したZIPファイルを追加の送信先ディレクトリへ配信するサービスクラス
+ *
+ * <p>送信先ごとに仮想スレッドで並行してコピーするため、応答の遅い送信先があっても他の送信先への配信は待たされません。
+ * コピーは {@link FileChannel#transferTo} で行い（OSが対応していればユーザー空間へのコピーなし）、送信先に一時ファイルとして
+ * 書き込んでから置き換えるため、途中まで書き込まれたZIPファイルが送信先に残ることはありません。失敗した場合は送信先ごとに
+ * 再試行します。
+ */
+@Service
+@Slf4j
+public class ReportDeliveryService {
+  private static final String TEMP_FILE_SUFFIX = ".part";
+
+  /** 失敗した場合の再試行回数 */
+  @Value("${work-report.send.delivery-retries:2}")
+  private int retries;
+
+  /** 再試行までの待ち時間（ミリ秒、再試行ごとに倍にする） */
+  @Value("${work-report.send.delivery-retry-backoff-ms:500}")
+  private long retryBackoffMillis;
+
+  /**
+   * ZIPファイルを各送信先ディレクトリへ並行して配信します
+   *
+   * @param zipFile 配信するZIPファイル
+   * @param destinations 送信先ディレクトリのリスト
+   * @return 送信先ごとの配信結果（送信先の指定順）
+   * @throws InterruptedException 配信が中断された場合
+   */
+  public List<DeliveryResult> deliver(Path zipFile, List<String> destinations)
+      throws InterruptedException {
+    if (destinations.isEmpty()) {
+      return List.of();
+    }
+
+    List<DeliveryResult> results = new ArrayList<>(destinations.size());
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      List<Future<DeliveryResult>> futures = new ArrayList<>(destinations.size());
+      for (String destination : destinations) {
+        futures.add(executor.submit(() -> deliverTo(zipFile, destination)));
+      }
+      for (int i = 0; i < futures.size(); i++) {
+        try {
+          results.add(futures.get(i).get());
+        } catch (ExecutionException e) {
+          results.add(
+              new DeliveryResult(destinations.get(i), null, 0, 0, e.getCause().getMessage()));
+        }
+      }
+    }
+    return results;
+  }
+
+  /**
+   * 1か所の送信先へ、失敗した場合は再試行しながら配信します
+   *
+   * @param zipFile 配信するZIPファイル
+   * @param destination 送信先ディレクトリ
+   * @return 配信結果
+   * @throws InterruptedException 再試行の待機中に中断された場合
+   */
+  private DeliveryResult deliverTo(Path zipFile, String destination) throws InterruptedException {
+    Path target = Paths.get(destination).resolve(zipFile.getFileName());
+    long startTime = System.nanoTime();
+    int maxAttempts = Math.max(0, retries) + 1;
+
+    String errorMessage = null;
+    for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+      try {
+        copy(zipFile, target);
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+        log.info("ZIPファイルを配信しました: {} ({} ms, {}回)", target, elapsedMillis, attempt);
+        return new DeliveryResult(destination, target, attempt, elapsedMillis, null);
+      } catch (IOException e) {
+        errorMessage = e.getMessage();
+        log.warn("ZIPファイルの配信に失敗しました: {} ({}回目): {}", target, attempt, errorMessage);
+        if (attempt < maxAttempts) {
+          Thread.sleep(retryBackoffMillis << (attempt - 1));
+        }
+      }
+    }
+    long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+    return new DeliveryResult(destination, target, maxAttempts, elapsedMillis, errorMessage);
+  }
+
+  /**
+   * 送信先に一時ファイルとしてコピーし、コピーが完了したら置き換えます
+   *
+   * @param source コピー元
+   * @param target コピー先
+   * @throws IOException コピーに失敗した場合
+   */
+  private static void copy(Path source, Path target) throws IOException {
+    Files.createDirectories(target.getParent());
+    Path tempFile = target.resolveSibling(target.getFileName() + TEMP_FILE_SUFFIX);
+    try {
+      try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+          FileChannel out =
+              FileChannel.open(
+                  tempFile,
+                  StandardOpenOption.CREATE,
+                  StandardOpenOption.TRUNCATE_EXISTING,
+                  StandardOpenOption.WRITE)) {
+        long size = in.size();
+        long position = 0;
+        while (position < size) {
+          position += in.transferTo(position, size - position, out);
+        }
+        out.force(true);
+      }
+      try {
+        Files.move(
+            tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException e) {
+      Files.deleteIfExists(tempFile);
+      throw e;
+    }
+  }
+}
@@ -1,15 +1,24 @@
 package com.kos0514.work_report_generator.service.send_file;
 
+import com.kos0514.work_report_generator.model.ReportFileName;
+import com.kos0514.work_report_generator.model.send.DeliveryResult;
+import com.kos0514.work_report_generator.model.send.SendManifestEntry;
 import com.kos0514.work_report_generator.service.config.ConfigService;
 import com.kos0514.work_report_generator.service.config.UserInputService;
 import com.kos0514.work_report_generator.service.file.ZipService;
 import com.kos0514.work_report_generator.service.mail.MailTemplateService;
 import com.kos0514.work_report_generator.service.report.ReportService;
 import com.kos0514.work_report_generator.util.Constants;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 /**
@@ -20,11 +29,20 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class SendExcelFileService {
 
+  /** 送信結果のうち、ZIPのパスワードを表す行の接頭辞 */
+  public static final String PASSWORD_LINE_PREFIX = "- パスワード: ";
+
   private final ReportService reportService;
-  private final ZipService zipService;
+  @Lazy private final ZipService zipService;
   private final ConfigService configService;
   private final MailTemplateService mailTemplateService;
   private final UserInputService userInputService;
+  private final SendManifestService sendManifestService;
+  private final ReportDeliveryService reportDeliveryService;
+
+  /** CSVで更新してから送信する場合に、更新後の報告書をファイルにも保存するかどうか */
+  @Value("${work-report.send.keep-updated-file:false}")
+  private boolean keepUpdatedFile;
 
   /**
    * Excelファイルをパスワード付きZIPにして送信します
@@ -33,6 +51,24 @@ public class SendExcelFileService {
    * @return 処理結果メッセージ
    */
   public String sendExcelFile(String fileName) {
+    return sendExcelFile(fileName, "", false);
+  }
+
+  /**
+   * CSVで更新したExcelファイルをパスワード付きZIPにして送信します
+   *
+   * <p>CSVファイルが指定された場合、更新後のワークブックをファイルに保存せず、そのままZIPのエントリへ書き出します。
+   * {@code work-report.send.keep-updated-file} が true の場合のみ、更新後の報告書をファイルにも保存します。
+   *
+   * <p>CSVファイルを指定しない場合、報告書が前回の送信から変更されていなければ（送信マニフェストのハッシュが一致し、
+   * ZIPファイルとパスワードファイルが残っていれば）ZIPを作り直さずに終了します。{@code force} が true の場合は常に送信します。
+   *
+   * @param fileName 送信するExcelファイル名（空の場合は最新のファイルを使用）
+   * @param csvFile 送信前に適用するCSVファイル名（空の場合は更新せずに送信）
+   * @param force trueの場合は変更がなくても送信する
+   * @return 処理結果メッセージ
+   */
+  public String sendExcelFile(String fileName, String csvFile, boolean force) {
     try {
       // 送信先ディレクトリの確認
       String sendDir = configService.getSendDirectory();
@@ -57,37 +93,97 @@ public class SendExcelFileService {
         fileName = excelFiles.getFirst();
       }
 
-      // ファイル名から年月を抽出（user_yyyymm_作業報告書.xls）
+      // ファイル名から年月を抽出（user_yyyymm_作業報告書.xls または .xlsx）
       String yearMonth = reportService.extractYearMonthFromFileName(fileName);
       if (yearMonth == null) {
         return "ファイル名から年月を抽出できません: " + fileName;
       }
 
       // Excelファイルのパスを取得
-      String excelFilePath = Paths.get(reportService.getOutputDir(), fileName).toString();
+      String excelFilePath = reportService.resolveReportPath(fileName).toString();
 
       // ZIPファイル名の生成
       String zipFileName =
           fileName.replaceFirst(
-              "\\" + Constants.Files.EXCEL_EXTENSION + "$", Constants.Files.ZIP_EXTENSION);
+              Constants.Files.EXCEL_EXTENSION_PATTERN, Constants.Files.ZIP_EXTENSION);
       String zipFilePath = Paths.get(sendDir, zipFileName).toString();
 
+      // 前回の送信から変更がなければ送信を省略（CSVを適用する場合は内容が変わるため常に送信）
+      boolean withCsv = csvFile != null && !csvFile.isEmpty();
+      String sha256 = null;
+      if (!withCsv) {
+        sha256 = sendManifestService.hash(Paths.get(excelFilePath));
+        if (!force) {
+          Optional<SendManifestEntry> unchanged =
+              sendManifestService.findUnchanged(sendDir, yearMonth, fileName, sha256);
+          if (unchanged.isPresent()) {
+            log.info("変更がないため送信を省略しました: {}", fileName);
+            return buildUnchangedMessage(fileName, unchanged.get());
+          }
+        }
+      }
+
       // パスワード付きZIPファイルの作成（パスワードは内部で生成される）
-      String password = zipService.createPasswordProtectedZip(excelFilePath, zipFilePath);
+      String password;
+      int[] updatedCount = new int[1];
+      if (!withCsv) {
+        password = zipService.createPasswordProtectedZip(excelFilePath, zipFilePath);
+      } else {
+        // CSVで更新したワークブックを中間ファイルなしでZIPへ書き出す
+        String finalFileName = fileName;
+        password =
+            zipService.createPasswordProtectedZip(
+                fileName,
+                out ->
+                    updatedCount[0] =
+                        reportService.updateFromCsv(finalFileName, csvFile, out, keepUpdatedFile),
+                zipFilePath);
+      }
 
       // パスワードをファイルに保存
-      zipService.savePasswordToFile(yearMonth, password);
+      Path passwordFile = zipService.savePasswordToFile(yearMonth, password);
+
+      // 送信マニフェストに記録（CSVを適用した内容をファイルに保存しない場合は、送信した内容のハッシュがないため記録しない）
+      if (withCsv && keepUpdatedFile) {
+        sha256 = sendManifestService.hash(Paths.get(excelFilePath));
+      }
+      if (sha256 != null) {
+        sendManifestService.record(sendDir, yearMonth, fileName, sha256, zipFilePath, passwordFile);
+      }
 
       // メール文面を生成して保存
-      mailTemplateService.generateAndSaveMailTemplates(yearMonth, password);
+      String user = ReportFileName.parse(fileName).map(ReportFileName::getUser).orElse("");
+      Map<String, String> variables = new HashMap<>();
+      variables.put(MailTemplateService.VAR_USER, user);
+      String client = reportService.findClient(fileName);
+      if (client != null) {
+        variables.put(MailTemplateService.VAR_CLIENT, client);
+      }
+      mailTemplateService.generateAndSaveMailTemplates(yearMonth, password, variables);
+
+      // 追加の送信先ディレクトリへ配信
+      List<DeliveryResult> deliveries =
+          reportDeliveryService.deliver(
+              Paths.get(zipFilePath), configService.getAdditionalSendDirectories());
 
       log.info("ファイルを送信しました: {}", zipFilePath);
 
       StringBuilder resultMessage = new StringBuilder();
       resultMessage.append("ファイルを送信しました:\n");
       resultMessage.append("- 元ファイル: ").append(fileName).append("\n");
+      if (withCsv) {
+        resultMessage
+            .append("- CSV: ")
+            .append(csvFile)
+            .append(" (")
+            .append(updatedCount[0])
+            .append(" 件更新)\n");
+      }
       resultMessage.append("- ZIP: ").append(zipFilePath).append("\n");
-      resultMessage.append("- パスワード: ").append(password).append("\n");
+      resultMessage.append(PASSWORD_LINE_PREFIX).append(password).append("\n");
+      for (DeliveryResult delivery : deliveries) {
+        resultMessage.append("- 配信先: ").append(delivery.describe()).append("\n");
+      }
 
       String mailDirPath = Paths.get(
           sendDir,
@@ -103,4 +199,20 @@ public class SendExcelFileService {
       return "エラー: " + e.getMessage();
     }
   }
+
+  private String buildUnchangedMessage(String fileName, SendManifestEntry entry) {
+    return "前回の送信から変更がないため、送信を省略しました（再送信する場合は --force を指定してください）:\n"
+        + "- 元ファイル: "
+        + fileName
+        + "\n"
+        + "- ZIP: "
+        + entry.zipFilePath()
+        + "\n"
+        + "- パスワード保存先: "
+        + entry.passwordFilePath()
+        + "\n"
+        + "- 送信日時: "
+        + entry.sentAt()
+        + "\n";
+  }
 }
@@ -0,0 +1,146 @@
+package com.kos0514.work_report_generator.service.send_file;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kos0514.work_report_generator.model.send.SendManifestEntry;
+import com.kos0514.work_report_generator.util.Constants;
+import com.kos0514.work_report_generator.util.HashUtil;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * 送信済みの報告書を記録する送信マニフェストを管理するサービスクラス
+ *
+ * <p>マニフェストは送信先の作業ディレクトリ（{@code work/yyyy/yyyymm/send-manifest.json}）に保存し、報告書ファイル名ごとに
+ * 送信時の報告書のハッシュ、ZIPファイルとパスワードファイルのパスを記録します。報告書の内容が変わっておらず、ZIPファイルと
+ * パスワードファイルが送信時のまま残っている場合は、再送信を省略できます。
+ */
+@Service
+@Slf4j
+public class SendManifestService {
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final TypeReference<TreeMap<String, SendManifestEntry>> MANIFEST_TYPE =
+      new TypeReference<>() {};
+
+  /**
+   * 前回送信時から変更されていない場合に、その送信記録を返します
+   *
+   * @param sendDir 送信先ディレクトリ
+   * @param yearMonth 年月（yyyymm形式）
+   * @param fileName 報告書ファイル名
+   * @param sha256 現在の報告書ファイルのSHA-256
+   * @return 報告書が変更されておらず、ZIPファイルとパスワードファイルが残っている場合は送信記録
+   * @throws IOException マニフェストの読み込みに失敗した場合
+   */
+  public Optional<SendManifestEntry> findUnchanged(
+      String sendDir, String yearMonth, String fileName, String sha256) throws IOException {
+    SendManifestEntry entry;
+    synchronized (this) {
+      entry = load(manifestPath(sendDir, yearMonth)).get(fileName);
+    }
+    if (entry == null || !entry.sha256().equals(sha256)) {
+      return Optional.empty();
+    }
+
+    Path zipFile = Paths.get(entry.zipFilePath());
+    Path passwordFile = Paths.get(entry.passwordFilePath());
+    if (!Files.exists(zipFile) || !Files.exists(passwordFile)) {
+      return Optional.empty();
+    }
+    // 別の送信でパスワードファイルが上書きされている場合は、ZIPのパスワードと一致しない
+    if (!HashUtil.sha256(passwordFile).equals(entry.passwordFileSha256())) {
+      return Optional.empty();
+    }
+    return Optional.of(entry);
+  }
+
+  /**
+   * 送信記録をマニフェストに保存します（同じファイル名の記録は置き換えます）
+   *
+   * @param sendDir 送信先ディレクトリ
+   * @param yearMonth 年月（yyyymm形式）
+   * @param fileName 報告書ファイル名
+   * @param sha256 送信した報告書ファイルのSHA-256
+   * @param zipFilePath 作成したZIPファイルのパス
+   * @param passwordFilePath パスワードを保存したファイルのパス
+   * @throws IOException マニフェストの書き込みに失敗した場合
+   */
+  public void record(
+      String sendDir,
+      String yearMonth,
+      String fileName,
+      String sha256,
+      String zipFilePath,
+      Path passwordFilePath)
+      throws IOException {
+    SendManifestEntry entry =
+        new SendManifestEntry(
+            sha256,
+            zipFilePath,
+            passwordFilePath.toString(),
+            HashUtil.sha256(passwordFilePath),
+            OffsetDateTime.now().toString());
+
+    Path manifestPath = manifestPath(sendDir, yearMonth);
+    synchronized (this) {
+      TreeMap<String, SendManifestEntry> entries = load(manifestPath);
+      entries.put(fileName, entry);
+      save(manifestPath, entries);
+    }
+    log.debug("送信マニフェストを更新しました: {} ({})", manifestPath, fileName);
+  }
+
+  /**
+   * 報告書ファイルのSHA-256を計算します
+   *
+   * @param reportFile 報告書ファイルのパス
+   * @return SHA-256（16進数）
+   * @throws IOException ファイルの読み込みに失敗した場合
+   */
+  public String hash(Path reportFile) throws IOException {
+    return HashUtil.sha256(reportFile);
+  }
+
+  private static Path manifestPath(String sendDir, String yearMonth) {
+    return Paths.get(
+        sendDir,
+        Constants.Files.WORK_DIR,
+        yearMonth.substring(0, 4),
+        yearMonth,
+        Constants.Files.SEND_MANIFEST_FILE);
+  }
+
+  private static TreeMap<String, SendManifestEntry> load(Path manifestPath) throws IOException {
+    if (!Files.exists(manifestPath)) {
+      return new TreeMap<>();
+    }
+    return OBJECT_MAPPER.readValue(manifestPath.toFile(), MANIFEST_TYPE);
+  }
+
+  /** 一時ファイルへ書き出し、マニフェストをアトミックに置き換えます */
+  private static void save(Path manifestPath, Map<String, SendManifestEntry> entries)
+      throws IOException {
+    Files.createDirectories(manifestPath.getParent());
+    Path tempPath = manifestPath.resolveSibling(manifestPath.getFileName() + ".tmp");
+    OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(tempPath.toFile(), entries);
+    try {
+      Files.move(
+          tempPath,
+          manifestPath,
+          StandardCopyOption.ATOMIC_MOVE,
+          StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(tempPath, manifestPath, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+}
@@ -13,8 +13,12 @@ public final class Constants {
   public static final class Files {
     // ファイル拡張子
     public static final String EXCEL_EXTENSION = ".xls";
+    public static final String XLSX_EXTENSION = ".xlsx";
+    // .xls / .xlsx のいずれかに一致する拡張子パターン
+    public static final String EXCEL_EXTENSION_PATTERN = "\\.xlsx?$";
     public static final String ZIP_EXTENSION = ".zip";
     public static final String PASSWORD_FILE_NAME = "password.txt";
+    public static final String SEND_MANIFEST_FILE = "send-manifest.json";
 
     // ディレクトリ構造
     public static final String WORK_DIR = "work";
@@ -46,5 +50,7 @@ public final class Constants {
   /** 設定ファイルのプロパティキー */
   public static final class ConfigKeys {
     public static final String SEND_DIRECTORY = "send.directory";
+    // 追加の送信先ディレクトリ（カンマ区切り）
+    public static final String SEND_DESTINATIONS = "send.destinations";
   }
 }
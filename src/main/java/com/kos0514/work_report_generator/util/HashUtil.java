@@ -0,0 +1,42 @@
+package com.kos0514.work_report_generator.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+public class HashUtil {
+  private static final int HASH_BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * ファイル内容のSHA-256を計算します
+   *
+   * @param file 対象ファイル
+   * @return SHA-256（16進数）
+   * @throws IOException ファイルの読み込みに失敗した場合
+   */
+  public static String sha256(Path file) throws IOException {
+    MessageDigest digest = newSha256Digest();
+    byte[] buffer = new byte[HASH_BUFFER_SIZE];
+    try (InputStream inputStream = Files.newInputStream(file)) {
+      int read;
+      while ((read = inputStream.read(buffer)) != -1) {
+        digest.update(buffer, 0, read);
+      }
+    }
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  private static MessageDigest newSha256Digest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256が使用できません", e);
+    }
+  }
+}
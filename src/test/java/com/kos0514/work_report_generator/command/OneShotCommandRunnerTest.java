@@ -0,0 +1,173 @@
+package com.kos0514.work_report_generator.command;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.kos0514.work_report_generator.service.job.BackgroundJobService;
+import com.kos0514.work_report_generator.service.job.JobRunnerService;
+import com.kos0514.work_report_generator.service.job.WorkScheduler;
+import com.kos0514.work_report_generator.service.metrics.PhaseMetrics;
+import com.kos0514.work_report_generator.service.report.ReportService;
+import com.kos0514.work_report_generator.service.send_file.BatchSendService;
+import com.kos0514.work_report_generator.service.send_file.SendExcelFileService;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * {@link OneShotCommandRunner}のテストクラス
+ */
+@ExtendWith(MockitoExtension.class)
+class OneShotCommandRunnerTest {
+
+    @Mock
+    private ReportService reportService;
+
+    @Mock
+    private SendExcelFileService sendExcelFileService;
+
+    @Mock
+    private BatchSendService batchSendService;
+
+    @Mock
+    private JobRunnerService jobRunnerService;
+
+    @Mock
+    private BackgroundJobService backgroundJobService;
+
+    private OneShotCommandRunner runner;
+    private ByteArrayOutputStream out;
+    private ByteArrayOutputStream err;
+
+    @BeforeEach
+    void setUp() {
+        runner = new OneShotCommandRunner(
+                new WorkReportCommands(
+                        reportService,
+                        sendExcelFileService,
+                        batchSendService,
+                        jobRunnerService,
+                        backgroundJobService,
+                        new WorkScheduler(),
+                        new PhaseMetrics()));
+        out = new ByteArrayOutputStream();
+        err = new ByteArrayOutputStream();
+    }
+
+    private int execute(String... args) {
+        return runner.execute(
+                args,
+                new PrintStream(out, true, StandardCharsets.UTF_8),
+                new PrintStream(err, true, StandardCharsets.UTF_8));
+    }
+
+    @Nested
+    @DisplayName("isOneShot メソッドのテスト")
+    class IsOneShot {
+
+        @Test
+        @DisplayName("コマンド名が指定された場合はtrueが返されること")
+        void commandName_returnsTrue() {
+            assertThat(OneShotCommandRunner.isOneShot(new String[] {"save"})).isTrue();
+        }
+
+        @Test
+        @DisplayName("引数がない場合やオプションのみの場合はfalseが返されること")
+        void noCommand_returnsFalse() {
+            assertThat(OneShotCommandRunner.isOneShot(new String[0])).isFalse();
+            assertThat(OneShotCommandRunner.isOneShot(new String[] {"--spring.profiles.active=dev"}))
+                    .isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("execute メソッドのテスト")
+    class Execute {
+
+        @Test
+        @DisplayName("正常系：オプションを省略したコマンドが実行され、終了コード0が返されること")
+        void save_returnsExitOk() {
+            // Arrange
+            when(reportService.saveLatestCsvToExcel(false)).thenReturn(2);
+
+            // Act
+            int exitCode = execute("save");
+
+            // Assert
+            assertThat(exitCode).isEqualTo(OneShotCommandRunner.EXIT_OK);
+            assertThat(out.toString(StandardCharsets.UTF_8)).contains("2 件のファイルを更新しました");
+        }
+
+        @Test
+        @DisplayName("正常系：オプションの値と省略時の既定値、値のないフラグが引数に変換されること")
+        void sendAll_resolvesOptionsAndDefaults() {
+            // Arrange
+            when(batchSendService.sendAll("2025/06", true, false, false, "")).thenReturn("一括送信完了");
+
+            // Act
+            int exitCode = execute("send-all", "--month", "2025/06", "--bundle");
+
+            // Assert
+            assertThat(exitCode).isEqualTo(OneShotCommandRunner.EXIT_OK);
+            verify(batchSendService).sendAll("2025/06", true, false, false, "");
+        }
+
+        @Test
+        @DisplayName("コマンドがエラーを返した場合は終了コード1が返されること")
+        void errorResult_returnsExitError() {
+            // Arrange
+            when(reportService.saveLatestCsvToExcel(false)).thenThrow(new IllegalStateException("CSVがありません"));
+
+            // Act
+            int exitCode = execute("save");
+
+            // Assert
+            assertThat(exitCode).isEqualTo(OneShotCommandRunner.EXIT_ERROR);
+            assertThat(err.toString(StandardCharsets.UTF_8)).contains("エラー: CSVがありません");
+        }
+
+        @Test
+        @DisplayName("存在しないコマンドの場合は終了コード2が返されること")
+        void unknownCommand_returnsExitUsage() {
+            // Act
+            int exitCode = execute("unknown");
+
+            // Assert
+            assertThat(exitCode).isEqualTo(OneShotCommandRunner.EXIT_USAGE);
+            assertThat(err.toString(StandardCharsets.UTF_8)).contains("コマンドが見つかりません");
+        }
+
+        @Test
+        @DisplayName("必須のオプションがない場合は終了コード2が返され、コマンドは実行されないこと")
+        void missingRequiredOption_returnsExitUsage() {
+            // Act
+            int exitCode = execute("send-all");
+
+            // Assert
+            assertThat(exitCode).isEqualTo(OneShotCommandRunner.EXIT_USAGE);
+            assertThat(err.toString(StandardCharsets.UTF_8)).contains("--month");
+            verifyNoInteractions(batchSendService);
+        }
+
+        @Test
+        @DisplayName("--background を指定した場合は終了コード2が返され、コマンドは実行されないこと")
+        void background_returnsExitUsage() {
+            // Act
+            int exitCode = execute("save", "--background");
+
+            // Assert
+            assertThat(exitCode).isEqualTo(OneShotCommandRunner.EXIT_USAGE);
+            assertThat(err.toString(StandardCharsets.UTF_8)).contains("--background は対話シェルでのみ指定できます");
+            verifyNoInteractions(reportService, backgroundJobService);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.kos0514.work_report_generator.command;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.kos0514.work_report_generator.model.job.WorkPriority;
+import com.kos0514.work_report_generator.service.config.ConfigService;
+import com.kos0514.work_report_generator.service.file.ExcelService;
+import com.kos0514.work_report_generator.service.file.ReportDirectoryIndex;
+import com.kos0514.work_report_generator.service.job.WorkScheduler;
+import com.kos0514.work_report_generator.service.report.ReportService;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * HTTPモードにlocalhostから同時にリクエストを送る負荷テスト
+ *
+ * <p>報告書の更新（POIの処理の代わりに一定時間待つ処理を {@link WorkScheduler} で実行）と、1 MBの報告書のダウンロードを
+ * 混在させて同時に送り、スループットと応答時間の分布を出力します。
+ * 通常のテストでは実行されません。{@code ./gradlew benchmark} で実行します。
+ */
+@Tag("benchmark")
+class ReportHttpServerLoadBenchmarkTest {
+
+    private static final String REPORT_FILE = "田中太郎_202506_作業報告書.xls";
+    private static final int REQUESTS = 400;
+    private static final int DOWNLOAD_BYTES = 1024 * 1024;
+    private static final long UPDATE_MILLIS = 20;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("更新とダウンロードの同時リクエストがすべて成功し、スループットと応答時間を出力する")
+    void concurrentRequests() throws Exception {
+        // Arrange
+        WorkScheduler workScheduler = new WorkScheduler();
+        ReflectionTestUtils.setField(workScheduler, "maxConcurrency", 4);
+        WorkReportCommands commands = mock(WorkReportCommands.class);
+        when(commands.updateFile(anyString(), anyString())).thenAnswer(invocation ->
+                workScheduler.run(WorkPriority.INTERACTIVE, () -> {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(UPDATE_MILLIS));
+                    return "更新完了: 20 件";
+                }));
+        ReportService reportService = mock(ReportService.class);
+        Path report = Files.write(tempDir.resolve(REPORT_FILE), new byte[DOWNLOAD_BYTES]);
+        when(reportService.resolveReportPath(REPORT_FILE)).thenReturn(report);
+
+        ReportHttpServer server = new ReportHttpServer(
+                commands,
+                reportService,
+                mock(ConfigService.class),
+                mock(ReportDirectoryIndex.class),
+                new ExcelService());
+        int port = server.start("127.0.0.1", 0);
+        String reportUrl = "http://127.0.0.1:" + port + "/api/reports/"
+                + URLEncoder.encode(REPORT_FILE, StandardCharsets.UTF_8);
+        HttpClient client = HttpClient.newHttpClient();
+
+        try {
+            // Act
+            long start = System.nanoTime();
+            List<CompletableFuture<long[]>> responses = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                HttpRequest request = i % 2 == 0
+                        ? HttpRequest.newBuilder(URI.create(reportUrl + "?csv=202506_work_data.csv"))
+                                .PUT(HttpRequest.BodyPublishers.noBody())
+                                .build()
+                        : HttpRequest.newBuilder(URI.create(reportUrl)).build();
+                long sent = System.nanoTime();
+                responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                        .thenApply(response -> new long[] {
+                            response.statusCode(), (System.nanoTime() - sent) / 1_000_000}));
+            }
+            long[] latencies = new long[REQUESTS];
+            for (int i = 0; i < REQUESTS; i++) {
+                long[] result = responses.get(i).join();
+                assertThat(result[0]).isEqualTo(200);
+                latencies[i] = result[1];
+            }
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            Arrays.sort(latencies);
+
+            System.out.printf(
+                    "[http] %d requests in %d ms (%.1f req/s), p50=%d ms, p95=%d ms, max=%d ms%n",
+                    REQUESTS,
+                    elapsedMillis,
+                    REQUESTS * 1000.0 / Math.max(1, elapsedMillis),
+                    latencies[REQUESTS / 2],
+                    latencies[REQUESTS * 95 / 100],
+                    latencies[REQUESTS - 1]);
+
+            // Assert
+            assertThat(workScheduler.stats().getFirst().completed()).isEqualTo(REQUESTS / 2);
+        } finally {
+            server.stop();
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package com.kos0514.work_report_generator.command;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.kos0514.work_report_generator.service.config.ConfigService;
+import com.kos0514.work_report_generator.service.file.ExcelService;
+import com.kos0514.work_report_generator.service.file.ReportDirectoryIndex;
+import com.kos0514.work_report_generator.service.report.ReportService;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * {@link ReportHttpServer}のテストクラス
+ */
+@ExtendWith(MockitoExtension.class)
+class ReportHttpServerTest {
+
+    private static final String REPORT_FILE = "田中太郎_202506_作業報告書.xls";
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private WorkReportCommands commands;
+
+    @Mock
+    private ReportService reportService;
+
+    @Mock
+    private ConfigService configService;
+
+    @Mock
+    private ReportDirectoryIndex directoryIndex;
+
+    private ReportHttpServer server;
+    private HttpClient client;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new ReportHttpServer(
+                commands, reportService, configService, directoryIndex, new ExcelService());
+        ReflectionTestUtils.setField(server, "csvDir", tempDir.resolve("csv").toString());
+        ReflectionTestUtils.setField(server, "maxUploadBytes", 1024L);
+        int port = server.start("127.0.0.1", 0);
+        baseUrl = "http://127.0.0.1:" + port + "/api";
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    private HttpResponse<String> send(String method, String path, String body)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    @Nested
+    @DisplayName("コマンドの実行のテスト")
+    class Commands {
+
+        @Test
+        @DisplayName("正常系：報告書の作成結果が200で返されること")
+        void createReport_returnsOk() throws Exception {
+            // Arrange
+            when(commands.createFile("2025/06", "田中太郎", "株式会社サンプル"))
+                    .thenReturn("ファイル作成完了:\n- Excel: " + REPORT_FILE);
+
+            // Act
+            HttpResponse<String> response = send("POST", "/reports?month=2025%2F06&user="
+                    + encode("田中太郎") + "&client=" + encode("株式会社サンプル"), null);
+
+            // Assert
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(response.body()).contains(REPORT_FILE);
+        }
+
+        @Test
+        @DisplayName("異常系：コマンドがエラーを返した場合は400が返されること")
+        void commandError_returnsBadRequest() throws Exception {
+            // Arrange
+            when(commands.updateFile(REPORT_FILE, "202506_work_data.csv"))
+                    .thenReturn("エラー: CSVからの更新に失敗しました");
+
+            // Act
+            HttpResponse<String> response = send(
+                    "PUT", "/reports/" + encode(REPORT_FILE) + "?csv=202506_work_data.csv", null);
+
+            // Assert
+            assertThat(response.statusCode()).isEqualTo(400);
+            assertThat(response.body()).startsWith("エラー");
+        }
+
+        @Test
+        @DisplayName("異常系：必須のパラメータがない場合は400が返されること")
+        void missingParameter_returnsBadRequest() throws Exception {
+            // Act
+            HttpResponse<String> response = send("POST", "/reports?user=a&client=b", null);
+
+            // Assert
+            assertThat(response.statusCode()).isEqualTo(400);
+            assertThat(response.body()).contains("パラメータ month");
+        }
+
+        @Test
+        @DisplayName("異常系：クエリパラメータのファイル名がディレクトリを含む場合は400が返され、コマンドが実行されないこと")
+        void pathTraversalInQuery_returnsBadRequest() throws Exception {
+            // Act & Assert
+            assertThat(send("POST", "/send?file=..%2F..%2Fsecret.xls", null).statusCode()).isEqualTo(400);
+            assertThat(send("POST", "/send?csv=..%2F..%2Fdata.csv", null).statusCode()).isEqualTo(400);
+            assertThat(send("PUT", "/reports/" + encode(REPORT_FILE) + "?csv=..%2Fdata.csv", null)
+                    .statusCode()).isEqualTo(400);
+            assertThat(send("POST", "/reports?month=2025%2F06&user=..%2F..%2Fx&client=a", null)
+                    .statusCode()).isEqualTo(400);
+            verifyNoInteractions(commands, configService);
+        }
+
+        @Test
+        @DisplayName("異常系：送信する報告書が報告書のファイル名でない場合は400が返されること")
+        void sendNonReportFile_returnsBadRequest() throws Exception {
+            // Act
+            HttpResponse<String> response = send("POST", "/send?file=passwords.txt", null);
+
+            // Assert
+            assertThat(response.statusCode()).isEqualTo(400);
+            verifyNoInteractions(commands);
+        }
+
+        @Test
+        @DisplayName("異常系：送信先ディレクトリが未設定の場合は409が返されること")
+        void sendWithoutDirectory_returnsConflict() throws Exception {
+            // Arrange
+            when(configService.getSendDirectory()).thenReturn(null);
+
+            // Act
+            HttpResponse<String> response = send("POST", "/send", null);
+
+            // Assert
+            assertThat(response.statusCode()).isEqualTo(409);
+        }
+
+        @Test
+        @DisplayName("正常系：送信結果からZIPのパスワードの行が除かれること")
+        void send_stripsPassword() throws Exception {
+            // Arrange
+            when(configService.getSendDirectory()).thenReturn(tempDir.toString());
+            when(commands.sendExcelFile(REPORT_FILE, "", false)).thenReturn(
+                    "ファイルを送信しました:\n- 元ファイル: " + REPORT_FILE + "\n- パスワード: Secret123\n- ZIP: a.zip\n");
+
+            // Act
+            HttpResponse<String> response = send("POST", "/send?file=" + encode(REPORT_FILE), null);
+
+            // Assert
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(response.body()).contains("- ZIP: a.zip").doesNotContain("Secret123");
+        }
+
+        @Test
+        @DisplayName("異常系：存在しないパスは404、対応していないメソッドは405が返されること")
+        void unknownRoute_returnsNotFoundOrMethodNotAllowed() throws Exception {
+            // Act & Assert
+            assertThat(send("GET", "/unknown", null).statusCode()).isEqualTo(404);
+            assertThat(send("GET", "/save", null).statusCode()).isEqualTo(405);
+        }
+    }
+
+    @Nested
+    @DisplayName("ファイルの転送のテスト")
+    class Transfer {
+
+        @Test
+        @DisplayName("正常系：報告書がダウンロードされること")
+        void download_returnsFileContent() throws Exception {
+            // Arrange
+            Path report = Files.write(tempDir.resolve(REPORT_FILE), new byte[] {1, 2, 3, 4});
+            when(reportService.resolveReportPath(REPORT_FILE)).thenReturn(report);
+
+            // Act
+            URI uri = URI.create(baseUrl + "/reports/" + encode(REPORT_FILE));
+            HttpResponse<byte[]> response = client.send(
+                    HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.ofByteArray());
+
+            // Assert
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(response.body()).containsExactly(1, 2, 3, 4);
+            assertThat(response.headers().firstValue("Content-Type"))
+                    .hasValue("application/vnd.ms-excel");
+            assertThat(response.headers().firstValue("Content-Disposition").orElseThrow())
+                    .startsWith("attachment; filename*=UTF-8''");
+        }
+
+        @Test
+        @DisplayName("異常系：報告書が存在しない場合は404が返されること")
+        void downloadMissing_returnsNotFound() throws Exception {
+            // Arrange
+            when(reportService.resolveReportPath(REPORT_FILE))
+                    .thenReturn(tempDir.resolve(REPORT_FILE));
+
+            // Act
+            HttpResponse<String> response = send("GET", "/reports/" + encode(REPORT_FILE), null);
+
+            // Assert
+            assertThat(response.statusCode()).isEqualTo(404);
+        }
+
+        @Test
+        @DisplayName("正常系：アップロードしたCSVがCSVディレクトリに保存されること")
+        void uploadCsv_savesFile() throws Exception {
+            // Arrange
+            String csv = "日付,開始時刻,終了時刻,休憩時間,作業内容\n2025/06/02,09:30,17:45,1:00,設計\n";
+
+            // Act
+            HttpResponse<String> response = send("PUT", "/csv/202506_work_data.csv", csv);
+
+            // Assert
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(Files.readString(tempDir.resolve("csv/202506_work_data.csv"))).isEqualTo(csv);
+            verify(directoryIndex).recordCsvFile("202506_work_data.csv");
+        }
+
+        @Test
+        @DisplayName("異常系：上限を超えるCSVは413が返され、保存されないこと")
+        void uploadTooLarge_returnsPayloadTooLarge() throws Exception {
+            // Act
+            HttpResponse<String> response = send("PUT", "/csv/202506_work_data.csv", "a".repeat(2048));
+
+            // Assert
+            assertThat(response.statusCode()).isEqualTo(413);
+            assertThat(tempDir.resolve("csv/202506_work_data.csv")).doesNotExist();
+        }
+
+        @Test
+        @DisplayName("異常系：ディレクトリを含むファイル名は400が返されること")
+        void pathTraversal_returnsBadRequest() throws Exception {
+            // Act
+            HttpResponse<String> response = send("PUT", "/csv/..%2Fevil.csv", "x");
+
+            // Assert
+            assertThat(response.statusCode()).isEqualTo(400);
+            assertThat(tempDir.resolve("evil.csv")).doesNotExist();
+        }
+    }
+
+    @Nested
+    @DisplayName("認証のテスト")
+    class Authentication {
+
+        private HttpResponse<String> sendWithAuthorization(String authorization)
+                throws IOException, InterruptedException {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + "/save"))
+                    .POST(HttpRequest.BodyPublishers.noBody());
+            if (authorization != null) {
+                builder.header("Authorization", authorization);
+            }
+            return client.send(builder.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        }
+
+        @Test
+        @DisplayName("トークンを設定した場合、一致するトークンのリクエストだけが処理されること")
+        void token_requiresMatchingHeader() throws Exception {
+            // Arrange
+            ReflectionTestUtils.setField(server, "token", "team-secret");
+            when(commands.saveLatestCsv(false, false)).thenReturn("保存完了");
+
+            // Act
+            HttpResponse<String> missing = sendWithAuthorization(null);
+            HttpResponse<String> wrong = sendWithAuthorization("Bearer other");
+            HttpResponse<String> matching = sendWithAuthorization("Bearer team-secret");
+
+            // Assert
+            assertThat(missing.statusCode()).isEqualTo(401);
+            assertThat(missing.headers().firstValue("WWW-Authenticate")).hasValue("Bearer");
+            assertThat(wrong.statusCode()).isEqualTo(401);
+            assertThat(matching.statusCode()).isEqualTo(200);
+            verify(commands).saveLatestCsv(false, false);
+        }
+
+        @Test
+        @DisplayName("異常系：トークンを設定せずにループバック以外のアドレスで起動しようとした場合は起動しないこと")
+        void nonLoopbackWithoutToken_refusesToStart() {
+            // Arrange
+            ReportHttpServer other = new ReportHttpServer(
+                    commands, reportService, configService, directoryIndex, new ExcelService());
+
+            // Act & Assert
+            assertThatThrownBy(() -> other.start("0.0.0.0", 0))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("work-report.http.token");
+        }
+
+        @Test
+        @DisplayName("トークンを設定した場合は、ループバック以外のアドレスでも起動できること")
+        void nonLoopbackWithToken_starts() throws IOException {
+            // Arrange
+            ReportHttpServer other = new ReportHttpServer(
+                    commands, reportService, configService, directoryIndex, new ExcelService());
+            ReflectionTestUtils.setField(other, "token", "team-secret");
+
+            // Act
+            try {
+                int port = other.start("0.0.0.0", 0);
+
+                // Assert
+                assertThat(port).isPositive();
+            } finally {
+                other.stop();
+            }
+        }
+    }
+}
@@ -1,17 +1,31 @@
 package com.kos0514.work_report_generator.command;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.kos0514.work_report_generator.service.job.BackgroundJob;
+import com.kos0514.work_report_generator.service.job.BackgroundJobService;
+import com.kos0514.work_report_generator.service.job.JobRunnerService;
+import com.kos0514.work_report_generator.service.job.WorkScheduler;
+import com.kos0514.work_report_generator.service.metrics.PhaseMetrics;
 import com.kos0514.work_report_generator.service.report.ReportService;
+import com.kos0514.work_report_generator.service.send_file.BatchSendService;
 import com.kos0514.work_report_generator.service.send_file.SendExcelFileService;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 /**
@@ -26,6 +40,21 @@ class WorkReportCommandsTest {
     @Mock
     private SendExcelFileService sendExcelFileService;
 
+    @Mock
+    private BatchSendService batchSendService;
+
+    @Mock
+    private JobRunnerService jobRunnerService;
+
+    @Mock
+    private BackgroundJobService backgroundJobService;
+
+    @Spy
+    private WorkScheduler workScheduler = new WorkScheduler();
+
+    @Spy
+    private PhaseMetrics phaseMetrics = new PhaseMetrics();
+
     @InjectMocks
     private WorkReportCommands workReportCommands;
 
@@ -78,6 +107,51 @@ class WorkReportCommandsTest {
         }
     }
 
+    @Nested
+    @DisplayName("createYearFile メソッドのテスト")
+    class CreateYearFile {
+
+        @Test
+        @DisplayName("正常系：年間ファイルが正常に作成されること")
+        void validParameters_returnsSuccessMessage() {
+            // Arrange
+            String year = "2025";
+            String user = "テストユーザー";
+            String client = "テスト会社";
+            String excelFileName = "テストユーザー_2025_年間作業報告書.xls";
+
+            when(reportService.createYearReport(year, user, client)).thenReturn(excelFileName);
+
+            // Act
+            String result = workReportCommands.createYearFile(year, user, client);
+
+            // Assert
+            assertThat(result).contains("年間ファイル作成完了");
+            assertThat(result).contains(excelFileName);
+            verify(reportService).createYearReport(year, user, client);
+        }
+
+        @Test
+        @DisplayName("異常系：例外が発生した場合にエラーメッセージが返されること")
+        void exceptionThrown_returnsErrorMessage() {
+            // Arrange
+            String year = "20xx";
+            String user = "テストユーザー";
+            String client = "テスト会社";
+            String errorMessage = "年形式が正しくありません";
+
+            when(reportService.createYearReport(year, user, client)).thenThrow(new IllegalStateException(errorMessage));
+
+            // Act
+            String result = workReportCommands.createYearFile(year, user, client);
+
+            // Assert
+            assertThat(result).contains("エラー");
+            assertThat(result).contains(errorMessage);
+            verify(reportService).createYearReport(year, user, client);
+        }
+    }
+
     @Nested
     @DisplayName("updateFile メソッドのテスト")
     class UpdateFile {
@@ -131,15 +205,15 @@ class WorkReportCommandsTest {
             // Arrange
             int updatedFiles = 3;
 
-            when(reportService.saveLatestCsvToExcel()).thenReturn(updatedFiles);
+            when(reportService.saveLatestCsvToExcel(false)).thenReturn(updatedFiles);
 
             // Act
-            String result = workReportCommands.saveLatestCsv();
+            String result = workReportCommands.saveLatestCsv(false, false);
 
             // Assert
             assertThat(result).contains("保存完了");
             assertThat(result).contains(String.valueOf(updatedFiles));
-            verify(reportService).saveLatestCsvToExcel();
+            verify(reportService).saveLatestCsvToExcel(false);
         }
 
         @Test
@@ -148,14 +222,14 @@ class WorkReportCommandsTest {
             // Arrange
             int updatedFiles = 0;
 
-            when(reportService.saveLatestCsvToExcel()).thenReturn(updatedFiles);
+            when(reportService.saveLatestCsvToExcel(false)).thenReturn(updatedFiles);
 
             // Act
-            String result = workReportCommands.saveLatestCsv();
+            String result = workReportCommands.saveLatestCsv(false, false);
 
             // Assert
             assertThat(result).contains("更新対象のファイルがありませんでした");
-            verify(reportService).saveLatestCsvToExcel();
+            verify(reportService).saveLatestCsvToExcel(false);
         }
 
         @Test
@@ -164,15 +238,15 @@ class WorkReportCommandsTest {
             // Arrange
             String errorMessage = "ファイル保存中にエラーが発生しました";
 
-            when(reportService.saveLatestCsvToExcel()).thenThrow(new RuntimeException(errorMessage));
+            when(reportService.saveLatestCsvToExcel(false)).thenThrow(new RuntimeException(errorMessage));
 
             // Act
-            String result = workReportCommands.saveLatestCsv();
+            String result = workReportCommands.saveLatestCsv(false, false);
 
             // Assert
             assertThat(result).contains("エラー");
             assertThat(result).contains(errorMessage);
-            verify(reportService).saveLatestCsvToExcel();
+            verify(reportService).saveLatestCsvToExcel(false);
         }
     }
 
@@ -208,14 +282,14 @@ class WorkReportCommandsTest {
             String fileName = "テストユーザー_202506_作業報告書.xls";
             String successMessage = "ファイルを送信しました";
 
-            when(sendExcelFileService.sendExcelFile(fileName)).thenReturn(successMessage);
+            when(sendExcelFileService.sendExcelFile(fileName, "", false)).thenReturn(successMessage);
 
             // Act
-            String result = workReportCommands.sendExcelFile(fileName);
+            String result = workReportCommands.sendExcelFile(fileName, "", false);
 
             // Assert
             assertThat(result).isEqualTo(successMessage);
-            verify(sendExcelFileService).sendExcelFile(fileName);
+            verify(sendExcelFileService).sendExcelFile(fileName, "", false);
         }
 
         @Test
@@ -225,14 +299,14 @@ class WorkReportCommandsTest {
             String emptyFileName = "";
             String successMessage = "ファイルを送信しました";
 
-            when(sendExcelFileService.sendExcelFile(emptyFileName)).thenReturn(successMessage);
+            when(sendExcelFileService.sendExcelFile(emptyFileName, "", false)).thenReturn(successMessage);
 
             // Act
-            String result = workReportCommands.sendExcelFile(emptyFileName);
+            String result = workReportCommands.sendExcelFile(emptyFileName, "", false);
 
             // Assert
             assertThat(result).isEqualTo(successMessage);
-            verify(sendExcelFileService).sendExcelFile(emptyFileName);
+            verify(sendExcelFileService).sendExcelFile(emptyFileName, "", false);
         }
 
         @Test
@@ -242,15 +316,241 @@ class WorkReportCommandsTest {
             String fileName = "テストユーザー_202506_作業報告書.xls";
             String errorMessage = "ファイル送信中にエラーが発生しました";
 
-            when(sendExcelFileService.sendExcelFile(fileName)).thenReturn("エラー: " + errorMessage);
+            when(sendExcelFileService.sendExcelFile(fileName, "", false)).thenReturn("エラー: " + errorMessage);
 
             // Act
-            String result = workReportCommands.sendExcelFile(fileName);
+            String result = workReportCommands.sendExcelFile(fileName, "", false);
 
             // Assert
             assertThat(result).contains("エラー");
             assertThat(result).contains(errorMessage);
-            verify(sendExcelFileService).sendExcelFile(fileName);
+            verify(sendExcelFileService).sendExcelFile(fileName, "", false);
+        }
+    }
+
+    @Nested
+    @DisplayName("sendExcelFile メソッドのテスト（CSV指定）")
+    class SendExcelFileWithCsv {
+
+        @Test
+        @DisplayName("正常系：CSVファイルを指定した場合にCSVファイル名が渡されること")
+        void csvSpecified_passesCsvFile() {
+            // Arrange
+            String fileName = "テストユーザー_202506_作業報告書.xls";
+            String csvFile = "202506_work_data.csv";
+            String successMessage = "ファイルを送信しました";
+
+            when(sendExcelFileService.sendExcelFile(fileName, csvFile, false)).thenReturn(successMessage);
+
+            // Act
+            String result = workReportCommands.sendExcelFile(fileName, csvFile, false);
+
+            // Assert
+            assertThat(result).isEqualTo(successMessage);
+            verify(sendExcelFileService).sendExcelFile(fileName, csvFile, false);
+        }
+    }
+
+    @Nested
+    @DisplayName("sendExcelFile メソッドのテスト（--force 指定）")
+    class SendExcelFileWithForce {
+
+        @Test
+        @DisplayName("正常系：--force 指定時に強制送信が実行されること")
+        void force_delegatesWithForceFlag() {
+            // Arrange
+            String fileName = "田中太郎_202506_作業報告書.xls";
+            String successMessage = "ファイルを送信しました:\n- 元ファイル: " + fileName;
+
+            when(sendExcelFileService.sendExcelFile(fileName, "", true)).thenReturn(successMessage);
+
+            // Act
+            String result = workReportCommands.sendExcelFile(fileName, "", true);
+
+            // Assert
+            assertThat(result).isEqualTo(successMessage);
+            verify(sendExcelFileService).sendExcelFile(fileName, "", true);
+        }
+    }
+
+    @Nested
+    @DisplayName("sendAllExcelFiles メソッドのテスト")
+    class SendAllExcelFiles {
+
+        @Test
+        @DisplayName("正常系：指定した月の一括送信結果が返されること")
+        void validMonth_returnsSummary() {
+            // Arrange
+            String month = "2025/06";
+            String summary = "一括送信完了: 成功 2 件, 失敗 0 件 (120 ms)";
+
+            when(batchSendService.sendAll(month, false, false, false, "")).thenReturn(summary);
+
+            // Act
+            String result = workReportCommands.sendAllExcelFiles(month, false, false, false, "", false);
+
+            // Assert
+            assertThat(result).isEqualTo(summary);
+            verify(batchSendService).sendAll(month, false, false, false, "");
+        }
+
+        @Test
+        @DisplayName("正常系：--bundle 指定時にまとめ送信が実行されること")
+        void bundle_delegatesWithBundleFlag() {
+            // Arrange
+            String month = "2025/06";
+            String summary = "一括送信完了: 2 件を1つのZIPにまとめました (80 ms)";
+
+            when(batchSendService.sendAll(month, true, false, false, "")).thenReturn(summary);
+
+            // Act
+            String result = workReportCommands.sendAllExcelFiles(month, true, false, false, "", false);
+
+            // Assert
+            assertThat(result).isEqualTo(summary);
+            verify(batchSendService).sendAll(month, true, false, false, "");
+        }
+    }
+
+    @Nested
+    @DisplayName("runJobs メソッドのテスト")
+    class RunJobs {
+
+        @Test
+        @DisplayName("正常系：ジョブファイルの実行結果が返されること")
+        void validFile_delegatesToJobRunner() {
+            // Arrange
+            String summary = "ジョブ実行完了: 成功 3 件, 失敗 0 件, スキップ 0 件 (150 ms)";
+
+            when(jobRunnerService.runJobs(eq("jobs.json"), eq(false), any())).thenReturn(summary);
+
+            // Act
+            String result = workReportCommands.runJobs("jobs.json", false, false);
+
+            // Assert
+            assertThat(result).isEqualTo(summary);
+            verify(jobRunnerService).runJobs(eq("jobs.json"), eq(false), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("バックグラウンド実行のテスト")
+    class Background {
+
+        @Test
+        @DisplayName("正常系：--background 指定時にジョブ番号が返されること")
+        void background_returnsJobId() {
+            // Arrange
+            BackgroundJob job = mock(BackgroundJob.class);
+            when(job.getId()).thenReturn(1);
+            when(job.getCommand()).thenReturn("save");
+            when(backgroundJobService.submit(eq("save"), any())).thenReturn(job);
+
+            // Act
+            String result = workReportCommands.saveLatestCsv(false, true);
+
+            // Assert
+            assertThat(result).contains("バックグラウンドで開始しました: #1 save");
+            assertThat(result).contains("cancel --id 1");
+        }
+
+        @Test
+        @DisplayName("正常系：実行中のジョブにキャンセルが要求されること")
+        void cancel_runningJob_returnsMessage() {
+            // Arrange
+            when(backgroundJobService.cancel(1)).thenReturn(true);
+
+            // Act
+            String result = workReportCommands.cancelJob(1);
+
+            // Assert
+            assertThat(result).contains("キャンセルを要求しました: #1");
+        }
+
+        @Test
+        @DisplayName("異常系：実行中でないジョブの場合にエラーメッセージが返されること")
+        void cancel_unknownJob_returnsErrorMessage() {
+            // Arrange
+            when(backgroundJobService.cancel(9)).thenReturn(false);
+
+            // Act
+            String result = workReportCommands.cancelJob(9);
+
+            // Assert
+            assertThat(result).startsWith("エラー");
+        }
+    }
+    @Nested
+    @DisplayName("scheduler-stats コマンドのテスト")
+    class ShowSchedulerStats {
+
+        @Test
+        @DisplayName("正常系：実行したコマンドが interactive の完了件数に集計されること")
+        void interactiveCommand_isCountedAsInteractive() {
+            // Arrange
+            when(reportService.updateFromCsv("file.xls", "data.csv")).thenReturn(3);
+            workReportCommands.updateFile("file.xls", "data.csv");
+
+            // Act
+            String result = workReportCommands.showSchedulerStats();
+
+            // Assert
+            assertThat(result).contains("同時実行数の上限: ");
+            assertThat(result).contains("- interactive: 実行中 0");
+            assertThat(result).contains("完了 1");
+            assertThat(result).contains("- batch: 実行中 0");
+        }
+    }
+
+    @Nested
+    @DisplayName("showStats メソッドのテスト")
+    class ShowStats {
+
+        @TempDir
+        Path tempDir;
+
+        @Test
+        @DisplayName("正常系：計測した処理がない場合はその旨が返されること")
+        void noMeasurements_returnsMessage() {
+            // Act
+            String result = workReportCommands.showStats("");
+
+            // Assert
+            assertThat(result).isEqualTo("計測した処理はありません");
+        }
+
+        @Test
+        @DisplayName("正常系：フェーズごとの処理時間と件数が表示されること")
+        void measurements_areDescribed() {
+            // Arrange
+            phaseMetrics.record("update.evaluate", System.nanoTime());
+            phaseMetrics.record("update.evaluate", System.nanoTime());
+            phaseMetrics.count("rows.updated", 20);
+
+            // Act
+            String result = workReportCommands.showStats("");
+
+            // Assert
+            assertThat(result).contains("- update.evaluate: 2 回, p50 ");
+            assertThat(result).contains("- rows.updated: 20");
+        }
+
+        @Test
+        @DisplayName("正常系：--file 指定時に統計がJSONファイルに書き出されること")
+        void file_dumpsJson() throws IOException {
+            // Arrange
+            phaseMetrics.record("zip.create", System.nanoTime());
+            phaseMetrics.count("zip.bytes.written", 1024);
+            Path file = tempDir.resolve("stats/before.json");
+
+            // Act
+            String result = workReportCommands.showStats(file.toString());
+
+            // Assert
+            assertThat(result).contains("統計を書き出しました: " + file);
+            assertThat(Files.readString(file))
+                    .contains("\"phase\" : \"zip.create\"")
+                    .contains("\"zip.bytes.written\" : 1024");
         }
     }
 }
@@ -0,0 +1,47 @@
+package com.kos0514.work_report_generator.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link CompressionPolicy}のテストクラス
+ */
+class CompressionPolicyTest {
+
+    @Nested
+    @DisplayName("resolve メソッドのテスト")
+    class Resolve {
+
+        @Test
+        @DisplayName("ADAPTIVE以外の場合は圧縮率に関係なく自身が返されること")
+        void fixedPolicy_returnsItself() {
+            // Act & Assert
+            assertThat(CompressionPolicy.MAXIMUM.resolve(0.95)).isEqualTo(CompressionPolicy.MAXIMUM);
+            assertThat(CompressionPolicy.STORE.resolve(0.1)).isEqualTo(CompressionPolicy.STORE);
+        }
+
+        @Test
+        @DisplayName("ADAPTIVEで圧縮効果がない場合にSTOREが返されること")
+        void adaptive_incompressible_returnsStore() {
+            // Act & Assert
+            assertThat(CompressionPolicy.ADAPTIVE.resolve(0.98)).isEqualTo(CompressionPolicy.STORE);
+        }
+
+        @Test
+        @DisplayName("ADAPTIVEでよく縮む場合にFASTESTが返されること")
+        void adaptive_highlyCompressible_returnsFastest() {
+            // Act & Assert
+            assertThat(CompressionPolicy.ADAPTIVE.resolve(0.2)).isEqualTo(CompressionPolicy.FASTEST);
+        }
+
+        @Test
+        @DisplayName("ADAPTIVEで中程度に縮む場合にNORMALが返されること")
+        void adaptive_moderatelyCompressible_returnsNormal() {
+            // Act & Assert
+            assertThat(CompressionPolicy.ADAPTIVE.resolve(0.7)).isEqualTo(CompressionPolicy.NORMAL);
+        }
+    }
+}
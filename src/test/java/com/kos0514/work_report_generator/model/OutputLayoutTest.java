@@ -0,0 +1,67 @@
+package com.kos0514.work_report_generator.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link OutputLayout}のテストクラス
+ */
+class OutputLayoutTest {
+
+    private static final Path OUTPUT_DIR = Paths.get("output");
+
+    @Nested
+    @DisplayName("monthDirectory メソッドのテスト")
+    class MonthDirectory {
+
+        @Test
+        @DisplayName("FLATの場合は出力ディレクトリが返されること")
+        void flat_returnsOutputDir() {
+            // Act
+            Path result = OutputLayout.FLAT.monthDirectory(OUTPUT_DIR, "202506");
+
+            // Assert
+            assertThat(result).isEqualTo(OUTPUT_DIR);
+        }
+
+        @Test
+        @DisplayName("SHARDEDの場合は年と月のディレクトリが返されること")
+        void sharded_returnsYearAndMonthDir() {
+            // Act
+            Path result = OutputLayout.SHARDED.monthDirectory(OUTPUT_DIR, "202506");
+
+            // Assert
+            assertThat(result).isEqualTo(Paths.get("output", "2025", "06"));
+        }
+    }
+
+    @Nested
+    @DisplayName("yearDirectory メソッドのテスト")
+    class YearDirectory {
+
+        @Test
+        @DisplayName("FLATの場合は出力ディレクトリが返されること")
+        void flat_returnsOutputDir() {
+            // Act
+            Path result = OutputLayout.FLAT.yearDirectory(OUTPUT_DIR, 2025);
+
+            // Assert
+            assertThat(result).isEqualTo(OUTPUT_DIR);
+        }
+
+        @Test
+        @DisplayName("SHARDEDの場合は年のディレクトリが返されること")
+        void sharded_returnsYearDir() {
+            // Act
+            Path result = OutputLayout.SHARDED.yearDirectory(OUTPUT_DIR, 2025);
+
+            // Assert
+            assertThat(result).isEqualTo(Paths.get("output", "2025"));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.kos0514.work_report_generator.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link ReportFileName}のテストクラス
+ */
+class ReportFileNameTest {
+
+    @Nested
+    @DisplayName("parse メソッドのテスト")
+    class Parse {
+
+        @Test
+        @DisplayName("報告書のファイル名からユーザー名と年月が取得できること")
+        void validFileName_returnsParsedValue() {
+            // Act
+            var result = ReportFileName.parse("田中太郎_202506_作業報告書.xls");
+
+            // Assert
+            assertThat(result).isPresent();
+            assertThat(result.get().getUser()).isEqualTo("田中太郎");
+            assertThat(result.get().getYearMonth()).isEqualTo("202506");
+            assertThat(result.get().getFormat()).isEqualTo(ReportFormat.XLS);
+        }
+
+        @Test
+        @DisplayName("アンダースコアを含むユーザー名でも年月が取得できること")
+        void userNameWithUnderscore_returnsParsedValue() {
+            // Act
+            var result = ReportFileName.parse("tanaka_taro_202506_作業報告書.xlsx");
+
+            // Assert
+            assertThat(result).isPresent();
+            assertThat(result.get().getUser()).isEqualTo("tanaka_taro");
+            assertThat(result.get().getYearMonth()).isEqualTo("202506");
+            assertThat(result.get().getFormat()).isEqualTo(ReportFormat.XLSX);
+        }
+
+        @Test
+        @DisplayName("報告書の形式でないファイル名の場合に空が返されること")
+        void invalidFileName_returnsEmpty() {
+            // Act & Assert
+            assertThat(ReportFileName.parse("202506_work_data.csv")).isEmpty();
+            assertThat(ReportFileName.parse("田中太郎_2025_年間作業報告書.xls")).isEmpty();
+            assertThat(ReportFileName.parse(null)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("toFileName メソッドのテスト")
+    class ToFileName {
+
+        @Test
+        @DisplayName("ユーザー名、年月、拡張子からファイル名が生成されること")
+        void validValues_returnsFileName() {
+            // Act
+            var fileName = ReportFileName.of("田中太郎", "202506", ReportFormat.XLS).toFileName();
+
+            // Assert
+            assertThat(fileName).isEqualTo("田中太郎_202506_作業報告書.xls");
+        }
+
+        @Test
+        @DisplayName("年月の形式が不正な場合にIllegalArgumentExceptionがスローされること")
+        void invalidYearMonth_throwsIllegalArgumentException() {
+            // Act & Assert
+            assertThatThrownBy(() -> ReportFileName.of("田中太郎", "2025/06", ReportFormat.XLS))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("年月の形式が不正です");
+        }
+    }
+}
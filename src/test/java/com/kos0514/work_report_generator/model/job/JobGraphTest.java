@@ -0,0 +1,114 @@
+package com.kos0514.work_report_generator.model.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link JobGraph}のテストクラス
+ */
+class JobGraphTest {
+
+    private static JobSpec job(String id, JobCommand command, String file, String... dependsOn) {
+        return new JobSpec(id, command, null, null, null, file, null, false, List.of(dependsOn));
+    }
+
+    private static List<String> ids(List<JobSpec> jobs) {
+        return jobs.stream().map(JobSpec::id).toList();
+    }
+
+    @Test
+    @DisplayName("同じファイルのジョブが作成・更新・送信の順に並べられること")
+    void sameFile_orderedByCommand() {
+        // Arrange
+        List<JobSpec> jobs = List.of(
+                job("send", JobCommand.SEND, "a.xls"),
+                job("update", JobCommand.UPDATE_FILE, "a.xls"),
+                job("create", JobCommand.CREATE_FILE, "a.xls"));
+
+        // Act
+        JobGraph graph = JobGraph.of(jobs, job -> List.of(job.file()));
+
+        // Assert
+        assertThat(ids(graph.order())).containsExactly("create", "update", "send");
+        assertThat(graph.dependenciesOf("update")).containsExactly("create");
+        assertThat(graph.dependenciesOf("send")).containsExactly("update");
+        assertThat(graph.dependenciesOf("create")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("異なるファイルのジョブには依存関係がなく、定義順に並べられること")
+    void differentFiles_haveNoDependencies() {
+        // Arrange
+        List<JobSpec> jobs = List.of(
+                job("a", JobCommand.UPDATE_FILE, "a.xls"),
+                job("b", JobCommand.UPDATE_FILE, "b.xls"));
+
+        // Act
+        JobGraph graph = JobGraph.of(jobs, job -> List.of(job.file()));
+
+        // Assert
+        assertThat(ids(graph.order())).containsExactly("a", "b");
+        assertThat(graph.dependenciesOf("a")).isEmpty();
+        assertThat(graph.dependenciesOf("b")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("dependsOn で指定したジョブが先に並べられること")
+    void explicitDependency_isOrderedFirst() {
+        // Arrange
+        List<JobSpec> jobs = List.of(
+                job("a", JobCommand.SEND, "a.xls", "b"),
+                job("b", JobCommand.UPDATE_FILE, "b.xls"));
+
+        // Act
+        JobGraph graph = JobGraph.of(jobs, job -> List.of(job.file()));
+
+        // Assert
+        assertThat(ids(graph.order())).containsExactly("b", "a");
+        assertThat(graph.dependenciesOf("a")).containsExactly("b");
+    }
+
+    @Test
+    @DisplayName("存在しないジョブに依存する場合に例外がスローされること")
+    void unknownDependency_throwsException() {
+        // Arrange
+        List<JobSpec> jobs = List.of(job("a", JobCommand.SEND, "a.xls", "missing"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> JobGraph.of(jobs, job -> List.of(job.file())))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("missing");
+    }
+
+    @Test
+    @DisplayName("依存関係が循環している場合に例外がスローされること")
+    void cyclicDependency_throwsException() {
+        // Arrange
+        List<JobSpec> jobs = List.of(
+                job("a", JobCommand.UPDATE_FILE, "a.xls", "b"),
+                job("b", JobCommand.UPDATE_FILE, "b.xls", "a"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> JobGraph.of(jobs, job -> List.of(job.file())))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("循環");
+    }
+
+    @Test
+    @DisplayName("ジョブIDが重複している場合に例外がスローされること")
+    void duplicateId_throwsException() {
+        // Arrange
+        List<JobSpec> jobs = List.of(
+                job("a", JobCommand.UPDATE_FILE, "a.xls"),
+                job("a", JobCommand.UPDATE_FILE, "b.xls"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> JobGraph.of(jobs, job -> List.of(job.file())))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("重複");
+    }
+}
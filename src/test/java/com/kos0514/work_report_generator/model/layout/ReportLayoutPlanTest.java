@@ -0,0 +1,126 @@
+package com.kos0514.work_report_generator.model.layout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link ReportLayoutPlan}のテストクラス
+ */
+class ReportLayoutPlanTest {
+
+    private static ReportLayoutDescriptor iFormat(List<String> clients) {
+        return new ReportLayoutDescriptor(
+                "i-format", true, clients, null,
+                "B7", "C4", "L4",
+                "F", "G", "H", "J", "Q",
+                7);
+    }
+
+    @Nested
+    @DisplayName("compile メソッドのテスト")
+    class Compile {
+
+        @Test
+        @DisplayName("セル位置と列名が0ベースの行列番号に変換されること")
+        void validDescriptor_returnsZeroBasedIndexes() {
+            // Arrange
+            var descriptor = iFormat(List.of("株式会社サンプル"));
+
+            // Act
+            var plan = ReportLayoutPlan.compile(descriptor);
+
+            // Assert
+            assertThat(plan.getName()).isEqualTo("i-format");
+            assertThat(plan.isDefaultLayout()).isTrue();
+            assertThat(plan.getTargetMonthCell()).isEqualTo(new CellIndex(6, 1));
+            assertThat(plan.getClientNameCell()).isEqualTo(new CellIndex(3, 2));
+            assertThat(plan.getUserNameCell()).isEqualTo(new CellIndex(3, 11));
+            assertThat(plan.getStartTimeColumn()).isEqualTo(5);
+            assertThat(plan.getEndTimeColumn()).isEqualTo(6);
+            assertThat(plan.getBreakTimeColumn()).isEqualTo(7);
+            assertThat(plan.getWorkContentColumn()).isEqualTo(9);
+            assertThat(plan.getOverflowColumn()).isEqualTo(16);
+        }
+
+        @Test
+        @DisplayName("クライアントが未指定の場合に空のリストになること")
+        void nullClients_returnsEmptyList() {
+            // Act
+            var plan = ReportLayoutPlan.compile(iFormat(null));
+
+            // Assert
+            assertThat(plan.getClients()).isEmpty();
+            assertThat(plan.matchesClient("株式会社サンプル")).isFalse();
+        }
+
+        @Test
+        @DisplayName("列名が不正な場合にIllegalArgumentExceptionがスローされること")
+        void invalidColumn_throwsIllegalArgumentException() {
+            // Arrange
+            var descriptor = new ReportLayoutDescriptor(
+                    "broken", false, List.of(), null,
+                    "B7", "C4", "L4",
+                    "F1", "G", "H", "J", "Q",
+                    7);
+
+            // Act & Assert
+            assertThatThrownBy(() -> ReportLayoutPlan.compile(descriptor))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("列指定が不正です");
+        }
+
+        @Test
+        @DisplayName("1日の行番号が0以下の場合にIllegalArgumentExceptionがスローされること")
+        void invalidFirstDayRow_throwsIllegalArgumentException() {
+            // Arrange
+            var descriptor = new ReportLayoutDescriptor(
+                    "broken", false, List.of(), null,
+                    "B7", "C4", "L4",
+                    "F", "G", "H", "J", "Q",
+                    0);
+
+            // Act & Assert
+            assertThatThrownBy(() -> ReportLayoutPlan.compile(descriptor))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("1日の行番号は1以上である必要があります");
+        }
+    }
+
+    @Nested
+    @DisplayName("rowOfDay メソッドのテスト")
+    class RowOfDay {
+
+        @Test
+        @DisplayName("1日が定義された行に、以降の日が連続した行に対応すること")
+        void dayOfMonth_returnsConsecutiveRows() {
+            // Arrange
+            var plan = ReportLayoutPlan.compile(iFormat(List.of()));
+
+            // Act & Assert
+            assertThat(plan.rowOfDay(1)).isEqualTo(6);
+            assertThat(plan.rowOfDay(31)).isEqualTo(36);
+        }
+    }
+
+    @Nested
+    @DisplayName("matchesClient メソッドのテスト")
+    class MatchesClient {
+
+        @Test
+        @DisplayName("定義されたクライアント名に一致する場合にtrueを返すこと")
+        void definedClient_returnsTrue() {
+            // Arrange
+            var plan = ReportLayoutPlan.compile(iFormat(List.of("株式会社サンプル")));
+
+            // Act & Assert
+            assertThat(plan.matchesClient("株式会社サンプル")).isTrue();
+            assertThat(plan.matchesClient("別会社")).isFalse();
+            assertThat(plan.matchesClient(null)).isFalse();
+        }
+    }
+}
@@ -148,4 +148,32 @@ class TimeOfDayTest {
             assertThat(formattedTime).isEqualTo("12:45");
         }
     }
+
+    @Nested
+    @DisplayName("toExcelDayFraction メソッドのテスト")
+    class ToExcelDayFraction {
+
+        @Test
+        @DisplayName("時刻が1日に対する割合に変換されること")
+        void time_returnsDayFraction() {
+            // Arrange
+            var timeOfDay = TimeOfDay.of("9:00");
+
+            // Act
+            var fraction = timeOfDay.toExcelDayFraction();
+
+            // Assert
+            assertThat(fraction).isEqualTo(0.375);
+        }
+
+        @Test
+        @DisplayName("0:00が0に変換されること")
+        void midnight_returnsZero() {
+            // Arrange
+            var timeOfDay = TimeOfDay.of("0:00");
+
+            // Act & Assert
+            assertThat(timeOfDay.toExcelDayFraction()).isZero();
+        }
+    }
 }
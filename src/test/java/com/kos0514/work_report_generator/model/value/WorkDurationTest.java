@@ -265,4 +265,22 @@ class WorkDurationTest {
             assertThat(formattedDuration).isEqualTo("3:00");
         }
     }
+
+    @Nested
+    @DisplayName("toExcelDayFraction メソッドのテスト")
+    class ToExcelDayFraction {
+
+        @Test
+        @DisplayName("時間が1日に対する割合に変換されること")
+        void duration_returnsDayFraction() {
+            // Arrange
+            var duration = WorkDuration.of("1:30");
+
+            // Act
+            var fraction = duration.toExcelDayFraction();
+
+            // Assert
+            assertThat(fraction).isEqualTo(1.5 / 24);
+        }
+    }
 }
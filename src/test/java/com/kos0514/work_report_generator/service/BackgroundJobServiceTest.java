@@ -0,0 +1,97 @@
+package com.kos0514.work_report_generator.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.kos0514.work_report_generator.model.job.BackgroundJobState;
+import com.kos0514.work_report_generator.service.job.BackgroundJob;
+import com.kos0514.work_report_generator.service.job.BackgroundJobService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * BackgroundJobServiceのテストクラス
+ */
+class BackgroundJobServiceTest {
+
+    private BackgroundJobService backgroundJobService;
+
+    @BeforeEach
+    void setUp() {
+        backgroundJobService = new BackgroundJobService();
+        ReflectionTestUtils.setField(backgroundJobService, "historySize", 20);
+        ReflectionTestUtils.setField(backgroundJobService, "shutdownTimeoutSeconds", 5L);
+    }
+
+    private static void awaitFinished(BackgroundJob job) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (job.isRunning() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    @DisplayName("コマンドがバックグラウンドで実行され、結果と進捗が記録されること")
+    void submit_recordsResultAndProgress() throws Exception {
+        // Act
+        BackgroundJob job = backgroundJobService.submit("save", progress -> {
+            progress.start(2);
+            progress.advance();
+            progress.advance();
+            return "保存完了: 2 件のファイルを更新しました";
+        });
+        awaitFinished(job);
+
+        // Assert
+        assertThat(job.getState()).isEqualTo(BackgroundJobState.SUCCEEDED);
+        assertThat(job.getResult()).isEqualTo("保存完了: 2 件のファイルを更新しました");
+        assertThat(job.describe()).startsWith("#1 save [完了] 2/2 件 (100%)");
+        assertThat(backgroundJobService.find(1)).containsSame(job);
+    }
+
+    @Test
+    @DisplayName("キャンセルを要求すると、処理側が確認した時点で停止し、キャンセルとして記録されること")
+    void cancel_stopsAtNextCheck() throws Exception {
+        // Arrange
+        CountDownLatch running = new CountDownLatch(1);
+        BackgroundJob job = backgroundJobService.submit("send-all --month 2025/06", progress -> {
+            progress.start(100);
+            running.countDown();
+            while (!progress.isCancelRequested()) {
+                Thread.onSpinWait();
+            }
+            return "一括送信完了: 成功 0 件";
+        });
+        running.await(5, TimeUnit.SECONDS);
+
+        // Act
+        boolean cancelled = backgroundJobService.cancel(job.getId());
+        awaitFinished(job);
+
+        // Assert
+        assertThat(cancelled).isTrue();
+        assertThat(job.getState()).isEqualTo(BackgroundJobState.CANCELLED);
+        assertThat(backgroundJobService.cancel(job.getId())).isFalse();
+    }
+
+    @Test
+    @DisplayName("コマンドがエラーを返した場合に失敗として記録されること")
+    void errorResult_isRecordedAsFailure() throws Exception {
+        // Act
+        BackgroundJob job = backgroundJobService.submit("save", progress -> "エラー: CSVがありません");
+        awaitFinished(job);
+
+        // Assert
+        assertThat(job.getState()).isEqualTo(BackgroundJobState.FAILED);
+    }
+
+    @Test
+    @DisplayName("存在しないジョブのキャンセルが拒否されること")
+    void cancel_unknownJob_returnsFalse() {
+        // Act & Assert
+        assertThat(backgroundJobService.cancel(99)).isFalse();
+    }
+}
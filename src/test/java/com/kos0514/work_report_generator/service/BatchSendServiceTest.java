@@ -0,0 +1,300 @@
+package com.kos0514.work_report_generator.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.kos0514.work_report_generator.model.send.DeliveryResult;
+import com.kos0514.work_report_generator.model.send.SendManifestEntry;
+import com.kos0514.work_report_generator.service.config.ConfigService;
+import com.kos0514.work_report_generator.service.file.ZipService;
+import com.kos0514.work_report_generator.service.job.BatchJournalService;
+import com.kos0514.work_report_generator.service.job.WorkScheduler;
+import com.kos0514.work_report_generator.service.mail.MailTemplateService;
+import com.kos0514.work_report_generator.service.report.ReportService;
+import com.kos0514.work_report_generator.service.send_file.BatchSendService;
+import com.kos0514.work_report_generator.service.send_file.ReportDeliveryService;
+import com.kos0514.work_report_generator.service.send_file.SendManifestService;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * BatchSendServiceのテストクラス
+ */
+@ExtendWith(MockitoExtension.class)
+class BatchSendServiceTest {
+
+    @Mock
+    private ReportService reportService;
+
+    @Mock
+    private ZipService zipService;
+
+    @Mock
+    private ConfigService configService;
+
+    @Mock
+    private MailTemplateService mailTemplateService;
+
+    @Mock
+    private SendManifestService sendManifestService;
+
+    @Mock
+    private ReportDeliveryService reportDeliveryService;
+
+    @TempDir
+    Path tempDir;
+
+    private BatchSendService batchSendService;
+
+    @BeforeEach
+    void setUp() {
+        BatchJournalService batchJournalService = new BatchJournalService();
+        ReflectionTestUtils.setField(batchJournalService, "journalDir", tempDir.toString());
+        ReflectionTestUtils.setField(batchJournalService, "syncInterval", 32);
+        batchSendService = new BatchSendService(
+            reportService,
+            zipService,
+            configService,
+            mailTemplateService,
+            new TestUserInputService(),
+            sendManifestService,
+            reportDeliveryService,
+            batchJournalService,
+            new WorkScheduler()
+        );
+    }
+
+    @Test
+    @DisplayName("対象月のすべての報告書が処理され、結果が集計されること")
+    void sendAll_processesAllFilesAndSummarizes() throws Exception {
+        // Arrange
+        when(configService.getSendDirectory()).thenReturn("/test/send");
+        when(reportService.findExcelFilesByYearMonth("202506")).thenReturn(List.of(
+                "田中太郎_202506_作業報告書.xls",
+                "山田花子_202506_作業報告書.xls",
+                "佐藤次郎_202506_作業報告書.xls"));
+        when(reportService.resolveReportPath(anyString()))
+                .thenAnswer(invocation -> Paths.get("/test/output", invocation.<String>getArgument(0)));
+        when(zipService.createPasswordProtectedZip(anyString(), anyString())).thenReturn("password123");
+        when(zipService.createPasswordProtectedZip(contains("佐藤次郎"), anyString()))
+                .thenThrow(new IOException("ZIPの作成に失敗しました"));
+        when(reportService.findClient(anyString())).thenReturn("I社");
+
+        // Act
+        String result = batchSendService.sendAll("2025/06");
+
+        // Assert
+        assertThat(result).contains("成功 2 件, 失敗 1 件, 変更なし 0 件");
+        assertThat(result).contains("田中太郎_202506_作業報告書.zip");
+        assertThat(result).contains("山田花子_202506_作業報告書.zip");
+        assertThat(result).contains("ZIPの作成に失敗しました");
+        verify(zipService).savePasswordToFile("202506", "田中太郎", "password123");
+        verify(zipService).savePasswordToFile("202506", "山田花子", "password123");
+        verify(zipService, never()).savePasswordToFile(eq("202506"), eq("佐藤次郎"), anyString());
+        verify(mailTemplateService).generateAndSaveMailTemplates(
+                "202506", "田中太郎", "password123", Map.of(MailTemplateService.VAR_CLIENT, "I社"));
+    }
+
+    @Test
+    @DisplayName("前回の送信から変更がない報告書はZIPが作成されないこと")
+    void sendAll_unchangedFile_isSkipped() throws Exception {
+        // Arrange
+        when(configService.getSendDirectory()).thenReturn("/test/send");
+        when(reportService.findExcelFilesByYearMonth("202506")).thenReturn(List.of(
+                "田中太郎_202506_作業報告書.xls",
+                "山田花子_202506_作業報告書.xls"));
+        when(reportService.resolveReportPath(anyString()))
+                .thenAnswer(invocation -> Paths.get("/test/output", invocation.<String>getArgument(0)));
+        when(sendManifestService.hash(any())).thenReturn("hash");
+        when(sendManifestService.findUnchanged(eq("/test/send"), eq("202506"), anyString(), eq("hash")))
+                .thenReturn(Optional.empty());
+        when(sendManifestService.findUnchanged("/test/send", "202506", "田中太郎_202506_作業報告書.xls", "hash"))
+                .thenReturn(Optional.of(new SendManifestEntry(
+                        "hash",
+                        "/test/send/田中太郎_202506_作業報告書.zip",
+                        "/test/send/work/2025/202506/田中太郎/password.txt",
+                        "passwordHash",
+                        "2025-07-01T10:00:00+09:00")));
+        when(zipService.createPasswordProtectedZip(anyString(), anyString())).thenReturn("password123");
+
+        // Act
+        String result = batchSendService.sendAll("2025/06", false, false);
+
+        // Assert
+        assertThat(result).contains("成功 1 件, 失敗 0 件, 変更なし 1 件");
+        verify(zipService, never()).createPasswordProtectedZip(contains("田中太郎"), anyString());
+        verify(zipService).createPasswordProtectedZip(contains("山田花子"), anyString());
+        verify(sendManifestService).record(
+                eq("/test/send"),
+                eq("202506"),
+                eq("山田花子_202506_作業報告書.xls"),
+                eq("hash"),
+                anyString(),
+                any());
+    }
+
+    @Test
+    @DisplayName("強制送信の場合、送信マニフェストを確認せずにZIPが作成されること")
+    void sendAll_force_ignoresManifest() throws Exception {
+        // Arrange
+        when(configService.getSendDirectory()).thenReturn("/test/send");
+        when(reportService.findExcelFilesByYearMonth("202506"))
+                .thenReturn(List.of("田中太郎_202506_作業報告書.xls"));
+        when(reportService.resolveReportPath(anyString()))
+                .thenAnswer(invocation -> Paths.get("/test/output", invocation.<String>getArgument(0)));
+        when(zipService.createPasswordProtectedZip(anyString(), anyString())).thenReturn("password123");
+
+        // Act
+        String result = batchSendService.sendAll("2025/06", false, true);
+
+        // Assert
+        assertThat(result).contains("成功 1 件, 失敗 0 件, 変更なし 0 件");
+        verify(sendManifestService, never()).findUnchanged(anyString(), anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("追加の送信先への配信結果が送信先ごとに集計されること")
+    void sendAll_additionalDestinations_summarizesDeliveries() throws Exception {
+        // Arrange
+        when(configService.getSendDirectory()).thenReturn("/test/send");
+        when(configService.getAdditionalSendDirectories()).thenReturn(List.of("/mnt/nas"));
+        when(reportService.findExcelFilesByYearMonth("202506")).thenReturn(List.of(
+                "田中太郎_202506_作業報告書.xls",
+                "山田花子_202506_作業報告書.xls"));
+        when(reportService.resolveReportPath(anyString()))
+                .thenAnswer(invocation -> Paths.get("/test/output", invocation.<String>getArgument(0)));
+        when(zipService.createPasswordProtectedZip(anyString(), anyString())).thenReturn("password123");
+        when(reportDeliveryService.deliver(any(), eq(List.of("/mnt/nas")))).thenAnswer(invocation -> {
+            Path zipFile = invocation.getArgument(0);
+            Path target = Paths.get("/mnt/nas").resolve(zipFile.getFileName());
+            return zipFile.toString().contains("山田花子")
+                    ? List.of(new DeliveryResult("/mnt/nas", target, 3, 1500, "ディスクがいっぱいです"))
+                    : List.of(new DeliveryResult("/mnt/nas", target, 2, 600, null));
+        });
+
+        // Act
+        String result = batchSendService.sendAll("2025/06", false, false);
+
+        // Assert
+        assertThat(result).contains("- 配信先: /mnt/nas -> 成功 1 件, 失敗 1 件, 再試行 3 回 (合計 2100 ms)");
+        assertThat(result).contains("山田花子_202506_作業報告書.xls: ディスクがいっぱいです");
+    }
+
+    @Test
+    @DisplayName("まとめ送信の場合、すべての報告書が1つのZIPに格納されること")
+    void sendAll_bundle_createsSingleZip() throws Exception {
+        // Arrange
+        when(configService.getSendDirectory()).thenReturn("/test/send");
+        when(reportService.findExcelFilesByYearMonth("202506")).thenReturn(List.of(
+                "田中太郎_202506_作業報告書.xls",
+                "山田花子_202506_作業報告書.xls"));
+        when(reportService.resolveReportPath(anyString()))
+                .thenAnswer(invocation -> Paths.get("/test/output", invocation.<String>getArgument(0)));
+        when(zipService.createPasswordProtectedBundle(anyList(), anyString())).thenReturn("password123");
+        when(reportService.findClient(anyString())).thenReturn("I社");
+
+        // Act
+        String result = batchSendService.sendAll("2025/06", true, false);
+
+        // Assert
+        assertThat(result).contains("2 件を1つのZIPにまとめました");
+        verify(zipService).createPasswordProtectedBundle(
+                List.of(
+                        Paths.get("/test/output", "田中太郎_202506_作業報告書.xls"),
+                        Paths.get("/test/output", "山田花子_202506_作業報告書.xls")),
+                Paths.get("/test/send", "202506_作業報告書一式.zip").toString());
+        verify(zipService, never()).createPasswordProtectedZip(anyString(), anyString());
+        verify(zipService).savePasswordToFile("202506", "password123");
+        verify(mailTemplateService).generateAndSaveMailTemplates(
+                "202506", "password123", Map.of(MailTemplateService.VAR_CLIENT, "I社"));
+    }
+
+    @Test
+    @DisplayName("再開する場合、前回の実行で送信が完了した報告書が省略されること")
+    void sendAll_resume_skipsCompletedFiles() throws Exception {
+        // Arrange
+        when(configService.getSendDirectory()).thenReturn("/test/send");
+        when(reportService.findExcelFilesByYearMonth("202506")).thenReturn(List.of(
+                "田中太郎_202506_作業報告書.xls",
+                "山田花子_202506_作業報告書.xls",
+                "佐藤次郎_202506_作業報告書.xls"));
+        when(reportService.resolveReportPath(anyString()))
+                .thenAnswer(invocation -> Paths.get("/test/output", invocation.<String>getArgument(0)));
+        when(zipService.createPasswordProtectedZip(anyString(), anyString())).thenReturn("password123");
+        when(zipService.createPasswordProtectedZip(contains("佐藤次郎"), anyString()))
+                .thenThrow(new IOException("ZIPの作成に失敗しました"))
+                .thenReturn("password456");
+        batchSendService.sendAll("2025/06", false, false, false);
+
+        // Act
+        String result = batchSendService.sendAll("2025/06", false, false, true);
+
+        // Assert
+        assertThat(result).contains("成功 1 件, 失敗 0 件, 変更なし 0 件");
+        assertThat(result).contains("前回の実行で送信済みのため省略: 2 件");
+        verify(zipService, times(1)).createPasswordProtectedZip(contains("田中太郎"), anyString());
+        verify(zipService, times(2)).createPasswordProtectedZip(contains("佐藤次郎"), anyString());
+    }
+
+    @Test
+    @DisplayName("CSVを指定した場合、適用に成功した報告書だけが送信され、段階ごとの統計が表示されること")
+    void sendAll_withCsv_appliesCsvBeforeZip() throws Exception {
+        // Arrange
+        when(configService.getSendDirectory()).thenReturn("/test/send");
+        when(reportService.findExcelFilesByYearMonth("202506")).thenReturn(List.of(
+                "田中太郎_202506_作業報告書.xls",
+                "山田花子_202506_作業報告書.xls"));
+        when(reportService.resolveReportPath(anyString()))
+                .thenAnswer(invocation -> Paths.get("/test/output", invocation.<String>getArgument(0)));
+        when(reportService.updateFromCsv("田中太郎_202506_作業報告書.xls", "202506_work_data.csv"))
+                .thenReturn(20);
+        when(reportService.updateFromCsv("山田花子_202506_作業報告書.xls", "202506_work_data.csv"))
+                .thenThrow(new IllegalStateException("CSVからの更新に失敗しました"));
+        when(zipService.createPasswordProtectedZip(anyString(), anyString())).thenReturn("password123");
+
+        // Act
+        String result = batchSendService.sendAll(
+                "2025/06", false, false, false, "202506_work_data.csv");
+
+        // Assert
+        assertThat(result).contains("成功 1 件, 失敗 1 件, 変更なし 0 件");
+        assertThat(result).contains("山田花子_202506_作業報告書.xls -> エラー: CSVの適用に失敗しました");
+        assertThat(result).contains("- 段階ごとの最大滞留数: csv ", "zip ", "mail ");
+        verify(zipService).createPasswordProtectedZip(contains("田中太郎"), anyString());
+        verify(zipService, never()).createPasswordProtectedZip(contains("山田花子"), anyString());
+    }
+
+    @Test
+    @DisplayName("対象月の報告書がない場合にメッセージが返されること")
+    void sendAll_noFiles_returnsMessage() {
+        // Arrange
+        when(configService.getSendDirectory()).thenReturn("/test/send");
+        when(reportService.findExcelFilesByYearMonth("202506")).thenReturn(List.of());
+
+        // Act
+        String result = batchSendService.sendAll("2025/06");
+
+        // Assert
+        assertThat(result).contains("送信可能なExcelファイルが見つかりません");
+    }
+}
@@ -0,0 +1,80 @@
+package com.kos0514.work_report_generator.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.kos0514.work_report_generator.model.send.DeliveryResult;
+import com.kos0514.work_report_generator.service.send_file.ReportDeliveryService;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * ReportDeliveryServiceのテストクラス
+ */
+class ReportDeliveryServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ReportDeliveryService reportDeliveryService;
+    private Path zipFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        reportDeliveryService = new ReportDeliveryService();
+        ReflectionTestUtils.setField(reportDeliveryService, "retries", 2);
+        ReflectionTestUtils.setField(reportDeliveryService, "retryBackoffMillis", 1L);
+        zipFile = Files.write(tempDir.resolve("田中太郎_202506_作業報告書.zip"), new byte[128 * 1024]);
+    }
+
+    @Test
+    @DisplayName("すべての送信先にZIPファイルが配信されること")
+    void deliver_copiesToAllDestinations() throws Exception {
+        // Arrange
+        Path nas = tempDir.resolve("nas");
+        Path archive = tempDir.resolve("archive/2025");
+
+        // Act
+        List<DeliveryResult> results =
+                reportDeliveryService.deliver(zipFile, List.of(nas.toString(), archive.toString()));
+
+        // Assert
+        assertThat(results).hasSize(2).allMatch(DeliveryResult::succeeded);
+        assertThat(results).extracting(DeliveryResult::attempts).containsOnly(1);
+        assertThat(nas.resolve(zipFile.getFileName())).hasSameBinaryContentAs(zipFile);
+        assertThat(archive.resolve(zipFile.getFileName())).hasSameBinaryContentAs(zipFile);
+        assertThat(nas.resolve(zipFile.getFileName() + ".part")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("配信できない送信先は再試行後に失敗となり、他の送信先には配信されること")
+    void deliver_failingDestination_retriesAndDoesNotAffectOthers() throws Exception {
+        // Arrange
+        Path blocked = Files.writeString(tempDir.resolve("blocked"), "not a directory");
+        Path nas = tempDir.resolve("nas");
+
+        // Act
+        List<DeliveryResult> results =
+                reportDeliveryService.deliver(zipFile, List.of(blocked.toString(), nas.toString()));
+
+        // Assert
+        assertThat(results.get(0).succeeded()).isFalse();
+        assertThat(results.get(0).attempts()).isEqualTo(3);
+        assertThat(results.get(0).describe()).startsWith(blocked + " -> 失敗: ");
+        assertThat(results.get(1).succeeded()).isTrue();
+        assertThat(nas.resolve(zipFile.getFileName())).exists();
+    }
+
+    @Test
+    @DisplayName("送信先がない場合は空のリストが返されること")
+    void deliver_noDestinations_returnsEmpty() throws Exception {
+        // Act & Assert
+        assertThat(reportDeliveryService.deliver(zipFile, List.of())).isEmpty();
+    }
+}
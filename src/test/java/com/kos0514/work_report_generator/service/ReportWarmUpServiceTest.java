@@ -0,0 +1,128 @@
+package com.kos0514.work_report_generator.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.kos0514.work_report_generator.service.file.ExcelService;
+import com.kos0514.work_report_generator.service.report.HolidayService;
+import com.kos0514.work_report_generator.service.report.ReportLayoutRegistry;
+import com.kos0514.work_report_generator.service.report.ReportWarmUpService;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * ReportWarmUpServiceのテストクラス
+ */
+@ExtendWith(MockitoExtension.class)
+class ReportWarmUpServiceTest {
+
+    @Mock
+    private ExcelService excelService;
+
+    @Mock
+    private HolidayService holidayService;
+
+    @Mock
+    private ReportLayoutRegistry layoutRegistry;
+
+    @TempDir
+    Path tempDir;
+
+    private ReportWarmUpService reportWarmUpService;
+
+    @BeforeEach
+    void setUp() {
+        reportWarmUpService = new ReportWarmUpService(excelService, holidayService, layoutRegistry);
+    }
+
+    @Nested
+    @DisplayName("warmUp メソッドのテスト")
+    class WarmUp {
+
+        @Test
+        @DisplayName("正常系：祝日データとテンプレートが読み込まれ、計算式の評価と書き出しが行われること")
+        void template_isLoadedAndWritten() throws Exception {
+            // Arrange
+            Path template = Files.writeString(tempDir.resolve("作業報告書.xls"), "template");
+            ReflectionTestUtils.setField(reportWarmUpService, "templateFile", template.toString());
+            Workbook workbook = new HSSFWorkbook();
+            when(layoutRegistry.getPlans()).thenReturn(List.of());
+            when(excelService.loadWorkbook(template.toString())).thenReturn(workbook);
+
+            // Act
+            reportWarmUpService.warmUp();
+
+            // Assert
+            verify(holidayService).isHoliday(any());
+            verify(excelService).evaluateAllFormulaCells(workbook);
+            verify(excelService).writeWorkbook(eq(workbook), any());
+        }
+
+        @Test
+        @DisplayName("テンプレートがない場合は、新しいワークブックで書き込み処理が行われること")
+        void noTemplate_usesScratchWorkbook() throws Exception {
+            // Arrange
+            ReflectionTestUtils.setField(
+                    reportWarmUpService, "templateFile", tempDir.resolve("missing.xls").toString());
+            when(layoutRegistry.getPlans()).thenReturn(List.of());
+
+            // Act
+            reportWarmUpService.warmUp();
+
+            // Assert
+            verify(excelService, never()).loadWorkbook(anyString());
+            verify(excelService).setCellValue(any(Sheet.class), eq("A1"), anyString());
+            verify(excelService).writeWorkbook(any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("onApplicationStarted メソッドのテスト")
+    class OnApplicationStarted {
+
+        @Test
+        @DisplayName("無効の場合はウォームアップが行われないこと")
+        void disabled_doesNothing() {
+            // Arrange
+            ReflectionTestUtils.setField(reportWarmUpService, "enabled", false);
+
+            // Act
+            reportWarmUpService.onApplicationStarted();
+
+            // Assert
+            verifyNoInteractions(holidayService, excelService, layoutRegistry);
+        }
+
+        @Test
+        @DisplayName("コマンドを1回だけ実行するモードではウォームアップが行われないこと")
+        void oneShot_doesNothing() {
+            // Arrange
+            ReflectionTestUtils.setField(reportWarmUpService, "enabled", true);
+            ReflectionTestUtils.setField(reportWarmUpService, "oneShot", true);
+
+            // Act
+            reportWarmUpService.onApplicationStarted();
+
+            // Assert
+            verifyNoInteractions(holidayService, excelService, layoutRegistry);
+        }
+    }
+}
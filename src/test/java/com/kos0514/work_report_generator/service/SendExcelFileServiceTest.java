@@ -3,15 +3,23 @@ package com.kos0514.work_report_generator.service;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.kos0514.work_report_generator.model.send.SendManifestEntry;
 import com.kos0514.work_report_generator.service.config.ConfigService;
 import com.kos0514.work_report_generator.service.file.ZipService;
 import com.kos0514.work_report_generator.service.mail.MailTemplateService;
 import com.kos0514.work_report_generator.service.report.ReportService;
+import com.kos0514.work_report_generator.service.send_file.ReportDeliveryService;
 import com.kos0514.work_report_generator.service.send_file.SendExcelFileService;
+import com.kos0514.work_report_generator.service.send_file.SendManifestService;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -37,6 +45,12 @@ class SendExcelFileServiceTest {
     @Mock
     private MailTemplateService mailTemplateService;
 
+    @Mock
+    private SendManifestService sendManifestService;
+
+    @Mock
+    private ReportDeliveryService reportDeliveryService;
+
     private SendExcelFileService sendExcelFileService;
 
     @BeforeEach
@@ -51,7 +65,9 @@ class SendExcelFileServiceTest {
             zipService, 
             configService, 
             mailTemplateService,
-            testUserInputService
+            testUserInputService,
+            sendManifestService,
+            reportDeliveryService
         );
     }
 
@@ -67,10 +83,12 @@ class SendExcelFileServiceTest {
         // テスト用のExcelファイルリストを作成
         when(reportService.findExcelFilesByYearMonth("202507")).thenReturn(List.of("user_202507_作業報告書.xls"));
         when(reportService.extractYearMonthFromFileName("user_202507_作業報告書.xls")).thenReturn("202507");
-        when(reportService.getOutputDir()).thenReturn("/test/output");
+        when(reportService.resolveReportPath("user_202507_作業報告書.xls"))
+                .thenReturn(Paths.get("/test/output", "user_202507_作業報告書.xls"));
 
         // ZIPファイル作成のモック
         when(zipService.createPasswordProtectedZip(anyString(), anyString())).thenReturn("password123");
+        when(reportService.findClient("user_202507_作業報告書.xls")).thenReturn("I社");
 
         // メソッド実行
         String result = sendExcelFileService.sendExcelFile("");
@@ -79,9 +97,65 @@ class SendExcelFileServiceTest {
         verify(configService).setSendDirectory("/test/output"); // テスト用の入力が使用されたことを確認
         verify(zipService).createPasswordProtectedZip(any(), any());
         verify(zipService).savePasswordToFile(anyString(), anyString());
-        verify(mailTemplateService).generateAndSaveMailTemplates(anyString(), anyString());
+        verify(mailTemplateService).generateAndSaveMailTemplates(
+                "202507",
+                "password123",
+                Map.of(MailTemplateService.VAR_USER, "user", MailTemplateService.VAR_CLIENT, "I社"));
 
         // 結果の検証
         assertTrue(result.contains("ファイルを送信しました"));
     }
+
+    @Test
+    void testSendExcelFile_UnchangedSinceLastSend_SkipsZip() throws Exception {
+        // モックの設定
+        String fileName = "user_202507_作業報告書.xls";
+        when(configService.getSendDirectory()).thenReturn("/test/send");
+        when(reportService.extractYearMonthFromFileName(fileName)).thenReturn("202507");
+        when(reportService.resolveReportPath(fileName)).thenReturn(Paths.get("/test/output", fileName));
+        when(sendManifestService.hash(Paths.get("/test/output", fileName))).thenReturn("hash");
+        when(sendManifestService.findUnchanged("/test/send", "202507", fileName, "hash"))
+                .thenReturn(Optional.of(new SendManifestEntry(
+                        "hash",
+                        "/test/send/user_202507_作業報告書.zip",
+                        "/test/send/work/2025/202507/password.txt",
+                        "passwordHash",
+                        "2025-08-01T10:00:00+09:00")));
+
+        // メソッド実行
+        String result = sendExcelFileService.sendExcelFile(fileName, "", false);
+
+        // 検証
+        verify(zipService, never()).createPasswordProtectedZip(anyString(), anyString());
+        verify(zipService, never()).savePasswordToFile(anyString(), anyString());
+        assertTrue(result.contains("送信を省略しました"));
+        assertTrue(result.contains("/test/send/user_202507_作業報告書.zip"));
+    }
+
+    @Test
+    void testSendExcelFile_Force_IgnoresManifest() throws Exception {
+        // モックの設定
+        String fileName = "user_202507_作業報告書.xls";
+        Path passwordFile = Paths.get("/test/send/work/2025/202507/password.txt");
+        when(configService.getSendDirectory()).thenReturn("/test/send");
+        when(reportService.extractYearMonthFromFileName(fileName)).thenReturn("202507");
+        when(reportService.resolveReportPath(fileName)).thenReturn(Paths.get("/test/output", fileName));
+        when(sendManifestService.hash(Paths.get("/test/output", fileName))).thenReturn("hash");
+        when(zipService.createPasswordProtectedZip(anyString(), anyString())).thenReturn("password123");
+        when(zipService.savePasswordToFile("202507", "password123")).thenReturn(passwordFile);
+
+        // メソッド実行
+        String result = sendExcelFileService.sendExcelFile(fileName, "", true);
+
+        // 検証
+        verify(sendManifestService, never()).findUnchanged(anyString(), anyString(), anyString(), anyString());
+        verify(sendManifestService).record(
+                "/test/send",
+                "202507",
+                fileName,
+                "hash",
+                Paths.get("/test/send", "user_202507_作業報告書.zip").toString(),
+                passwordFile);
+        assertTrue(result.contains("ファイルを送信しました"));
+    }
 }
@@ -0,0 +1,135 @@
+package com.kos0514.work_report_generator.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.kos0514.work_report_generator.model.send.SendManifestEntry;
+import com.kos0514.work_report_generator.service.send_file.SendManifestService;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * SendManifestServiceのテストクラス
+ */
+class SendManifestServiceTest {
+
+    private static final String YEAR_MONTH = "202506";
+    private static final String FILE_NAME = "田中太郎_202506_作業報告書.xls";
+
+    @TempDir
+    Path tempDir;
+
+    private SendManifestService sendManifestService;
+    private String sendDir;
+    private Path reportFile;
+    private Path zipFile;
+    private Path passwordFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        sendManifestService = new SendManifestService();
+        sendDir = tempDir.resolve("send").toString();
+        reportFile = Files.writeString(tempDir.resolve(FILE_NAME), "report");
+        zipFile = Files.createDirectories(tempDir.resolve("send")).resolve("田中太郎_202506_作業報告書.zip");
+        Files.writeString(zipFile, "zip");
+        passwordFile = Files.createDirectories(tempDir.resolve("send/work/2025/202506"))
+                .resolve("password.txt");
+        Files.writeString(passwordFile, "Abcd1234");
+    }
+
+    @Nested
+    @DisplayName("findUnchanged メソッドのテスト")
+    class FindUnchanged {
+
+        @Test
+        @DisplayName("正常系：送信時から変更がない場合に送信記録が返されること")
+        void unchanged_returnsEntry() throws IOException {
+            // Arrange
+            String sha256 = sendManifestService.hash(reportFile);
+            sendManifestService.record(
+                    sendDir, YEAR_MONTH, FILE_NAME, sha256, zipFile.toString(), passwordFile);
+
+            // Act
+            Optional<SendManifestEntry> result =
+                    sendManifestService.findUnchanged(sendDir, YEAR_MONTH, FILE_NAME, sha256);
+
+            // Assert
+            assertThat(result).isPresent();
+            assertThat(result.get().zipFilePath()).isEqualTo(zipFile.toString());
+            assertThat(result.get().passwordFilePath()).isEqualTo(passwordFile.toString());
+            assertThat(tempDir.resolve("send/work/2025/202506/send-manifest.json")).exists();
+        }
+
+        @Test
+        @DisplayName("報告書が変更された場合は空が返されること")
+        void reportChanged_returnsEmpty() throws IOException {
+            // Arrange
+            sendManifestService.record(
+                    sendDir,
+                    YEAR_MONTH,
+                    FILE_NAME,
+                    sendManifestService.hash(reportFile),
+                    zipFile.toString(),
+                    passwordFile);
+            Files.writeString(reportFile, "updated report");
+
+            // Act
+            Optional<SendManifestEntry> result = sendManifestService.findUnchanged(
+                    sendDir, YEAR_MONTH, FILE_NAME, sendManifestService.hash(reportFile));
+
+            // Assert
+            assertThat(result).isEmpty();
+        }
+
+        @Test
+        @DisplayName("パスワードファイルが上書きされた場合は空が返されること")
+        void passwordFileOverwritten_returnsEmpty() throws IOException {
+            // Arrange
+            String sha256 = sendManifestService.hash(reportFile);
+            sendManifestService.record(
+                    sendDir, YEAR_MONTH, FILE_NAME, sha256, zipFile.toString(), passwordFile);
+            Files.writeString(passwordFile, "Wxyz5678");
+
+            // Act
+            Optional<SendManifestEntry> result =
+                    sendManifestService.findUnchanged(sendDir, YEAR_MONTH, FILE_NAME, sha256);
+
+            // Assert
+            assertThat(result).isEmpty();
+        }
+
+        @Test
+        @DisplayName("ZIPファイルが削除された場合は空が返されること")
+        void zipFileDeleted_returnsEmpty() throws IOException {
+            // Arrange
+            String sha256 = sendManifestService.hash(reportFile);
+            sendManifestService.record(
+                    sendDir, YEAR_MONTH, FILE_NAME, sha256, zipFile.toString(), passwordFile);
+            Files.delete(zipFile);
+
+            // Act
+            Optional<SendManifestEntry> result =
+                    sendManifestService.findUnchanged(sendDir, YEAR_MONTH, FILE_NAME, sha256);
+
+            // Assert
+            assertThat(result).isEmpty();
+        }
+
+        @Test
+        @DisplayName("マニフェストがない場合は空が返されること")
+        void noManifest_returnsEmpty() throws IOException {
+            // Act
+            Optional<SendManifestEntry> result =
+                    sendManifestService.findUnchanged(sendDir, YEAR_MONTH, FILE_NAME, "hash");
+
+            // Assert
+            assertThat(result).isEmpty();
+        }
+    }
+}
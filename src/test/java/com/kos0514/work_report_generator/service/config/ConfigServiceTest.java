@@ -0,0 +1,125 @@
+package com.kos0514.work_report_generator.service.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * {@link ConfigService}のテストクラス
+ */
+class ConfigServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path configFile;
+    private ConfigService configService;
+
+    @BeforeEach
+    void setUp() {
+        configFile = tempDir.resolve("config").resolve("send-config.properties");
+        configService = new ConfigService(configFile);
+    }
+
+    private FileTime writeConfig(String sendDirectory) throws IOException {
+        Files.createDirectories(configFile.getParent());
+        Files.writeString(configFile, "send.directory=" + sendDirectory + "\n", StandardCharsets.ISO_8859_1);
+        return Files.getLastModifiedTime(configFile);
+    }
+
+    @Nested
+    @DisplayName("getSendDirectory メソッドのテスト")
+    class GetSendDirectory {
+
+        @Test
+        @DisplayName("設定ファイルの更新日時とサイズが変わらない場合は、読み直さずに前回の値が返されること")
+        void unchangedFile_returnsCachedValue() throws IOException {
+            // Arrange
+            FileTime lastModified = writeConfig("/send/aaaa");
+            assertThat(configService.getSendDirectory()).isEqualTo("/send/aaaa");
+            writeConfig("/send/bbbb");
+            Files.setLastModifiedTime(configFile, lastModified);
+
+            // Act
+            String directory = configService.getSendDirectory();
+
+            // Assert
+            assertThat(directory).isEqualTo("/send/aaaa");
+        }
+
+        @Test
+        @DisplayName("設定ファイルの更新日時が変わった場合は読み直されること")
+        void modifiedFile_isReloaded() throws IOException {
+            // Arrange
+            FileTime lastModified = writeConfig("/send/aaaa");
+            assertThat(configService.getSendDirectory()).isEqualTo("/send/aaaa");
+            writeConfig("/send/bbbb");
+            Files.setLastModifiedTime(configFile, FileTime.fromMillis(lastModified.toMillis() + 1000));
+
+            // Act
+            String directory = configService.getSendDirectory();
+
+            // Assert
+            assertThat(directory).isEqualTo("/send/bbbb");
+        }
+
+        @Test
+        @DisplayName("設定ファイルのサイズが変わった場合は読み直されること")
+        void resizedFile_isReloaded() throws IOException {
+            // Arrange
+            FileTime lastModified = writeConfig("/send/aaaa");
+            assertThat(configService.getSendDirectory()).isEqualTo("/send/aaaa");
+            writeConfig("/send/longer");
+            Files.setLastModifiedTime(configFile, lastModified);
+
+            // Act
+            String directory = configService.getSendDirectory();
+
+            // Assert
+            assertThat(directory).isEqualTo("/send/longer");
+        }
+    }
+
+    @Nested
+    @DisplayName("setSendDirectory メソッドのテスト")
+    class SetSendDirectory {
+
+        @Test
+        @DisplayName("保存した送信先ディレクトリが、同じインスタンスと別のインスタンスの両方から読めること")
+        void savedDirectory_isVisibleToReaders() throws IOException {
+            // Arrange
+            writeConfig("/send/old");
+            assertThat(configService.getSendDirectory()).isEqualTo("/send/old");
+
+            // Act
+            configService.setSendDirectory("/send/new");
+
+            // Assert
+            assertThat(configService.getSendDirectory()).isEqualTo("/send/new");
+            assertThat(new ConfigService(configFile).getSendDirectory()).isEqualTo("/send/new");
+        }
+
+        @Test
+        @DisplayName("保存後に一時ファイルが残らないこと")
+        void save_leavesNoTempFile() throws IOException {
+            // Act
+            configService.setSendDirectory("/send/new");
+
+            // Assert
+            try (Stream<Path> files = Files.list(configFile.getParent())) {
+                assertThat(files.map(path -> path.getFileName().toString()))
+                        .containsExactly("send-config.properties");
+            }
+        }
+    }
+}
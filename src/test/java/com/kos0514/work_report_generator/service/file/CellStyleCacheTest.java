@@ -0,0 +1,115 @@
+package com.kos0514.work_report_generator.service.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link CellStyleCache}のテストクラス
+ */
+class CellStyleCacheTest {
+
+    private Workbook workbook;
+    private CellStyle baseStyle;
+    private CellStyleCache styleCache;
+
+    @BeforeEach
+    void setUp() {
+        workbook = new HSSFWorkbook();
+        baseStyle = workbook.createCellStyle();
+        baseStyle.setBorderBottom(BorderStyle.THIN);
+        styleCache = new CellStyleCache(workbook);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        workbook.close();
+    }
+
+    @Nested
+    @DisplayName("withFormat メソッドのテスト")
+    class WithFormat {
+
+        @Test
+        @DisplayName("大量のセルに書き込んでも、元のスタイルと表示形式の組み合わせごとに1つだけ作成されること")
+        void reusesStylePerBaseStyleAndFormat() {
+            // Arrange
+            CellStyle otherBaseStyle = workbook.createCellStyle();
+            Sheet sheet = workbook.createSheet("報告書");
+            int stylesBefore = workbook.getNumCellStyles();
+
+            // Act
+            for (int r = 0; r < 10_000; r++) {
+                Row row = sheet.createRow(r);
+                for (int c = 0; c < 4; c++) {
+                    Cell cell = row.createCell(c);
+                    CellStyle base = c % 2 == 0 ? baseStyle : otherBaseStyle;
+                    cell.setCellStyle(styleCache.withFormat(base, c < 2 ? "h:mm" : "0.00"));
+                }
+            }
+
+            // Assert
+            assertThat(workbook.getNumCellStyles()).isEqualTo(stylesBefore + 4);
+            assertThat(styleCache.size()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("元のスタイルの罫線を引き継いで表示形式が適用され、同じ組み合わせでは同じスタイルが返されること")
+        void clonesBaseStyle() {
+            // Act
+            CellStyle first = styleCache.withFormat(baseStyle, "h:mm");
+            CellStyle second = styleCache.withFormat(baseStyle, "h:mm");
+
+            // Assert
+            assertThat(second).isSameAs(first);
+            assertThat(first).isNotSameAs(baseStyle);
+            assertThat(first.getBorderBottom()).isEqualTo(BorderStyle.THIN);
+            assertThat(first.getDataFormatString()).isEqualTo("h:mm");
+        }
+
+        @Test
+        @DisplayName("元のスタイルが既に同じ表示形式の場合、元のスタイルが返されること")
+        void sameFormat_returnsBaseStyle() {
+            // Arrange
+            baseStyle.setDataFormat(workbook.createDataFormat().getFormat("h:mm"));
+            int stylesBefore = workbook.getNumCellStyles();
+
+            // Act
+            CellStyle style = styleCache.withFormat(baseStyle, "h:mm");
+
+            // Assert
+            assertThat(style).isSameAs(baseStyle);
+            assertThat(workbook.getNumCellStyles()).isEqualTo(stylesBefore);
+        }
+
+        @Test
+        @DisplayName("スタイル数が上限に達している場合、スタイルを作成せずに元のスタイルが返されること")
+        void styleLimitReached_returnsBaseStyle() {
+            // Arrange
+            int maxCellStyles = workbook.getSpreadsheetVersion().getMaxCellStyles();
+            while (workbook.getNumCellStyles() < maxCellStyles) {
+                workbook.createCellStyle();
+            }
+
+            // Act
+            CellStyle style = styleCache.withFormat(baseStyle, "h:mm");
+
+            // Assert
+            assertThat(style).isSameAs(baseStyle);
+            assertThat(workbook.getNumCellStyles()).isEqualTo(maxCellStyles);
+            assertThat(styleCache.size()).isZero();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.kos0514.work_report_generator.service.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * {@link CompressibilityEstimator}のテストクラス
+ */
+class CompressibilityEstimatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("同じ値が続くデータの圧縮率が小さく見積もられること")
+    void repetitiveData_returnsLowRatio() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("zeros.bin");
+        Files.write(file, new byte[200 * 1024]);
+
+        // Act
+        double ratio = CompressibilityEstimator.estimate(file);
+
+        // Assert
+        assertThat(ratio).isLessThan(0.1);
+    }
+
+    @Test
+    @DisplayName("ランダムなデータの圧縮率がほぼ1と見積もられること")
+    void randomData_returnsHighRatio() throws IOException {
+        // Arrange
+        byte[] data = new byte[200 * 1024];
+        new Random(42).nextBytes(data);
+        Path file = tempDir.resolve("random.bin");
+        Files.write(file, data);
+
+        // Act
+        double ratio = CompressibilityEstimator.estimate(file);
+
+        // Assert
+        assertThat(ratio).isGreaterThan(0.9);
+    }
+
+    @Test
+    @DisplayName("空のファイルの圧縮率が1.0と見積もられること")
+    void emptyFile_returnsOne() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("empty.bin");
+        Files.write(file, new byte[0]);
+
+        // Act & Assert
+        assertThat(CompressibilityEstimator.estimate(file)).isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,197 @@
+package com.kos0514.work_report_generator.service.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * {@link ExcelService}のテストクラス
+ */
+class ExcelServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ExcelService excelService = new ExcelService();
+
+    @Nested
+    @DisplayName("writeAtomically メソッドのテスト")
+    class WriteAtomically {
+
+        @Test
+        @DisplayName("正常系：書き込んだ内容でファイルが置き換えられ、一時ファイルが残らないこと")
+        void success_replacesFile() throws IOException {
+            // Arrange
+            Path target = Files.writeString(tempDir.resolve("report.xls"), "old");
+
+            // Act
+            excelService.writeAtomically(target, out -> out.write("new".getBytes(StandardCharsets.UTF_8)));
+
+            // Assert
+            assertThat(Files.readString(target)).isEqualTo("new");
+            assertThat(tempDir.resolve("report.xls.tmp")).doesNotExist();
+        }
+
+        @Test
+        @DisplayName("書き込みの途中で失敗した場合、元のファイルがそのまま残ること")
+        void failure_keepsOriginalFile() throws IOException {
+            // Arrange
+            Path target = Files.writeString(tempDir.resolve("report.xls"), "old");
+
+            // Act & Assert
+            assertThatThrownBy(() -> excelService.writeAtomically(target, out -> {
+                out.write("half".getBytes(StandardCharsets.UTF_8));
+                throw new IOException("書き込みに失敗しました");
+            })).isInstanceOf(IOException.class);
+            assertThat(Files.readString(target)).isEqualTo("old");
+            assertThat(tempDir.resolve("report.xls.tmp")).doesNotExist();
+        }
+    }
+
+    @Nested
+    @DisplayName("openXlsxReport メソッドのテスト")
+    class OpenXlsxReport {
+
+        @BeforeEach
+        void setUp() {
+            ReflectionTestUtils.setField(excelService, "xlsxRowWindow", 2);
+        }
+
+        @Test
+        @DisplayName("正常系：見出しはそのまま書き込め、以降の行はテンプレートのスタイル・計算式で作成されること")
+        void success_streamsRowsFromTemplate() throws IOException {
+            // Arrange
+            Path template = createTemplate();
+            Path output = tempDir.resolve("report.xlsx");
+
+            // Act
+            try (XlsxStreamingReport report = excelService.openXlsxReport(template.toString(), 1)) {
+                excelService.setCellValue(report.headerSheet(0), 0, 1, "山田");
+                Sheet sheet = report.rowSheet(0);
+                report.writeRows(0, row -> {
+                    if (row < 4) {
+                        excelService.setCellValue(sheet, row, 0, row * 10.0);
+                    }
+                });
+                try (OutputStream out = Files.newOutputStream(output)) {
+                    report.write(out);
+                }
+            }
+
+            // Assert
+            try (InputStream in = Files.newInputStream(output);
+                    XSSFWorkbook workbook = new XSSFWorkbook(in)) {
+                XSSFSheet sheet = workbook.getSheetAt(0);
+                assertThat(sheet.getRow(0).getCell(0).getStringCellValue()).isEqualTo("見出し");
+                assertThat(sheet.getRow(0).getCell(1).getStringCellValue()).isEqualTo("山田");
+                assertThat(sheet.getRow(3).getCell(0).getNumericCellValue()).isEqualTo(30.0);
+                assertThat(sheet.getRow(3).getCell(0).getCellStyle().getDataFormatString())
+                        .isEqualTo("0.00");
+                assertThat(sheet.getRow(4).getCell(0).getCellFormula()).isEqualTo("SUM(A2:A4)");
+                assertThat(workbook.getForceFormulaRecalculation()).isTrue();
+            }
+        }
+
+        @Test
+        @DisplayName("シート名を指定した場合、1枚目のシートを複製したシートに書き込めること")
+        void success_clonesSheets() throws IOException {
+            // Arrange
+            Path template = createTemplate();
+            Path output = tempDir.resolve("year.xlsx");
+
+            // Act
+            try (XlsxStreamingReport report =
+                    excelService.openXlsxReport(template.toString(), 1, List.of("1月", "2月"))) {
+                for (int i = 0; i < 2; i++) {
+                    report.writeRows(i, row -> { });
+                }
+                try (OutputStream out = Files.newOutputStream(output)) {
+                    report.write(out);
+                }
+            }
+
+            // Assert
+            try (InputStream in = Files.newInputStream(output);
+                    XSSFWorkbook workbook = new XSSFWorkbook(in)) {
+                assertThat(workbook.getNumberOfSheets()).isEqualTo(2);
+                assertThat(workbook.getSheetName(0)).isEqualTo("1月");
+                assertThat(workbook.getSheetName(1)).isEqualTo("2月");
+                assertThat(workbook.getSheetAt(1).getRow(0).getCell(0).getStringCellValue())
+                        .isEqualTo("見出し");
+                assertThat(workbook.getSheetAt(1).getRow(4).getCell(0).getCellFormula())
+                        .isEqualTo("SUM(A2:A4)");
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("readXlsxValues メソッドのテスト")
+    class ReadXlsxValues {
+
+        @Test
+        @DisplayName("正常系：文字列と数値のセルの値を読み取り、計算式のセルは含まないこと")
+        void success_readsValues() throws IOException {
+            // Arrange
+            Path file = tempDir.resolve("report.xlsx");
+            try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+                Row row = workbook.createSheet("report").createRow(2);
+                row.createCell(0).setCellValue("作業");
+                row.createCell(1).setCellValue(0.375);
+                row.createCell(2).setCellFormula("B3*2");
+                try (OutputStream out = Files.newOutputStream(file)) {
+                    workbook.write(out);
+                }
+            }
+
+            // Act
+            XlsxSheetValues values = excelService.readXlsxValues(file);
+
+            // Assert
+            assertThat(values.getString(2, 0)).isEqualTo("作業");
+            assertThat(values.get(2, 1)).isEqualTo(0.375);
+            assertThat(values.get(2, 2)).isNull();
+            assertThat(values.getString(2, 1)).isNull();
+        }
+    }
+
+    /**
+     * 見出し1行、日の行3行（表示形式つき）、合計行（計算式）のテンプレートを作成します
+     */
+    private Path createTemplate() throws IOException {
+        Path template = tempDir.resolve("template.xls");
+        try (Workbook workbook = new HSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("report");
+            sheet.createRow(0).createCell(0).setCellValue("見出し");
+            CellStyle style = workbook.createCellStyle();
+            style.setDataFormat(workbook.createDataFormat().getFormat("0.00"));
+            for (int r = 1; r < 4; r++) {
+                sheet.createRow(r).createCell(0).setCellStyle(style);
+            }
+            sheet.createRow(4).createCell(0).setCellFormula("SUM(A2:A4)");
+            try (OutputStream out = Files.newOutputStream(template)) {
+                workbook.write(out);
+            }
+        }
+        return template;
+    }
+}
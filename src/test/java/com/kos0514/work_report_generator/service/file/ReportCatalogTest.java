@@ -0,0 +1,227 @@
+package com.kos0514.work_report_generator.service.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kos0514.work_report_generator.model.OutputLayout;
+import com.kos0514.work_report_generator.model.ReportFileName;
+import com.kos0514.work_report_generator.model.catalog.ReportCatalogEntry;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * {@link ReportCatalog}のテストクラス
+ */
+class ReportCatalogTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String TANAKA = "田中太郎_202506_作業報告書.xls";
+    private static final String SUZUKI = "鈴木花子_202506_作業報告書.xls";
+
+    @TempDir
+    Path tempDir;
+
+    private Path outputDir;
+    private Path monthDir;
+    private Path catalogFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        outputDir = Files.createDirectories(tempDir.resolve("output"));
+        monthDir = Files.createDirectories(outputDir.resolve("2025").resolve("06"));
+        catalogFile = outputDir.resolve("catalog.jsonl");
+    }
+
+    @Nested
+    @DisplayName("findByYearMonth メソッドのテスト")
+    class FindByYearMonth {
+
+        @Test
+        @DisplayName("PUTとREMOVEの行を順に反映したエントリが返されること")
+        void replaysPutAndRemove() throws IOException {
+            // Arrange
+            createReport(TANAKA);
+            createReport(SUZUKI);
+            writeLines(
+                    line(ReportCatalogEntry.Op.PUT, TANAKA),
+                    line(ReportCatalogEntry.Op.PUT, SUZUKI),
+                    line(ReportCatalogEntry.Op.REMOVE, TANAKA));
+
+            // Act
+            List<ReportCatalogEntry> entries = newCatalog().findByYearMonth("202506");
+
+            // Assert
+            assertThat(entries).extracting(ReportCatalogEntry::fileName).containsExactly(SUZUKI);
+        }
+
+        @Test
+        @DisplayName("改行で終わらない書き込み途中の最終行は読み飛ばし、続けて登録した報告書は反映されること")
+        void skipsTornLastLine() throws IOException {
+            // Arrange
+            createReport(TANAKA);
+            Path suzuki = createReport(SUZUKI);
+            writeLines(line(ReportCatalogEntry.Op.PUT, TANAKA));
+            Files.writeString(catalogFile, "{\"op\":\"PUT\",\"user\":\"鈴木", StandardOpenOption.APPEND);
+            ReportCatalog catalog = newCatalog();
+
+            // Act
+            List<ReportCatalogEntry> before = catalog.findByYearMonth("202506");
+            catalog.record(ReportFileName.parse(SUZUKI).orElseThrow(), "I社", suzuki);
+            List<ReportCatalogEntry> after = catalog.findByYearMonth("202506");
+
+            // Assert
+            assertThat(before).extracting(ReportCatalogEntry::fileName).containsExactly(TANAKA);
+            assertThat(after).extracting(ReportCatalogEntry::fileName).containsExactly(TANAKA, SUZUKI);
+            assertThat(newCatalog().findByYearMonth("202506"))
+                    .extracting(ReportCatalogEntry::fileName)
+                    .containsExactly(TANAKA, SUZUKI);
+        }
+
+        @Test
+        @DisplayName("削除されたファイルは返されず、カタログからも削除されること")
+        void prunesDeletedFiles() throws IOException {
+            // Arrange
+            createReport(TANAKA);
+            writeLines(
+                    line(ReportCatalogEntry.Op.PUT, TANAKA),
+                    line(ReportCatalogEntry.Op.PUT, SUZUKI));
+
+            // Act
+            List<ReportCatalogEntry> entries = newCatalog().findByYearMonth("202506");
+
+            // Assert
+            assertThat(entries).extracting(ReportCatalogEntry::fileName).containsExactly(TANAKA);
+            List<String> lines = Files.readAllLines(catalogFile, StandardCharsets.UTF_8);
+            assertThat(lines.getLast()).contains("\"REMOVE\"").contains(SUZUKI);
+        }
+
+        @Test
+        @DisplayName("他のプロセスが追記した報告書が、次の検索で反映されること")
+        void readsLinesAppendedByOtherProcess() throws IOException {
+            // Arrange
+            Path tanaka = createReport(TANAKA);
+            ReportCatalog catalog = newCatalog();
+            catalog.record(ReportFileName.parse(TANAKA).orElseThrow(), "I社", tanaka);
+            assertThat(catalog.findByYearMonth("202506")).hasSize(1);
+
+            // Act
+            Path suzuki = createReport(SUZUKI);
+            newCatalog().record(ReportFileName.parse(SUZUKI).orElseThrow(), "I社", suzuki);
+            List<ReportCatalogEntry> entries = catalog.findByYearMonth("202506");
+
+            // Assert
+            assertThat(entries).extracting(ReportCatalogEntry::fileName).containsExactly(TANAKA, SUZUKI);
+        }
+
+        @Test
+        @DisplayName("カタログファイルがない場合、出力ディレクトリ直下と年月別のディレクトリの報告書を取り込むこと")
+        void importsExistingReports() throws IOException {
+            // Arrange
+            Files.writeString(outputDir.resolve(TANAKA), "flat");
+            createReport(SUZUKI);
+            Files.writeString(outputDir.resolve("memo.txt"), "対象外");
+
+            // Act
+            List<ReportCatalogEntry> entries = newCatalog().findByYearMonth("202506");
+
+            // Assert
+            assertThat(entries).extracting(ReportCatalogEntry::path)
+                    .containsExactly("2025/06/" + TANAKA, "2025/06/" + SUZUKI);
+            assertThat(outputDir.resolve(TANAKA)).doesNotExist();
+            assertThat(monthDir.resolve(TANAKA)).hasContent("flat");
+            assertThat(Files.readAllLines(catalogFile, StandardCharsets.UTF_8)).hasSize(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("refresh メソッドのテスト")
+    class Refresh {
+
+        @Test
+        @DisplayName("古い行と削除済みの行がある場合、有効なエントリだけに圧縮され、一時ファイルが残らないこと")
+        void compactsCatalog() throws IOException {
+            // Arrange
+            createReport(TANAKA);
+            createReport(SUZUKI);
+            writeLines(
+                    line(ReportCatalogEntry.Op.PUT, TANAKA),
+                    line(ReportCatalogEntry.Op.PUT, TANAKA),
+                    line(ReportCatalogEntry.Op.PUT, SUZUKI),
+                    line(ReportCatalogEntry.Op.REMOVE, SUZUKI));
+
+            // Act
+            newCatalog().refresh();
+
+            // Assert
+            assertThat(Files.readAllLines(catalogFile, StandardCharsets.UTF_8))
+                    .singleElement()
+                    .satisfies(line -> assertThat(line).contains(TANAKA));
+            try (Stream<Path> files = Files.list(outputDir)) {
+                assertThat(files.map(path -> path.getFileName().toString()))
+                        .noneMatch(name -> name.endsWith(".tmp"));
+            }
+        }
+
+        @Test
+        @DisplayName("他のプロセスの圧縮でカタログファイルが置き換えられた場合、読み込み直すこと")
+        void reloadsReplacedCatalog() throws IOException {
+            // Arrange
+            Path tanaka = createReport(TANAKA);
+            createReport(SUZUKI);
+            ReportCatalog catalog = newCatalog();
+            catalog.record(ReportFileName.parse(TANAKA).orElseThrow(), "I社", tanaka);
+            catalog.refresh();
+
+            // Act
+            Path replacement = Files.writeString(
+                    outputDir.resolve("replacement.jsonl"),
+                    line(ReportCatalogEntry.Op.PUT, SUZUKI) + "\n");
+            Files.move(replacement, catalogFile, StandardCopyOption.REPLACE_EXISTING);
+            List<ReportCatalogEntry> entries = catalog.findByYearMonth("202506");
+
+            // Assert
+            assertThat(entries).extracting(ReportCatalogEntry::fileName).containsExactly(SUZUKI);
+        }
+    }
+
+    private ReportCatalog newCatalog() {
+        ReportCatalog catalog = new ReportCatalog(new WorkbookLockService());
+        ReflectionTestUtils.setField(catalog, "outputDir", outputDir.toString());
+        ReflectionTestUtils.setField(catalog, "outputLayout", OutputLayout.SHARDED);
+        ReflectionTestUtils.setField(catalog, "catalogFile", catalogFile.toString());
+        return catalog;
+    }
+
+    private Path createReport(String fileName) throws IOException {
+        return Files.writeString(monthDir.resolve(fileName), fileName);
+    }
+
+    private void writeLines(String... lines) throws IOException {
+        Files.writeString(catalogFile, String.join("\n", lines) + "\n", StandardCharsets.UTF_8);
+    }
+
+    private String line(ReportCatalogEntry.Op op, String fileName) throws IOException {
+        ReportFileName reportFileName = ReportFileName.parse(fileName).orElseThrow();
+        return OBJECT_MAPPER.writeValueAsString(new ReportCatalogEntry(
+                op,
+                reportFileName.getUser(),
+                reportFileName.getYearMonth(),
+                op == ReportCatalogEntry.Op.PUT ? "I社" : null,
+                "2025/06/" + fileName,
+                fileName.length(),
+                null,
+                "2025-06-30T18:00:00+09:00"));
+    }
+}
@@ -0,0 +1,212 @@
+package com.kos0514.work_report_generator.service.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * {@link ReportDirectoryIndex}のテストクラス
+ */
+class ReportDirectoryIndexTest {
+
+    private static final String TANAKA_JUNE = "田中太郎_202506_作業報告書.xls";
+    private static final String SUZUKI_JUNE = "鈴木花子_202506_作業報告書.xlsx";
+    private static final String TANAKA_JULY = "田中太郎_202507_作業報告書.xls";
+
+    /** 監視イベントの到着を待つ最大時間（ポーリングで監視する環境を考慮） */
+    private static final long WATCH_TIMEOUT_MILLIS = 30_000;
+
+    @TempDir
+    Path tempDir;
+
+    private Path csvDir;
+    private Path outputDir;
+    private ReportDirectoryIndex index;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        csvDir = Files.createDirectories(tempDir.resolve("csv"));
+        outputDir = Files.createDirectories(tempDir.resolve("output"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (index != null) {
+            index.close();
+        }
+    }
+
+    @Nested
+    @DisplayName("監視しない場合のテスト")
+    class WithoutWatch {
+
+        @Test
+        @DisplayName("検索のたびに走査し、作成・削除したファイルが年月ごとに反映されること")
+        void rescansOnEveryLookup() throws IOException {
+            // Arrange
+            index = newIndex(false);
+            Files.writeString(outputDir.resolve(TANAKA_JUNE), "");
+            Files.writeString(outputDir.resolve(TANAKA_JULY), "");
+            Files.writeString(outputDir.resolve("memo.txt"), "");
+            Files.writeString(csvDir.resolve("202506_work_data.csv"), "");
+
+            // Act
+            List<String> juneBefore = index.findReportFiles("202506");
+            Files.writeString(outputDir.resolve(SUZUKI_JUNE), "");
+            Files.delete(outputDir.resolve(TANAKA_JUNE));
+            Files.writeString(csvDir.resolve("202507_work_data.csv"), "");
+            List<String> juneAfter = index.findReportFiles("202506");
+
+            // Assert
+            assertThat(juneBefore).containsExactly(TANAKA_JUNE);
+            assertThat(juneAfter).containsExactly(SUZUKI_JUNE);
+            assertThat(index.findReportFiles("202507")).containsExactly(TANAKA_JULY);
+            assertThat(index.findReportFiles("202508")).isEmpty();
+            assertThat(index.findLatestCsvFile())
+                    .map(Map.Entry::getValue)
+                    .contains("202507_work_data.csv");
+        }
+
+        @Test
+        @DisplayName("CSVファイルがない場合、最新のCSVファイルは空で返されること")
+        void noCsvFile_returnsEmpty() throws IOException {
+            // Arrange
+            index = newIndex(false);
+            Files.writeString(csvDir.resolve("work_data.csv"), "");
+
+            // Act
+            Optional<Map.Entry<String, String>> latest = index.findLatestCsvFile();
+
+            // Assert
+            assertThat(latest).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("監視する場合のテスト")
+    class WithWatch {
+
+        @Test
+        @DisplayName("記録したファイルが、監視イベントを待たずに次の検索で返されること")
+        void recordedFiles_visibleImmediately() throws IOException {
+            // Arrange
+            index = newIndex(true);
+            assertThat(index.findReportFiles("202506")).isEmpty();
+            assertThat(index.findLatestCsvFile()).isEmpty();
+
+            // Act
+            index.recordReportFile(TANAKA_JUNE);
+            index.recordCsvFile("202506_work_data.csv");
+            index.recordReportFile("memo.txt");
+
+            // Assert
+            assertThat(index.findReportFiles("202506")).containsExactly(TANAKA_JUNE);
+            assertThat(index.findLatestCsvFile())
+                    .map(Map.Entry::getKey)
+                    .contains("202506");
+        }
+
+        @Test
+        @DisplayName("作成・削除したファイルが監視イベントで反映されること")
+        void watchEvents_updateIndex() throws Throwable {
+            // Arrange
+            index = newIndex(true);
+            Files.writeString(outputDir.resolve(TANAKA_JUNE), "");
+            assertThat(index.findReportFiles("202506")).containsExactly(TANAKA_JUNE);
+            assertThat(index.findLatestCsvFile()).isEmpty();
+
+            // Act
+            Files.writeString(outputDir.resolve(SUZUKI_JUNE), "");
+            Files.delete(outputDir.resolve(TANAKA_JUNE));
+            Files.writeString(csvDir.resolve("202506_work_data.csv"), "");
+
+            // Assert
+            assertThat(awaitLookup(
+                    () -> index.findReportFiles("202506"), List.of(SUZUKI_JUNE)))
+                    .containsExactly(SUZUKI_JUNE);
+            assertThat(awaitLookup(
+                    () -> index.findLatestCsvFile().map(Map.Entry::getValue),
+                    Optional.of("202506_work_data.csv")))
+                    .contains("202506_work_data.csv");
+        }
+
+        @Test
+        @DisplayName("監視イベントが溢れた場合（OVERFLOW）、次の検索で再走査されること")
+        void overflow_rescansOnNextLookup() throws IOException {
+            // Arrange
+            index = newIndex(true);
+            Files.writeString(outputDir.resolve(TANAKA_JUNE), "");
+            assertThat(index.findReportFiles("202506")).containsExactly(TANAKA_JUNE);
+            // 監視を止め、以降の変更は OVERFLOW による再走査でしか反映されないようにする
+            index.close();
+            Files.writeString(outputDir.resolve(SUZUKI_JUNE), "");
+            Files.delete(outputDir.resolve(TANAKA_JUNE));
+            assertThat(index.findReportFiles("202506")).containsExactly(TANAKA_JUNE);
+
+            // Act
+            index.applyEvents(outputDir, List.of(overflow()));
+            List<String> files = index.findReportFiles("202506");
+
+            // Assert
+            assertThat(files).containsExactly(SUZUKI_JUNE);
+        }
+
+        /**
+         * 検索結果が期待値になるまで待ちます
+         *
+         * @return 最後の検索結果（タイムアウトした場合は期待値と異なる）
+         */
+        private <T> T awaitLookup(ThrowingSupplier<T> lookup, T expected) throws Throwable {
+            long deadline = System.currentTimeMillis() + WATCH_TIMEOUT_MILLIS;
+            T actual = lookup.get();
+            while (!actual.equals(expected) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+                actual = lookup.get();
+            }
+            return actual;
+        }
+    }
+
+    private ReportDirectoryIndex newIndex(boolean watchEnabled) {
+        ReportDirectoryIndex newIndex = new ReportDirectoryIndex();
+        ReflectionTestUtils.setField(newIndex, "csvDir", csvDir.toString());
+        ReflectionTestUtils.setField(newIndex, "outputDir", outputDir.toString());
+        ReflectionTestUtils.setField(newIndex, "watchEnabled", watchEnabled);
+        newIndex.init();
+        return newIndex;
+    }
+
+    private static WatchEvent<Object> overflow() {
+        return new WatchEvent<>() {
+            @Override
+            public Kind<Object> kind() {
+                return StandardWatchEventKinds.OVERFLOW;
+            }
+
+            @Override
+            public int count() {
+                return 1;
+            }
+
+            @Override
+            public Object context() {
+                return null;
+            }
+        };
+    }
+}
@@ -0,0 +1,169 @@
+package com.kos0514.work_report_generator.service.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ConcurrentModificationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * {@link WorkbookLockService}のテストクラス
+ */
+class WorkbookLockServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private WorkbookLockService workbookLockService;
+
+    @BeforeEach
+    void setUp() {
+        workbookLockService = new WorkbookLockService();
+    }
+
+    @Nested
+    @DisplayName("withLock メソッドのテスト")
+    class WithLock {
+
+        @Test
+        @DisplayName("同じ報告書の処理が1件ずつ実行されること")
+        void samePath_isSerialized() throws Exception {
+            // Arrange
+            Path workbook = tempDir.resolve("田中太郎_202506_作業報告書.xls");
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+
+            // Act
+            try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+                for (int i = 0; i < 8; i++) {
+                    executor.submit(() -> workbookLockService.withLock(workbook, () -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+                        running.decrementAndGet();
+                        return null;
+                    }));
+                }
+            }
+
+            // Assert
+            assertThat(maxRunning.get()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("異なる報告書の処理は並行して実行されること")
+        void differentPaths_runConcurrently() throws Exception {
+            // Arrange
+            CountDownLatch bothInside = new CountDownLatch(2);
+
+            // Act
+            try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+                Future<Boolean> first = executor.submit(() -> workbookLockService.withLock(
+                        tempDir.resolve("田中太郎_202506_作業報告書.xls"), () -> awaitBoth(bothInside)));
+                Future<Boolean> second = executor.submit(() -> workbookLockService.withLock(
+                        tempDir.resolve("鈴木花子_202506_作業報告書.xls"), () -> awaitBoth(bothInside)));
+
+                // Assert
+                assertThat(first.get()).isTrue();
+                assertThat(second.get()).isTrue();
+            }
+        }
+
+        @Test
+        @DisplayName("ロックファイルが報告書と同じディレクトリに作成され、処理の戻り値が返されること")
+        void createsLockFileAndReturnsResult() throws IOException {
+            // Arrange
+            Path monthDir = Files.createDirectories(tempDir.resolve("2025").resolve("06"));
+
+            // Act
+            String result = workbookLockService.withLock(
+                    monthDir.resolve("田中太郎_202506_作業報告書.xls"), () -> "完了");
+
+            // Assert
+            assertThat(result).isEqualTo("完了");
+            assertThat(monthDir.resolve(".田中太郎_202506_作業報告書.xls.lock")).exists();
+        }
+
+        @Test
+        @DisplayName("相対パスで指定した場合も、絶対パスと同じロックファイルが使用されること")
+        void relativePath_usesSameLockFile() throws IOException {
+            // Arrange
+            Path relative = Path.of("").toAbsolutePath().relativize(tempDir.resolve("report.xls"));
+
+            // Act
+            workbookLockService.withLock(relative, () -> null);
+
+            // Assert
+            assertThat(tempDir.resolve(".report.xls.lock")).exists();
+        }
+
+        private boolean awaitBoth(CountDownLatch latch) {
+            latch.countDown();
+            try {
+                return latch.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("verifyUnchanged メソッドのテスト")
+    class VerifyUnchanged {
+
+        @Test
+        @DisplayName("読み込み後に変更されていない場合は例外が発生しないこと")
+        void unchanged_passes() throws IOException {
+            // Arrange
+            Path workbook = Files.writeString(tempDir.resolve("report.xls"), "content");
+            WorkbookLockService.FileStamp stamp = workbookLockService.stamp(workbook);
+
+            // Act & Assert
+            workbookLockService.verifyUnchanged(workbook, stamp);
+        }
+
+        @Test
+        @DisplayName("読み込み後に更新日時が変わった場合はConcurrentModificationExceptionが発生すること")
+        void modified_throwsException() throws IOException {
+            // Arrange
+            Path workbook = Files.writeString(tempDir.resolve("report.xls"), "content");
+            WorkbookLockService.FileStamp stamp = workbookLockService.stamp(workbook);
+            Files.setLastModifiedTime(
+                    workbook, FileTime.fromMillis(stamp.lastModified().toMillis() + 1000));
+
+            // Act & Assert
+            assertThatThrownBy(() -> workbookLockService.verifyUnchanged(workbook, stamp))
+                    .isInstanceOf(ConcurrentModificationException.class)
+                    .hasMessageContaining("report.xls");
+        }
+
+        @Test
+        @DisplayName("読み込み後にサイズが変わった場合はConcurrentModificationExceptionが発生すること")
+        void resized_throwsException() throws IOException {
+            // Arrange
+            Path workbook = Files.writeString(tempDir.resolve("report.xls"), "content");
+            WorkbookLockService.FileStamp stamp = workbookLockService.stamp(workbook);
+            Files.writeString(workbook, "changed content");
+            Files.setLastModifiedTime(workbook, stamp.lastModified());
+
+            // Act & Assert
+            assertThatThrownBy(() -> workbookLockService.verifyUnchanged(workbook, stamp))
+                    .isInstanceOf(ConcurrentModificationException.class);
+        }
+    }
+}
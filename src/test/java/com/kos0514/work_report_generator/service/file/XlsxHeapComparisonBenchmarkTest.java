@@ -0,0 +1,129 @@
+package com.kos0514.work_report_generator.service.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * .xls と .xlsx の報告書作成処理のヒープ使用量を比較するベンチマーク
+ *
+ * <p>どちらも {@link ExcelService} の本番の処理（.xls はテンプレートを読み込んで書き込み、.xlsx は変換済みの
+ * テンプレートから行ストリーミングで書き込み）で計測します。
+ * 通常のテストでは実行されません。{@code ./gradlew benchmark} で実行します。
+ */
+@Tag("benchmark")
+class XlsxHeapComparisonBenchmarkTest {
+
+    /** HSSFの上限（65,536行）に近い行数 */
+    private static final int ROW_COUNT = 60_000;
+    private static final int COLUMN_COUNT = 10;
+    private static final int FIRST_STREAMED_ROW = 1;
+    private static final int ROW_ACCESS_WINDOW = 100;
+
+    @TempDir
+    Path tempDir;
+
+    private final ExcelService excelService = new ExcelService();
+
+    @Test
+    @DisplayName(".xls と .xlsx の報告書作成処理で大量行を書き込んだ際のヒープ使用量を比較する")
+    void compareHeapUsage() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(excelService, "xlsxRowWindow", ROW_ACCESS_WINDOW);
+        Path template = createTemplate();
+
+        // テンプレートの変換は初回だけ行われるため、計測前に済ませる
+        long start = System.nanoTime();
+        excelService.openXlsxReport(template.toString(), FIRST_STREAMED_ROW).close();
+        long conversionMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Act
+        long xlsHeap = measureXls(template, tempDir.resolve("report.xls"));
+        long xlsxHeap = measureXlsx(template, tempDir.resolve("report.xlsx"));
+
+        System.out.printf(
+                "[heap] rows=%d, columns=%d, xls=%,d KB, xlsx(window=%d)=%,d KB, template conversion=%d ms%n",
+                ROW_COUNT, COLUMN_COUNT, xlsHeap / 1024, ROW_ACCESS_WINDOW, xlsxHeap / 1024,
+                conversionMillis);
+
+        // Assert
+        assertThat(Files.size(tempDir.resolve("report.xlsx"))).isPositive();
+        assertThat(xlsxHeap).isLessThan(xlsHeap);
+    }
+
+    /**
+     * .xls の本番の処理で書き込んだ直後（保存前）のヒープ増加量を計測します
+     */
+    private long measureXls(Path template, Path output) throws Exception {
+        long before = usedHeap();
+        try (Workbook workbook = excelService.loadWorkbook(template.toString())) {
+            Sheet sheet = workbook.getSheetAt(0);
+            for (int r = FIRST_STREAMED_ROW; r < ROW_COUNT; r++) {
+                excelService.setCellValue(sheet, r, 0, "作業" + r);
+            }
+            long after = usedHeap();
+
+            try (OutputStream out = Files.newOutputStream(output)) {
+                excelService.writeWorkbook(workbook, out);
+            }
+            return after - before;
+        }
+    }
+
+    /**
+     * .xlsx の本番の処理で書き込んだ直後（保存前）のヒープ増加量を計測します
+     */
+    private long measureXlsx(Path template, Path output) throws Exception {
+        long before = usedHeap();
+        try (XlsxStreamingReport report =
+                excelService.openXlsxReport(template.toString(), FIRST_STREAMED_ROW)) {
+            Sheet sheet = report.rowSheet(0);
+            report.writeRows(0, r -> excelService.setCellValue(sheet, r, 0, "作業" + r));
+            long after = usedHeap();
+
+            try (OutputStream out = Files.newOutputStream(output)) {
+                report.write(out);
+            }
+            return after - before;
+        }
+    }
+
+    private Path createTemplate() throws Exception {
+        Path template = tempDir.resolve("template.xls");
+        try (HSSFWorkbook workbook = new HSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("report");
+            sheet.createRow(0).createCell(0).setCellValue("作業報告書");
+            for (int r = FIRST_STREAMED_ROW; r < ROW_COUNT; r++) {
+                Row row = sheet.createRow(r);
+                row.createCell(0).setCellValue("2025/06/" + (r % 30 + 1));
+                for (int c = 1; c < COLUMN_COUNT; c++) {
+                    row.createCell(c).setCellValue(r * 0.5 + c);
+                }
+            }
+            try (OutputStream out = Files.newOutputStream(template)) {
+                workbook.write(out);
+            }
+        }
+        return template;
+    }
+
+    private long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,86 @@
+package com.kos0514.work_report_generator.service.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * {@link BatchJournal}のテストクラス
+ */
+class BatchJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("再開する場合、完了を記録したステップだけが完了済みとして読み込まれること")
+    void resume_loadsCompletedSteps() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("journal/send-all_202506.jsonl");
+        try (BatchJournal journal = BatchJournal.open(file, false, 1)) {
+            journal.started("a.xls");
+            journal.completed("a.xls");
+            journal.started("b.xls");
+        }
+
+        // Act
+        try (BatchJournal journal = BatchJournal.open(file, true, 1)) {
+
+            // Assert
+            assertThat(journal.isCompleted("a.xls")).isTrue();
+            assertThat(journal.isCompleted("b.xls")).isFalse();
+            assertThat(journal.completedCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("再開しない場合、前回のジャーナルが破棄されること")
+    void noResume_discardsPreviousRun() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("save_202506.jsonl");
+        try (BatchJournal journal = BatchJournal.open(file, false, 32)) {
+            journal.completed("a.xls");
+        }
+
+        // Act
+        try (BatchJournal journal = BatchJournal.open(file, false, 32)) {
+
+            // Assert
+            assertThat(journal.isCompleted("a.xls")).isFalse();
+        }
+        assertThat(Files.size(file)).isZero();
+    }
+
+    @Test
+    @DisplayName("途中まで書き込まれた末尾の行が無視され、続けて記録した行が読み込めること")
+    void tornLastLine_isIgnored() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("run-jobs_jobs.jsonl");
+        try (BatchJournal journal = BatchJournal.open(file, false, 32)) {
+            journal.completed("job-1");
+        }
+        Files.writeString(file, "{\"step\":\"job-2\",\"eve", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        // Act
+        try (BatchJournal journal = BatchJournal.open(file, true, 32)) {
+            journal.completed("job-3");
+        }
+
+        // Assert
+        try (BatchJournal journal = BatchJournal.open(file, true, 32)) {
+            assertThat(journal.isCompleted("job-1")).isTrue();
+            assertThat(journal.isCompleted("job-2")).isFalse();
+            assertThat(journal.isCompleted("job-3")).isTrue();
+        }
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertThat(lines).hasSize(3);
+    }
+}
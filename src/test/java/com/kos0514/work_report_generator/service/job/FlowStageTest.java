@@ -0,0 +1,130 @@
+package com.kos0514.work_report_generator.service.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.kos0514.work_report_generator.model.job.StageStats;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link FlowStage}のテストクラス
+ */
+class FlowStageTest {
+
+    @Test
+    @DisplayName("すべての要素が処理され、nullを返した要素は下流へ渡されないこと")
+    void processesAllItemsAndDropsNull() throws Exception {
+        // Arrange
+        ConcurrentLinkedQueue<Integer> results = new ConcurrentLinkedQueue<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            SubmissionPublisher<Integer> source = new SubmissionPublisher<>(executor, 4);
+            FlowStage<Integer, Integer> stage = new FlowStage<>(
+                    "even", 2, 4, executor, value -> value % 2 == 0 ? value * 10 : null);
+            source.subscribe(stage);
+            CompletableFuture<Void> completed = stage.consume(results::add);
+
+            // Act
+            IntStream.rangeClosed(1, 20).forEach(source::submit);
+            source.close();
+            completed.get(10, TimeUnit.SECONDS);
+
+            // Assert
+            assertThat(results).containsExactlyInAnyOrder(
+                    20, 40, 60, 80, 100, 120, 140, 160, 180, 200);
+            assertThat(stage.stats().processed()).isEqualTo(20);
+        }
+    }
+
+    @Test
+    @DisplayName("処理が例外で終了した要素は、失敗時の処理の戻り値が下流へ渡されること")
+    void failedItems_mappedByFailureMapper() throws Exception {
+        // Arrange
+        ConcurrentLinkedQueue<String> results = new ConcurrentLinkedQueue<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            SubmissionPublisher<Integer> source = new SubmissionPublisher<>(executor, 4);
+            FlowStage<Integer, String> stage = new FlowStage<>(
+                    "cancel", 2, 4, executor,
+                    value -> {
+                        if (value % 3 == 0) {
+                            throw new CancellationException("実行を待っている間に中断されました");
+                        }
+                        return "ok:" + value;
+                    },
+                    (value, e) -> "failed:" + value + ":" + e.getMessage());
+            source.subscribe(stage);
+            CompletableFuture<Void> completed = stage.consume(results::add);
+
+            // Act
+            IntStream.rangeClosed(1, 9).forEach(source::submit);
+            source.close();
+            completed.get(10, TimeUnit.SECONDS);
+
+            // Assert
+            assertThat(results).hasSize(9).containsExactlyInAnyOrder(
+                    "ok:1", "ok:2", "failed:3:実行を待っている間に中断されました",
+                    "ok:4", "ok:5", "failed:6:実行を待っている間に中断されました",
+                    "ok:7", "ok:8", "failed:9:実行を待っている間に中断されました");
+            assertThat(stage.stats().processed()).isEqualTo(9);
+        }
+    }
+
+    @Test
+    @DisplayName("遅い下流の段階があっても、処理中と受け渡し待ちの件数が上限を超えないこと")
+    void slowDownstream_boundsOccupancy() throws Exception {
+        // Arrange
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            SubmissionPublisher<Integer> source = new SubmissionPublisher<>(executor, 4);
+            FlowStage<Integer, Integer> fast = new FlowStage<>("fast", 4, 4, executor, value -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                running.decrementAndGet();
+                return value;
+            });
+            FlowStage<Integer, Integer> slow = new FlowStage<>("slow", 1, 4, executor, value -> {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+                return value;
+            });
+            source.subscribe(fast);
+            fast.subscribe(slow);
+            CompletableFuture<Void> completed = slow.consume(value -> { });
+
+            // Act
+            IntStream.rangeClosed(1, 50).forEach(source::submit);
+            source.close();
+            completed.get(30, TimeUnit.SECONDS);
+
+            // Assert
+            StageStats fastStats = fast.stats();
+            assertThat(maxRunning.get()).isLessThanOrEqualTo(4);
+            assertThat(fastStats.maxOccupancy())
+                    .isLessThanOrEqualTo(fastStats.parallelism() + fastStats.capacity());
+            assertThat(List.of(fastStats.processed(), slow.stats().processed()))
+                    .containsOnly(50L);
+        }
+    }
+
+    @Test
+    @DisplayName("統計の表示用の文字列に段階の名前と最大滞留数が含まれること")
+    void stats_describe() {
+        // Arrange
+        StageStats stats = new StageStats("zip", 4, 16, 18, 120);
+
+        // Act & Assert
+        assertThat(stats.describe()).isEqualTo("zip 18/20 (並列 4, 処理 120 件)");
+    }
+}
@@ -0,0 +1,204 @@
+package com.kos0514.work_report_generator.service.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.kos0514.work_report_generator.model.ReportFormat;
+import com.kos0514.work_report_generator.service.TestUserInputService;
+import com.kos0514.work_report_generator.service.config.ConfigService;
+import com.kos0514.work_report_generator.service.report.ReportService;
+import com.kos0514.work_report_generator.service.send_file.SendExcelFileService;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * JobRunnerServiceのテストクラス
+ */
+@ExtendWith(MockitoExtension.class)
+class JobRunnerServiceTest {
+
+    private static final String FILE_NAME = "田中太郎_202506_作業報告書.xls";
+
+    private static final String MONTH_JOBS = """
+            [
+              {"id": "send", "command": "send", "file": "田中太郎_202506_作業報告書.xls"},
+              {"id": "update", "command": "update-file",
+               "file": "田中太郎_202506_作業報告書.xls", "csv": "202506_work_data.csv"},
+              {"id": "create", "command": "create-file",
+               "month": "2025/06", "user": "田中太郎", "client": "株式会社サンプル"}
+            ]
+            """;
+
+    @Mock
+    private ReportService reportService;
+
+    @Mock
+    private SendExcelFileService sendExcelFileService;
+
+    @Mock
+    private ConfigService configService;
+
+    @TempDir
+    Path tempDir;
+
+    private JobRunnerService jobRunnerService;
+    private final List<String> progress = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        BatchJournalService batchJournalService = new BatchJournalService();
+        ReflectionTestUtils.setField(
+                batchJournalService, "journalDir", tempDir.resolve("journal").toString());
+        ReflectionTestUtils.setField(batchJournalService, "syncInterval", 32);
+        jobRunnerService = new JobRunnerService(
+            reportService,
+            sendExcelFileService,
+            configService,
+            new TestUserInputService(),
+            batchJournalService,
+            new WorkScheduler()
+        );
+        ReflectionTestUtils.setField(jobRunnerService, "parallelism", 4);
+        ReflectionTestUtils.setField(jobRunnerService, "outputFormat", ReportFormat.XLS);
+    }
+
+    private String writeJobFile(String content) throws IOException {
+        return Files.writeString(tempDir.resolve("jobs.json"), content).toString();
+    }
+
+    @Test
+    @DisplayName("同じ報告書のジョブが作成・更新・送信の順に実行され、結果が集計されること")
+    void sameReport_runsInDependencyOrder() throws Exception {
+        // Arrange
+        String jobFile = writeJobFile(MONTH_JOBS);
+        when(configService.getSendDirectory()).thenReturn("/test/send");
+        when(reportService.createReport("2025/06", "田中太郎", "株式会社サンプル")).thenReturn(FILE_NAME);
+        when(reportService.createCsvFile("2025/06")).thenReturn("202506_work_data.csv");
+        when(reportService.updateFromCsv(FILE_NAME, "202506_work_data.csv")).thenReturn(20);
+        when(sendExcelFileService.sendExcelFile(FILE_NAME, "", false))
+                .thenReturn("ファイルを送信しました: /test/send/田中太郎_202506_作業報告書.zip\n");
+
+        // Act
+        String result = jobRunnerService.runJobs(jobFile, progress::add);
+
+        // Assert
+        InOrder order = inOrder(reportService, sendExcelFileService);
+        order.verify(reportService).createReport("2025/06", "田中太郎", "株式会社サンプル");
+        order.verify(reportService).updateFromCsv(FILE_NAME, "202506_work_data.csv");
+        order.verify(sendExcelFileService).sendExcelFile(FILE_NAME, "", false);
+
+        assertThat(result).contains("成功 3 件, 失敗 0 件, スキップ 0 件");
+        assertThat(result).contains("update (update-file) -> 成功");
+        assertThat(progress).contains("開始: create (create-file)");
+        assertThat(progress).anyMatch(line -> line.startsWith("[3/3] send (send) -> 成功"));
+    }
+
+    @Test
+    @DisplayName("ジョブが失敗した場合に、依存するジョブがスキップされること")
+    void failedJob_skipsDependents() throws Exception {
+        // Arrange
+        String jobFile = writeJobFile(MONTH_JOBS);
+        when(configService.getSendDirectory()).thenReturn("/test/send");
+        when(reportService.createReport("2025/06", "田中太郎", "株式会社サンプル"))
+                .thenThrow(new IllegalStateException("テンプレートファイルが見つかりません"));
+
+        // Act
+        String result = jobRunnerService.runJobs(jobFile, progress::add);
+
+        // Assert
+        assertThat(result).contains("成功 0 件, 失敗 1 件, スキップ 2 件");
+        assertThat(result).contains("create (create-file) -> 失敗");
+        assertThat(result).contains("send (send) -> スキップ: 依存するジョブが成功していません: update");
+        verify(reportService, never()).updateFromCsv(anyString(), anyString());
+        verify(sendExcelFileService, never()).sendExcelFile(anyString(), anyString(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("再開する場合、前回の実行で完了したジョブが省略され、失敗したジョブから実行されること")
+    void resume_skipsCompletedJobs() throws Exception {
+        // Arrange
+        String jobFile = writeJobFile(MONTH_JOBS);
+        when(configService.getSendDirectory()).thenReturn("/test/send");
+        when(reportService.createReport("2025/06", "田中太郎", "株式会社サンプル")).thenReturn(FILE_NAME);
+        when(reportService.createCsvFile("2025/06")).thenReturn("202506_work_data.csv");
+        when(reportService.updateFromCsv(FILE_NAME, "202506_work_data.csv"))
+                .thenThrow(new IllegalStateException("CSVファイルが見つかりません"))
+                .thenReturn(20);
+        when(sendExcelFileService.sendExcelFile(FILE_NAME, "", false))
+                .thenReturn("ファイルを送信しました");
+        jobRunnerService.runJobs(jobFile, progress::add);
+
+        // Act
+        String result = jobRunnerService.runJobs(jobFile, true, progress::add);
+
+        // Assert
+        assertThat(result).contains("成功 2 件, 失敗 0 件, スキップ 0 件, 完了済み 1 件");
+        assertThat(result).contains("create (create-file) -> 完了済み");
+        verify(reportService, times(1)).createReport("2025/06", "田中太郎", "株式会社サンプル");
+        verify(sendExcelFileService).sendExcelFile(FILE_NAME, "", false);
+    }
+
+    @Test
+    @DisplayName("送信がエラーを返した場合にジョブが失敗として集計されること")
+    void sendError_isReportedAsFailure() throws Exception {
+        // Arrange
+        String jobFile = writeJobFile("""
+                [{"command": "send", "file": "田中太郎_202506_作業報告書.xls", "force": true}]
+                """);
+        when(configService.getSendDirectory()).thenReturn("/test/send");
+        when(sendExcelFileService.sendExcelFile(FILE_NAME, "", true))
+                .thenReturn("エラー: ファイルが見つかりません");
+
+        // Act
+        String result = jobRunnerService.runJobs(jobFile, progress::add);
+
+        // Assert
+        assertThat(result).contains("成功 0 件, 失敗 1 件, スキップ 0 件");
+        assertThat(result).contains("job-1 (send) -> 失敗");
+        assertThat(result).contains("ファイルが見つかりません");
+    }
+
+    @Test
+    @DisplayName("必須の項目がないジョブがある場合に、ジョブを実行せずにエラーメッセージが返されること")
+    void missingField_returnsErrorMessage() throws Exception {
+        // Arrange
+        String jobFile = writeJobFile("""
+                [{"command": "create-file", "month": "2025/06", "client": "株式会社サンプル"}]
+                """);
+
+        // Act
+        String result = jobRunnerService.runJobs(jobFile, progress::add);
+
+        // Assert
+        assertThat(result).startsWith("エラー: user が指定されていません");
+        verify(reportService, never()).createReport(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("ジョブファイルが存在しない場合にエラーメッセージが返されること")
+    void missingFile_returnsErrorMessage() {
+        // Act
+        String result = jobRunnerService.runJobs(tempDir.resolve("none.json").toString(), progress::add);
+
+        // Assert
+        assertThat(result).startsWith("エラー: ジョブファイルが見つかりません");
+    }
+}
@@ -0,0 +1,138 @@
+package com.kos0514.work_report_generator.service.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.kos0514.work_report_generator.model.job.SchedulerStats;
+import com.kos0514.work_report_generator.model.job.WorkPriority;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * WorkSchedulerのテストクラス
+ */
+class WorkSchedulerTest {
+
+    private WorkScheduler workScheduler;
+
+    @BeforeEach
+    void setUp() {
+        workScheduler = new WorkScheduler();
+        ReflectionTestUtils.setField(workScheduler, "maxConcurrency", 1);
+        ReflectionTestUtils.setField(workScheduler, "batchLimit", 0);
+        ReflectionTestUtils.setField(workScheduler, "agingMillis", 0L);
+    }
+
+    private SchedulerStats statsOf(WorkPriority priority) {
+        return workScheduler.stats().stream()
+                .filter(stats -> stats.priority() == priority)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private void awaitWaiting(int interactive, int batch) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline
+                && (statsOf(WorkPriority.INTERACTIVE).waiting() != interactive
+                        || statsOf(WorkPriority.BATCH).waiting() != batch)) {
+            Thread.sleep(5);
+        }
+    }
+
+    /** 唯一の枠を占有した状態で batch → interactive の順に待機させ、実行された順序を返します */
+    private List<String> runQueued(long sleepBeforeRelease) throws Exception {
+        List<String> order = new CopyOnWriteArrayList<>();
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = Thread.ofVirtual().start(() -> workScheduler.run(WorkPriority.BATCH, () -> {
+            holding.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        holding.await();
+
+        Thread batch = Thread.ofVirtual().start(
+                () -> workScheduler.run(WorkPriority.BATCH, () -> order.add("batch")));
+        awaitWaiting(0, 1);
+        Thread interactive = Thread.ofVirtual().start(
+                () -> workScheduler.run(WorkPriority.INTERACTIVE, () -> order.add("interactive")));
+        awaitWaiting(1, 1);
+        Thread.sleep(sleepBeforeRelease);
+
+        release.countDown();
+        holder.join(5000);
+        batch.join(5000);
+        interactive.join(5000);
+        return order;
+    }
+
+    @Test
+    @DisplayName("処理が呼び出し元で実行され、戻り値が返されること")
+    void run_returnsResult() {
+        // Act
+        String result = workScheduler.run(WorkPriority.INTERACTIVE, () -> "完了");
+
+        // Assert
+        assertThat(result).isEqualTo("完了");
+        assertThat(statsOf(WorkPriority.INTERACTIVE).completed()).isEqualTo(1);
+        assertThat(statsOf(WorkPriority.INTERACTIVE).running()).isZero();
+    }
+
+    @Test
+    @DisplayName("空きができた際に、後から来た interactive の処理が batch の処理より先に実行されること")
+    void interactive_preemptsQueuedBatch() throws Exception {
+        // Act
+        List<String> order = runQueued(0);
+
+        // Assert
+        assertThat(order).containsExactly("interactive", "batch");
+        assertThat(statsOf(WorkPriority.BATCH).promoted()).isZero();
+    }
+
+    @Test
+    @DisplayName("待ち時間が aging-ms を超えた batch の処理は、到着順に従って先に実行されること")
+    void agedBatch_isPromoted() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(workScheduler, "agingMillis", 20L);
+
+        // Act
+        List<String> order = runQueued(100);
+
+        // Assert
+        assertThat(order).containsExactly("batch", "interactive");
+        assertThat(statsOf(WorkPriority.BATCH).promoted()).isEqualTo(1);
+        assertThat(statsOf(WorkPriority.BATCH).maxWaitMillis()).isGreaterThanOrEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("batch の上限は全体の上限より1つ少なく、interactive のために枠が空けられること")
+    void batchLimit_reservesSlotForInteractive() {
+        // Arrange
+        ReflectionTestUtils.setField(workScheduler, "maxConcurrency", 4);
+
+        // Act & Assert
+        assertThat(statsOf(WorkPriority.INTERACTIVE).limit()).isEqualTo(4);
+        assertThat(statsOf(WorkPriority.BATCH).limit()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("処理が例外で終了した場合も枠が解放されること")
+    void run_releasesSlotOnException() {
+        // Act & Assert
+        assertThatThrownBy(() -> workScheduler.run(WorkPriority.BATCH, () -> {
+            throw new IllegalStateException("失敗");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(statsOf(WorkPriority.BATCH).running()).isZero();
+        assertThat(workScheduler.run(WorkPriority.BATCH, () -> "次の処理")).isEqualTo("次の処理");
+    }
+}
@@ -0,0 +1,130 @@
+package com.kos0514.work_report_generator.service.mail;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import com.kos0514.work_report_generator.service.config.ConfigService;
+import com.kos0514.work_report_generator.service.file.FileService;
+import com.kos0514.work_report_generator.service.metrics.PhaseMetrics;
+import com.kos0514.work_report_generator.service.report.HolidayService;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * {@link MailTemplateService}のテストクラス
+ */
+@ExtendWith(MockitoExtension.class)
+class MailTemplateServiceTest {
+
+    private static final String DELIMITER = "\n--------\n";
+
+    @Mock
+    private HolidayService holidayService;
+
+    @Mock
+    private ConfigService configService;
+
+    @TempDir
+    Path tempDir;
+
+    private Path templateFile;
+    private Path sendDir;
+    private MailTemplateService mailTemplateService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path templateDir = Files.createDirectories(tempDir.resolve("mail"));
+        templateFile = templateDir.resolve("mail_template.txt");
+        sendDir = Files.createDirectories(tempDir.resolve("send"));
+        when(holidayService.isWorkday(any())).thenReturn(true);
+        when(configService.getSendDirectory()).thenReturn(sendDir.toString());
+
+        mailTemplateService = new MailTemplateService(
+                holidayService, configService, new FileService(), new PhaseMetrics());
+        ReflectionTestUtils.setField(
+                mailTemplateService, "mailTemplateDir", templateDir.toString());
+    }
+
+    @Nested
+    @DisplayName("generateAndSaveMailTemplates メソッドのテスト")
+    class GenerateAndSaveMailTemplates {
+
+        @Test
+        @DisplayName("ユーザー名とクライアント名がメール文面に埋め込まれること")
+        void embedsUserAndClient() throws IOException {
+            // Arrange
+            writeTemplate("【${yearMonth}】${user}", "${client}様", "パスワード: ${password}");
+
+            // Act
+            mailTemplateService.generateAndSaveMailTemplates(
+                    "202506", "田中太郎", "secret", Map.of(MailTemplateService.VAR_CLIENT, "I社"));
+
+            // Assert
+            assertThat(readMail("田中太郎"))
+                    .isEqualTo("【2025年06月】田中太郎" + DELIMITER + "I社様" + DELIMITER + "パスワード: secret");
+        }
+
+        @Test
+        @DisplayName("テンプレートファイルが書き換えられた場合、解析し直した内容で生成されること")
+        void reparsesRewrittenTemplate() throws IOException {
+            // Arrange
+            writeTemplate("件名", "本文", "${password}");
+            mailTemplateService.generateAndSaveMailTemplates("202506", "secret");
+
+            // Act
+            writeTemplate("新しい件名 ${yearMonth}", "新しい本文", "${password}");
+            Files.setLastModifiedTime(
+                    templateFile, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+            mailTemplateService.generateAndSaveMailTemplates("202506", "secret");
+
+            // Assert
+            assertThat(readMail(null))
+                    .isEqualTo("新しい件名 2025年06月" + DELIMITER + "新しい本文" + DELIMITER + "secret");
+        }
+
+        @Test
+        @DisplayName("テンプレートファイルの更新日時とサイズが変わらない場合、解析済みのテンプレートが使われること")
+        void reusesCompiledTemplateWhenUnchanged() throws IOException {
+            // Arrange
+            writeTemplate("件名A", "本文", "${password}");
+            FileTime lastModified = Files.getLastModifiedTime(templateFile);
+            mailTemplateService.generateAndSaveMailTemplates("202506", "secret");
+
+            // Act
+            writeTemplate("件名B", "本文", "${password}");
+            Files.setLastModifiedTime(templateFile, lastModified);
+            mailTemplateService.generateAndSaveMailTemplates("202506", "secret");
+
+            // Assert
+            assertThat(readMail(null)).startsWith("件名A");
+        }
+    }
+
+    private void writeTemplate(String subject, String body, String passwordBody)
+            throws IOException {
+        String content = subject + DELIMITER + body + DELIMITER + passwordBody;
+        Files.writeString(templateFile, content, StandardCharsets.UTF_8);
+    }
+
+    private String readMail(String user) throws IOException {
+        Path mailDir = sendDir.resolve("work").resolve("2025").resolve("202506");
+        if (user != null) {
+            mailDir = mailDir.resolve(user);
+        }
+        return Files.readString(mailDir.resolve("mail_content.txt"), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,87 @@
+package com.kos0514.work_report_generator.service.mail;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link MailTemplate}のテストクラス
+ */
+class MailTemplateTest {
+
+    @Nested
+    @DisplayName("render メソッドのテスト")
+    class Render {
+
+        @Test
+        @DisplayName("プレースホルダーが変数の値で置き換えられること")
+        void placeholders_replacedWithValues() {
+            // Arrange
+            MailTemplate template = MailTemplate.compile("【${yearMonth}】${user}様 ${client}向け");
+
+            // Act
+            String result = template.render(
+                    Map.of("yearMonth", "2025年06月", "user", "田中太郎", "client", "株式会社サンプル"));
+
+            // Assert
+            assertThat(result).isEqualTo("【2025年06月】田中太郎様 株式会社サンプル向け");
+        }
+
+        @Test
+        @DisplayName("同じプレースホルダーが複数回ある場合にすべて置き換えられること")
+        void repeatedPlaceholder_replacedEverywhere() {
+            // Arrange
+            MailTemplate template = MailTemplate.compile("${yearMonth}分です。${yearMonth}の稼働です。");
+
+            // Act
+            String result = template.render(Map.of("yearMonth", "2025年06月"));
+
+            // Assert
+            assertThat(result).isEqualTo("2025年06月分です。2025年06月の稼働です。");
+        }
+
+        @Test
+        @DisplayName("値が指定されていないプレースホルダーはそのまま出力されること")
+        void missingVariable_keepsPlaceholder() {
+            // Arrange
+            MailTemplate template = MailTemplate.compile("パスワード：${password}");
+
+            // Act
+            String result = template.render(Map.of());
+
+            // Assert
+            assertThat(result).isEqualTo("パスワード：${password}");
+        }
+
+        @Test
+        @DisplayName("閉じ括弧のない記述は固定文字列として扱われること")
+        void unclosedPlaceholder_treatedAsLiteral() {
+            // Arrange
+            MailTemplate template = MailTemplate.compile("${user}様 ${未完了");
+
+            // Act
+            String result = template.render(Map.of("user", "田中太郎"));
+
+            // Assert
+            assertThat(result).isEqualTo("田中太郎様 ${未完了");
+        }
+    }
+
+    @Nested
+    @DisplayName("getPlaceholders メソッドのテスト")
+    class GetPlaceholders {
+
+        @Test
+        @DisplayName("プレースホルダー名が出現順に重複なく返されること")
+        void returnsPlaceholdersInOrder() {
+            // Arrange
+            MailTemplate template = MailTemplate.compile("${yearMonth} ${deadline} ${yearMonth}");
+
+            // Act & Assert
+            assertThat(template.getPlaceholders()).containsExactly("yearMonth", "deadline");
+        }
+    }
+}
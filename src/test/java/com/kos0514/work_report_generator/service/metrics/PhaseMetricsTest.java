@@ -0,0 +1,82 @@
+package com.kos0514.work_report_generator.service.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import com.kos0514.work_report_generator.model.metrics.PhaseStats;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link PhaseMetrics}のテストクラス
+ */
+class PhaseMetricsTest {
+
+    private PhaseMetrics phaseMetrics;
+
+    @BeforeEach
+    void setUp() {
+        phaseMetrics = new PhaseMetrics();
+    }
+
+    /** 指定したミリ秒だけ前に開始したことにして処理時間を記録します */
+    private void recordMillis(String phase, long millis) {
+        phaseMetrics.record(phase, System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    @Nested
+    @DisplayName("phaseStats メソッドのテスト")
+    class PhaseStatsTest {
+
+        @Test
+        @DisplayName("フェーズごとに回数・パーセンタイル・最大値が集計されること")
+        void aggregatesPerPhase() {
+            // Arrange
+            for (int millis = 1; millis <= 100; millis++) {
+                recordMillis("update.save", millis);
+            }
+            recordMillis("update.load", 5);
+
+            // Act
+            List<PhaseStats> stats = phaseMetrics.phaseStats();
+
+            // Assert
+            assertThat(stats).extracting(PhaseStats::phase).containsExactly("update.load", "update.save");
+            PhaseStats save = stats.get(1);
+            assertThat(save.count()).isEqualTo(100);
+            assertThat(save.p50Millis()).isCloseTo(50, within(5.0));
+            assertThat(save.p95Millis()).isCloseTo(95, within(5.0));
+            assertThat(save.maxMillis()).isGreaterThanOrEqualTo(100);
+            assertThat(save.p50Millis()).isLessThanOrEqualTo(save.p95Millis());
+        }
+
+        @Test
+        @DisplayName("計測していない場合は空のリストが返されること")
+        void noMeasurements_returnsEmpty() {
+            // Act & Assert
+            assertThat(phaseMetrics.phaseStats()).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("count メソッドのテスト")
+    class Count {
+
+        @Test
+        @DisplayName("件数が名前ごとに加算され、0件の加算は記録されないこと")
+        void accumulatesPerName() {
+            // Act
+            phaseMetrics.count("rows.updated", 20);
+            phaseMetrics.count("rows.updated", 22);
+            phaseMetrics.count("rows.cleared", 0);
+
+            // Assert
+            assertThat(phaseMetrics.counters()).containsExactly(Map.entry("rows.updated", 42L));
+        }
+    }
+}